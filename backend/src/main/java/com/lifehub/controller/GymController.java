@@ -1,20 +1,30 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.CursorPage;
+import com.lifehub.dto.GymSessionDetail;
 import com.lifehub.model.Exercise;
 import com.lifehub.model.GymSession;
 import com.lifehub.model.ExerciseLog;
+import com.lifehub.model.ExerciseStats;
 import com.lifehub.repository.ExerciseRepository;
 import com.lifehub.repository.GymSessionRepository;
 import com.lifehub.repository.ExerciseLogRepository;
+import com.lifehub.service.ExerciseCatalog;
+import com.lifehub.service.ExerciseStatsService;
+import com.lifehub.service.GymSetBuffer;
+import com.lifehub.service.NdjsonStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/gym")
@@ -30,36 +40,57 @@ public class GymController {
     @Autowired
     private ExerciseLogRepository exerciseLogRepository;
 
+    @Autowired
+    private GymSetBuffer setBuffer;
+
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private ExerciseStatsService statsService;
+
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+
     // ========== Exercises ==========
 
     @GetMapping("/exercises")
-    public ResponseEntity<List<Exercise>> getAllExercises(@RequestParam Long userId) {
-        // Get both predefined and user's custom exercises
-        List<Exercise> predefined = exerciseRepository.findByIsCustomFalse();
-        List<Exercise> custom = exerciseRepository.findByUserIdOrderByNameAsc(userId);
-        
-        List<Exercise> all = new ArrayList<>();
-        all.addAll(predefined);
-        all.addAll(custom);
-        
-        return ResponseEntity.ok(all);
+    public ResponseEntity<?> getAllExercises(
+            @RequestParam Long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Predefined catalog from memory (pre-serialized if the user has no custom exercises) + user's custom ones
+        return exerciseCatalog.predefinedJson(userId)
+                .<ResponseEntity<?>>map(json -> json.toResponse(acceptEncoding, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.ok(exerciseCatalog.forUser(userId)));
     }
 
+    // Predefined exercises of the category, plus the user's custom ones if userId is given
     @GetMapping("/exercises/category/{category}")
-    public ResponseEntity<List<Exercise>> getExercisesByCategory(@PathVariable Exercise.Category category) {
-        List<Exercise> exercises = exerciseRepository.findByCategory(category);
-        return ResponseEntity.ok(exercises);
+    public ResponseEntity<?> getExercisesByCategory(
+            @PathVariable Exercise.Category category,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return exerciseCatalog.categoryJson(category, userId)
+                .<ResponseEntity<?>>map(json -> json.toResponse(acceptEncoding, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.ok(exerciseCatalog.byCategory(category, userId)));
     }
 
     @GetMapping("/exercises/muscle/{muscleGroup}")
-    public ResponseEntity<List<Exercise>> getExercisesByMuscleGroup(@PathVariable Exercise.MuscleGroup muscleGroup) {
-        List<Exercise> exercises = exerciseRepository.findByMuscleGroup(muscleGroup);
-        return ResponseEntity.ok(exercises);
+    public ResponseEntity<?> getExercisesByMuscleGroup(
+            @PathVariable Exercise.MuscleGroup muscleGroup,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return exerciseCatalog.muscleGroupJson(muscleGroup, userId)
+                .<ResponseEntity<?>>map(json -> json.toResponse(acceptEncoding, ifNoneMatch))
+                .orElseGet(() -> ResponseEntity.ok(exerciseCatalog.byMuscleGroup(muscleGroup, userId)));
     }
 
     @GetMapping("/exercises/{id}")
     public ResponseEntity<Exercise> getExerciseById(@PathVariable Long id) {
-        Optional<Exercise> exercise = exerciseRepository.findById(id);
+        Optional<Exercise> exercise = exerciseCatalog.findPredefined(id).or(() -> exerciseRepository.findById(id));
         return exercise.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -68,6 +99,7 @@ public class GymController {
         try {
             exercise.setIsCustom(true);
             Exercise saved = exerciseRepository.save(exercise);
+            exerciseCatalog.evictUser(saved.getUserId());
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -99,6 +131,7 @@ public class GymController {
             exercise.setDescription(exerciseDetails.getDescription());
 
             Exercise updated = exerciseRepository.save(exercise);
+            exerciseCatalog.evictUser(updated.getUserId());
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -121,6 +154,9 @@ public class GymController {
             }
 
             exerciseRepository.deleteById(id);
+            exerciseCatalog.evictUser(exercise.get().getUserId());
+            setBuffer.evictExercise(id);
+            statsService.forgetExercise(id);
             return ResponseEntity.ok().body("Exercise deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -130,10 +166,38 @@ public class GymController {
 
     // ========== Gym Sessions ==========
 
+    // With limit/cursor: keyset page, newest first
     @GetMapping("/sessions")
-    public ResponseEntity<List<GymSession>> getAllSessions(@RequestParam Long userId) {
-        List<GymSession> sessions = gymSessionRepository.findByUserIdOrderByStartTimeDesc(userId);
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<?> getAllSessions(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(gymSessionRepository.findByUserIdOrderByStartTimeDesc(userId));
+        }
+
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<GymSession> sessions;
+        try {
+            if (cursor == null) {
+                sessions = gymSessionRepository.findFirstPage(userId, fetch);
+            } else {
+                CursorPage.Cursor position = CursorPage.Cursor.decode(cursor);
+                sessions = gymSessionRepository.findPageAfter(userId, position.key(LocalDateTime::parse), position.id(), fetch);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(CursorPage.of(sessions, pageSize,
+                s -> CursorPage.Cursor.of(s.getStartTime(), s.getId())));
+    }
+
+    @GetMapping(value = "/sessions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSessions(@RequestParam Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(() -> gymSessionRepository.streamByUserId(userId)));
     }
 
     @GetMapping("/sessions/recent")
@@ -150,19 +214,24 @@ public class GymController {
 
     @GetMapping("/sessions/{id}")
     public ResponseEntity<?> getSessionById(@PathVariable Long id) {
-        Optional<GymSession> session = gymSessionRepository.findById(id);
+        // Buffered sets first, then session + logs + exercises in one query
+        setBuffer.flush(id);
+        Optional<GymSession> session = gymSessionRepository.findWithLogsById(id);
         
         if (session.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(session.get());
+    }
 
-        GymSession gymSession = session.get();
-        
-        // Load exercise logs for this session
-        List<ExerciseLog> logs = exerciseLogRepository.findByGymSessionId(id);
-        gymSession.setExerciseLogs(logs);
-        
-        return ResponseEntity.ok(gymSession);
+    // Sets grouped by exercise with per-exercise and session totals (one query)
+    @GetMapping("/sessions/{id}/detail")
+    public ResponseEntity<GymSessionDetail> getSessionDetail(@PathVariable Long id) {
+        setBuffer.flush(id);
+        return gymSessionRepository.findWithLogsById(id)
+                .map(GymSessionDetail::of)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/sessions/start")
@@ -216,6 +285,9 @@ public class GymController {
             session.setDurationMinutes((int) duration.toMinutes());
 
             GymSession updated = gymSessionRepository.save(session);
+
+            // Only after end_time is committed: write the remaining buffered sets and refuse new ones
+            setBuffer.close(id);
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -252,10 +324,14 @@ public class GymController {
     @DeleteMapping("/sessions/{id}")
     public ResponseEntity<?> deleteSession(@PathVariable Long id) {
         try {
-            if (!gymSessionRepository.existsById(id)) {
+            Optional<GymSession> session = gymSessionRepository.findById(id);
+            if (session.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
+            setBuffer.discard(id);
+            List<Long> exerciseIds = exerciseLogRepository.findExerciseIdsBySessionId(id);
             gymSessionRepository.deleteById(id);
+            statsService.rebuildExercises(session.get().getUserId(), exerciseIds);
             return ResponseEntity.ok().body("Session deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -267,6 +343,7 @@ public class GymController {
 
     @GetMapping("/logs/session/{sessionId}")
     public ResponseEntity<List<ExerciseLog>> getLogsBySession(@PathVariable Long sessionId) {
+        setBuffer.flush(sessionId);
         List<ExerciseLog> logs = exerciseLogRepository.findByGymSessionId(sessionId);
         return ResponseEntity.ok(logs);
     }
@@ -308,6 +385,7 @@ public class GymController {
             }
 
             ExerciseLog saved = exerciseLogRepository.save(log);
+            statsService.recordSet(sessionOpt.get().getUserId(), saved);
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -315,16 +393,40 @@ public class GymController {
         }
     }
 
+    // Log many sets at once (write-behind): validated immediately, persisted in JDBC batches
+    @PostMapping("/logs/batch")
+    public ResponseEntity<?> addExerciseLogs(
+            @RequestBody GymSetBuffer.SetBatch batch,
+            @RequestParam(defaultValue = "false") boolean flush) {
+        if (batch.sessionId() == null || batch.sets() == null) {
+            return ResponseEntity.badRequest().body("sessionId and sets are required");
+        }
+        try {
+            GymSetBuffer.AcceptResult result = setBuffer.enqueue(batch.sessionId(), batch.sets());
+            if (flush) {
+                setBuffer.flush(batch.sessionId());
+                result = new GymSetBuffer.AcceptResult(result.accepted(), 0);
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error adding exercise logs: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/logs/{id}")
     public ResponseEntity<?> updateExerciseLog(@PathVariable Long id, @RequestBody Map<String, Object> request) {
         try {
-            Optional<ExerciseLog> logOptional = exerciseLogRepository.findById(id);
+            Optional<ExerciseLog> logOptional = exerciseLogRepository.findWithExerciseAndSessionById(id);
             
             if (logOptional.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
             ExerciseLog log = logOptional.get();
+            ExerciseStatsService.SetValues before = ExerciseStatsService.SetValues.of(log);
             
             if (request.containsKey("reps")) {
                 log.setReps(Integer.valueOf(request.get("reps").toString()));
@@ -336,8 +438,10 @@ public class GymController {
                 log.setNotes(request.get("notes").toString());
             }
 
-            ExerciseLog updated = exerciseLogRepository.save(log);
-            return ResponseEntity.ok(updated);
+            // Antwort ist die geladene Instanz: die von save (merge) gelieferte Kopie hält nur einen Proxy der Übung
+            exerciseLogRepository.save(log);
+            statsService.replaceSet(log.getGymSession().getUserId(), before, ExerciseStatsService.SetValues.of(log));
+            return ResponseEntity.ok(log);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error updating exercise log: " + e.getMessage());
@@ -347,10 +451,13 @@ public class GymController {
     @DeleteMapping("/logs/{id}")
     public ResponseEntity<?> deleteExerciseLog(@PathVariable Long id) {
         try {
-            if (!exerciseLogRepository.existsById(id)) {
+            Optional<ExerciseLog> log = exerciseLogRepository.findWithExerciseAndSessionById(id);
+            if (log.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
+            Long userId = log.get().getGymSession().getUserId();
             exerciseLogRepository.deleteById(id);
+            statsService.removeSet(userId, ExerciseStatsService.SetValues.of(log.get()));
             return ResponseEntity.ok().body("Exercise log deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -397,6 +504,7 @@ public class GymController {
         return ResponseEntity.ok(stats);
     }
 
+    // Served from the precomputed exercise_stats row, independent of the number of logged sets
     @GetMapping("/stats/exercise/{exerciseId}")
     public ResponseEntity<Map<String, Object>> getExerciseStats(
             @PathVariable Long exerciseId,
@@ -404,44 +512,40 @@ public class GymController {
         
         Map<String, Object> stats = new HashMap<>();
         
-        List<ExerciseLog> logs = exerciseLogRepository.findByExerciseIdAndUserId(exerciseId, userId);
-        
-        if (logs.isEmpty()) {
+        Optional<ExerciseStatsService.ExerciseProgress> progress = statsService.getProgress(userId, exerciseId);
+        if (progress.isEmpty()) {
             return ResponseEntity.ok(stats);
         }
+        ExerciseStats exerciseStats = progress.get().stats();
 
-        // Total sets
-        stats.put("totalSets", logs.size());
-
-        // Max weight
-        OptionalDouble maxWeight = logs.stream()
-                .filter(l -> l.getWeight() != null)
-                .mapToDouble(ExerciseLog::getWeight)
-                .max();
-        if (maxWeight.isPresent()) {
-            stats.put("maxWeight", maxWeight.getAsDouble());
+        stats.put("totalSets", exerciseStats.getTotalSets());
+        stats.put("totalReps", exerciseStats.getTotalReps());
+        if (exerciseStats.getMaxWeight() != null) {
+            stats.put("maxWeight", exerciseStats.getMaxWeight());
+            stats.put("maxWeightAt", exerciseStats.getMaxWeightAt());
         }
+        stats.put("maxReps", exerciseStats.getMaxReps() != null ? exerciseStats.getMaxReps() : 0);
+        stats.put("totalVolume", exerciseStats.getTotalVolume());
 
-        // Max reps
-        int maxReps = logs.stream()
-                .mapToInt(ExerciseLog::getReps)
-                .max()
-                .orElse(0);
-        stats.put("maxReps", maxReps);
-
-        // Total volume (weight * reps)
-        double totalVolume = logs.stream()
-                .filter(l -> l.getWeight() != null)
-                .mapToDouble(l -> l.getWeight() * l.getReps())
-                .sum();
-        stats.put("totalVolume", totalVolume);
+        // Estimated one-rep max (Epley)
+        if (exerciseStats.getBestEstimatedOneRepMax() != null) {
+            stats.put("estimatedOneRepMax", exerciseStats.getBestEstimatedOneRepMax());
+            stats.put("estimatedOneRepMaxAt", exerciseStats.getBestEstimatedOneRepMaxAt());
+        }
+        stats.put("lastPerformedAt", exerciseStats.getLastPerformedAt());
+        stats.put("weeklyVolume", progress.get().weeklyVolume());
 
         // Recent progress (last 20 logs)
-        List<ExerciseLog> recent = logs.stream()
-                .limit(20)
-                .collect(Collectors.toList());
-        stats.put("recentLogs", recent);
+        stats.put("recentLogs", exerciseLogRepository.findLast20LogsByExerciseAndUser(exerciseId, userId));
 
         return ResponseEntity.ok(stats);
     }
+
+    // Recompute the user's exercise statistics from all logged sets
+    @PostMapping("/stats/exercise/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildExerciseStats(@RequestParam Long userId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("exercises", statsService.rebuild(userId));
+        return ResponseEntity.ok(response);
+    }
 }
@@ -2,8 +2,10 @@ package com.lifehub.controller;
 
 import com.lifehub.model.NutritionGoal;
 import com.lifehub.model.DailyNutrition;
+import com.lifehub.model.NutritionTotals;
 import com.lifehub.repository.NutritionGoalRepository;
 import com.lifehub.repository.DailyNutritionRepository;
+import com.lifehub.service.NutritionTotalsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,9 @@ public class NutritionController {
     @Autowired
     private DailyNutritionRepository dailyNutritionRepository;
 
+    @Autowired
+    private NutritionTotalsService totalsService;
+
     // ========== Nutrition Goals ==========
 
     @GetMapping("/goal")
@@ -186,9 +191,11 @@ public class NutritionController {
                 existingNutrition.setNotes(nutrition.getNotes());
                 
                 DailyNutrition saved = dailyNutritionRepository.save(existingNutrition);
+                totalsService.onDayChanged(saved.getUserId(), saved.getDate());
                 return ResponseEntity.ok(saved);
             } else {
                 DailyNutrition saved = dailyNutritionRepository.save(nutrition);
+                totalsService.onDayChanged(saved.getUserId(), saved.getDate());
                 return ResponseEntity.ok(saved);
             }
         } catch (Exception e) {
@@ -225,6 +232,7 @@ public class NutritionController {
             }
 
             DailyNutrition updated = dailyNutritionRepository.save(nutrition);
+            totalsService.onDayChanged(updated.getUserId(), updated.getDate());
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -235,10 +243,12 @@ public class NutritionController {
     @DeleteMapping("/daily/{id}")
     public ResponseEntity<?> deleteDailyNutrition(@PathVariable Long id) {
         try {
-            if (!dailyNutritionRepository.existsById(id)) {
+            Optional<DailyNutrition> nutrition = dailyNutritionRepository.findById(id);
+            if (nutrition.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             dailyNutritionRepository.deleteById(id);
+            totalsService.onDayChanged(nutrition.get().getUserId(), nutrition.get().getDate());
             return ResponseEntity.ok().body("Daily nutrition deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -248,52 +258,55 @@ public class NutritionController {
 
     // ========== Statistics ==========
 
+    // Served from the rolling totals row (today, 7 and 30 days), read together with the goal
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getNutritionStats(@RequestParam Long userId) {
         Map<String, Object> stats = new HashMap<>();
 
-        // Get goal
-        Optional<NutritionGoal> goalOpt = nutritionGoalRepository.findByUserId(userId);
-        if (goalOpt.isEmpty()) {
+        Optional<NutritionTotalsService.GoalProgress> progress = totalsService.getGoalProgress(userId);
+        if (progress.isEmpty()) {
             return ResponseEntity.ok(stats);
         }
 
-        NutritionGoal goal = goalOpt.get();
+        NutritionGoal goal = progress.get().goal();
+        NutritionTotals totals = progress.get().totals();
         stats.put("goal", goal);
 
-        // Get today's nutrition
-        Optional<DailyNutrition> todayOpt = dailyNutritionRepository.findByUserIdAndDate(userId, LocalDate.now());
-        if (todayOpt.isPresent()) {
-            DailyNutrition today = todayOpt.get();
+        // Today's nutrition and goal progress
+        if (totals.getTodayTracked()) {
+            Map<String, Object> today = new HashMap<>();
+            today.put("userId", userId);
+            today.put("date", totals.getAsOf());
+            today.put("calories", totals.getTodayCalories());
+            today.put("protein", totals.getTodayProtein());
+            today.put("carbs", totals.getTodayCarbs());
+            today.put("fat", totals.getTodayFat());
             stats.put("today", today);
-            stats.put("remainingCalories", goal.getDailyCalories() - today.getCalories());
-            stats.put("calorieProgress", (double) today.getCalories() / goal.getDailyCalories() * 100);
-        } else {
-            stats.put("remainingCalories", goal.getDailyCalories());
-            stats.put("calorieProgress", 0);
         }
-
-        // Get 7-day average
-        List<DailyNutrition> last7Days = dailyNutritionRepository.findLast7DaysByUserId(userId);
-        if (!last7Days.isEmpty()) {
-            double avgCalories = last7Days.stream()
-                    .mapToInt(DailyNutrition::getCalories)
-                    .average()
-                    .orElse(0);
-            stats.put("weeklyAverage", Math.round(avgCalories));
+        stats.put("remainingCalories", goal.getDailyCalories() - totals.getTodayCalories());
+        stats.put("calorieProgress", percent(totals.getTodayCalories(), goal.getDailyCalories()));
+        stats.put("proteinProgress", percent(totals.getTodayProtein(), goal.getProteinGrams()));
+        stats.put("carbsProgress", percent(totals.getTodayCarbs(), goal.getCarbsGrams()));
+        stats.put("fatProgress", percent(totals.getTodayFat(), goal.getFatGrams()));
+
+        // 7-day averages (per tracked day)
+        if (totals.getDays7d() > 0) {
+            stats.put("weeklyAverage", Math.round((double) totals.getCalories7d() / totals.getDays7d()));
+            stats.put("weeklyAverageProtein", Math.round((double) totals.getProtein7d() / totals.getDays7d()));
+            stats.put("weeklyAverageCarbs", Math.round((double) totals.getCarbs7d() / totals.getDays7d()));
+            stats.put("weeklyAverageFat", Math.round((double) totals.getFat7d() / totals.getDays7d()));
         }
 
-        // Get 30-day stats
-        List<DailyNutrition> last30Days = dailyNutritionRepository.findLast30DaysByUserId(userId);
-        if (!last30Days.isEmpty()) {
-            double avgCalories = last30Days.stream()
-                    .mapToInt(DailyNutrition::getCalories)
-                    .average()
-                    .orElse(0);
-            stats.put("monthlyAverage", Math.round(avgCalories));
-            stats.put("daysTracked", last30Days.size());
+        // 30-day stats
+        if (totals.getDays30d() > 0) {
+            stats.put("monthlyAverage", Math.round((double) totals.getCalories30d() / totals.getDays30d()));
+            stats.put("daysTracked", totals.getDays30d());
         }
 
         return ResponseEntity.ok(stats);
     }
+
+    private static double percent(Integer value, Integer goal) {
+        return goal == null || goal == 0 ? 0 : (double) value / goal * 100;
+    }
 }
@@ -6,7 +6,9 @@ import com.lifehub.model.TodoComment;
 import com.lifehub.repository.TodoRepository;
 import com.lifehub.repository.TodoSubtaskRepository;
 import com.lifehub.repository.TodoCommentRepository;
+import com.lifehub.service.TodoOrderingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +32,9 @@ public class TodoController {
     @Autowired
     private TodoCommentRepository commentRepository;
     
+    @Autowired
+    private TodoOrderingService orderingService;
+    
     // Get all todos for a user
     @GetMapping
     public ResponseEntity<List<Todo>> getTodos(
@@ -74,6 +79,10 @@ public class TodoController {
         if (todo.getArchived() == null) {
             todo.setArchived(false);
         }
+        // Neue Karten ans Spaltenende (sparse Positionen, siehe TodoOrderingService)
+        if (todo.getPosition() == null || todo.getPosition() == 0) {
+            todo.setPosition(orderingService.nextPosition(todo.getUserId(), todo.getStatus()));
+        }
         
         Todo savedTodo = todoRepository.save(todo);
         return ResponseEntity.ok(savedTodo);
@@ -123,27 +132,62 @@ public class TodoController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    // Bulk update positions (for reordering)
+    // Bulk update positions (for reordering): one UPDATE for all cards, 409 if any version is stale
     @PatchMapping("/reorder")
-    @Transactional
-    public ResponseEntity<Map<String, String>> reorderTodos(@RequestBody List<Map<String, Object>> updates) {
-        for (Map<String, Object> update : updates) {
-            Long id = Long.valueOf(update.get("id").toString());
-            Integer position = (Integer) update.get("position");
-            String status = (String) update.get("status");
-            
-            todoRepository.findById(id).ifPresent(todo -> {
-                todo.setPosition(position);
-                if (status != null) {
-                    todo.setStatus(status);
-                }
-                todo.setUpdatedAt(LocalDateTime.now());
-                todoRepository.save(todo);
-            });
+    public ResponseEntity<Map<String, Object>> reorderTodos(@RequestBody List<Map<String, Object>> updates) {
+        List<TodoOrderingService.PositionUpdate> positions;
+        try {
+            positions = updates.stream().map(TodoController::positionUpdate).toList();
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         }
         
-        Map<String, String> response = new HashMap<>();
+        TodoOrderingService.ReorderResult result = orderingService.reorder(positions);
+        
+        Map<String, Object> response = new HashMap<>();
+        if (!result.conflicts().isEmpty()) {
+            response.put("message", "Todos were modified concurrently, nothing was reordered");
+            response.put("conflicts", result.conflicts());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
         response.put("message", "Todos reordered successfully");
+        response.put("versions", result.versions());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Move a single card between two neighbours (drag & drop), usually touches one row
+    @PatchMapping("/{id}/move")
+    public ResponseEntity<Map<String, Object>> moveTodo(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> move) {
+        TodoOrderingService.MoveResult result;
+        try {
+            result = orderingService.move(
+                    id,
+                    (String) move.get("status"),
+                    move.get("beforeId") != null ? Long.valueOf(move.get("beforeId").toString()) : null,
+                    move.get("afterId") != null ? Long.valueOf(move.get("afterId").toString()) : null,
+                    move.get("version") != null ? ((Number) move.get("version")).longValue() : null);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (result == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        if (!result.conflicts().isEmpty()) {
+            response.put("message", "Todo was modified concurrently");
+            response.put("conflicts", result.conflicts());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("id", id);
+        response.put("position", result.position());
+        response.put("version", result.version());
         return ResponseEntity.ok(response);
     }
     
@@ -303,4 +347,44 @@ public class TodoController {
         response.put("message", "Comment deleted successfully");
         return ResponseEntity.ok(response);
     }
+    
+    // One /reorder entry: id and position required, status/version optional; bad types become 400 instead of 500
+    private static TodoOrderingService.PositionUpdate positionUpdate(Map<String, Object> update) {
+        if (update == null) {
+            throw new IllegalArgumentException("Reorder entry must not be null");
+        }
+        Long id = longField(update, "id");
+        Long position = longField(update, "position");
+        if (id == null || position == null) {
+            throw new IllegalArgumentException("Reorder entry needs id and position: " + update);
+        }
+        if (position < 0 || position > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Position out of range: " + position);
+        }
+        Object status = update.get("status");
+        if (status != null && !(status instanceof String)) {
+            throw new IllegalArgumentException("Field 'status' must be a string");
+        }
+        return new TodoOrderingService.PositionUpdate(
+                id, position.intValue(), (String) status, longField(update, "version"));
+    }
+    
+    // Integer given as JSON number or string ("12"), null if missing
+    private static Long longField(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Field '" + key + "' must be an integer: " + text);
+            }
+        }
+        throw new IllegalArgumentException("Field '" + key + "' must be an integer");
+    }
 }
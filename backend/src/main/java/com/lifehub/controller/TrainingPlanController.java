@@ -8,15 +8,13 @@ import com.lifehub.repository.TrainingPlanRepository;
 import com.lifehub.repository.WorkoutRepository;
 import com.lifehub.repository.WorkoutExerciseRepository;
 import com.lifehub.repository.CalendarEventRepository;
+import com.lifehub.service.TrainingPlanCalendarSync;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.DayOfWeek;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +36,9 @@ public class TrainingPlanController {
     @Autowired
     private CalendarEventRepository calendarEventRepository;
     
+    @Autowired
+    private TrainingPlanCalendarSync calendarSync;
+    
     // ===== TRAINING PLANS =====
     
     @GetMapping("/plans")
@@ -113,7 +114,7 @@ public class TrainingPlanController {
                     TrainingPlan activatedPlan = planRepository.save(plan);
                     
                     // Generate calendar events for current and next week
-                    generateCalendarEventsForPlan(plan, userId);
+                    calendarSync.sync(plan, userId);
                     
                     return ResponseEntity.ok(activatedPlan);
                 })
@@ -172,7 +173,7 @@ public class TrainingPlanController {
         // Update calendar events if plan is active
         planRepository.findById(planId).ifPresent(plan -> {
             if (plan.getActive()) {
-                generateCalendarEventsForPlan(plan, plan.getUserId());
+                calendarSync.sync(plan, plan.getUserId());
             }
         });
         
@@ -199,7 +200,7 @@ public class TrainingPlanController {
                     // Update calendar events if plan is active
                     planRepository.findById(workout.getTrainingPlanId()).ifPresent(plan -> {
                         if (plan.getActive()) {
-                            generateCalendarEventsForPlan(plan, plan.getUserId());
+                            calendarSync.sync(plan, plan.getUserId());
                         }
                     });
                     
@@ -235,7 +236,7 @@ public class TrainingPlanController {
                     // Regenerate calendar events for remaining workouts
                     planRepository.findById(workout.getTrainingPlanId()).ifPresent(plan -> {
                         if (plan.getActive()) {
-                            generateCalendarEventsForPlan(plan, plan.getUserId());
+                            calendarSync.sync(plan, plan.getUserId());
                         }
                     });
                     
@@ -260,7 +261,7 @@ public class TrainingPlanController {
         if (workout != null) {
             planRepository.findById(workout.getTrainingPlanId()).ifPresent(plan -> {
                 if (plan.getActive()) {
-                    generateCalendarEventsForPlan(plan, plan.getUserId());
+                    calendarSync.sync(plan, plan.getUserId());
                 }
             });
         }
@@ -319,54 +320,4 @@ public class TrainingPlanController {
         response.put("message", "Exercise deleted successfully");
         return ResponseEntity.ok(response);
     }
-    
-    // ===== CALENDAR INTEGRATION =====
-    
-    private void generateCalendarEventsForPlan(TrainingPlan plan, Long userId) {
-        // Delete existing "trainingsplan" events for this user
-        List<CalendarEvent> existingEvents = calendarEventRepository.findByUserIdAndCategoryOrderByStartTimeAsc(userId, "trainingsplan");
-        existingEvents.forEach(event -> calendarEventRepository.deleteById(event.getId()));
-        
-        // Get all workouts for this plan
-        List<Workout> workouts = workoutRepository.findByTrainingPlanIdAndCompletedFalseOrderByDayOfWeekAsc(plan.getId());
-        
-        // Generate events for current and next week only
-        LocalDate today = LocalDate.now();
-        LocalDate endOfNextWeek = today.with(TemporalAdjusters.next(DayOfWeek.SUNDAY)).plusWeeks(1);
-        
-        for (Workout workout : workouts) {
-            LocalDate workoutDate = getNextOccurrence(today, workout.getDayOfWeek());
-            
-            // Create events for both current and next week
-            for (int week = 0; week < 2; week++) {
-                LocalDate eventDate = workoutDate.plusWeeks(week);
-                
-                if (!eventDate.isAfter(endOfNextWeek)) {
-                    CalendarEvent event = new CalendarEvent();
-                    event.setUserId(userId);
-                    event.setTitle("🏋️ " + workout.getName());
-                    event.setDescription(workout.getDescription());
-                    event.setStartTime(eventDate.atTime(9, 0)); // Default 9:00 AM
-                    event.setEndTime(eventDate.atTime(9, 0).plusMinutes(workout.getDurationMinutes() != null ? workout.getDurationMinutes() : 60));
-                    event.setCategory("trainingsplan");
-                    event.setColor("#f59e0b"); // Orange
-                    event.setAllDay(false);
-                    calendarEventRepository.save(event);
-                }
-            }
-        }
-    }
-    
-    private LocalDate getNextOccurrence(LocalDate from, String dayOfWeek) {
-        DayOfWeek targetDay = DayOfWeek.valueOf(dayOfWeek.toUpperCase());
-        LocalDate date = from;
-        
-        // If today is the target day, return today
-        if (date.getDayOfWeek() == targetDay) {
-            return date;
-        }
-        
-        // Otherwise find next occurrence
-        return date.with(TemporalAdjusters.next(targetDay));
-    }
 }
@@ -1,12 +1,19 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.CursorPage;
 import com.lifehub.model.Weight;
+import com.lifehub.model.WeightRollup;
 import com.lifehub.repository.WeightRepository;
+import com.lifehub.service.NdjsonStreamer;
+import com.lifehub.service.WeightTimeSeriesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -22,11 +29,45 @@ public class WeightController {
     @Autowired
     private WeightRepository weightRepository;
 
-    // Get all weight entries for user
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private WeightTimeSeriesService timeSeriesService;
+
+    // Get all weight entries for user (with limit/cursor: keyset page, newest first)
     @GetMapping
-    public ResponseEntity<List<Weight>> getAllWeights(@RequestParam Long userId) {
-        List<Weight> weights = weightRepository.findByUserIdOrderByDateDesc(userId);
-        return ResponseEntity.ok(weights);
+    public ResponseEntity<?> getAllWeights(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(weightRepository.findByUserIdOrderByDateDesc(userId));
+        }
+
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<Weight> weights;
+        try {
+            if (cursor == null) {
+                weights = weightRepository.findFirstPage(userId, fetch);
+            } else {
+                CursorPage.Cursor position = CursorPage.Cursor.decode(cursor);
+                weights = weightRepository.findPageAfter(userId, position.key(LocalDate::parse), fetch);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(CursorPage.of(weights, pageSize,
+                w -> CursorPage.Cursor.of(w.getDate(), w.getId())));
+    }
+
+    // Export all weight entries as NDJSON stream
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWeights(@RequestParam Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(() -> weightRepository.streamByUserId(userId)));
     }
 
     // Get weight entries by date range
@@ -53,73 +94,86 @@ public class WeightController {
         return ResponseEntity.ok(weights);
     }
 
-    // Get weight statistics
+    // Get weight statistics (aggregates from the monthly rollups, changes via single-row lookups)
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getWeightStats(@RequestParam Long userId) {
-        List<Weight> allWeights = weightRepository.findByUserIdOrderByDateDesc(userId);
+        WeightTimeSeriesService.Summary summary = timeSeriesService.getSummary(userId);
+        Optional<Weight> latestOptional = weightRepository.findFirstByUserIdOrderByDateDesc(userId);
         
-        if (allWeights.isEmpty()) {
+        if (summary == null || latestOptional.isEmpty()) {
             return ResponseEntity.ok(new HashMap<>());
         }
 
         Map<String, Object> stats = new HashMap<>();
         
         // Current weight (latest entry)
-        Weight latest = allWeights.get(0);
+        Weight latest = latestOptional.get();
         stats.put("currentWeight", latest.getWeight());
         stats.put("currentDate", latest.getDate());
         
-        // Calculate statistics
-        double sum = 0;
-        double min = Double.MAX_VALUE;
-        double max = Double.MIN_VALUE;
-        
-        for (Weight w : allWeights) {
-            double weight = w.getWeight();
-            sum += weight;
-            min = Math.min(min, weight);
-            max = Math.max(max, weight);
-        }
-        
-        stats.put("average", sum / allWeights.size());
-        stats.put("min", min);
-        stats.put("max", max);
-        stats.put("totalEntries", allWeights.size());
+        stats.put("average", summary.average());
+        stats.put("min", summary.min());
+        stats.put("max", summary.max());
+        stats.put("totalEntries", summary.entries());
         
-        // Calculate change from first entry
-        if (allWeights.size() > 1) {
-            Weight oldest = allWeights.get(allWeights.size() - 1);
-            double change = latest.getWeight() - oldest.getWeight();
-            stats.put("totalChange", change);
-            stats.put("startWeight", oldest.getWeight());
-            stats.put("startDate", oldest.getDate());
-        }
-        
-        // Calculate 7-day and 30-day trends
-        if (allWeights.size() >= 2) {
-            LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
-            LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-            
-            Optional<Weight> sevenDayWeight = allWeights.stream()
-                    .filter(w -> !w.getDate().isAfter(sevenDaysAgo))
-                    .findFirst();
-            
-            Optional<Weight> thirtyDayWeight = allWeights.stream()
-                    .filter(w -> !w.getDate().isAfter(thirtyDaysAgo))
-                    .findFirst();
+        if (summary.entries() > 1) {
+            // Calculate change from first entry
+            weightRepository.findFirstByUserIdOrderByDateAsc(userId).ifPresent(oldest -> {
+                stats.put("totalChange", latest.getWeight() - oldest.getWeight());
+                stats.put("startWeight", oldest.getWeight());
+                stats.put("startDate", oldest.getDate());
+            });
             
-            sevenDayWeight.ifPresent(w -> 
-                stats.put("sevenDayChange", latest.getWeight() - w.getWeight())
-            );
-            
-            thirtyDayWeight.ifPresent(w -> 
-                stats.put("thirtyDayChange", latest.getWeight() - w.getWeight())
-            );
+            // Calculate 7-day and 30-day trends
+            weightRepository.findFirstByUserIdAndDateLessThanEqualOrderByDateDesc(userId, LocalDate.now().minusDays(7))
+                    .ifPresent(w -> stats.put("sevenDayChange", latest.getWeight() - w.getWeight()));
+            weightRepository.findFirstByUserIdAndDateLessThanEqualOrderByDateDesc(userId, LocalDate.now().minusDays(30))
+                    .ifPresent(w -> stats.put("thirtyDayChange", latest.getWeight() - w.getWeight()));
         }
         
         return ResponseEntity.ok(stats);
     }
 
+    // Get weekly or monthly rollups (average, min, max, trend) for a date range
+    @GetMapping("/rollups")
+    public ResponseEntity<?> getRollups(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "WEEK") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        WeightRollup.Period rollupPeriod;
+        try {
+            rollupPeriod = WeightRollup.Period.valueOf(period.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid period. Use WEEK or MONTH.");
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+        return ResponseEntity.ok(timeSeriesService.getRollups(userId, rollupPeriod, start, end));
+    }
+
+    // Recompute all rollups of a user from the weight entries
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups(@RequestParam Long userId) {
+        timeSeriesService.rebuild(userId);
+        return ResponseEntity.ok().body("Weight rollups rebuilt");
+    }
+
+    // Get chart series for a date range, downsampled (LTTB) to at most `points` entries
+    @GetMapping("/chart")
+    public ResponseEntity<?> getChart(
+            @RequestParam Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "" + WeightTimeSeriesService.DEFAULT_CHART_POINTS) Integer points) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : LocalDate.of(1970, 1, 1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("startDate must not be after endDate");
+        }
+        return ResponseEntity.ok(timeSeriesService.getChart(userId, start, end, points));
+    }
+
     // Add new weight entry
     @PostMapping
     public ResponseEntity<?> addWeight(@RequestBody Weight weight) {
@@ -142,6 +196,7 @@ public class WeightController {
             }
 
             Weight savedWeight = weightRepository.save(weight);
+            timeSeriesService.refresh(savedWeight.getUserId(), savedWeight.getDate());
             return ResponseEntity.ok(savedWeight);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -174,6 +229,7 @@ public class WeightController {
             }
 
             Weight updatedWeight = weightRepository.save(weight);
+            timeSeriesService.refresh(updatedWeight.getUserId(), updatedWeight.getDate());
             return ResponseEntity.ok(updatedWeight);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -185,10 +241,12 @@ public class WeightController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteWeight(@PathVariable Long id) {
         try {
-            if (!weightRepository.existsById(id)) {
+            Optional<Weight> weight = weightRepository.findById(id);
+            if (weight.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             weightRepository.deleteById(id);
+            timeSeriesService.refresh(weight.get().getUserId(), weight.get().getDate());
             return ResponseEntity.ok().body("Weight entry deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,113 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.Exercise;
+import com.lifehub.model.ExerciseLog;
+import com.lifehub.model.GymSession;
+import com.lifehub.service.ExerciseStatsService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detailansicht einer Gym-Session: Sätze gruppiert nach Übung (Reihenfolge des ersten Satzes),
+ * mit Summen pro Übung und für die ganze Session. Wird aus einer per JOIN FETCH geladenen Session gebaut.
+ */
+public record GymSessionDetail(
+        Long id,
+        Long userId,
+        String workoutName,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Integer durationMinutes,
+        String notes,
+        List<ExerciseBlock> exercises,
+        Summary totals
+) {
+
+    public static GymSessionDetail of(GymSession session) {
+        Map<Long, List<ExerciseLog>> byExercise = new LinkedHashMap<>();
+        for (ExerciseLog log : session.getExerciseLogs()) {
+            byExercise.computeIfAbsent(log.getExercise().getId(), id -> new ArrayList<>()).add(log);
+        }
+
+        List<ExerciseBlock> exercises = new ArrayList<>(byExercise.size());
+        Summary.Builder totals = new Summary.Builder();
+        for (List<ExerciseLog> logs : byExercise.values()) {
+            Exercise exercise = logs.get(0).getExercise();
+            Summary.Builder summary = new Summary.Builder();
+            List<SetRow> sets = new ArrayList<>(logs.size());
+            for (ExerciseLog log : logs) {
+                sets.add(new SetRow(log.getId(), log.getSetNumber(), log.getReps(), log.getWeight(), log.getNotes(),
+                        log.getCreatedAt()));
+                ExerciseStatsService.SetValues values = ExerciseStatsService.SetValues.of(log);
+                summary.add(values);
+                totals.add(values);
+            }
+            exercises.add(new ExerciseBlock(exercise.getId(), exercise.getName(), exercise.getCategory(),
+                    exercise.getMuscleGroup(), exercise.getEquipment(), sets, summary.build()));
+        }
+
+        return new GymSessionDetail(session.getId(), session.getUserId(), session.getWorkoutName(),
+                session.getStartTime(), session.getEndTime(), session.getDurationMinutes(), session.getNotes(),
+                exercises, totals.build());
+    }
+
+    public record ExerciseBlock(
+            Long exerciseId,
+            String name,
+            Exercise.Category category,
+            Exercise.MuscleGroup muscleGroup,
+            Exercise.Equipment equipment,
+            List<SetRow> sets,
+            Summary summary
+    ) {}
+
+    public record SetRow(
+            Long id,
+            Integer setNumber,
+            Integer reps,
+            Double weight,
+            String notes,
+            LocalDateTime createdAt
+    ) {}
+
+    /**
+     * Volumen und 1RM-Schätzung wie in der Übungs-Statistik (ExerciseStatsService.SetValues)
+     */
+    public record Summary(
+            int sets,
+            int reps,
+            double volume,
+            Double maxWeight,
+            Double bestEstimatedOneRepMax
+    ) {
+
+        private static final class Builder {
+            private int sets;
+            private int reps;
+            private double volume;
+            private Double maxWeight;
+            private Double bestEstimatedOneRepMax;
+
+            void add(ExerciseStatsService.SetValues set) {
+                sets++;
+                reps += set.reps();
+                volume += set.volume();
+                if (set.weight() != null && (maxWeight == null || set.weight() > maxWeight)) {
+                    maxWeight = set.weight();
+                }
+                Double oneRepMax = set.estimatedOneRepMax();
+                if (oneRepMax != null && (bestEstimatedOneRepMax == null || oneRepMax > bestEstimatedOneRepMax)) {
+                    bestEstimatedOneRepMax = oneRepMax;
+                }
+            }
+
+            Summary build() {
+                return new Summary(sets, reps, Math.round(volume * 10) / 10.0, maxWeight, bestEstimatedOneRepMax);
+            }
+        }
+    }
+}
@@ -2,14 +2,18 @@ package com.lifehub.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+
 import java.time.LocalDateTime;
 
 @Data
 @Entity
 @Table(name = "calendar_events")
 public class CalendarEvent {
+    // Blockweise IDs statt IDENTITY, damit Inserts per JDBC-Batch gebündelt werden können
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "calendar-events-id-pooled")
+    // allocationSize = INCREMENT BY der Sequence (pooled optimizer), Hibernate prüft beides beim Start
+    @SequenceGenerator(name = "calendar-events-id-pooled", sequenceName = "calendar_events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,6 +43,11 @@ public class CalendarEvent {
     @Column(length = 100)
     private String location;
 
+    @Column(length = 50)
+    private String relatedEntityType; // TRAINING = aus Trainingsplan generiert
+
+    private Long relatedEntityId; // z.B. Workout-ID
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
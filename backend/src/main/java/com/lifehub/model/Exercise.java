@@ -1,10 +1,12 @@
 package com.lifehub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "exercises")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // ExerciseLog.exercise kann ein (geladener) Lazy-Proxy sein
 public class Exercise {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,7 +1,10 @@
 package com.lifehub.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -16,8 +19,10 @@ public class ExerciseLog {
     @JsonIgnore
     private GymSession gymSession;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: Lesepfade, die die Übung brauchen, holen sie per JOIN FETCH mit (siehe ExerciseLogRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exercise_id", nullable = false)
+    @JsonIgnore
     private Exercise exercise;
 
     @Column(name = "set_number", nullable = false)
@@ -32,6 +37,10 @@ public class ExerciseLog {
     @Column(length = 500)
     private String notes;
 
+    // Vom Client vergebene ID pro Satz, macht Wiederholungen nach Verbindungsabbruch idempotent
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -68,10 +77,18 @@ public class ExerciseLog {
         this.gymSession = gymSession;
     }
 
+    @JsonIgnore
     public Exercise getExercise() {
         return exercise;
     }
 
+    // JSON nur mit geladener Übung: serialisiert wird nach der Transaktion, ein Proxy würde dort nachladen
+    @JsonProperty("exercise")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Exercise getLoadedExercise() {
+        return Hibernate.isInitialized(exercise) ? exercise : null;
+    }
+
     public void setExercise(Exercise exercise) {
         this.exercise = exercise;
     }
@@ -108,6 +125,14 @@ public class ExerciseLog {
         this.notes = notes;
     }
 
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,58 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vorberechnete Statistik pro User und Übung (Bestwerte, Volumen).
+ * Wird bei jedem geloggten/geänderten/gelöschten Satz fortgeschrieben, siehe ExerciseStatsService.
+ */
+@Data
+@Entity
+@Table(name = "exercise_stats", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "exercise_id"})
+})
+public class ExerciseStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "total_sets", nullable = false)
+    private Long totalSets = 0L;
+
+    @Column(name = "total_reps", nullable = false)
+    private Long totalReps = 0L;
+
+    @Column(name = "total_volume", nullable = false)
+    private Double totalVolume = 0.0; // Summe weight * reps in kg
+
+    @Column(name = "max_weight")
+    private Double maxWeight;
+
+    @Column(name = "max_weight_at")
+    private LocalDateTime maxWeightAt;
+
+    @Column(name = "max_reps")
+    private Integer maxReps;
+
+    // Geschätztes 1RM nach Epley
+    @Column(name = "best_estimated_1rm")
+    private Double bestEstimatedOneRepMax;
+
+    @Column(name = "best_estimated_1rm_at")
+    private LocalDateTime bestEstimatedOneRepMaxAt;
+
+    @Column(name = "last_performed_at")
+    private LocalDateTime lastPerformedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Trainingsvolumen pro User, Übung und Kalenderwoche (week_start = Montag).
+ */
+@Data
+@Entity
+@Table(name = "exercise_weekly_volume", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "exercise_id", "week_start"})
+})
+public class ExerciseWeeklyVolume {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(nullable = false)
+    private Integer sets = 0;
+
+    @Column(nullable = false)
+    private Double volume = 0.0;
+}
@@ -1,6 +1,10 @@
 package com.lifehub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +35,8 @@ public class GymSession {
     private String notes;
 
     @OneToMany(mappedBy = "gymSession", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("createdAt ASC, id ASC")
+    @JsonIgnore
     private List<ExerciseLog> exerciseLogs = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -106,10 +112,18 @@ public class GymSession {
         this.notes = notes;
     }
 
+    @JsonIgnore
     public List<ExerciseLog> getExerciseLogs() {
         return exerciseLogs;
     }
 
+    // JSON nur mit geladenen Sätzen (findWithLogsById), Listen und Start/Ende liefern die Session ohne Sätze
+    @JsonProperty("exerciseLogs")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<ExerciseLog> getLoadedExerciseLogs() {
+        return Hibernate.isInitialized(exerciseLogs) ? exerciseLogs : null;
+    }
+
     public void setExerciseLogs(List<ExerciseLog> exerciseLogs) {
         this.exerciseLogs = exerciseLogs;
     }
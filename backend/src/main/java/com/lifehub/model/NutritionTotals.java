@@ -0,0 +1,78 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rollierende Summen aus daily_nutrition pro User: heute, letzte 7 und letzte 30 Tage (jeweils bis as_of).
+ * Veraltet, wenn as_of nicht heute ist oder sich das jüngste updated_at im Fenster geändert hat.
+ */
+@Data
+@Entity
+@Table(name = "nutrition_rolling_totals")
+public class NutritionTotals {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "as_of")
+    private LocalDate asOf;
+
+    @Column(name = "today_tracked", nullable = false)
+    private Boolean todayTracked = false;
+
+    @Column(name = "today_calories", nullable = false)
+    private Integer todayCalories = 0;
+
+    @Column(name = "today_protein", nullable = false)
+    private Integer todayProtein = 0;
+
+    @Column(name = "today_carbs", nullable = false)
+    private Integer todayCarbs = 0;
+
+    @Column(name = "today_fat", nullable = false)
+    private Integer todayFat = 0;
+
+    @Column(name = "days_7d", nullable = false)
+    private Integer days7d = 0;
+
+    @Column(name = "calories_7d", nullable = false)
+    private Long calories7d = 0L;
+
+    @Column(name = "protein_7d", nullable = false)
+    private Long protein7d = 0L;
+
+    @Column(name = "carbs_7d", nullable = false)
+    private Long carbs7d = 0L;
+
+    @Column(name = "fat_7d", nullable = false)
+    private Long fat7d = 0L;
+
+    @Column(name = "days_30d", nullable = false)
+    private Integer days30d = 0;
+
+    @Column(name = "calories_30d", nullable = false)
+    private Long calories30d = 0L;
+
+    @Column(name = "protein_30d", nullable = false)
+    private Long protein30d = 0L;
+
+    @Column(name = "carbs_30d", nullable = false)
+    private Long carbs30d = 0L;
+
+    @Column(name = "fat_30d", nullable = false)
+    private Long fat30d = 0L;
+
+    // Jüngstes daily_nutrition.updated_at im Fenster zum Zeitpunkt der Berechnung
+    @Column(name = "source_updated_at")
+    private LocalDateTime sourceUpdatedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
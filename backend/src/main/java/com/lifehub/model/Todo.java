@@ -38,7 +38,11 @@ public class Todo {
     private LocalDateTime dueDate;
     
     @Column(nullable = false)
-    private Integer position = 0; // For drag & drop ordering
+    private Integer position = 0; // For drag & drop ordering, sparse (Abstand 1024), siehe TodoOrderingService
+    
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L; // Optimistic Locking, auch von Bulk-Reorder geprüft und erhöht
     
     @Column(length = 100)
     private String category; // privat, arbeit, schule
@@ -1,12 +1,10 @@
 package com.lifehub.model;
 
-import com.lifehub.config.LowestAvailableIdGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,8 +21,9 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(generator = "lowest-available-id")
-    @GenericGenerator(name = "lowest-available-id", strategy = "com.lifehub.config.LowestAvailableIdGenerator")
+    @GeneratedValue(generator = "users-id-pooled")
+    // allocationSize = INCREMENT BY der Sequence (pooled optimizer), Hibernate prüft beides beim Start
+    @SequenceGenerator(name = "users-id-pooled", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,55 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Verdichtete Gewichtswerte pro User und Woche/Monat, gepflegt von WeightTimeSeriesService.
+ */
+@Data
+@Entity
+@Table(name = "weight_rollups", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "period", "period_start"})
+})
+public class WeightRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Period period;
+
+    // Montag bzw. Monatserster
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private Integer entries;
+
+    @Column(name = "sum_weight", nullable = false)
+    private Double sumWeight;
+
+    @Column(name = "min_weight", nullable = false)
+    private Double minWeight;
+
+    @Column(name = "max_weight", nullable = false)
+    private Double maxWeight;
+
+    // Steigung der Regressionsgeraden in kg pro Tag, null bei nur einem Eintrag
+    @Column(name = "trend_slope")
+    private Double trendSlope;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Period {
+        WEEK, MONTH
+    }
+}
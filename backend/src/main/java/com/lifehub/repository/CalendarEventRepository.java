@@ -2,6 +2,7 @@ package com.lifehub.repository;
 
 import com.lifehub.model.CalendarEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +17,25 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     
     List<CalendarEvent> findByUserIdAndCategoryOrderByStartTimeAsc(Long userId, String category);
     
+    // Generierte Termine einer Quelle (Altdaten aus der Zeit vor V2_2 markiert V2_8)
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.category = :category " +
+           "AND e.relatedEntityType = :relatedEntityType")
+    List<CalendarEvent> findGenerated(
+        @Param("userId") Long userId,
+        @Param("category") String category,
+        @Param("relatedEntityType") String relatedEntityType
+    );
+    
+    // Ein DELETE-Statement statt select + delete pro Termin
+    @Modifying
+    @Query("DELETE FROM CalendarEvent e WHERE e.userId = :userId AND e.category = :category " +
+           "AND e.relatedEntityType = :relatedEntityType")
+    int deleteGenerated(
+        @Param("userId") Long userId,
+        @Param("category") String category,
+        @Param("relatedEntityType") String relatedEntityType
+    );
+    
     @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId " +
            "AND e.startTime >= :start AND e.startTime <= :end " +
            "ORDER BY e.startTime ASC")
@@ -6,16 +6,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ExerciseLogRepository extends JpaRepository<ExerciseLog, Long> {
+    @Query("SELECT el FROM ExerciseLog el JOIN FETCH el.exercise " +
+           "WHERE el.gymSession.id = :gymSessionId ORDER BY el.createdAt, el.id")
     List<ExerciseLog> findByGymSessionId(Long gymSessionId);
     
-    @Query("SELECT el FROM ExerciseLog el WHERE el.exercise.id = :exerciseId " +
+    // Einzelner Satz mit Übung und Session (Update/Delete brauchen beide nach dem Repository-Aufruf)
+    @Query("SELECT el FROM ExerciseLog el JOIN FETCH el.exercise JOIN FETCH el.gymSession WHERE el.id = :id")
+    Optional<ExerciseLog> findWithExerciseAndSessionById(Long id);
+    
+    @Query("SELECT DISTINCT el.exercise.id FROM ExerciseLog el WHERE el.gymSession.id = :sessionId")
+    List<Long> findExerciseIdsBySessionId(Long sessionId);
+    
+    @Query("SELECT el FROM ExerciseLog el JOIN FETCH el.exercise WHERE el.exercise.id = :exerciseId " +
            "AND el.gymSession.userId = :userId ORDER BY el.createdAt DESC")
     List<ExerciseLog> findByExerciseIdAndUserId(Long exerciseId, Long userId);
     
-    @Query("SELECT el FROM ExerciseLog el WHERE el.exercise.id = :exerciseId " +
+    @Query("SELECT el FROM ExerciseLog el JOIN FETCH el.exercise WHERE el.exercise.id = :exerciseId " +
            "AND el.gymSession.userId = :userId ORDER BY el.createdAt DESC LIMIT 20")
     List<ExerciseLog> findLast20LogsByExerciseAndUser(Long exerciseId, Long userId);
 }
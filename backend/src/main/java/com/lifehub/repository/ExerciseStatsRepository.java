@@ -0,0 +1,12 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.ExerciseStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExerciseStatsRepository extends JpaRepository<ExerciseStats, Long> {
+    Optional<ExerciseStats> findByUserIdAndExerciseId(Long userId, Long exerciseId);
+}
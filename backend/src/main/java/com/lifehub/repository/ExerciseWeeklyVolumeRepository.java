@@ -0,0 +1,14 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.ExerciseWeeklyVolume;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExerciseWeeklyVolumeRepository extends JpaRepository<ExerciseWeeklyVolume, Long> {
+    List<ExerciseWeeklyVolume> findByUserIdAndExerciseIdAndWeekStartGreaterThanEqualOrderByWeekStartAsc(
+            Long userId, Long exerciseId, LocalDate from);
+}
@@ -1,13 +1,19 @@
 package com.lifehub.repository;
 
 import com.lifehub.model.GymSession;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface GymSessionRepository extends JpaRepository<GymSession, Long> {
@@ -18,6 +24,23 @@ public interface GymSessionRepository extends JpaRepository<GymSession, Long> {
     
     Optional<GymSession> findFirstByUserIdAndEndTimeIsNullOrderByStartTimeDesc(Long userId);
     
+    // Keyset-Pagination: (startTime, id) absteigend
+    @Query("SELECT g FROM GymSession g WHERE g.userId = :userId ORDER BY g.startTime DESC, g.id DESC")
+    List<GymSession> findFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT g FROM GymSession g WHERE g.userId = :userId " +
+           "AND (g.startTime < :startTime OR (g.startTime = :startTime AND g.id < :id)) " +
+           "ORDER BY g.startTime DESC, g.id DESC")
+    List<GymSession> findPageAfter(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT g FROM GymSession g WHERE g.userId = :userId ORDER BY g.startTime DESC, g.id DESC")
+    Stream<GymSession> streamByUserId(Long userId);
+    
+    // Session mit allen Sätzen und deren Übungen in einer Query (Detailansicht)
+    @Query("SELECT g FROM GymSession g LEFT JOIN FETCH g.exerciseLogs l LEFT JOIN FETCH l.exercise WHERE g.id = :id")
+    Optional<GymSession> findWithLogsById(Long id);
+    
     @Query("SELECT g FROM GymSession g WHERE g.userId = :userId ORDER BY g.startTime DESC LIMIT 10")
     List<GymSession> findLast10SessionsByUserId(Long userId);
     
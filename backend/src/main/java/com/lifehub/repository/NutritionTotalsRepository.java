@@ -0,0 +1,21 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.NutritionTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NutritionTotalsRepository extends JpaRepository<NutritionTotals, Long> {
+    Optional<NutritionTotals> findByUserId(Long userId);
+
+    // Ziel + Summen in einem Roundtrip: [NutritionGoal, NutritionTotals oder null, jüngstes updated_at im Fenster]
+    @Query("SELECT g, t, (SELECT MAX(d.updatedAt) FROM DailyNutrition d " +
+           "            WHERE d.userId = g.userId AND d.date > :from AND d.date <= :today) " +
+           "FROM NutritionGoal g LEFT JOIN NutritionTotals t ON t.userId = g.userId WHERE g.userId = :userId")
+    List<Object[]> findGoalWithTotals(Long userId, LocalDate from, LocalDate today);
+}
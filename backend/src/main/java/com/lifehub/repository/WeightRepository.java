@@ -1,13 +1,19 @@
 package com.lifehub.repository;
 
 import com.lifehub.model.Weight;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface WeightRepository extends JpaRepository<Weight, Long> {
@@ -19,6 +25,22 @@ public interface WeightRepository extends JpaRepository<Weight, Long> {
     
     Optional<Weight> findFirstByUserIdOrderByDateDesc(Long userId);
     
+    Optional<Weight> findFirstByUserIdOrderByDateAsc(Long userId);
+    
+    // Letzter Eintrag am oder vor einem Stichtag (für 7-/30-Tage-Änderung)
+    Optional<Weight> findFirstByUserIdAndDateLessThanEqualOrderByDateDesc(Long userId, LocalDate date);
+    
+    // Keyset-Pagination: (user_id, date) ist unique, das Datum allein ist daher schon ein eindeutiger Cursor
+    @Query("SELECT w FROM Weight w WHERE w.userId = :userId ORDER BY w.date DESC")
+    List<Weight> findFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT w FROM Weight w WHERE w.userId = :userId AND w.date < :date ORDER BY w.date DESC")
+    List<Weight> findPageAfter(Long userId, LocalDate date, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT w FROM Weight w WHERE w.userId = :userId ORDER BY w.date DESC")
+    Stream<Weight> streamByUserId(Long userId);
+    
     @Query("SELECT w FROM Weight w WHERE w.userId = :userId ORDER BY w.date DESC LIMIT 30")
     List<Weight> findLast30DaysByUserId(Long userId);
     
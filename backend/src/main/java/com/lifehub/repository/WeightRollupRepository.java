@@ -0,0 +1,20 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.WeightRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WeightRollupRepository extends JpaRepository<WeightRollup, Long> {
+    List<WeightRollup> findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStartAsc(
+            Long userId, WeightRollup.Period period, LocalDate from, LocalDate to);
+
+    // Gesamtwerte aus den Monats-Rollups: [entries, sum, min, max]
+    @Query("SELECT SUM(r.entries), SUM(r.sumWeight), MIN(r.minWeight), MAX(r.maxWeight) FROM WeightRollup r " +
+           "WHERE r.userId = :userId AND r.period = com.lifehub.model.WeightRollup.Period.MONTH")
+    List<Object[]> summarize(Long userId);
+}
@@ -0,0 +1,353 @@
+package com.lifehub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifehub.model.Exercise;
+import com.lifehub.repository.ExerciseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Vordefinierter Übungskatalog im Speicher.
+ *
+ * Die vordefinierten Übungen (Migration V2_0, über die API nicht änderbar) werden einmal geladen und als
+ * unveränderlicher Snapshot gehalten: Liste, Index nach ID, EnumMaps nach Kategorie und Muskelgruppe sowie
+ * fertig serialisiertes JSON (roh + gzip, mit ETag) für die Antworten ohne eigene Übungen.
+ * Eigene Übungen kommen pro User aus einem kleinen LRU-Cache, der bei jeder Änderung geleert wird.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExerciseCatalog {
+
+    private static final int MAX_CACHED_USERS = 1024;
+
+    private final ExerciseRepository exerciseRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock customLock = new ReentrantLock();
+    private long customGeneration; // unter customLock; verhindert, dass ein paralleler Load Evicts überschreibt
+    private final LinkedHashMap<Long, List<Exercise>> customByUser = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<Exercise>> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            // Kein Startabbruch: der erste Zugriff versucht es erneut
+            log.warn("Loading exercise catalog at startup failed: {}", e.getMessage());
+        }
+    }
+
+    public List<Exercise> predefined() {
+        return snapshot().all();
+    }
+
+    public Optional<Exercise> findPredefined(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    /**
+     * Vordefinierte plus eigene Übungen des Users (eigene nach Name sortiert, wie bisher)
+     */
+    public List<Exercise> forUser(Long userId) {
+        return overlay(predefined(), customExercises(userId));
+    }
+
+    public List<Exercise> byCategory(Exercise.Category category, Long userId) {
+        List<Exercise> predefined = snapshot().byCategory().getOrDefault(category, List.of());
+        return userId == null ? predefined
+                : overlay(predefined, customExercises(userId).stream().filter(e -> e.getCategory() == category).toList());
+    }
+
+    public List<Exercise> byMuscleGroup(Exercise.MuscleGroup muscleGroup, Long userId) {
+        List<Exercise> predefined = snapshot().byMuscleGroup().getOrDefault(muscleGroup, List.of());
+        return userId == null ? predefined
+                : overlay(predefined, customExercises(userId).stream().filter(e -> e.getMuscleGroup() == muscleGroup).toList());
+    }
+
+    /**
+     * Vorberechnetes JSON, wenn die Antwort nur aus dem Katalog besteht (User ohne eigene Übungen),
+     * sonst empty - dann serialisiert der Controller die Liste wie gewohnt.
+     */
+    public Optional<JsonBlob> predefinedJson(Long userId) {
+        return userId == null || customExercises(userId).isEmpty() ? Optional.of(snapshot().json()) : Optional.empty();
+    }
+
+    public Optional<JsonBlob> categoryJson(Exercise.Category category, Long userId) {
+        return userId == null || customExercises(userId).stream().noneMatch(e -> e.getCategory() == category)
+                ? Optional.of(snapshot().categoryJson().get(category)) : Optional.empty();
+    }
+
+    public Optional<JsonBlob> muscleGroupJson(Exercise.MuscleGroup muscleGroup, Long userId) {
+        return userId == null || customExercises(userId).stream().noneMatch(e -> e.getMuscleGroup() == muscleGroup)
+                ? Optional.of(snapshot().muscleGroupJson().get(muscleGroup)) : Optional.empty();
+    }
+
+    /**
+     * Nach Anlegen, Ändern oder Löschen einer eigenen Übung
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        customLock.lock();
+        try {
+            customByUser.remove(userId);
+            customGeneration++;
+        } finally {
+            customLock.unlock();
+        }
+    }
+
+    private List<Exercise> customExercises(Long userId) {
+        long generation;
+        customLock.lock();
+        try {
+            List<Exercise> cached = customByUser.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            generation = customGeneration;
+        } finally {
+            customLock.unlock();
+        }
+
+        // Query außerhalb des Locks; ein paralleler Miss lädt höchstens doppelt
+        List<Exercise> loaded = List.copyOf(exerciseRepository.findByUserIdOrderByNameAsc(userId));
+        customLock.lock();
+        try {
+            if (generation == customGeneration) {
+                customByUser.put(userId, loaded);
+            }
+        } finally {
+            customLock.unlock();
+        }
+        return loaded;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot == null) {
+                Snapshot loaded = load();
+                // Leerer Katalog = Migration noch nicht gelaufen; nicht festhalten, beim nächsten Zugriff neu laden
+                if (loaded.all().isEmpty()) {
+                    log.warn("No predefined exercises found, catalog will be reloaded on next access");
+                    return loaded;
+                }
+                snapshot = loaded;
+                log.info("Loaded {} predefined exercises into catalog", loaded.all().size());
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<Exercise> all = List.copyOf(exerciseRepository.findByIsCustomFalse());
+
+        Map<Long, Exercise> byId = new LinkedHashMap<>();
+        all.forEach(exercise -> byId.put(exercise.getId(), exercise));
+
+        Map<Exercise.Category, List<Exercise>> byCategory = index(all, Exercise.Category.class, Exercise::getCategory);
+        Map<Exercise.MuscleGroup, List<Exercise>> byMuscleGroup = index(all, Exercise.MuscleGroup.class, Exercise::getMuscleGroup);
+
+        Map<Exercise.Category, JsonBlob> categoryJson = new EnumMap<>(Exercise.Category.class);
+        for (Exercise.Category category : Exercise.Category.values()) {
+            categoryJson.put(category, serialize(byCategory.getOrDefault(category, List.of())));
+        }
+        Map<Exercise.MuscleGroup, JsonBlob> muscleGroupJson = new EnumMap<>(Exercise.MuscleGroup.class);
+        for (Exercise.MuscleGroup muscleGroup : Exercise.MuscleGroup.values()) {
+            muscleGroupJson.put(muscleGroup, serialize(byMuscleGroup.getOrDefault(muscleGroup, List.of())));
+        }
+
+        return new Snapshot(all, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byCategory),
+                Collections.unmodifiableMap(byMuscleGroup), serialize(all),
+                Collections.unmodifiableMap(categoryJson), Collections.unmodifiableMap(muscleGroupJson));
+    }
+
+    private static <K extends Enum<K>> Map<K, List<Exercise>> index(List<Exercise> all, Class<K> type,
+                                                                    Function<Exercise, K> key) {
+        Map<K, List<Exercise>> building = new EnumMap<>(type);
+        for (Exercise exercise : all) {
+            if (key.apply(exercise) != null) {
+                building.computeIfAbsent(key.apply(exercise), k -> new ArrayList<>()).add(exercise);
+            }
+        }
+        Map<K, List<Exercise>> index = new EnumMap<>(type);
+        building.forEach((k, exercises) -> index.put(k, List.copyOf(exercises)));
+        return index;
+    }
+
+    private static List<Exercise> overlay(List<Exercise> predefined, List<Exercise> custom) {
+        if (custom.isEmpty()) {
+            return predefined;
+        }
+        List<Exercise> all = new ArrayList<>(predefined.size() + custom.size());
+        all.addAll(predefined);
+        all.addAll(custom);
+        return all;
+    }
+
+    private JsonBlob serialize(List<Exercise> exercises) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(exercises);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            String etag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 8) + "\"";
+            return new JsonBlob(json, compressed.toByteArray(), etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize exercise catalog", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(
+            List<Exercise> all,
+            Map<Long, Exercise> byId,
+            Map<Exercise.Category, List<Exercise>> byCategory,
+            Map<Exercise.MuscleGroup, List<Exercise>> byMuscleGroup,
+            JsonBlob json,
+            Map<Exercise.Category, JsonBlob> categoryJson,
+            Map<Exercise.MuscleGroup, JsonBlob> muscleGroupJson
+    ) {}
+
+    /**
+     * Fertige JSON-Antwort: gzip nur, wenn der Client es akzeptiert; 304 bei passendem If-None-Match
+     */
+    public record JsonBlob(byte[] json, byte[] gzip, String etag) {
+
+        public ResponseEntity<byte[]> toResponse(String acceptEncoding, String ifNoneMatch) {
+            if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            boolean gzipAccepted = acceptsGzip(acceptEncoding);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(etag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzipAccepted) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+
+        /**
+         * Schwacher Vergleich nach RFC 9110: If-None-Match ist "*" oder eine Liste von Entity-Tags
+         * (ggf. mit W/-Präfix), verglichen wird exakt der Tag in Anführungszeichen. Ungültige Header zählen als kein Treffer.
+         */
+        static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            int i = 0;
+            int n = ifNoneMatch.length();
+            while (i < n) {
+                char c = ifNoneMatch.charAt(i);
+                if (c == ',' || c == ' ' || c == '\t') {
+                    i++;
+                    continue;
+                }
+                if (c == '*') {
+                    return ifNoneMatch.trim().equals("*");
+                }
+                if (ifNoneMatch.startsWith("W/", i)) {
+                    i += 2;
+                }
+                if (i >= n || ifNoneMatch.charAt(i) != '"') {
+                    return false;
+                }
+                int end = ifNoneMatch.indexOf('"', i + 1);
+                if (end < 0) {
+                    return false;
+                }
+                if (ifNoneMatch.regionMatches(i, etag, 0, etag.length()) && end + 1 - i == etag.length()) {
+                    return true;
+                }
+                i = end + 1;
+            }
+            return false;
+        }
+
+        /**
+         * Accept-Encoding nach RFC 9110: gzip (oder x-gzip) bzw. "*" mit q > 0. Ein eigener Eintrag für gzip
+         * geht "*" vor, "gzip;q=0" schließt gzip also auch neben "*" aus.
+         */
+        static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Boolean gzip = null;
+            boolean wildcard = false;
+            for (String element : acceptEncoding.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean accepted = qValue(parts) > 0;
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzip = gzip == null ? accepted : gzip || accepted;
+                } else if (coding.equals("*")) {
+                    wildcard = accepted;
+                }
+            }
+            return gzip != null ? gzip : wildcard;
+        }
+
+        // q-Wert eines Eintrags, ohne Parameter 1; ungültige Werte zählen als 0
+        private static double qValue(String[] parts) {
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() >= 2 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                    try {
+                        return Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.lifehub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Nächtlicher Rebuild der Übungs-Statistik aus den Sätzen (eine Transaktion pro User).
+ * Gleicht aus, was zwischen Satz-Insert und Statistik-Update verloren gehen kann (z.B. Fehler nach einem Batch-Flush).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExerciseStatsRebuildJob {
+
+    private final ExerciseStatsService statsService;
+
+    @Scheduled(cron = "${lifehub.gym.stats-rebuild-cron:0 45 3 * * *}")
+    public void rebuildAll() {
+        Set<Long> userIds = statsService.findUserIdsWithStats();
+
+        int exercises = 0;
+        for (Long userId : userIds) {
+            try {
+                exercises += statsService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Exercise stats rebuild failed for user {}", userId, e);
+            }
+        }
+        log.info("Exercise stats rebuild: {} users, {} exercises", userIds.size(), exercises);
+    }
+}
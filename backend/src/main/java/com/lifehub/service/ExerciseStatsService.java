@@ -0,0 +1,332 @@
+package com.lifehub.service;
+
+import com.lifehub.model.ExerciseLog;
+import com.lifehub.model.ExerciseStats;
+import com.lifehub.model.ExerciseWeeklyVolume;
+import com.lifehub.repository.ExerciseStatsRepository;
+import com.lifehub.repository.ExerciseWeeklyVolumeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fortgeschriebene Übungs-Statistik (exercise_stats + exercise_weekly_volume).
+ *
+ * Neue Sätze werden per Upsert aufaddiert (Bestwerte per GREATEST), gelöschte abgezogen. Nur wenn ein
+ * gelöschter/geänderter Satz einen Bestwert gehalten haben könnte, wird die Übung aus den Sätzen neu
+ * berechnet. Das Lesen der Statistik kostet damit unabhängig von der Anzahl Sätze zwei kleine Queries.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExerciseStatsService {
+
+    public static final int WEEKLY_SERIES_WEEKS = 12;
+
+    private static final String UPSERT_STATS_SQL =
+            "INSERT INTO exercise_stats (user_id, exercise_id, total_sets, total_reps, total_volume, max_weight, max_weight_at, " +
+            "    max_reps, best_estimated_1rm, best_estimated_1rm_at, last_performed_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, exercise_id) DO UPDATE SET " +
+            "    total_sets = exercise_stats.total_sets + EXCLUDED.total_sets, " +
+            "    total_reps = exercise_stats.total_reps + EXCLUDED.total_reps, " +
+            "    total_volume = exercise_stats.total_volume + EXCLUDED.total_volume, " +
+            "    max_weight = GREATEST(exercise_stats.max_weight, EXCLUDED.max_weight), " +
+            "    max_weight_at = CASE WHEN EXCLUDED.max_weight > COALESCE(exercise_stats.max_weight, -1) " +
+            "        THEN EXCLUDED.max_weight_at ELSE exercise_stats.max_weight_at END, " +
+            "    max_reps = GREATEST(exercise_stats.max_reps, EXCLUDED.max_reps), " +
+            "    best_estimated_1rm = GREATEST(exercise_stats.best_estimated_1rm, EXCLUDED.best_estimated_1rm), " +
+            "    best_estimated_1rm_at = CASE WHEN EXCLUDED.best_estimated_1rm > COALESCE(exercise_stats.best_estimated_1rm, -1) " +
+            "        THEN EXCLUDED.best_estimated_1rm_at ELSE exercise_stats.best_estimated_1rm_at END, " +
+            "    last_performed_at = GREATEST(exercise_stats.last_performed_at, EXCLUDED.last_performed_at), " +
+            "    updated_at = CURRENT_TIMESTAMP";
+
+    private static final String UPSERT_WEEK_SQL =
+            "INSERT INTO exercise_weekly_volume (user_id, exercise_id, week_start, sets, volume) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, exercise_id, week_start) DO UPDATE SET " +
+            "    sets = exercise_weekly_volume.sets + EXCLUDED.sets, " +
+            "    volume = exercise_weekly_volume.volume + EXCLUDED.volume";
+
+    private static final String SUBTRACT_STATS_SQL =
+            "UPDATE exercise_stats SET total_sets = total_sets - 1, total_reps = total_reps - ?, " +
+            "    total_volume = total_volume - ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ? AND exercise_id = ?";
+
+    private static final String SUBTRACT_WEEK_SQL =
+            "UPDATE exercise_weekly_volume SET sets = sets - 1, volume = volume - ? " +
+            "WHERE user_id = ? AND exercise_id = ? AND week_start = ?";
+
+    private static final String USER_SETS_SQL =
+            "SELECT el.exercise_id, el.reps, el.weight, el.created_at " +
+            "FROM exercise_logs el JOIN gym_sessions s ON s.id = el.gym_session_id " +
+            "WHERE s.user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExerciseStatsRepository statsRepository;
+    private final ExerciseWeeklyVolumeRepository weeklyVolumeRepository;
+
+    /**
+     * Statistik + die letzten {@link #WEEKLY_SERIES_WEEKS} Wochen (Wochen ohne Training mit 0).
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExerciseProgress> getProgress(Long userId, Long exerciseId) {
+        return statsRepository.findByUserIdAndExerciseId(userId, exerciseId).map(stats -> {
+            LocalDate currentWeek = weekStart(LocalDateTime.now());
+            LocalDate from = currentWeek.minusWeeks(WEEKLY_SERIES_WEEKS - 1);
+
+            Map<LocalDate, WeekVolume> series = new LinkedHashMap<>();
+            for (LocalDate week = from; !week.isAfter(currentWeek); week = week.plusWeeks(1)) {
+                series.put(week, new WeekVolume(week, 0, 0.0));
+            }
+            for (ExerciseWeeklyVolume week : weeklyVolumeRepository
+                    .findByUserIdAndExerciseIdAndWeekStartGreaterThanEqualOrderByWeekStartAsc(userId, exerciseId, from)) {
+                series.computeIfPresent(week.getWeekStart(),
+                        (key, empty) -> new WeekVolume(key, week.getSets(), week.getVolume()));
+            }
+            return new ExerciseProgress(stats, List.copyOf(series.values()));
+        });
+    }
+
+    /**
+     * Addiert neue Sätze auf: ein Upsert pro Übung und einer pro Übung/Woche, jeweils als JDBC-Batch.
+     */
+    @Transactional
+    public void recordSets(Long userId, Collection<SetValues> sets) {
+        if (sets.isEmpty()) {
+            return;
+        }
+        Map<Long, Totals> byExercise = new LinkedHashMap<>();
+        Map<WeekKey, Totals> byWeek = new LinkedHashMap<>();
+        for (SetValues set : sets) {
+            byExercise.computeIfAbsent(set.exerciseId(), id -> new Totals()).add(set);
+            byWeek.computeIfAbsent(new WeekKey(set.exerciseId(), weekStart(set.performedAt())), key -> new Totals()).add(set);
+        }
+        upsert(userId, byExercise, byWeek);
+    }
+
+    public void recordSet(Long userId, ExerciseLog log) {
+        recordSets(userId, List.of(SetValues.of(log)));
+    }
+
+    /**
+     * Zieht einen gelöschten Satz ab (der Satz ist zu diesem Zeitpunkt schon gelöscht).
+     * Lag er auf einem Bestwert, wird die Übung stattdessen neu berechnet; dann liefert die Methode true.
+     */
+    @Transactional
+    public boolean removeSet(Long userId, SetValues set) {
+        Optional<ExerciseStats> current = statsRepository.findByUserIdAndExerciseId(userId, set.exerciseId());
+        if (current.isEmpty() || mayHoldRecord(current.get(), set)) {
+            rebuildExercise(userId, set.exerciseId());
+            return true;
+        }
+
+        jdbcTemplate.update(SUBTRACT_STATS_SQL, set.reps(), set.volume(), userId, set.exerciseId());
+        LocalDate week = weekStart(set.performedAt());
+        jdbcTemplate.update(SUBTRACT_WEEK_SQL, set.volume(), userId, set.exerciseId(), week);
+        jdbcTemplate.update("DELETE FROM exercise_weekly_volume WHERE user_id = ? AND exercise_id = ? AND week_start = ? AND sets <= 0",
+                userId, set.exerciseId(), week);
+        return false;
+    }
+
+    /**
+     * Geänderter Satz (bereits gespeichert): alten Stand abziehen, neuen aufaddieren.
+     */
+    @Transactional
+    public void replaceSet(Long userId, SetValues before, SetValues after) {
+        // Ein Rebuild hat den neuen Stand schon aus der Tabelle gelesen
+        if (!removeSet(userId, before)) {
+            recordSets(userId, List.of(after));
+        }
+    }
+
+    /**
+     * Berechnet Statistik und Wochenvolumen einer Übung komplett aus den Sätzen neu.
+     */
+    @Transactional
+    public void rebuildExercise(Long userId, Long exerciseId) {
+        jdbcTemplate.update("DELETE FROM exercise_stats WHERE user_id = ? AND exercise_id = ?", userId, exerciseId);
+        jdbcTemplate.update("DELETE FROM exercise_weekly_volume WHERE user_id = ? AND exercise_id = ?", userId, exerciseId);
+        fold(userId, USER_SETS_SQL + " AND el.exercise_id = ?", userId, exerciseId);
+    }
+
+    @Transactional
+    public void rebuildExercises(Long userId, Collection<Long> exerciseIds) {
+        for (Long exerciseId : new TreeSet<>(exerciseIds)) {
+            rebuildExercise(userId, exerciseId);
+        }
+    }
+
+    /**
+     * Berechnet alle Übungen eines Users neu. Liefert die Anzahl Übungen mit Statistik.
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        jdbcTemplate.update("DELETE FROM exercise_stats WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM exercise_weekly_volume WHERE user_id = ?", userId);
+        return fold(userId, USER_SETS_SQL, userId);
+    }
+
+    /**
+     * Übung gelöscht: Statistik aller User dazu entfernen.
+     */
+    @Transactional
+    public void forgetExercise(Long exerciseId) {
+        jdbcTemplate.update("DELETE FROM exercise_stats WHERE exercise_id = ?", exerciseId);
+        jdbcTemplate.update("DELETE FROM exercise_weekly_volume WHERE exercise_id = ?", exerciseId);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> findUserIdsWithStats() {
+        return new TreeSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM gym_sessions s WHERE EXISTS (SELECT 1 FROM exercise_logs el WHERE el.gym_session_id = s.id) " +
+                "UNION SELECT user_id FROM exercise_stats", Long.class));
+    }
+
+    // Sätze zeilenweise lesen und nur die Summen im Speicher halten
+    private int fold(Long userId, String sql, Object... args) {
+        Map<Long, Totals> byExercise = new LinkedHashMap<>();
+        Map<WeekKey, Totals> byWeek = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            double weight = rs.getDouble(3);
+            SetValues set = new SetValues(
+                    rs.getLong(1),
+                    rs.getInt(2),
+                    rs.wasNull() ? null : weight,
+                    rs.getTimestamp(4).toLocalDateTime());
+            byExercise.computeIfAbsent(set.exerciseId(), id -> new Totals()).add(set);
+            byWeek.computeIfAbsent(new WeekKey(set.exerciseId(), weekStart(set.performedAt())), key -> new Totals()).add(set);
+        }, args);
+        upsert(userId, byExercise, byWeek);
+        return byExercise.size();
+    }
+
+    private void upsert(Long userId, Map<Long, Totals> byExercise, Map<WeekKey, Totals> byWeek) {
+        List<Object[]> statsRows = new ArrayList<>(byExercise.size());
+        byExercise.forEach((exerciseId, totals) -> statsRows.add(new Object[] {
+                userId, exerciseId, totals.sets, totals.reps, totals.volume,
+                totals.maxWeight, timestamp(totals.maxWeightAt), totals.maxReps,
+                totals.bestOneRepMax, timestamp(totals.bestOneRepMaxAt), timestamp(totals.lastPerformedAt)
+        }));
+        List<Object[]> weekRows = new ArrayList<>(byWeek.size());
+        byWeek.forEach((key, totals) -> weekRows.add(new Object[] {
+                userId, key.exerciseId(), key.weekStart(), totals.sets, totals.volume
+        }));
+
+        if (!statsRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STATS_SQL, statsRows);
+        }
+        if (!weekRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_WEEK_SQL, weekRows);
+        }
+    }
+
+    // Satz könnte Bestwert oder letzter Satz sein -> Abziehen reicht nicht
+    private static boolean mayHoldRecord(ExerciseStats stats, SetValues set) {
+        if (stats.getMaxWeight() != null && set.weight() != null && set.weight() >= stats.getMaxWeight()) {
+            return true;
+        }
+        if (stats.getMaxReps() != null && set.reps() >= stats.getMaxReps()) {
+            return true;
+        }
+        Double oneRepMax = set.estimatedOneRepMax();
+        if (oneRepMax != null && stats.getBestEstimatedOneRepMax() != null && oneRepMax >= stats.getBestEstimatedOneRepMax()) {
+            return true;
+        }
+        return stats.getLastPerformedAt() == null || !set.performedAt().isBefore(stats.getLastPerformedAt())
+                || stats.getTotalSets() <= 1;
+    }
+
+    private static LocalDate weekStart(LocalDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    private static final class Totals {
+        private int sets;
+        private long reps;
+        private double volume;
+        private Double maxWeight;
+        private LocalDateTime maxWeightAt;
+        private Integer maxReps;
+        private Double bestOneRepMax;
+        private LocalDateTime bestOneRepMaxAt;
+        private LocalDateTime lastPerformedAt;
+
+        void add(SetValues set) {
+            sets++;
+            reps += set.reps();
+            volume += set.volume();
+
+            // Bei Gleichstand zählt der frühere Satz als Rekord
+            if (set.weight() != null && (maxWeight == null || set.weight() > maxWeight
+                    || (set.weight().equals(maxWeight) && set.performedAt().isBefore(maxWeightAt)))) {
+                maxWeight = set.weight();
+                maxWeightAt = set.performedAt();
+            }
+            if (maxReps == null || set.reps() > maxReps) {
+                maxReps = set.reps();
+            }
+            Double oneRepMax = set.estimatedOneRepMax();
+            if (oneRepMax != null && (bestOneRepMax == null || oneRepMax > bestOneRepMax
+                    || (oneRepMax.equals(bestOneRepMax) && set.performedAt().isBefore(bestOneRepMaxAt)))) {
+                bestOneRepMax = oneRepMax;
+                bestOneRepMaxAt = set.performedAt();
+            }
+            if (lastPerformedAt == null || set.performedAt().isAfter(lastPerformedAt)) {
+                lastPerformedAt = set.performedAt();
+            }
+        }
+    }
+
+    private record WeekKey(Long exerciseId, LocalDate weekStart) {}
+
+    /**
+     * Die für die Statistik relevanten Werte eines Satzes
+     */
+    public record SetValues(Long exerciseId, int reps, Double weight, LocalDateTime performedAt) {
+
+        public SetValues {
+            if (performedAt == null) {
+                performedAt = LocalDateTime.now();
+            }
+        }
+
+        public static SetValues of(ExerciseLog log) {
+            return new SetValues(log.getExercise().getId(), log.getReps(), log.getWeight(), log.getCreatedAt());
+        }
+
+        public double volume() {
+            return weight != null ? weight * reps : 0.0;
+        }
+
+        // Epley: weight * (1 + reps / 30), eine einzelne Wiederholung zählt direkt
+        public Double estimatedOneRepMax() {
+            if (weight == null || reps <= 0) {
+                return null;
+            }
+            return reps == 1 ? weight : Math.round(weight * (1 + reps / 30.0) * 10) / 10.0;
+        }
+    }
+
+    public record WeekVolume(LocalDate weekStart, int sets, double volume) {}
+
+    public record ExerciseProgress(ExerciseStats stats, List<WeekVolume> weeklyVolume) {}
+}
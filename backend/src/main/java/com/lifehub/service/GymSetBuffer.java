@@ -0,0 +1,321 @@
+package com.lifehub.service;
+
+import com.lifehub.model.Exercise;
+import com.lifehub.repository.ExerciseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-Behind-Puffer für Sätze einer laufenden Gym-Session.
+ *
+ * Sätze werden gegen gecachte Session-/Übungs-Referenzen validiert (kein findById pro Satz) und
+ * gesammelt; geschrieben wird per JDBC-Batch, sobald {@link #FLUSH_SIZE} Sätze anstehen, spätestens
+ * nach {@link #MAX_DELAY_MILLIS}, vor jedem Lesen der Session und beim Beenden der Session.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GymSetBuffer {
+
+    public static final int FLUSH_SIZE = 25;
+    public static final int MAX_BATCH_SIZE = 500;
+    private static final long MAX_DELAY_MILLIS = 10_000;
+    private static final long IDLE_EVICT_MILLIS = 30 * 60_000;
+
+    // Doppelt gesendete Sätze (gleiche client_id in derselben Session) werden still verworfen, siehe V2_4
+    private static final String INSERT_SQL =
+            "INSERT INTO exercise_logs (gym_session_id, exercise_id, set_number, reps, weight, notes, client_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (gym_session_id, client_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseStatsService statsService;
+
+    private final Map<Long, SessionBuffer> sessions = new ConcurrentHashMap<>();
+    private final Set<Long> knownExerciseIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Nimmt Sätze für eine offene Session an. Wirft IllegalArgumentException bei unbekannter/beendeter
+     * Session oder unbekannter Übung - dann wird kein Satz der Anfrage übernommen.
+     */
+    public AcceptResult enqueue(Long sessionId, List<PendingSet> sets) {
+        if (sets.isEmpty()) {
+            return new AcceptResult(0, pendingCount(sessionId));
+        }
+        if (sets.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " sets per request");
+        }
+        for (PendingSet set : sets) {
+            if (set.exerciseId() == null || set.setNumber() == null || set.reps() == null) {
+                throw new IllegalArgumentException("Each set needs exerciseId, setNumber and reps");
+            }
+        }
+        requireExercises(sets);
+
+        boolean flushNow;
+        while (true) {
+            SessionBuffer buffer = sessions.computeIfAbsent(sessionId, this::loadSession);
+            if (buffer == null) {
+                throw new IllegalArgumentException("Invalid session ID");
+            }
+
+            buffer.lock.lock();
+            try {
+                if (buffer.evicted) {
+                    continue; // parallel wegen Inaktivität entfernt -> neu laden
+                }
+                if (buffer.ended) {
+                    throw new IllegalArgumentException("Session is already ended");
+                }
+                long now = System.currentTimeMillis();
+                if (buffer.pending.isEmpty()) {
+                    buffer.oldestMillis = now;
+                }
+                buffer.lastUsedMillis = now;
+                buffer.pending.addAll(sets);
+                flushNow = buffer.pending.size() >= FLUSH_SIZE;
+            } finally {
+                buffer.lock.unlock();
+            }
+            break;
+        }
+
+        if (flushNow) {
+            flush(sessionId);
+        }
+        return new AcceptResult(sets.size(), pendingCount(sessionId));
+    }
+
+    /**
+     * Schreibt alle gepufferten Sätze der Session (ein JDBC-Batch). Liefert die Anzahl geschriebener Sätze.
+     */
+    public int flush(Long sessionId) {
+        SessionBuffer buffer = sessions.get(sessionId);
+        if (buffer == null) {
+            return 0;
+        }
+
+        // Lock über den Insert halten: Reihenfolge bleibt erhalten, parallele Flushes schreiben nichts doppelt
+        buffer.lock.lock();
+        try {
+            if (buffer.pending.isEmpty()) {
+                return 0;
+            }
+            List<PendingSet> batch = List.copyOf(buffer.pending);
+            List<ExerciseStatsService.SetValues> inserted = insert(sessionId, batch);
+            buffer.pending.clear();
+            updateStats(sessionId, buffer.userId, inserted);
+            return batch.size();
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * Session beendet (end_time ist schon gespeichert): Rest schreiben, danach keine Sätze mehr annehmen.
+     * Der Puffer bleibt als beendet markiert im Speicher, bis er wegen Inaktivität entfernt wird. So kann ein
+     * paralleles {@link #enqueue}, das die Session noch vor dem Commit von end_time gelesen hat, keinen neuen
+     * offenen Puffer mehr anlegen.
+     */
+    public int close(Long sessionId) {
+        SessionBuffer buffer = sessions.computeIfAbsent(sessionId, id -> {
+            SessionBuffer ended = new SessionBuffer();
+            ended.ended = true;
+            ended.lastUsedMillis = System.currentTimeMillis();
+            return ended;
+        });
+        // Unter dem Lock: ein paralleles enqueue landet entweder vorher im Puffer (und wird mitgeschrieben)
+        // oder sieht danach ended
+        buffer.lock.lock();
+        try {
+            buffer.ended = true;
+            buffer.lastUsedMillis = System.currentTimeMillis();
+            return flush(sessionId);
+        } catch (RuntimeException e) {
+            // Sätze bleiben im Puffer, flushStale versucht es erneut
+            log.warn("Flushing gym sets of ended session {} failed: {}", sessionId, e.getMessage());
+            return 0;
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * Session gelöscht: Puffer verwerfen.
+     */
+    public void discard(Long sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public void evictExercise(Long exerciseId) {
+        knownExerciseIds.remove(exerciseId);
+    }
+
+    public int pendingCount(Long sessionId) {
+        SessionBuffer buffer = sessions.get(sessionId);
+        if (buffer == null) {
+            return 0;
+        }
+        buffer.lock.lock();
+        try {
+            return buffer.pending.size();
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public void flushStale() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, SessionBuffer> entry : sessions.entrySet()) {
+            SessionBuffer buffer = entry.getValue();
+            boolean stale;
+            buffer.lock.lock();
+            try {
+                stale = !buffer.pending.isEmpty() && buffer.oldestMillis <= now - MAX_DELAY_MILLIS;
+                // Vergessene Sessions (nie beendet) nicht ewig im Speicher halten
+                if (buffer.pending.isEmpty() && buffer.lastUsedMillis <= now - IDLE_EVICT_MILLIS) {
+                    buffer.evicted = true;
+                    sessions.remove(entry.getKey(), buffer);
+                }
+            } finally {
+                buffer.lock.unlock();
+            }
+            if (stale) {
+                try {
+                    flush(entry.getKey());
+                } catch (RuntimeException e) {
+                    // Sätze bleiben im Puffer, nächster Versuch beim nächsten Lauf
+                    log.warn("Flushing gym sets of session {} failed: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        for (Long sessionId : sessions.keySet()) {
+            try {
+                flush(sessionId);
+            } catch (RuntimeException e) {
+                log.error("Losing buffered gym sets of session {} on shutdown", sessionId, e);
+            }
+        }
+    }
+
+    // Liefert die tatsächlich geschriebenen Sätze (ohne per client_id verworfene Duplikate).
+    // Ganz oder gar nicht: bricht der Batch ab, bleibt nichts stehen und der Puffer wird beim nächsten Flush
+    // komplett neu geschrieben - sonst kämen Sätze ohne client_id doppelt in die Tabelle.
+    private List<ExerciseStatsService.SetValues> insert(Long sessionId, List<PendingSet> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int[][] counts = transaction.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, set) -> {
+            ps.setLong(1, sessionId);
+            ps.setLong(2, set.exerciseId());
+            ps.setInt(3, set.setNumber());
+            ps.setInt(4, set.reps());
+            if (set.weight() != null) {
+                ps.setDouble(5, set.weight());
+            } else {
+                ps.setNull(5, Types.DOUBLE);
+            }
+            ps.setString(6, set.notes());
+            ps.setString(7, set.clientId());
+            ps.setTimestamp(8, Timestamp.valueOf(set.performedAt() != null ? set.performedAt() : now));
+        }));
+
+        List<ExerciseStatsService.SetValues> inserted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[0][i] != 0) {
+                PendingSet set = batch.get(i);
+                inserted.add(new ExerciseStatsService.SetValues(set.exerciseId(), set.reps(), set.weight(),
+                        set.performedAt() != null ? set.performedAt() : now));
+            }
+        }
+        return inserted;
+    }
+
+    private void updateStats(Long sessionId, Long userId, List<ExerciseStatsService.SetValues> inserted) {
+        try {
+            statsService.recordSets(userId, inserted);
+        } catch (RuntimeException e) {
+            // Sätze sind geschrieben; die Statistik holt der nächtliche Rebuild nach
+            log.warn("Updating exercise stats after flush of session {} failed: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private SessionBuffer loadSession(Long sessionId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT user_id, end_time IS NOT NULL AS ended FROM gym_sessions WHERE id = ?", sessionId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        SessionBuffer buffer = new SessionBuffer();
+        buffer.userId = ((Number) rows.get(0).get("user_id")).longValue();
+        buffer.ended = (Boolean) rows.get(0).get("ended");
+        buffer.lastUsedMillis = System.currentTimeMillis();
+        return buffer;
+    }
+
+    private void requireExercises(List<PendingSet> sets) {
+        Set<Long> missing = new HashSet<>();
+        for (PendingSet set : sets) {
+            if (!knownExerciseIds.contains(set.exerciseId())) {
+                missing.add(set.exerciseId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        for (Exercise exercise : exerciseRepository.findAllById(missing)) {
+            knownExerciseIds.add(exercise.getId());
+            missing.remove(exercise.getId());
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Invalid exercise ID(s): " + missing);
+        }
+    }
+
+    private static final class SessionBuffer {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<PendingSet> pending = new ArrayList<>();
+        private Long userId;
+        private long oldestMillis;
+        private long lastUsedMillis;
+        private boolean ended;
+        private boolean evicted;
+    }
+
+    public record PendingSet(
+            Long exerciseId,
+            Integer setNumber,
+            Integer reps,
+            Double weight,
+            String notes,
+            String clientId,
+            LocalDateTime performedAt
+    ) {}
+
+    public record SetBatch(Long sessionId, List<PendingSet> sets) {}
+
+    public record AcceptResult(int accepted, int pending) {}
+}
@@ -0,0 +1,65 @@
+package com.lifehub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets: reduziert eine nach x sortierte Reihe auf threshold Punkte und behält dabei
+ * Spitzen und Täler (pro Bucket wird der Punkt mit der größten Dreiecksfläche zum Nachbarn gewählt).
+ * Erster und letzter Punkt bleiben immer erhalten.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    public static <T> List<T> downsample(List<T> points, ToDoubleFunction<T> x, ToDoubleFunction<T> y, int threshold) {
+        int n = points.size();
+        if (threshold >= n || threshold < 3) {
+            return points;
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+
+        // n - 2 innere Punkte auf threshold - 2 Buckets verteilen
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Mittelwert des nächsten Buckets als dritte Ecke
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x.applyAsDouble(points.get(i));
+                avgY += y.applyAsDouble(points.get(i));
+            }
+            avgX /= nextEnd - nextStart;
+            avgY /= nextEnd - nextStart;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double prevX = x.applyAsDouble(points.get(previous));
+            double prevY = y.applyAsDouble(points.get(previous));
+
+            double maxArea = -1;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((prevX - avgX) * (y.applyAsDouble(points.get(i)) - prevY)
+                        - (prevX - x.applyAsDouble(points.get(i))) * (avgY - prevY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            sampled.add(points.get(selected));
+            previous = selected;
+        }
+
+        sampled.add(points.get(n - 1));
+        return sampled;
+    }
+}
@@ -0,0 +1,107 @@
+package com.lifehub.service;
+
+import com.lifehub.model.NutritionGoal;
+import com.lifehub.model.NutritionTotals;
+import com.lifehub.repository.NutritionTotalsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Pflegt nutrition_rolling_totals: nach jeder Änderung an daily_nutrition im 30-Tage-Fenster wird die
+ * Zeile des Users mit einem Statement neu berechnet (max. 30 Tageszeilen über UNIQUE (user_id, date)).
+ * Fensterwechsel um Mitternacht und Tage, die von außen geändert wurden (Mahlzeiten-Rollup der Haupt-App),
+ * erkennt das Lesen an as_of bzw. am jüngsten updated_at und rechnet dann nach.
+ */
+@Service
+@RequiredArgsConstructor
+public class NutritionTotalsService {
+
+    public static final int WINDOW_DAYS = 30;
+
+    private static final String REFRESH_SQL =
+            "INSERT INTO nutrition_rolling_totals (user_id, as_of, today_tracked, today_calories, today_protein, today_carbs, today_fat, " +
+            "    days_7d, calories_7d, protein_7d, carbs_7d, fat_7d, days_30d, calories_30d, protein_30d, carbs_30d, fat_30d, " +
+            "    source_updated_at, updated_at) " +
+            "SELECT p.user_id, p.as_of, " +
+            "    COUNT(d.id) FILTER (WHERE d.date = p.as_of) > 0, " +
+            "    COALESCE(SUM(d.calories) FILTER (WHERE d.date = p.as_of), 0), " +
+            "    COALESCE(SUM(d.protein) FILTER (WHERE d.date = p.as_of), 0), " +
+            "    COALESCE(SUM(d.carbs) FILTER (WHERE d.date = p.as_of), 0), " +
+            "    COALESCE(SUM(d.fat) FILTER (WHERE d.date = p.as_of), 0), " +
+            "    COUNT(d.id) FILTER (WHERE d.date > p.as_of - 7), " +
+            "    COALESCE(SUM(d.calories) FILTER (WHERE d.date > p.as_of - 7), 0), " +
+            "    COALESCE(SUM(d.protein) FILTER (WHERE d.date > p.as_of - 7), 0), " +
+            "    COALESCE(SUM(d.carbs) FILTER (WHERE d.date > p.as_of - 7), 0), " +
+            "    COALESCE(SUM(d.fat) FILTER (WHERE d.date > p.as_of - 7), 0), " +
+            "    COUNT(d.id), COALESCE(SUM(d.calories), 0), COALESCE(SUM(d.protein), 0), " +
+            "    COALESCE(SUM(d.carbs), 0), COALESCE(SUM(d.fat), 0), MAX(d.updated_at), CURRENT_TIMESTAMP " +
+            "FROM (SELECT ?::bigint AS user_id, ?::date AS as_of) p " +
+            "LEFT JOIN daily_nutrition d ON d.user_id = p.user_id AND d.date > p.as_of - " + WINDOW_DAYS + " AND d.date <= p.as_of " +
+            "GROUP BY p.user_id, p.as_of " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "    as_of = EXCLUDED.as_of, today_tracked = EXCLUDED.today_tracked, " +
+            "    today_calories = EXCLUDED.today_calories, today_protein = EXCLUDED.today_protein, " +
+            "    today_carbs = EXCLUDED.today_carbs, today_fat = EXCLUDED.today_fat, " +
+            "    days_7d = EXCLUDED.days_7d, calories_7d = EXCLUDED.calories_7d, protein_7d = EXCLUDED.protein_7d, " +
+            "    carbs_7d = EXCLUDED.carbs_7d, fat_7d = EXCLUDED.fat_7d, " +
+            "    days_30d = EXCLUDED.days_30d, calories_30d = EXCLUDED.calories_30d, protein_30d = EXCLUDED.protein_30d, " +
+            "    carbs_30d = EXCLUDED.carbs_30d, fat_30d = EXCLUDED.fat_30d, " +
+            "    source_updated_at = EXCLUDED.source_updated_at, updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NutritionTotalsRepository totalsRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Ziel + aktuelle Summen des Users, leer ohne Ziel.
+     */
+    @Transactional
+    public Optional<GoalProgress> getGoalProgress(Long userId) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = totalsRepository.findGoalWithTotals(userId, today.minusDays(WINDOW_DAYS), today);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        NutritionGoal goal = (NutritionGoal) rows.get(0)[0];
+        NutritionTotals totals = (NutritionTotals) rows.get(0)[1];
+        LocalDateTime sourceUpdatedAt = (LocalDateTime) rows.get(0)[2];
+
+        if (totals == null) {
+            refresh(userId);
+            totals = totalsRepository.findByUserId(userId).orElseThrow();
+        } else if (!today.equals(totals.getAsOf()) || !Objects.equals(sourceUpdatedAt, totals.getSourceUpdatedAt())) {
+            refresh(userId);
+            // Per SQL geschrieben: die bereits geladene Entity neu lesen
+            entityManager.refresh(totals);
+        }
+        return Optional.of(new GoalProgress(goal, totals));
+    }
+
+    /**
+     * Nach Anlegen/Ändern/Löschen eines Tages; Tage außerhalb des Fensters ändern die Summen nicht.
+     */
+    @Transactional
+    public void onDayChanged(Long userId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isAfter(today) || !date.isAfter(today.minusDays(WINDOW_DAYS))) {
+            return;
+        }
+        refresh(userId);
+    }
+
+    @Transactional
+    public void refresh(Long userId) {
+        jdbcTemplate.update(REFRESH_SQL, userId, LocalDate.now());
+    }
+
+    public record GoalProgress(NutritionGoal goal, NutritionTotals totals) {}
+}
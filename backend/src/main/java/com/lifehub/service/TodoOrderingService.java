@@ -0,0 +1,197 @@
+package com.lifehub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kanban-Reihenfolge der Todos.
+ *
+ * Positionen sind sparse (Abstand {@link #GAP}): ein Move setzt nur die Position der verschobenen Karte
+ * auf die Mitte zwischen ihren neuen Nachbarn. Erst wenn dort keine Lücke mehr frei ist, wird die Spalte
+ * mit einem Statement neu durchnummeriert.
+ *
+ * Alle Änderungen laufen als ein UPDATE ... FROM unnest(...) mit Versions-Check; bei einem Konflikt
+ * wird nichts geschrieben (alles oder nichts).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoOrderingService {
+
+    public static final int GAP = 1024;
+
+    // Ein Statement für beliebig viele Karten; v.version NULL = ohne Versions-Check
+    private static final String BULK_UPDATE_SQL =
+            "UPDATE todos t " +
+            "SET position = v.position, status = COALESCE(v.status, t.status), " +
+            "    version = t.version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "FROM unnest(?::bigint[], ?::int[], ?::varchar[], ?::bigint[]) AS v(id, position, status, version) " +
+            "WHERE t.id = v.id AND (v.version IS NULL OR t.version = v.version) " +
+            "RETURNING t.id, t.version";
+
+    // Die verschobene Karte bleibt außen vor: ihre Position wird direkt danach gesetzt, ihre Version nicht erhöht
+    private static final String REBALANCE_SQL =
+            "UPDATE todos t SET position = r.rn * " + GAP + ", version = t.version + 1 " +
+            "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY position, id) AS rn " +
+            "      FROM todos WHERE user_id = ? AND status = ? AND archived = false AND id <> ?) r " +
+            "WHERE t.id = r.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Übernimmt Positionen/Status aller Karten in einem Statement.
+     * Karten mit abweichender Version (oder unbekannter ID) landen in conflicts, dann wird zurückgerollt.
+     */
+    @Transactional
+    public ReorderResult reorder(List<PositionUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new ReorderResult(Map.of(), List.of());
+        }
+
+        Map<Long, PositionUpdate> byId = updates.stream()
+                .collect(Collectors.toMap(PositionUpdate::id, Function.identity(), (first, second) -> second));
+        List<PositionUpdate> distinct = List.copyOf(byId.values());
+
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(BULK_UPDATE_SQL);
+            statement.setArray(1, array(connection, "bigint", distinct, PositionUpdate::id));
+            statement.setArray(2, array(connection, "integer", distinct, PositionUpdate::position));
+            statement.setArray(3, array(connection, "varchar", distinct, PositionUpdate::status));
+            statement.setArray(4, array(connection, "bigint", distinct, PositionUpdate::version));
+            return statement;
+        }, rs -> {
+            versions.put(rs.getLong(1), rs.getLong(2));
+        });
+
+        if (versions.size() != distinct.size()) {
+            List<Long> conflicts = distinct.stream()
+                    .map(PositionUpdate::id)
+                    .filter(id -> !versions.containsKey(id))
+                    .sorted()
+                    .toList();
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.debug("Todo reorder rejected, stale versions: {}", conflicts);
+            return new ReorderResult(Map.of(), conflicts);
+        }
+        return new ReorderResult(versions, List.of());
+    }
+
+    /**
+     * Verschiebt eine Karte zwischen zwei Nachbarn (beforeId = Karte darüber, afterId = Karte darunter,
+     * jeweils null am Spaltenrand). Ändert im Normalfall genau eine Zeile.
+     * Nachbarn müssen zum selben User gehören, in der Zielspalte liegen und in der richtigen Reihenfolge stehen,
+     * sonst IllegalArgumentException.
+     */
+    @Transactional
+    public MoveResult move(Long todoId, String status, Long beforeId, Long afterId, Long expectedVersion) {
+        // Karte sperren und Version vor einem möglichen Rebalance prüfen: ein Konflikt schreibt nichts
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT user_id, status, version FROM todos WHERE id = ? FOR UPDATE", todoId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Long userId = ((Number) rows.get(0).get("user_id")).longValue();
+        String targetStatus = status != null ? status : (String) rows.get(0).get("status");
+        long version = ((Number) rows.get(0).get("version")).longValue();
+        if (expectedVersion != null && expectedVersion != version) {
+            log.debug("Todo move rejected, stale version of {}: {} != {}", todoId, expectedVersion, version);
+            return new MoveResult(null, null, List.of(todoId));
+        }
+
+        Integer position = positionBetween(todoId, userId, targetStatus, beforeId, afterId);
+        if (position == null) {
+            // Keine Lücke mehr: Spalte einmal neu verteilen, danach ist zwischen allen Karten wieder GAP Platz
+            jdbcTemplate.update(REBALANCE_SQL, userId, targetStatus, todoId);
+            position = positionBetween(todoId, userId, targetStatus, beforeId, afterId);
+        }
+
+        ReorderResult result = reorder(List.of(new PositionUpdate(todoId, position, status, expectedVersion)));
+        return new MoveResult(position, result.versions().get(todoId), result.conflicts());
+    }
+
+    /**
+     * Position für eine neue Karte am Ende der Spalte
+     */
+    @Transactional(readOnly = true)
+    public int nextPosition(Long userId, String status) {
+        Integer max = jdbcTemplate.queryForObject(
+                "SELECT MAX(position) FROM todos WHERE user_id = ? AND status = ? AND archived = false",
+                Integer.class, userId, status);
+        return max == null ? GAP : max + GAP;
+    }
+
+    private Integer positionBetween(Long todoId, Long userId, String status, Long beforeId, Long afterId) {
+        Neighbour lower = neighbour(todoId, userId, status, beforeId);
+        Neighbour upper = neighbour(todoId, userId, status, afterId);
+
+        if (lower == null && upper == null) {
+            return nextPosition(userId, status);
+        }
+        if (upper == null) {
+            return lower.position() + GAP;
+        }
+        if (lower == null) {
+            // Ganz nach oben: zwischen 0 und der ersten Karte, keine negativen Positionen
+            return upper.position() > 1 ? upper.position() / 2 : null;
+        }
+        // Gleiche Reihenfolge wie REBALANCE_SQL (position, id), sonst landet die Karte nie zwischen beiden
+        boolean ordered = lower.position() < upper.position()
+                || (lower.position() == upper.position() && lower.id() < upper.id());
+        if (!ordered) {
+            throw new IllegalArgumentException("Todo " + beforeId + " is not above todo " + afterId);
+        }
+        if (upper.position() - lower.position() < 2) {
+            return null;
+        }
+        return lower.position() + (upper.position() - lower.position()) / 2;
+    }
+
+    private Neighbour neighbour(Long todoId, Long userId, String status, Long neighbourId) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(todoId)) {
+            throw new IllegalArgumentException("Todo " + todoId + " cannot be its own neighbour");
+        }
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT user_id, status, archived, position FROM todos WHERE id = ?", neighbourId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Unknown neighbour todo: " + neighbourId);
+        }
+        Map<String, Object> row = rows.get(0);
+        if (!userId.equals(((Number) row.get("user_id")).longValue())
+                || !status.equals(row.get("status"))
+                || Boolean.TRUE.equals(row.get("archived"))) {
+            throw new IllegalArgumentException("Neighbour todo " + neighbourId + " is not in column " + status);
+        }
+        return new Neighbour(neighbourId, ((Number) row.get("position")).intValue());
+    }
+
+    private static <T> Array array(Connection connection, String type, List<PositionUpdate> updates,
+                                   Function<PositionUpdate, T> field) throws SQLException {
+        return connection.createArrayOf(type, updates.stream().map(field).toArray());
+    }
+
+    private record Neighbour(Long id, int position) {}
+
+    public record PositionUpdate(Long id, Integer position, String status, Long version) {}
+
+    // versions: neue Version je aktualisierter Karte (für den nächsten Drag ohne Reload)
+    public record ReorderResult(Map<Long, Long> versions, List<Long> conflicts) {}
+
+    public record MoveResult(Integer position, Long version, List<Long> conflicts) {}
+}
@@ -0,0 +1,144 @@
+package com.lifehub.service;
+
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.model.TrainingPlan;
+import com.lifehub.model.Workout;
+import com.lifehub.repository.CalendarEventRepository;
+import com.lifehub.repository.WorkoutRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synchronisiert die Kalender-Termine des aktiven Trainingsplans (aktuelle + nächste Woche).
+ *
+ * Statt alle Termine einzeln zu löschen und neu anzulegen wird ein Diff gebildet:
+ * unveränderte Termine bleiben stehen, veraltete werden mit einem Statement gelöscht,
+ * neue per JDBC-Batch eingefügt (hibernate.jdbc.batch_size + blockweise IDs).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingPlanCalendarSync {
+
+    public static final String CATEGORY = "trainingsplan";
+    public static final String RELATED_ENTITY_TYPE = "TRAINING";
+
+    private static final String COLOR = "#f59e0b"; // Orange
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final WorkoutRepository workoutRepository;
+
+    @Transactional
+    public SyncResult sync(TrainingPlan plan, Long userId) {
+        List<CalendarEvent> desired = buildEvents(plan, userId);
+        List<CalendarEvent> existing = calendarEventRepository.findGenerated(userId, CATEGORY, RELATED_ENTITY_TYPE);
+
+        // Vorhandene Termine nach Inhalt indexieren; jeder gewünschte Termin "verbraucht" maximal einen davon
+        Map<EventKey, List<CalendarEvent>> existingByKey = new HashMap<>();
+        for (CalendarEvent event : existing) {
+            existingByKey.computeIfAbsent(EventKey.of(event), key -> new ArrayList<>()).add(event);
+        }
+
+        List<CalendarEvent> toInsert = new ArrayList<>();
+        for (CalendarEvent event : desired) {
+            List<CalendarEvent> matches = existingByKey.get(EventKey.of(event));
+            if (matches != null && !matches.isEmpty()) {
+                matches.remove(matches.size() - 1);
+            } else {
+                toInsert.add(event);
+            }
+        }
+
+        List<Long> toDelete = existingByKey.values().stream()
+                .flatMap(List::stream)
+                .map(CalendarEvent::getId)
+                .toList();
+        int kept = existing.size() - toDelete.size();
+
+        if (kept == 0 && !toDelete.isEmpty()) {
+            calendarEventRepository.deleteGenerated(userId, CATEGORY, RELATED_ENTITY_TYPE);
+        } else if (!toDelete.isEmpty()) {
+            calendarEventRepository.deleteAllByIdInBatch(toDelete);
+        }
+        if (!toInsert.isEmpty()) {
+            calendarEventRepository.saveAll(toInsert);
+        }
+
+        log.debug("Training calendar sync for user {}: {} kept, {} deleted, {} inserted",
+                userId, kept, toDelete.size(), toInsert.size());
+        return new SyncResult(kept, toDelete.size(), toInsert.size());
+    }
+
+    private List<CalendarEvent> buildEvents(TrainingPlan plan, Long userId) {
+        List<Workout> workouts = workoutRepository.findByTrainingPlanIdAndCompletedFalseOrderByDayOfWeekAsc(plan.getId());
+
+        // Generate events for current and next week only
+        LocalDate today = LocalDate.now();
+        LocalDate endOfNextWeek = today.with(TemporalAdjusters.next(DayOfWeek.SUNDAY)).plusWeeks(1);
+
+        List<CalendarEvent> events = new ArrayList<>();
+        for (Workout workout : workouts) {
+            LocalDate workoutDate = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(workout.getDayOfWeek().toUpperCase())));
+            int duration = workout.getDurationMinutes() != null ? workout.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+
+            for (int week = 0; week < 2; week++) {
+                LocalDate eventDate = workoutDate.plusWeeks(week);
+                if (eventDate.isAfter(endOfNextWeek)) {
+                    continue;
+                }
+
+                CalendarEvent event = new CalendarEvent();
+                event.setUserId(userId);
+                event.setTitle("🏋️ " + workout.getName());
+                event.setDescription(workout.getDescription());
+                event.setStartTime(eventDate.atTime(9, 0)); // Default 9:00 AM
+                event.setEndTime(eventDate.atTime(9, 0).plusMinutes(duration));
+                event.setCategory(CATEGORY);
+                event.setColor(COLOR);
+                event.setAllDay(false);
+                event.setRelatedEntityType(RELATED_ENTITY_TYPE);
+                event.setRelatedEntityId(workout.getId());
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Inhalt eines generierten Termins; gleicher Key = Termin kann unverändert bleiben
+     */
+    private record EventKey(
+            Long workoutId,
+            String title,
+            String description,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            String color,
+            Boolean allDay
+    ) {
+        static EventKey of(CalendarEvent event) {
+            return new EventKey(
+                    event.getRelatedEntityId(),
+                    event.getTitle(),
+                    event.getDescription(),
+                    event.getStartTime(),
+                    event.getEndTime(),
+                    event.getColor(),
+                    event.getAllDay());
+        }
+    }
+
+    public record SyncResult(int kept, int deleted, int inserted) {}
+}
@@ -0,0 +1,148 @@
+package com.lifehub.service;
+
+import com.lifehub.model.WeightRollup;
+import com.lifehub.repository.WeightRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zeitreihe der Gewichtseinträge: Wochen-/Monats-Rollups (Anzahl, Summe, Min, Max, Trend) und
+ * eine per LTTB ausgedünnte Reihe für Charts.
+ *
+ * Bei jeder Änderung eines Eintrags werden nur die betroffene Woche und der betroffene Monat neu
+ * verdichtet (max. 31 Zeilen, über den UNIQUE-Index (user_id, date)).
+ */
+@Service
+@RequiredArgsConstructor
+public class WeightTimeSeriesService {
+
+    public static final int DEFAULT_CHART_POINTS = 300;
+    public static final int MAX_CHART_POINTS = 2000;
+
+    // Trend = Steigung der Regressionsgeraden (kg pro Tag), x = Tage seit Periodenbeginn
+    private static final String REFRESH_SQL =
+            "INSERT INTO weight_rollups (user_id, period, period_start, entries, sum_weight, min_weight, max_weight, trend_slope, updated_at) " +
+            "SELECT ?, ?, ?, COUNT(*), SUM(weight), MIN(weight), MAX(weight), " +
+            "       regr_slope(weight, (date - ?::date)::double precision), CURRENT_TIMESTAMP " +
+            "FROM weights WHERE user_id = ? AND date >= ? AND date < ? " +
+            "HAVING COUNT(*) > 0 " +
+            "ON CONFLICT (user_id, period, period_start) DO UPDATE SET " +
+            "    entries = EXCLUDED.entries, sum_weight = EXCLUDED.sum_weight, min_weight = EXCLUDED.min_weight, " +
+            "    max_weight = EXCLUDED.max_weight, trend_slope = EXCLUDED.trend_slope, updated_at = CURRENT_TIMESTAMP";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM weight_rollups r WHERE r.user_id = ? AND r.period = ? AND r.period_start = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM weights w WHERE w.user_id = r.user_id AND w.date >= ? AND w.date < ?)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO weight_rollups (user_id, period, period_start, entries, sum_weight, min_weight, max_weight, trend_slope, updated_at) " +
+            "SELECT user_id, '%1$s', date_trunc('%2$s', date)::date, COUNT(*), SUM(weight), MIN(weight), MAX(weight), " +
+            "       regr_slope(weight, (date - date_trunc('%2$s', date)::date)::double precision), CURRENT_TIMESTAMP " +
+            "FROM weights WHERE user_id = ? GROUP BY user_id, date_trunc('%2$s', date)::date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WeightRollupRepository rollupRepository;
+
+    /**
+     * Verdichtet Woche und Monat des Datums neu (nach Anlegen, Ändern oder Löschen eines Eintrags).
+     */
+    @Transactional
+    public void refresh(Long userId, LocalDate date) {
+        for (WeightRollup.Period period : WeightRollup.Period.values()) {
+            LocalDate start = periodStart(period, date);
+            LocalDate end = nextPeriodStart(period, start);
+            jdbcTemplate.update(REFRESH_SQL, userId, period.name(), start, start, userId, start, end);
+            jdbcTemplate.update(DELETE_EMPTY_SQL, userId, period.name(), start, start, end);
+        }
+    }
+
+    @Transactional
+    public void rebuild(Long userId) {
+        jdbcTemplate.update("DELETE FROM weight_rollups WHERE user_id = ?", userId);
+        jdbcTemplate.update(String.format(REBUILD_SQL, WeightRollup.Period.WEEK.name(), "week"), userId);
+        jdbcTemplate.update(String.format(REBUILD_SQL, WeightRollup.Period.MONTH.name(), "month"), userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Rollup> getRollups(Long userId, WeightRollup.Period period, LocalDate from, LocalDate to) {
+        LocalDate first = periodStart(period, from);
+        return rollupRepository.findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStartAsc(userId, period, first, to)
+                .stream()
+                .map(Rollup::of)
+                .toList();
+    }
+
+    /**
+     * Anzahl, Durchschnitt, Min und Max über alle Einträge (aus den Monats-Rollups), null ohne Einträge.
+     */
+    @Transactional(readOnly = true)
+    public Summary getSummary(Long userId) {
+        Object[] row = rollupRepository.summarize(userId).get(0);
+        if (row[0] == null) {
+            return null;
+        }
+        long entries = ((Number) row[0]).longValue();
+        double sum = ((Number) row[1]).doubleValue();
+        return new Summary(entries, sum / entries, ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue());
+    }
+
+    /**
+     * Einträge im Zeitraum, per LTTB auf höchstens points Punkte reduziert.
+     */
+    @Transactional(readOnly = true)
+    public List<ChartPoint> getChart(Long userId, LocalDate from, LocalDate to, int points) {
+        List<ChartPoint> series = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT date, weight FROM weights WHERE user_id = ? AND date BETWEEN ? AND ? ORDER BY date",
+                rs -> {
+                    series.add(new ChartPoint(rs.getObject(1, LocalDate.class), rs.getDouble(2)));
+                }, userId, from, to);
+        int threshold = Math.max(3, Math.min(points, MAX_CHART_POINTS));
+        return Lttb.downsample(series, point -> point.date().toEpochDay(), ChartPoint::weight, threshold);
+    }
+
+    private static LocalDate periodStart(WeightRollup.Period period, LocalDate date) {
+        return switch (period) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextPeriodStart(WeightRollup.Period period, LocalDate start) {
+        return switch (period) {
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    public record Rollup(
+            LocalDate periodStart,
+            int entries,
+            double average,
+            double min,
+            double max,
+            Double trendPerWeek // kg pro Woche
+    ) {
+        static Rollup of(WeightRollup rollup) {
+            return new Rollup(
+                    rollup.getPeriodStart(),
+                    rollup.getEntries(),
+                    rollup.getSumWeight() / rollup.getEntries(),
+                    rollup.getMinWeight(),
+                    rollup.getMaxWeight(),
+                    rollup.getTrendSlope() != null ? rollup.getTrendSlope() * 7 : null);
+        }
+    }
+
+    public record Summary(long entries, double average, double min, double max) {}
+
+    public record ChartPoint(LocalDate date, double weight) {}
+}
@@ -0,0 +1,4 @@
+-- V2_1: Index für Keyset-Pagination der Gym-Sessions (startTime + ID, absteigend)
+-- weights braucht keinen eigenen Index: UNIQUE (user_id, date) deckt den Cursor bereits ab.
+
+CREATE INDEX IF NOT EXISTS idx_gym_sessions_user_start_id ON gym_sessions(user_id, start_time DESC, id DESC);
@@ -0,0 +1,17 @@
+-- V2_2: Trainingsplan-Termine werden per Diff synchronisiert (Bulk-Delete + JDBC-Batch-Insert)
+-- related_entity_* ordnet generierte Termine ihrem Workout zu.
+
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS related_entity_type VARCHAR(50);
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS related_entity_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_events_user_category_related ON calendar_events(user_id, category, related_entity_type);
+
+-- Event-IDs blockweise (wie users_id_seq in V2_1), sonst kann Hibernate Inserts nicht batchen.
+-- INCREMENT BY muss allocationSize von CalendarEvent.id entsprechen, sonst bricht der Start ab.
+CREATE SEQUENCE IF NOT EXISTS calendar_events_id_seq;
+
+ALTER SEQUENCE calendar_events_id_seq INCREMENT BY 50 OWNED BY calendar_events.id;
+
+SELECT setval('calendar_events_id_seq', COALESCE((SELECT MAX(id) FROM calendar_events), 0) + 50, false);
+
+ALTER TABLE calendar_events ALTER COLUMN id SET DEFAULT nextval('calendar_events_id_seq');
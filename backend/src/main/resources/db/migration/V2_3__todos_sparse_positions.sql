@@ -0,0 +1,16 @@
+-- V2_3: Kanban-Reorder als ein Statement mit Versions-Check
+-- Positionen werden mit Abstand 1024 vergeben, damit ein Move nur die verschobene Karte ändert.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS position INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bestehende Reihenfolge pro Spalte beibehalten, aber Lücken schaffen
+UPDATE todos t
+SET position = r.rn * 1024
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, status ORDER BY position, id) AS rn
+    FROM todos
+) r
+WHERE t.id = r.id;
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_status_position ON todos(user_id, status, position);
@@ -0,0 +1,15 @@
+-- V2_4: Sätze werden gepuffert und per JDBC-Batch geschrieben (POST /api/gym/logs/batch)
+-- client_id macht erneut gesendete Sätze idempotent (INSERT ... ON CONFLICT (gym_session_id, client_id) DO NOTHING).
+-- Eindeutig nur innerhalb der Session; Sätze ohne client_id (NULL) kollidieren nie.
+
+ALTER TABLE IF EXISTS exercise_logs ADD COLUMN IF NOT EXISTS client_id VARCHAR(64);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'exercise_logs') THEN
+        -- Deckt auch Abfragen nach gym_session_id allein ab, ein eigener Index darauf ist überflüssig
+        CREATE UNIQUE INDEX IF NOT EXISTS uk_exercise_logs_session_client ON exercise_logs(gym_session_id, client_id);
+        DROP INDEX IF EXISTS uk_exercise_logs_client_id;
+        DROP INDEX IF EXISTS idx_exercise_logs_session;
+    END IF;
+END $$;
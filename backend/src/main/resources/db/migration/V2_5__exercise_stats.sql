@@ -0,0 +1,68 @@
+-- V2_5: Vorberechnete Übungs-Statistik pro User (GET /api/gym/stats/exercise/{id} liest nur noch diese Zeilen)
+-- Fortgeschrieben von ExerciseStatsService, nächtlich neu berechnet von ExerciseStatsRebuildJob.
+
+CREATE TABLE IF NOT EXISTS exercise_stats (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    total_sets BIGINT NOT NULL DEFAULT 0,
+    total_reps BIGINT NOT NULL DEFAULT 0,
+    total_volume DOUBLE PRECISION NOT NULL DEFAULT 0,
+    max_weight DOUBLE PRECISION,
+    max_weight_at TIMESTAMP,
+    max_reps INTEGER,
+    best_estimated_1rm DOUBLE PRECISION,
+    best_estimated_1rm_at TIMESTAMP,
+    last_performed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_exercise_stats_user_exercise UNIQUE (user_id, exercise_id)
+);
+
+CREATE TABLE IF NOT EXISTS exercise_weekly_volume (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    week_start DATE NOT NULL, -- Montag
+    sets INTEGER NOT NULL DEFAULT 0,
+    volume DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT uk_exercise_weekly_volume UNIQUE (user_id, exercise_id, week_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_exercise_stats_exercise ON exercise_stats(exercise_id);
+
+-- Bestand einmalig übernehmen (gleiche Rechnung wie ExerciseStatsService, 1RM nach Epley)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'exercise_logs') THEN
+        CREATE INDEX IF NOT EXISTS idx_exercise_logs_exercise_session ON exercise_logs(exercise_id, gym_session_id);
+
+        INSERT INTO exercise_stats (user_id, exercise_id, total_sets, total_reps, total_volume, max_reps, last_performed_at)
+        SELECT s.user_id, el.exercise_id, COUNT(*), SUM(el.reps), SUM(COALESCE(el.weight, 0) * el.reps),
+               MAX(el.reps), MAX(el.created_at)
+        FROM exercise_logs el JOIN gym_sessions s ON s.id = el.gym_session_id
+        GROUP BY s.user_id, el.exercise_id
+        ON CONFLICT (user_id, exercise_id) DO NOTHING;
+
+        UPDATE exercise_stats st SET max_weight = pr.weight, max_weight_at = pr.created_at
+        FROM (SELECT DISTINCT ON (s.user_id, el.exercise_id) s.user_id, el.exercise_id, el.weight, el.created_at
+              FROM exercise_logs el JOIN gym_sessions s ON s.id = el.gym_session_id
+              WHERE el.weight IS NOT NULL
+              ORDER BY s.user_id, el.exercise_id, el.weight DESC, el.created_at) pr
+        WHERE st.user_id = pr.user_id AND st.exercise_id = pr.exercise_id;
+
+        UPDATE exercise_stats st SET best_estimated_1rm = pr.one_rep_max, best_estimated_1rm_at = pr.created_at
+        FROM (SELECT DISTINCT ON (s.user_id, el.exercise_id) s.user_id, el.exercise_id, el.created_at,
+                     CASE WHEN el.reps = 1 THEN el.weight
+                          ELSE ROUND((el.weight * (1 + el.reps / 30.0))::numeric, 1)::double precision END AS one_rep_max
+              FROM exercise_logs el JOIN gym_sessions s ON s.id = el.gym_session_id
+              WHERE el.weight IS NOT NULL AND el.reps > 0
+              ORDER BY s.user_id, el.exercise_id, 4 DESC, el.created_at) pr
+        WHERE st.user_id = pr.user_id AND st.exercise_id = pr.exercise_id;
+
+        INSERT INTO exercise_weekly_volume (user_id, exercise_id, week_start, sets, volume)
+        SELECT s.user_id, el.exercise_id, date_trunc('week', el.created_at)::date, COUNT(*), SUM(COALESCE(el.weight, 0) * el.reps)
+        FROM exercise_logs el JOIN gym_sessions s ON s.id = el.gym_session_id
+        GROUP BY s.user_id, el.exercise_id, date_trunc('week', el.created_at)::date
+        ON CONFLICT (user_id, exercise_id, week_start) DO NOTHING;
+    END IF;
+END $$;
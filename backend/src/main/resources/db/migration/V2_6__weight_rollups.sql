@@ -0,0 +1,34 @@
+-- V2_6: Wochen-/Monats-Rollups der Gewichtseinträge (GET /api/weight/stats, /rollups)
+-- Gepflegt von WeightTimeSeriesService; trend_slope = Regressionssteigung in kg pro Tag.
+
+CREATE TABLE IF NOT EXISTS weight_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period VARCHAR(10) NOT NULL, -- WEEK, MONTH
+    period_start DATE NOT NULL,
+    entries INTEGER NOT NULL,
+    sum_weight DOUBLE PRECISION NOT NULL,
+    min_weight DOUBLE PRECISION NOT NULL,
+    max_weight DOUBLE PRECISION NOT NULL,
+    trend_slope DOUBLE PRECISION,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_weight_rollups_user_period UNIQUE (user_id, period, period_start)
+);
+
+-- Bestand einmalig verdichten
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'weights') THEN
+        INSERT INTO weight_rollups (user_id, period, period_start, entries, sum_weight, min_weight, max_weight, trend_slope)
+        SELECT user_id, 'WEEK', date_trunc('week', date)::date, COUNT(*), SUM(weight), MIN(weight), MAX(weight),
+               regr_slope(weight, (date - date_trunc('week', date)::date)::double precision)
+        FROM weights GROUP BY user_id, date_trunc('week', date)::date
+        ON CONFLICT (user_id, period, period_start) DO NOTHING;
+
+        INSERT INTO weight_rollups (user_id, period, period_start, entries, sum_weight, min_weight, max_weight, trend_slope)
+        SELECT user_id, 'MONTH', date_trunc('month', date)::date, COUNT(*), SUM(weight), MIN(weight), MAX(weight),
+               regr_slope(weight, (date - date_trunc('month', date)::date)::double precision)
+        FROM weights GROUP BY user_id, date_trunc('month', date)::date
+        ON CONFLICT (user_id, period, period_start) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,25 @@
+-- V2_7: Rollierende Summen (heute, 7 Tage, 30 Tage) pro User für GET /api/nutrition/stats
+-- Gepflegt von NutritionTotalsService; beim ersten Lesen pro User wird die Zeile berechnet.
+
+CREATE TABLE IF NOT EXISTS nutrition_rolling_totals (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    as_of DATE,
+    today_tracked BOOLEAN NOT NULL DEFAULT FALSE,
+    today_calories INTEGER NOT NULL DEFAULT 0,
+    today_protein INTEGER NOT NULL DEFAULT 0,
+    today_carbs INTEGER NOT NULL DEFAULT 0,
+    today_fat INTEGER NOT NULL DEFAULT 0,
+    days_7d INTEGER NOT NULL DEFAULT 0,
+    calories_7d BIGINT NOT NULL DEFAULT 0,
+    protein_7d BIGINT NOT NULL DEFAULT 0,
+    carbs_7d BIGINT NOT NULL DEFAULT 0,
+    fat_7d BIGINT NOT NULL DEFAULT 0,
+    days_30d INTEGER NOT NULL DEFAULT 0,
+    calories_30d BIGINT NOT NULL DEFAULT 0,
+    protein_30d BIGINT NOT NULL DEFAULT 0,
+    carbs_30d BIGINT NOT NULL DEFAULT 0,
+    fat_30d BIGINT NOT NULL DEFAULT 0,
+    source_updated_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
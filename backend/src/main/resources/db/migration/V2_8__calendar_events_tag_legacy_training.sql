@@ -0,0 +1,13 @@
+-- V2_8: Trainingsplan-Termine aus der Zeit vor V2_2 haben noch keinen related_entity_type.
+-- Einmalig markieren, damit der Sync nur noch über related_entity_type = 'TRAINING' löscht und
+-- selbst angelegte Termine in der Kategorie "trainingsplan" nie anfasst.
+-- Erkennungsmerkmale des alten Generators: Titel "🏋️ <Workout>", Farbe Orange, Start 09:00, nicht ganztägig.
+
+UPDATE calendar_events
+SET related_entity_type = 'TRAINING'
+WHERE category = 'trainingsplan'
+  AND related_entity_type IS NULL
+  AND title LIKE '🏋️ %'
+  AND color = '#f59e0b'
+  AND all_day = FALSE
+  AND start_time::time = TIME '09:00';
@@ -0,0 +1,101 @@
+#!/bin/bash
+# Benchmark der Bulk-Endpoints (Stundenplan + Fächer)
+#
+# Misst die Antwortzeit von POST /api/timetable/{userId}/bulk und POST /api/subjects/{userId}/bulk
+# über mehrere Runden. Einmal gegen das Standard-Profil, einmal mit SPRING_PROFILES_ACTIVE=performance
+# laufen lassen und die Ausgaben vergleichen (siehe PERFORMANCE_PROFILE.md).
+#
+# Aufruf:
+#   TOKEN=<jwt> ./benchmark/bulk-endpoints.sh [BASE_URL] [USER_ID] [ROWS_PER_REQUEST] [ROUNDS]
+#
+# Beispiel:
+#   TOKEN=$(curl -s -XPOST localhost:5000/api/auth/login -H 'Content-Type: application/json' \
+#     -d '{"username":"bench","password":"Secret123!"}' | jq -r .token) ./benchmark/bulk-endpoints.sh
+
+set -e
+
+BASE_URL=${1:-http://localhost:5000}
+USER_ID=${2:-1}
+ROWS=${3:-200}
+ROUNDS=${4:-20}
+WARMUP=3
+
+if [ -z "$TOKEN" ]; then
+    echo "❌ TOKEN (JWT) fehlt"
+    exit 1
+fi
+
+DAYS=(MONDAY TUESDAY WEDNESDAY THURSDAY FRIDAY)
+
+timetable_payload() {
+    local round=$1
+    echo -n "["
+    for ((i = 0; i < ROWS; i++)); do
+        [ $i -gt 0 ] && echo -n ","
+        printf '{"subject":"Bench %d-%d","teacher":"Lehrer %d","room":"R%d","dayOfWeek":"%s","startTime":"08:00:00","endTime":"08:45:00"}' \
+            "$round" "$i" $((i % 12)) $((i % 30)) "${DAYS[$((i % 5))]}"
+    done
+    echo -n "]"
+}
+
+subjects_payload() {
+    local round=$1
+    echo -n "["
+    for ((i = 0; i < ROWS; i++)); do
+        [ $i -gt 0 ] && echo -n ","
+        # (user_id, name) ist unique -> Namen pro Lauf und Runde eindeutig
+        printf '{"name":"Bench %s-%d-%d","teacher":"Lehrer %d","room":"R%d"}' "$RUN_ID" "$round" "$i" $((i % 12)) $((i % 30))
+    done
+    echo -n "]"
+}
+
+# Gibt die Gesamtzeit des Requests in ms aus, bricht bei HTTP-Fehler ab
+post() {
+    local path=$1
+    local file=$2
+    local result
+    result=$(curl -s -o /dev/null -w '%{http_code} %{time_total}' -XPOST "$BASE_URL$path" \
+        -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' --data-binary "@$file")
+    local code=${result%% *}
+    if [ "$code" != "200" ]; then
+        echo "❌ $path -> HTTP $code" >&2
+        exit 1
+    fi
+    awk -v t="${result##* }" 'BEGIN { printf "%.1f", t * 1000 }'
+}
+
+# Median, p95 und Durchsatz (Zeilen/s) aus einer Liste von ms-Werten
+summarize() {
+    local name=$1
+    shift
+    printf '%s\n' "$@" | sort -n | awk -v name="$name" -v rows="$ROWS" '
+        { v[NR] = $1; sum += $1 }
+        END {
+            p50 = v[int((NR + 1) / 2)]
+            p95 = v[int(NR * 0.95 + 0.5)]
+            printf "%-10s median %7.1f ms   p95 %7.1f ms   %8.0f Zeilen/s\n", name, p50, p95, rows * NR / (sum / 1000)
+        }'
+}
+
+RUN_ID=$(date +%s)
+TMP=$(mktemp -d)
+trap 'rm -rf "$TMP"' EXIT
+
+echo "🔵 $BASE_URL, User $USER_ID: $ROUNDS Runden à $ROWS Zeilen (+$WARMUP Warmup)"
+
+timetable_times=()
+subject_times=()
+for ((r = 0; r < WARMUP + ROUNDS; r++)); do
+    timetable_payload "$r" > "$TMP/timetable.json"
+    subjects_payload "$r" > "$TMP/subjects.json"
+
+    t=$(post "/api/timetable/$USER_ID/bulk" "$TMP/timetable.json")
+    s=$(post "/api/subjects/$USER_ID/bulk" "$TMP/subjects.json")
+    if [ $r -ge $WARMUP ]; then
+        timetable_times+=("$t")
+        subject_times+=("$s")
+    fi
+done
+
+summarize "timetable" "${timetable_times[@]}"
+summarize "subjects" "${subject_times[@]}"
@@ -0,0 +1,70 @@
+#!/usr/bin/env python3
+"""
+Vergleicht zwei JMH-Ergebnisse (JSON, -rf json) und meldet Regressionen.
+
+    python3 benchmark/jmh-compare.py benchmark/results/baseline.json target/jmh-result.json [--threshold 10]
+
+Exit-Code 1, wenn ein Benchmark um mehr als threshold Prozent langsamer ist und die Differenz
+größer als die Summe der Fehlerbalken beider Messungen ist (sonst ist es Rauschen).
+"""
+import argparse
+import json
+import sys
+
+# Bei diesen Modi ist ein höherer Score schlechter (Zeit pro Operation)
+TIME_MODES = {"avgt", "sample", "ss"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            key = entry["benchmark"].rsplit(".", 2)[-2] + "." + entry["benchmark"].rsplit(".", 1)[-1]
+            if params:
+                key += f" [{params}]"
+            results[key] = entry
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="Regressionsgrenze in Prozent (Default 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    print(f"{'Benchmark':<70} {'Baseline':>15} {'Aktuell':>15} {'Änderung':>9}")
+    for key in sorted(set(baseline) | set(current)):
+        if key not in baseline or key not in current:
+            print(f"{key:<70} {'nur in ' + ('Baseline' if key in baseline else 'Aktuell'):>35}")
+            continue
+
+        old, new = baseline[key], current[key]
+        old_metric, new_metric = old["primaryMetric"], new["primaryMetric"]
+        old_score, new_score = old_metric["score"], new_metric["score"]
+        change = (new_score - old_score) / old_score * 100 if old_score else 0.0
+
+        # Für Zeit-Modi ist "mehr" schlechter, für Throughput "weniger"
+        worse = change if old["mode"] in TIME_MODES else -change
+        noise = abs(old_metric.get("scoreError") or 0) + abs(new_metric.get("scoreError") or 0)
+        regression = worse > args.threshold and abs(new_score - old_score) > noise
+
+        unit = new_metric["scoreUnit"]
+        marker = "  ❌" if regression else ""
+        print(f"{key:<70} {old_score:>9.2f} {unit:<2} {new_score:>9.2f} {unit:<2} {change:>+8.1f}%{marker}")
+        regressions += regression
+
+    if regressions:
+        print(f"\n❌ {regressions} Regression(en) über {args.threshold:.0f}%")
+        return 1
+    print("\n✅ Keine Regressionen")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
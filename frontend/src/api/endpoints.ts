@@ -16,6 +16,12 @@ export const api = {
     getOverdueTodos: (userId: number) => `${API_BASE}/dashboard/${userId}/todos/overdue`,
   },
 
+  // ========== AGENDA ==========
+  agenda: {
+    // Stundenplan, Termine, Training, Hausaufgaben, Prüfungen und Todos eines Tages in einem Request
+    get: (userId: number, date?: string) => `${API_BASE}/agenda/${userId}${date ? `?date=${date}` : ''}`,
+  },
+
   // ========== CALENDAR EVENTS ==========
   events: {
     getAll: (userId: number) => `${API_BASE}/events/${userId}`,
@@ -6,6 +6,9 @@ import { useAuthStore } from '../../store/authStore'
 
 interface CalendarEvent {
   id?: number
+  // Vorkommen einer Serie: id fehlt, seriesId + occurrenceDate identifizieren das Vorkommen
+  seriesId?: number
+  occurrenceDate?: string
   userId: number
   title: string
   description?: string
@@ -140,9 +143,23 @@ export default function CalendarPage() {
     setShowModal(true)
   }
 
-  const handleEventClick = (event: CalendarEvent) => {
+  const handleEventClick = async (occurrence: CalendarEvent) => {
+    // Details, Bearbeiten und Löschen eines Vorkommens wirken auf die Serie
+    const event = { ...occurrence, id: occurrence.id ?? occurrence.seriesId }
     setSelectedEvent(event)
     setShowEventDetails(true)
+
+    // Die Range-Liste enthält keine Beschreibung -> Details einzeln nachladen
+    if (!event.id) return
+    try {
+      const userId = useAuthStore.getState().userId || 1
+      const response = await axios.get(api.events.getSingle(userId, event.id))
+      setSelectedEvent(current =>
+        current?.id === event.id ? { ...current, description: response.data.description } : current
+      )
+    } catch (error) {
+      console.error('Error loading event details:', error)
+    }
   }
 
   const handleSubmit = async (e: React.FormEvent) => {
@@ -14,7 +14,10 @@ interface Todo {
 }
 
 interface CalendarEvent {
-  id: number
+  // null bei Vorkommen einer Serie, dann identifizieren seriesId + occurrenceDate das Vorkommen
+  id: number | null
+  seriesId?: number
+  occurrenceDate?: string
   title: string
   startTime: string
   endTime: string
@@ -181,7 +184,7 @@ export default function PrivateDashboard() {
             <div className="space-y-3">
               {upcomingEvents.map(event => (
                 <div
-                  key={event.id}
+                  key={event.id ?? `${event.seriesId}-${event.occurrenceDate}`}
                   className="flex items-start gap-3 p-3 rounded-lg bg-gray-50 dark:bg-gray-800 hover:bg-gray-100 dark:hover:bg-gray-750 transition-colors cursor-pointer"
                   onClick={() => navigate('/private/calendar')}
                 >
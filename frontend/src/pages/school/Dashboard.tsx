@@ -5,19 +5,33 @@ import axios from 'axios'
 import { api } from '../../api/endpoints'
 import { useAuthStore } from '../../store/authStore'
 
-interface CalendarEvent {
+interface AgendaItem {
+  type: 'LESSON' | 'EVENT' | 'TRAINING' | 'EXAM' | 'HOMEWORK' | 'TODO'
   id: number
   title: string
-  startTime: string
-  endTime: string
-  color: string
-  allDay: boolean
+  subject?: string
   location?: string
+  startTime?: string // HH:mm:ss
+  endTime?: string
+  color?: string
 }
 
+interface Exam {
+  id: number
+  subject: string
+  title?: string
+  examDate: string
+  startTime?: string
+  room?: string
+}
+
+const SCHOOL_TYPES: AgendaItem['type'][] = ['LESSON', 'EXAM', 'HOMEWORK']
+
 export default function SchoolDashboard() {
   const navigate = useNavigate()
-  const [upcomingEvents, setUpcomingEvents] = useState<CalendarEvent[]>([])
+  const [todayItems, setTodayItems] = useState<AgendaItem[]>([])
+  const [upcomingExams, setUpcomingExams] = useState<Exam[]>([])
+  const [openHomework, setOpenHomework] = useState(0)
 
   useEffect(() => {
     loadSchoolData()
@@ -28,13 +42,12 @@ export default function SchoolDashboard() {
       // Get userId from auth store
       const userId = useAuthStore.getState().userId || 1
       
-      // Load school events (next 7 days)
-      const eventsResponse = await axios.get(api.events.getUpcoming(userId), {
-        params: { days: 7 }
-      })
-      // Filter for school events
-      const schoolEvents = eventsResponse.data.filter((e: CalendarEvent & { category: string }) => e.category === 'schule')
-      setUpcomingEvents(schoolEvents.slice(0, 5))
+      // Stundenplan, Hausaufgaben und Prüfungen des Tages in einem Request (bereits nach Uhrzeit sortiert)
+      const agendaResponse = await axios.get(api.agenda.get(userId))
+      const data = agendaResponse.data
+      setTodayItems(data.items.filter((item: AgendaItem) => SCHOOL_TYPES.includes(item.type)))
+      setUpcomingExams(data.upcomingExams.slice(0, 5))
+      setOpenHomework(data.upcomingHomework.length)
     } catch (error) {
       console.error('Error loading school data:', error)
     }
@@ -55,10 +68,8 @@ export default function SchoolDashboard() {
     }
   }
 
-  const formatTime = (dateStr: string) => {
-    const date = new Date(dateStr)
-    return date.toLocaleTimeString('de-DE', { hour: '2-digit', minute: '2-digit' })
-  }
+  // Uhrzeiten der Agenda kommen als HH:mm:ss
+  const formatTime = (time: string) => time.slice(0, 5)
 
   return (
     <div className="space-y-6">
@@ -78,7 +89,7 @@ export default function SchoolDashboard() {
           <div className="flex items-center justify-between">
             <div>
               <p className="text-sm text-gray-600 dark:text-gray-400">Hausaufgaben</p>
-              <p className="text-3xl font-bold mt-1">0</p>
+              <p className="text-3xl font-bold mt-1">{openHomework}</p>
             </div>
             <div className="w-12 h-12 bg-blue-100 dark:bg-blue-900/30 rounded-full flex items-center justify-center">
               <CheckCircle2 className="text-blue-600 dark:text-blue-400" size={24} />
@@ -89,8 +100,8 @@ export default function SchoolDashboard() {
         <div className="card hover:shadow-lg transition-shadow cursor-pointer" onClick={() => navigate('/school/calendar')}>
           <div className="flex items-center justify-between">
             <div>
-              <p className="text-sm text-gray-600 dark:text-gray-400">Prüfungen & Termine</p>
-              <p className="text-3xl font-bold mt-1">{upcomingEvents.length}</p>
+              <p className="text-sm text-gray-600 dark:text-gray-400">Prüfungen</p>
+              <p className="text-3xl font-bold mt-1">{upcomingExams.length}</p>
             </div>
             <div className="w-12 h-12 bg-green-100 dark:bg-green-900/30 rounded-full flex items-center justify-center">
               <Calendar className="text-green-600 dark:text-green-400" size={24} />
@@ -111,12 +122,45 @@ export default function SchoolDashboard() {
         </div>
       </div>
 
-      {/* Upcoming School Events */}
+      {/* Today */}
+      <div className="card">
+        <h2 className="text-xl font-bold flex items-center gap-2 mb-4">
+          <Clock size={24} />
+          Heute
+        </h2>
+
+        {todayItems.length > 0 ? (
+          <div className="space-y-2">
+            {todayItems.map(item => (
+              <div
+                key={`${item.type}-${item.id}`}
+                className="flex items-center gap-3 p-3 rounded-lg bg-gray-50 dark:bg-gray-800"
+              >
+                <div
+                  className="w-1 h-8 rounded-full"
+                  style={{ backgroundColor: item.color || '#3b82f6' }}
+                />
+                <span className="text-sm text-gray-600 dark:text-gray-400 w-24 whitespace-nowrap">
+                  {item.startTime ? `${formatTime(item.startTime)}${item.endTime ? ` - ${formatTime(item.endTime)}` : ''}` : item.type === 'HOMEWORK' ? 'Fällig' : ''}
+                </span>
+                <span className="font-semibold truncate flex-1">{item.title}</span>
+                {item.location && (
+                  <span className="text-sm text-gray-600 dark:text-gray-400 truncate">📍 {item.location}</span>
+                )}
+              </div>
+            ))}
+          </div>
+        ) : (
+          <p className="text-center py-4 text-gray-500 dark:text-gray-400">Heute kein Unterricht</p>
+        )}
+      </div>
+
+      {/* Upcoming Exams */}
       <div className="card">
         <div className="flex items-center justify-between mb-4">
           <h2 className="text-xl font-bold flex items-center gap-2">
             <Calendar size={24} />
-            Anstehende Prüfungen & Termine
+            Anstehende Prüfungen
           </h2>
           <button
             onClick={() => navigate('/school/calendar')}
@@ -126,34 +170,28 @@ export default function SchoolDashboard() {
           </button>
         </div>
 
-        {upcomingEvents.length > 0 ? (
+        {upcomingExams.length > 0 ? (
           <div className="space-y-3">
-            {upcomingEvents.map(event => (
+            {upcomingExams.map(exam => (
               <div
-                key={event.id}
+                key={exam.id}
                 className="flex items-start gap-3 p-3 rounded-lg bg-gray-50 dark:bg-gray-800 hover:bg-gray-100 dark:hover:bg-gray-750 transition-colors cursor-pointer"
                 onClick={() => navigate('/school/calendar')}
               >
-                <div
-                  className="w-1 h-full rounded-full"
-                  style={{ backgroundColor: event.color }}
-                />
                 <div className="flex-1 min-w-0">
                   <div className="flex items-start justify-between gap-2">
-                    <h3 className="font-semibold truncate">{event.title}</h3>
+                    <h3 className="font-semibold truncate">{exam.title || exam.subject}</h3>
                     <span className="text-xs text-gray-600 dark:text-gray-400 whitespace-nowrap">
-                      {formatDate(event.startTime)}
+                      {formatDate(exam.examDate)}
                     </span>
                   </div>
                   <div className="flex items-center gap-2 mt-1 text-sm text-gray-600 dark:text-gray-400">
                     <Clock size={14} />
-                    <span>
-                      {event.allDay ? 'Ganztägig' : `${formatTime(event.startTime)} - ${formatTime(event.endTime)}`}
-                    </span>
+                    <span>{exam.startTime ? formatTime(exam.startTime) : 'Ohne Uhrzeit'} · {exam.subject}</span>
                   </div>
-                  {event.location && (
+                  {exam.room && (
                     <p className="text-sm text-gray-600 dark:text-gray-400 mt-1 truncate">
-                      📍 {event.location}
+                      📍 {exam.room}
                     </p>
                   )}
                 </div>
@@ -163,12 +201,12 @@ export default function SchoolDashboard() {
         ) : (
           <div className="text-center py-8 text-gray-500 dark:text-gray-400">
             <Calendar size={48} className="mx-auto mb-3 opacity-50" />
-            <p>Keine anstehenden Termine</p>
+            <p>Keine anstehenden Prüfungen</p>
             <button
               onClick={() => navigate('/school/calendar')}
               className="mt-3 text-sm text-blue-600 hover:text-blue-700 dark:text-blue-400"
             >
-              Termin erstellen
+              Prüfung eintragen
             </button>
           </div>
         )}
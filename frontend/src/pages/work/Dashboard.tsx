@@ -6,7 +6,10 @@ import { api } from '../../api/endpoints'
 import { useAuthStore } from '../../store/authStore'
 
 interface CalendarEvent {
-  id: number
+  // null bei Vorkommen einer Serie, dann identifizieren seriesId + occurrenceDate das Vorkommen
+  id: number | null
+  seriesId?: number
+  occurrenceDate?: string
   title: string
   startTime: string
   endTime: string
@@ -130,7 +133,7 @@ export default function WorkDashboard() {
           <div className="space-y-3">
             {upcomingEvents.map(event => (
               <div
-                key={event.id}
+                key={event.id ?? `${event.seriesId}-${event.occurrenceDate}`}
                 className="flex items-start gap-3 p-3 rounded-lg bg-gray-50 dark:bg-gray-800 hover:bg-gray-100 dark:hover:bg-gray-750 transition-colors cursor-pointer"
                 onClick={() => navigate('/work/calendar')}
               >
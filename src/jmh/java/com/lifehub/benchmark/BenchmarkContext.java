@@ -0,0 +1,52 @@
+package com.lifehub.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Minimaler Spring-Context für Benchmarks: nur die benötigte Bean, @Value/@PostConstruct wie in der App,
+ * aber ohne Datenbank, Web-Server und Security-Filter. Für Services mit Repositories {@link #jpa(Class)}.
+ */
+final class BenchmarkContext {
+
+    static {
+        // Ohne Spring Boot gilt die Logback-Default-Konfiguration (DEBUG auf die Konsole)
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    private BenchmarkContext() {
+    }
+
+    static <T> T bean(Class<T> type, Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(type);
+        context.refresh();
+        return context.getBean(type);
+    }
+
+    /**
+     * Spring Boot ohne Web-Server gegen H2 im PostgreSQL-Modus, Schema per ddl-auto aus den Entities.
+     * Welche Entities, Repositories und Services geladen werden, legt die übergebene Konfiguration fest.
+     */
+    static ConfigurableApplicationContext jpa(Class<?> configuration) {
+        // Als Kommandozeilen-Argumente, damit sie application.yml überschreiben (properties() wären nur Defaults)
+        return new SpringApplicationBuilder(configuration)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=WARN");
+    }
+}
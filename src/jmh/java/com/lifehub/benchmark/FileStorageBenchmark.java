@@ -0,0 +1,77 @@
+package com.lifehub.benchmark;
+
+import com.lifehub.service.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notiz öffnen/speichern über FileStorageService auf einem temporären Verzeichnis.
+ * cached = Inhalt kommt aus dem LRU-Cache, uncached = Cache deaktiviert (jeder Read liest die Datei).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    private static final String USER = "bench";
+    private static final String NOTE = "Mathe/Analysis.md";
+
+    @Param({"4096", "262144"})
+    public int noteBytes;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private Path storage;
+    private FileStorageService fileStorageService;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storage = Files.createTempDirectory("lifehub-bench");
+        fileStorageService = BenchmarkContext.bean(FileStorageService.class, Map.of(
+                "notes.storage.path", storage.toString(),
+                "notes.cache.max-bytes", cached ? 32L * 1024 * 1024 : 0L,
+                "notes.cache.max-file-size", 1024L * 1024));
+
+        content = "# Analysis\n\n" + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(noteBytes / 56 + 1)
+                .substring(0, noteBytes);
+        fileStorageService.saveSchoolNote(USER, "Mathe", "Analysis", content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(storage);
+    }
+
+    @Benchmark
+    public String readNote() {
+        return fileStorageService.readSchoolNote(USER, NOTE);
+    }
+
+    @Benchmark
+    public String saveNote() {
+        return fileStorageService.saveSchoolNote(USER, "Mathe", "Analysis", content);
+    }
+}
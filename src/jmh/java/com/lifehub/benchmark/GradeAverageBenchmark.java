@@ -0,0 +1,124 @@
+package com.lifehub.benchmark;
+
+import com.lifehub.model.Grade;
+import com.lifehub.model.GradeAggregate;
+import com.lifehub.model.SchoolSubject;
+import com.lifehub.repository.GradeAggregateRepository;
+import com.lifehub.repository.GradeRepository;
+import com.lifehub.repository.SchoolSubjectRepository;
+import com.lifehub.service.GradeService;
+import com.lifehub.service.LocalUserCacheStore;
+import com.lifehub.service.UserResponseCache;
+import com.lifehub.service.UserResponseCacheEvictionListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gewichtete Notendurchschnitte pro Fach (GET /api/grades/{userId}/averages) über GradeService und
+ * GradeRepository auf H2: aus den gepflegten GradeAggregates (aktueller Weg) gegen Neuberechnung per
+ * GROUP BY über alle Noten. Die absoluten Zeiten gelten für H2 im selben Prozess, nicht für Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeAverageBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int SUBJECTS = 12;
+
+    @Param({"20", "200"})
+    public int gradesPerSubject;
+
+    private ConfigurableApplicationContext context;
+    private GradeService gradeService;
+    private GradeRepository gradeRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.jpa(GradeContext.class);
+        gradeService = context.getBean(GradeService.class);
+        gradeRepository = context.getBean(GradeRepository.class);
+
+        Random random = new Random(42);
+        BigDecimal[] weights = {BigDecimal.ONE, new BigDecimal("0.5"), new BigDecimal("2")};
+        List<Grade> grades = new ArrayList<>(SUBJECTS * gradesPerSubject);
+        for (int s = 0; s < SUBJECTS; s++) {
+            for (int i = 0; i < gradesPerSubject; i++) {
+                grades.add(Grade.builder()
+                        .userId(USER_ID)
+                        .subject("Fach " + s)
+                        .title("Test " + i)
+                        .grade(BigDecimal.valueOf(10 + random.nextInt(50), 1)) // 1.0 - 5.9
+                        .weight(weights[random.nextInt(weights.length)])
+                        .receivedDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                        .build());
+            }
+        }
+        // Noten als Batch an der Inkrement-Pflege vorbei, die Aggregate baut danach der Rebuild auf
+        gradeRepository.saveAll(grades);
+        gradeService.rebuildAggregates(USER_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GradeAggregate> averagesFromAggregates() {
+        return gradeService.getAggregates(USER_ID);
+    }
+
+    @Benchmark
+    public List<Object[]> averagesFromGrades() {
+        return gradeRepository.findWeightedAverageBySubject(USER_ID);
+    }
+
+    /**
+     * Nur GradeService mit seinen Repositories und Entities; SchoolSubject braucht den Cache-Listener als Bean.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories(basePackageClasses = GradeRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE,
+            classes = {GradeRepository.class, GradeAggregateRepository.class, SchoolSubjectRepository.class}))
+    @Import({GradeService.class, LocalUserCacheStore.class, UserResponseCache.class,
+            UserResponseCacheEvictionListener.class})
+    static class GradeContext {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(
+                    Grade.class.getName(), GradeAggregate.class.getName(), SchoolSubject.class.getName());
+        }
+    }
+}
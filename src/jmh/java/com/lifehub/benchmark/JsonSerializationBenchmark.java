@@ -0,0 +1,117 @@
+package com.lifehub.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.model.Todo;
+import com.lifehub.model.WeightLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson-Serialisierung großer Listen, wie sie Kalender-, Todo- und Gewichts-Endpoints ausliefern.
+ * ObjectMapper wie von Spring Boot konfiguriert (JavaTimeModule, Datumswerte als ISO-Strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "5000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<CalendarEvent> events;
+    private List<Todo> todos;
+    private List<WeightLog> weightLogs;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 8, 0);
+        events = new ArrayList<>(size);
+        todos = new ArrayList<>(size);
+        weightLogs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate date = start.plusDays(i % 730);
+            events.add(CalendarEvent.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .title("Termin " + i)
+                    .description("Beschreibung für Termin " + i)
+                    .location("Raum " + (i % 20))
+                    .startDate(date)
+                    .endDate(date)
+                    .startTime(LocalTime.of(8 + i % 10, 0))
+                    .endTime(LocalTime.of(9 + i % 10, 0))
+                    .category("SCHULE")
+                    .eventType("EVENT")
+                    .reminderMinutes(15)
+                    .createdAt(created)
+                    .updatedAt(created)
+                    .build());
+            todos.add(Todo.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .title("Aufgabe " + i)
+                    .description("Details zu Aufgabe " + i)
+                    .category("PRIVAT")
+                    .priority(Todo.Priority.values()[i % Todo.Priority.values().length])
+                    .status(Todo.Status.values()[i % Todo.Status.values().length])
+                    .dueDate(date)
+                    .tags(new String[]{"bench", "tag" + (i % 5)})
+                    .createdAt(created)
+                    .updatedAt(created)
+                    .build());
+            weightLogs.add(WeightLog.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .date(date)
+                    .weight(70.0 + (i % 50) / 10.0)
+                    .createdAt(created)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] calendarEvents() throws JsonProcessingException {
+        return writer.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] todos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] weightLogs() throws JsonProcessingException {
+        return writer.writeValueAsBytes(weightLogs);
+    }
+}
@@ -0,0 +1,98 @@
+package com.lifehub.benchmark;
+
+import com.lifehub.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService pro Request im Auth-Filter: Token erzeugen, validieren mit Cache-Treffer (Normalfall)
+ * und ohne (erste Anfrage eines Tokens, volle HMAC-Prüfung).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET =
+            "bGlmZWh1Yi1zZWN1cmUtand0LXNlY3JldC1rZXktZm9yLXRva2VuLWdlbmVyYXRpb24tYW5kLXZhbGlkYXRpb24tbXVzdC1iZS1sb25nLWVub3VnaA==";
+
+    @State(Scope.Benchmark)
+    public static class CachedState {
+        JwtService jwtService;
+        UserDetails user;
+        String token;
+
+        @Setup
+        public void setUp() {
+            jwtService = jwtService(10_000);
+            user = User.withUsername("bench").password("x").authorities(List.of()).build();
+            token = jwtService.generateToken(user);
+        }
+    }
+
+    /**
+     * Mehr verschiedene Tokens als der Cache fasst: praktisch jeder Aufruf parst und prüft die Signatur.
+     */
+    @State(Scope.Thread)
+    public static class UncachedState {
+        private static final int TOKENS = 4096;
+
+        JwtService jwtService;
+        UserDetails user;
+        String[] tokens;
+        int next;
+
+        @Setup
+        public void setUp() {
+            jwtService = jwtService(16);
+            user = User.withUsername("bench").password("x").authorities(List.of()).build();
+            tokens = new String[TOKENS];
+            for (int i = 0; i < TOKENS; i++) {
+                tokens[i] = jwtService.generateToken(Map.of("n", i), user);
+            }
+        }
+
+        String nextToken() {
+            next = (next + 1) % TOKENS;
+            return tokens[next];
+        }
+    }
+
+    @Benchmark
+    public String generateToken(CachedState state) {
+        return state.jwtService.generateToken(state.user);
+    }
+
+    @Benchmark
+    public boolean validateCached(CachedState state) {
+        return state.jwtService.isTokenValid(state.token, state.user);
+    }
+
+    @Benchmark
+    public boolean validateUncached(UncachedState state) {
+        return state.jwtService.isTokenValid(state.nextToken(), state.user);
+    }
+
+    private static JwtService jwtService(int claimsCacheSize) {
+        return BenchmarkContext.bean(JwtService.class, Map.of(
+                "spring.security.jwt.secret", SECRET,
+                "spring.security.jwt.expiration", 86_400_000L,
+                "spring.security.jwt.claims-cache-size", claimsCacheSize));
+    }
+}
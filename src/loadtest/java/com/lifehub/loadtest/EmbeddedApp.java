@@ -0,0 +1,74 @@
+package com.lifehub.loadtest;
+
+import com.lifehub.LifeHubApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startet die App im selben Prozess gegen H2 im PostgreSQL-Modus (Stand-in für die Postgres-Instanz).
+ * Schema per ddl-auto aus den Entities, Notizen in ein temporäres Verzeichnis, zufälliger Port.
+ */
+final class EmbeddedApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private EmbeddedApp(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    static EmbeddedApp start(LoadTestOptions options) throws IOException {
+        Path notes = Files.createTempDirectory("lifehub-loadtest-notes");
+        // Als Kommandozeilen-Argumente, damit sie application.yml überschreiben (properties() wären nur Defaults)
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=" + StandInH2Dialect.class.getName(),
+                "--spring.security.jwt.secret=" + options.jwtSecret(),
+                "--server.port=0",
+                "--notes.storage.path=" + notes,
+                // Request-Logging würde die Messung dominieren
+                "--logging.level.root=WARN",
+                "--logging.level.com.lifehub=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        if (options.virtualThreads() != null) {
+            args.add("--spring.threads.virtual.enabled=" + options.virtualThreads());
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LifeHubApplication.class);
+        if (!options.storageLatency().isZero()) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(
+                    new SlowStorage(options.storageLatency())));
+        }
+        ConfigurableApplicationContext context = builder.run(args.toArray(String[]::new));
+        return new EmbeddedApp(context);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    boolean virtualThreads() {
+        return context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+    DataSource dataSource() {
+        return context.getBean(DataSource.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
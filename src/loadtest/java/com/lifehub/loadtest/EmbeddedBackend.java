@@ -0,0 +1,189 @@
+package com.lifehub.loadtest;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startet die Backend-App (Kanban, Gym) aus ihren Quellen als eigenen Prozess. Im selben Prozess wie die App geht
+ * das nicht: beide haben Klassen mit gleichem Namen (com.lifehub.model.*). backend/ hat weder Build noch
+ * Main-Klasse, deshalb kompiliert der Test die Quellen mit den Abhängigkeiten der App und einer eigenen
+ * Main-Klasse. Das Backend bekommt eine eigene In-Memory-H2 im PostgreSQL-Modus; es arbeitet nur über die userId
+ * und braucht keine Tabellen der App.
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    private static final String MAIN_CLASS = "com.lifehub.LoadTestBackendApplication";
+    // Die Backend-Endpoints sind in der Produktion nicht per Spring Security geschützt, ohne Main-Klasse hätte das
+    // Default-Setup sonst Basic Auth davorgesetzt. Scheduling für den Flush des GymSetBuffer.
+    private static final String MAIN_SOURCE = """
+            package com.lifehub;
+
+            @org.springframework.boot.autoconfigure.SpringBootApplication(excludeName = {
+                    "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.security.oauth2.client.servlet.OAuth2ClientAutoConfiguration",
+                    "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+            })
+            @org.springframework.scheduling.annotation.EnableScheduling
+            public class LoadTestBackendApplication {
+                public static void main(String[] args) {
+                    org.springframework.boot.SpringApplication.run(LoadTestBackendApplication.class, args);
+                }
+            }
+            """;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private EmbeddedBackend(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static EmbeddedBackend start(Path backendDir, LoadTestOptions options) throws IOException, InterruptedException {
+        List<String> dependencies = dependencyClasspath();
+        Path classes = compile(backendDir, dependencies);
+
+        List<String> classpath = new ArrayList<>();
+        classpath.add(classes.toString());
+        classpath.add(backendDir.resolve("src/main/resources").toString());
+        classpath.addAll(dependencies);
+
+        int port = freePort();
+        Path log = Files.createTempFile("lifehub-loadtest-backend", ".log");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = List.of(java, "-cp", String.join(File.pathSeparator, classpath), MAIN_CLASS,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-backend;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=" + StandInH2Dialect.class.getName(),
+                // Schema aus den Entities wie bei der App; ohne Angabe wäre es für H2 create-drop
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.security.jwt.secret=" + options.jwtSecret(),
+                "--logging.level.root=WARN",
+                "--logging.level.com.lifehub=WARN");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        EmbeddedBackend backend = new EmbeddedBackend(process, "http://localhost:" + port);
+        try {
+            backend.awaitStartup(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    // Backend-Quellen + Main-Klasse + StandInH2Dialect, Lombok als Annotation-Processor
+    private static Path compile(Path backendDir, List<String> dependencies) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Starting the backend needs a JDK, not a JRE");
+        }
+        Path sources = backendDir.resolve("src/main/java");
+        if (!Files.isDirectory(sources)) {
+            throw new IllegalArgumentException("Backend sources not found: " + sources);
+        }
+        Path work = Files.createTempDirectory("lifehub-loadtest-backend");
+        Path classes = Files.createDirectories(work.resolve("classes"));
+        Path main = Files.createDirectories(work.resolve("src/com/lifehub")).resolve("LoadTestBackendApplication.java");
+        Files.writeString(main, MAIN_SOURCE);
+
+        List<String> args = new ArrayList<>(List.of("-d", classes.toString(), "-parameters", "-nowarn",
+                "-cp", String.join(File.pathSeparator, dependencies),
+                "-processorpath", location("lombok.Lombok")));
+        try (Stream<Path> files = Files.walk(sources)) {
+            files.filter(file -> file.toString().endsWith(".java")).forEach(file -> args.add(file.toString()));
+        }
+        args.add(main.toString());
+        args.add(Path.of("src/loadtest/java", StandInH2Dialect.class.getName().replace('.', '/') + ".java").toString());
+
+        if (compiler.run(null, null, null, args.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Compiling the backend sources in " + sources + " failed");
+        }
+        return classes;
+    }
+
+    // Abhängigkeiten der App ohne ihre eigenen Klassen (gleiche Namen wie im Backend)
+    private static List<String> dependencyClasspath() {
+        String appClasses = location(LoadTest.class.getName());
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !Path.of(entry).toAbsolutePath().equals(Path.of(appClasses).toAbsolutePath()))
+                .toList();
+    }
+
+    private static String location(String className) {
+        try {
+            return Path.of(Class.forName(className).getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .toString();
+        } catch (ReflectiveOperationException | URISyntaxException e) {
+            throw new IllegalStateException(className + " not on the load test classpath", e);
+        }
+    }
+
+    // Bereit, sobald der Port irgendeine HTTP-Antwort liefert
+    private void awaitStartup(Path log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/gym/exercises?userId=0")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Backend did not start within " + STARTUP_TIMEOUT.toSeconds() + " s, see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
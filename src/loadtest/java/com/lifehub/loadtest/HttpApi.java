@@ -0,0 +1,118 @@
+package com.lifehub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Dünner HTTP-Client für Setup und Szenarien. Aufrufe mit Endpoint-Namen werden im {@link LatencyRecorder}
+ * gemessen, Setup-Aufrufe (endpoint == null) nicht.
+ */
+final class HttpApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final LatencyRecorder recorder;
+
+    HttpApi(ObjectMapper mapper, LatencyRecorder recorder) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.mapper = mapper;
+        this.recorder = recorder;
+    }
+
+    Response get(String endpoint, String url, String token) {
+        return send(endpoint, "GET", url, null, token, 0);
+    }
+
+    Response post(String endpoint, String url, Object body, String token) {
+        return send(endpoint, "POST", url, body, token, 0);
+    }
+
+    Response put(String endpoint, String url, Object body, String token) {
+        return send(endpoint, "PUT", url, body, token, 0);
+    }
+
+    /**
+     * @param expectedStatus zusätzlich als Erfolg gewerteter Status (z.B. 409 beim Kanban-Move), 0 = keiner
+     */
+    Response send(String endpoint, String method, String url, Object body, String token, int expectedStatus) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(write(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        int status;
+        String responseBody;
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            responseBody = response.body();
+        } catch (IOException e) {
+            // Verbindungsfehler/Timeouts zählen als Fehler des Endpoints
+            status = 0;
+            responseBody = e.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, "interrupted", mapper);
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+
+        if (endpoint != null) {
+            boolean success = (status >= 200 && status < 300) || (expectedStatus != 0 && status == expectedStatus);
+            recorder.record(endpoint, micros, success);
+        }
+        return new Response(status, responseBody, mapper);
+    }
+
+    private String write(Object body) {
+        if (body instanceof String string) {
+            return string;
+        }
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Response(int status, String body, ObjectMapper mapper) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return mapper.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Response require(String what) {
+            if (!ok()) {
+                throw new IllegalStateException(what + " failed: HTTP " + status + " " + body);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.lifehub.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sammelt Latenzen pro Endpoint (Mikrosekunden, alle Werte - keine Stichprobe) und Fehler.
+ * Während des Warmups wird nichts aufgezeichnet.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long micros, boolean success) {
+        if (!recording) {
+            return;
+        }
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(micros, success);
+    }
+
+    /**
+     * Kennzahlen pro Endpoint, sortiert nach Name; durchsatz = erfolgreiche + fehlgeschlagene Requests pro Sekunde.
+     */
+    Map<String, EndpointStats> snapshot(double seconds) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        endpoints.forEach((name, samples) -> stats.put(name, samples.stats(seconds)));
+        return stats;
+    }
+
+    private static final class Samples {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] values = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long micros, boolean success) {
+            lock.lock();
+            try {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = micros;
+                if (!success) {
+                    errors++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        EndpointStats stats(double seconds) {
+            long[] sorted;
+            long errorCount;
+            lock.lock();
+            try {
+                sorted = Arrays.copyOf(values, count);
+                errorCount = errors;
+            } finally {
+                lock.unlock();
+            }
+            Arrays.sort(sorted);
+
+            double mean = sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1000.0;
+            return new EndpointStats(
+                    sorted.length,
+                    errorCount,
+                    seconds > 0 ? sorted.length / seconds : 0,
+                    mean,
+                    percentile(sorted, 50),
+                    percentile(sorted, 90),
+                    percentile(sorted, 95),
+                    percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        }
+
+        // Nearest-Rank, in Millisekunden
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1000.0;
+        }
+    }
+
+    record EndpointStats(
+            long requests,
+            long errors,
+            double throughput,
+            double meanMillis,
+            double p50Millis,
+            double p90Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis
+    ) {}
+}
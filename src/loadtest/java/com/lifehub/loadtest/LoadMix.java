@@ -0,0 +1,166 @@
+package com.lifehub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lifehub.loadtest.SyntheticData.UserFixture;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gewichteter Request-Mix, nachgebildet auf die Nutzung am Handy/Browser: Dashboard-Polling überwiegt,
+ * dazu Kalender-Ansichten, Notizen öffnen/speichern und - sobald ein Backend läuft - Kanban-Moves und Gym-Sätze.
+ */
+final class LoadMix {
+
+    private final HttpApi api;
+    private final String baseUrl;
+    private final String backendUrl;
+    private final int years;
+    private final List<Step> steps = new ArrayList<>();
+    private final int totalWeight;
+    private final Map<Long, AtomicInteger> setNumbers = new HashMap<>();
+
+    LoadMix(HttpApi api, String baseUrl, LoadTestOptions options, List<UserFixture> users) {
+        this.api = api;
+        this.baseUrl = baseUrl;
+        this.backendUrl = options.backendUrl();
+        this.years = options.years();
+
+        steps.add(new Step("dashboard", 30, this::dashboard));
+        steps.add(new Step("dashboard stats", 10, this::dashboardStats));
+        steps.add(new Step("calendar range", 15, this::calendarRange));
+        steps.add(new Step("note open", 15, this::openNote));
+        steps.add(new Step("note save", 5, this::saveNote));
+        if (backendUrl != null) {
+            steps.add(new Step("kanban move", 10, this::moveCard));
+            steps.add(new Step("gym set", 15, this::logSets));
+            // vor dem Start befüllt, danach nur gelesen
+            users.forEach(user -> setNumbers.put(user.gymSessionId(), new AtomicInteger()));
+        }
+        this.totalWeight = steps.stream().mapToInt(Step::weight).sum();
+    }
+
+    List<Step> steps() {
+        return steps;
+    }
+
+    void runRandomStep(UserFixture user, Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Step step : steps) {
+            roll -= step.weight();
+            if (roll < 0) {
+                step.action().run(user, random);
+                return;
+            }
+        }
+    }
+
+    private void dashboard(UserFixture user, Random random) {
+        api.get("GET /api/dashboard/{userId}", baseUrl + "/api/dashboard/" + user.userId(), user.token());
+    }
+
+    private void dashboardStats(UserFixture user, Random random) {
+        api.get("GET /api/dashboard/{userId}/stats", baseUrl + "/api/dashboard/" + user.userId() + "/stats", user.token());
+    }
+
+    // Monats- oder Wochenansicht irgendwo in der Historie, bevorzugt nahe an heute
+    private void calendarRange(UserFixture user, Random random) {
+        LocalDate today = LocalDate.now();
+        boolean recent = random.nextInt(4) > 0;
+        LocalDate start;
+        LocalDate end;
+        if (random.nextBoolean()) {
+            start = (recent ? today.minusMonths(random.nextInt(3)) : today.minusMonths(random.nextInt(years * 12 + 1)))
+                    .withDayOfMonth(1);
+            end = start.plusMonths(1).minusDays(1);
+        } else {
+            start = recent ? today.minusWeeks(random.nextInt(8)) : today.minusWeeks(random.nextInt(years * 52 + 1));
+            end = start.plusDays(6);
+        }
+        api.get("GET /api/events/{userId}/range", baseUrl + "/api/events/" + user.userId() + "/range?startDate=" + start
+                + "&endDate=" + end, user.token());
+    }
+
+    private void openNote(UserFixture user, Random random) {
+        Long noteId = user.noteIds().get(random.nextInt(user.noteIds().size()));
+        api.get("GET /api/school/notes/{userId}/note/{noteId}/content",
+                baseUrl + "/api/school/notes/" + user.userId() + "/note/" + noteId + "/content", user.token());
+    }
+
+    private void saveNote(UserFixture user, Random random) {
+        int index = random.nextInt(user.noteIds().size());
+        // Titel bleibt gleich, damit die Datei überschrieben statt neu angelegt wird
+        Map<String, Object> body = Map.of("title", "Notiz " + index,
+                "content", SyntheticData.noteContent(index, random.nextInt(1000)));
+        api.put("PUT /api/school/notes/{userId}/note/{noteId}",
+                baseUrl + "/api/school/notes/" + user.userId() + "/note/" + user.noteIds().get(index), body, user.token());
+    }
+
+    // Board einer Spalte laden, eine Karte zwischen zwei Nachbarn einer (anderen) Spalte ziehen
+    private void moveCard(UserFixture user, Random random) {
+        String[] columns = {"open", "in_progress", "done"};
+        String source = columns[random.nextInt(columns.length)];
+        JsonNode board = api.get("GET /api/todos", backendUrl + "/api/todos?userId=" + user.userId() + "&status=" + source,
+                null).json();
+        if (!board.isArray() || board.isEmpty()) {
+            return;
+        }
+        JsonNode card = board.get(random.nextInt(board.size()));
+        long cardId = card.get("id").asLong();
+
+        String target = columns[random.nextInt(columns.length)];
+        JsonNode targetColumn = target.equals(source) ? board
+                : api.get("GET /api/todos", backendUrl + "/api/todos?userId=" + user.userId() + "&status=" + target, null).json();
+        // Die Karte selbst ist kein gültiger Nachbar (400 "cannot be its own neighbour")
+        List<Long> neighbours = new ArrayList<>();
+        if (targetColumn.isArray()) {
+            targetColumn.forEach(todo -> {
+                if (todo.get("id").asLong() != cardId) {
+                    neighbours.add(todo.get("id").asLong());
+                }
+            });
+        }
+        Map<String, Object> move = new HashMap<>();
+        move.put("status", target);
+        move.put("version", card.path("version").asLong());
+        if (!neighbours.isEmpty()) {
+            int slot = random.nextInt(neighbours.size() + 1);
+            if (slot > 0) {
+                move.put("beforeId", neighbours.get(slot - 1));
+            }
+            if (slot < neighbours.size()) {
+                move.put("afterId", neighbours.get(slot));
+            }
+        }
+        // 409 = parallel verschoben, gehört zum Protokoll (Client lädt neu) und ist kein Fehler
+        api.send("PATCH /api/todos/{id}/move", "PATCH", backendUrl + "/api/todos/" + cardId + "/move",
+                move, null, 409);
+    }
+
+    // Eine Übung mit 3 Sätzen, wie der Client sie nach einem Block abschickt
+    private void logSets(UserFixture user, Random random) {
+        Long exerciseId = user.exerciseIds().get(random.nextInt(user.exerciseIds().size()));
+        AtomicInteger setNumber = setNumbers.get(user.gymSessionId());
+        List<Map<String, Object>> sets = new ArrayList<>(3);
+        for (int s = 0; s < 3; s++) {
+            sets.add(Map.of("exerciseId", exerciseId, "setNumber", setNumber.incrementAndGet(),
+                    "reps", 6 + random.nextInt(7), "weight", 20 + random.nextInt(80) * 1.25,
+                    "clientId", UUID.randomUUID().toString()));
+        }
+        api.post("POST /api/gym/logs/batch", backendUrl + "/api/gym/logs/batch",
+                Map.of("sessionId", user.gymSessionId(), "sets", sets), null);
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run(UserFixture user, Random random);
+    }
+
+    record Step(String name, int weight, Action action) {}
+}
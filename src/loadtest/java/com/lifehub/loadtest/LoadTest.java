@@ -0,0 +1,166 @@
+package com.lifehub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lifehub.loadtest.LatencyRecorder.EndpointStats;
+import com.lifehub.loadtest.SyntheticData.UserFixture;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-End-Lasttest: legt User mit mehrjähriger Historie an, fährt einen festen Request-Mix mit N parallelen
+ * Clients (geschlossenes Modell, ein virtueller Thread pro Client) und gibt pro Endpoint Durchsatz und
+ * Latenz-Perzentile aus. Aufruf und Optionen siehe benchmark/README.md.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        LatencyRecorder recorder = new LatencyRecorder();
+        HttpApi api = new HttpApi(mapper, recorder);
+
+        EmbeddedApp app = options.embedded() ? EmbeddedApp.start(options) : null;
+        EmbeddedBackend backend = null;
+        try {
+            if (options.backendSources() != null) {
+                backend = EmbeddedBackend.start(options.backendSources(), options);
+                options = options.withBackendUrl(backend.baseUrl());
+            } else if (options.backendUrl() == null) {
+                System.out.println("Ohne Backend keine Kanban- und Gym-Szenarien");
+            }
+            String baseUrl = app != null ? app.baseUrl() : options.baseUrl();
+            DataSource dataSource = app != null ? app.dataSource() : externalDataSource(options);
+            if (dataSource == null) {
+                System.out.println("Ohne --jdbc-url keine Historie (Todos, Termine, Gewicht, Noten), nur Notizen");
+            }
+
+            long seedStart = System.nanoTime();
+            List<UserFixture> users = new SyntheticData(options, api, dataSource).create(baseUrl);
+            System.out.printf("%s: %d User mit %d Jahren Historie in %.1f s angelegt%n",
+                    baseUrl, users.size(), options.years(), (System.nanoTime() - seedStart) / 1e9);
+
+            if (app != null) {
+                System.out.printf("Virtuelle Threads: %s, simulierte Speicher-Latenz: %d ms%n",
+                        app.virtualThreads() ? "an" : "aus", options.storageLatency().toMillis());
+            }
+
+            LoadMix mix = new LoadMix(api, baseUrl, options, users);
+            double seconds = run(options, mix, users, recorder);
+
+            Map<String, EndpointStats> stats = recorder.snapshot(seconds);
+            print(stats, seconds);
+            writeReport(mapper, options, app, baseUrl, mix, seconds, stats);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static DataSource externalDataSource(LoadTestOptions options) {
+        if (options.jdbcUrl() == null) {
+            return null;
+        }
+        return new DriverManagerDataSource(options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword());
+    }
+
+    // Liefert die tatsächliche Messdauer in Sekunden
+    private static double run(LoadTestOptions options, LoadMix mix, List<UserFixture> users, LatencyRecorder recorder)
+            throws InterruptedException {
+        long end = System.nanoTime() + options.warmup().toNanos() + options.duration().toNanos();
+        long thinkMillis = options.thinkTime().toMillis();
+
+        double seconds;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < options.concurrency(); c++) {
+                Random random = new Random(options.seed() + c);
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        try {
+                            mix.runRandomStep(users.get(random.nextInt(users.size())), random);
+                        } catch (RuntimeException e) {
+                            // Fehlerantwort ist schon im Recorder gezählt (z.B. Body kein JSON)
+                        }
+                        if (thinkMillis > 0) {
+                            try {
+                                Thread.sleep(thinkMillis);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+
+            System.out.printf("%d Clients, %d s Warmup, %d s Messung%n",
+                    options.concurrency(), options.warmup().toSeconds(), options.duration().toSeconds());
+            Thread.sleep(options.warmup());
+            recorder.start();
+            long start = System.nanoTime();
+            Thread.sleep(options.duration());
+            recorder.stop();
+            seconds = (System.nanoTime() - start) / 1e9;
+        }
+        return seconds;
+    }
+
+    private static void print(Map<String, EndpointStats> stats, double seconds) {
+        System.out.printf("%n%-56s %8s %7s %8s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requests", "Fehler", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            System.out.printf("%-56s %8d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n", entry.getKey(), s.requests(),
+                    s.errors(), s.throughput(), s.p50Millis(), s.p90Millis(), s.p95Millis(), s.p99Millis(), s.maxMillis());
+            requests += s.requests();
+            errors += s.errors();
+        }
+        System.out.printf("%nGesamt: %d Requests in %.1f s = %.1f req/s, %d Fehler%n",
+                requests, seconds, requests / seconds, errors);
+    }
+
+    private static void writeReport(ObjectMapper mapper, LoadTestOptions options, EmbeddedApp app, String baseUrl,
+                                    LoadMix mix, double seconds, Map<String, EndpointStats> stats) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("target", options.embedded() ? "embedded-h2" : baseUrl);
+        report.put("backend", options.backendSources() != null ? "embedded-h2" : options.backendUrl());
+        report.put("users", options.users());
+        report.put("years", options.years());
+        report.put("concurrency", options.concurrency());
+        report.put("thinkTimeMillis", options.thinkTime().toMillis());
+        report.put("seed", options.seed());
+        if (app != null) {
+            report.put("virtualThreads", app.virtualThreads());
+            report.put("storageLatencyMillis", options.storageLatency().toMillis());
+        }
+        report.put("durationSeconds", seconds);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.steps().forEach(step -> weights.put(step.name(), step.weight()));
+        report.put("mix", weights);
+        report.put("endpoints", stats);
+
+        if (options.report().getParent() != null) {
+            Files.createDirectories(options.report().getParent());
+        }
+        mapper.writeValue(options.report().toFile(), report);
+        System.out.println("Report: " + options.report());
+    }
+}
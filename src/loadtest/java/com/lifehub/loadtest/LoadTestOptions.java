@@ -0,0 +1,110 @@
+package com.lifehub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kommandozeilen-Optionen im Format --name=wert. Ohne --base-url startet der Lasttest die App selbst
+ * (H2 im PostgreSQL-Modus), sonst läuft er gegen eine bestehende Instanz. Die Backend-App (Kanban, Gym) startet
+ * er dann ebenfalls selbst aus --backend-src, außer --backend-url zeigt auf eine laufende Instanz.
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String backendUrl,
+        Path backendSources,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        String jwtSecret,
+        int users,
+        int concurrency,
+        int years,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        long seed,
+        Path report,
+        Boolean virtualThreads,
+        Duration storageLatency
+) {
+
+    static final String DEFAULT_JWT_SECRET =
+            "bGlmZWh1Yi1zZWN1cmUtand0LXNlY3JldC1rZXktZm9yLXRva2VuLWdlbmVyYXRpb24tYW5kLXZhbGlkYXRpb24tbXVzdC1iZS1sb25nLWVub3VnaA==";
+
+    private static final Set<String> NAMES = Set.of("base-url", "backend-url", "backend-src", "jdbc-url", "jdbc-user", "jdbc-password",
+            "jwt-secret", "users", "concurrency", "years", "warmup", "duration", "think-time", "seed", "report",
+            "virtual-threads", "storage-latency");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            String name = arg.substring(2, split);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+            values.put(name, arg.substring(split + 1));
+        }
+        // Stellschrauben der eingebetteten App; eine laufende Instanz bringt ihre eigene Konfiguration mit
+        if (values.containsKey("base-url") && (values.containsKey("virtual-threads") || values.containsKey("storage-latency"))) {
+            throw new IllegalArgumentException("--virtual-threads and --storage-latency only work without --base-url");
+        }
+        if (values.containsKey("backend-url") && values.containsKey("backend-src")) {
+            throw new IllegalArgumentException("--backend-url and --backend-src must not be combined");
+        }
+        if (values.containsKey("base-url") && values.containsKey("backend-src")) {
+            throw new IllegalArgumentException("--backend-src only works without --base-url");
+        }
+        // Eingebettet läuft der volle Mix: das Backend kommt mit, solange es nicht abgeschaltet ist (--backend-src=none)
+        String backendSources = values.getOrDefault("backend-src",
+                values.containsKey("base-url") || values.containsKey("backend-url") ? "none" : "backend");
+
+        return new LoadTestOptions(
+                values.get("base-url"),
+                values.get("backend-url"),
+                "none".equals(backendSources) ? null : Path.of(backendSources),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-user", "lifehub"),
+                values.getOrDefault("jdbc-password", "lifehub"),
+                values.getOrDefault("jwt-secret", DEFAULT_JWT_SECRET),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("concurrency", "50")),
+                Integer.parseInt(values.getOrDefault("years", "3")),
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("think-time", "0s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json")),
+                values.containsKey("virtual-threads") ? Boolean.valueOf(values.get("virtual-threads")) : null,
+                duration(values.getOrDefault("storage-latency", "0s")));
+    }
+
+    boolean embedded() {
+        return baseUrl == null;
+    }
+
+    // Nach dem Start aus --backend-src: ab hier laufen Kanban und Gym gegen die gestartete Instanz
+    LoadTestOptions withBackendUrl(String url) {
+        return new LoadTestOptions(baseUrl, url, backendSources, jdbcUrl, jdbcUser, jdbcPassword, jwtSecret, users,
+                concurrency, years, warmup, duration, thinkTime, seed, report, virtualThreads, storageLatency);
+    }
+
+    // 30s, 5m, 500ms
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unknown duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.lifehub.loadtest;
+
+import com.lifehub.service.FileStorageService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.time.Duration;
+
+/**
+ * Simuliert langsamen NAS-Speicher: jeder Aufruf von {@link FileStorageService} blockiert vorher für die
+ * angegebene Latenz. Damit lässt sich vergleichen, wie Platform- und virtuelle Threads mit blockierendem
+ * Datei-I/O umgehen, ohne ein echtes NAS zu brauchen.
+ *
+ * Thread.sleep gibt auf einem virtuellen Thread den Carrier frei. Echtes Datei-I/O blockiert den Carrier,
+ * die JVM startet dafür aber einen Ersatz-Carrier. Das Ergebnis ist deshalb eher optimistisch.
+ */
+final class SlowStorage implements BeanPostProcessor {
+
+    private final Duration latency;
+
+    SlowStorage(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof FileStorageService)) {
+            return bean;
+        }
+        ProxyFactory proxy = new ProxyFactory(bean);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice((MethodInterceptor) invocation -> {
+            Thread.sleep(latency);
+            return invocation.proceed();
+        });
+        return proxy.getProxy();
+    }
+}
@@ -0,0 +1,35 @@
+package com.lifehub.loadtest;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.internal.StandardTableExporter;
+import org.hibernate.tool.schema.spi.Exporter;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * H2-Dialekt für den Postgres-Stand-in: Die Entities nutzen Postgres-Arrays per columnDefinition
+ * ({@code TEXT[]} bei todos, exams, study_sessions), die H2 nur als {@code TEXT ARRAY} kennt.
+ * Ohne Umschreiben würden diese Tabellen beim Schema-Export fehlen.
+ */
+public class StandInH2Dialect extends H2Dialect {
+
+    private static final Pattern POSTGRES_ARRAY = Pattern.compile("(?i)\\b(text|varchar|integer|bigint)\\[]");
+
+    private final StandardTableExporter tableExporter = new StandardTableExporter(this) {
+        @Override
+        public String[] getSqlCreateStrings(Table table, Metadata metadata, SqlStringGenerationContext context) {
+            return Arrays.stream(super.getSqlCreateStrings(table, metadata, context))
+                    .map(sql -> POSTGRES_ARRAY.matcher(sql).replaceAll("$1 ARRAY"))
+                    .toArray(String[]::new);
+        }
+    };
+
+    @Override
+    public Exporter<Table> getTableExporter() {
+        return tableExporter;
+    }
+}
@@ -0,0 +1,244 @@
+package com.lifehub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.crypto.SecretKey;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Legt die Test-User an und füllt ihre Historie: Registrierung und Notizen über die API (Dateien + DB),
+ * Massendaten (Todos, Termine, Gewicht, Noten über {@code years} Jahre) per JDBC-Batch direkt in die DB.
+ */
+final class SyntheticData {
+
+    static final String PASSWORD = "LoadTest123!";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int NOTES_PER_USER = 12;
+    private static final int KANBAN_CARDS_PER_USER = 40;
+    private static final String[] CATEGORIES = {"PRIVAT", "ARBEIT", "SCHULE"};
+    private static final String[] SUBJECTS = {"Mathe", "Deutsch", "Englisch", "Physik", "Chemie", "Informatik", "Geschichte"};
+    private static final String[] GRADE_TYPES = {"Klausur", "Test", "Mündlich", "Referat"};
+
+    private final LoadTestOptions options;
+    private final HttpApi api;
+    private final JdbcTemplate jdbc;
+    private final SecretKey signingKey;
+    private final Random random;
+
+    SyntheticData(LoadTestOptions options, HttpApi api, DataSource dataSource) {
+        this.options = options;
+        this.api = api;
+        this.jdbc = dataSource != null ? new JdbcTemplate(dataSource) : null;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(options.jwtSecret()));
+        this.random = new Random(options.seed());
+    }
+
+    List<UserFixture> create(String baseUrl) {
+        List<UserFixture> users = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            String username = "loadtest-" + options.seed() + "-" + i;
+            long userId = registerAndLogin(baseUrl, username);
+            String token = token(username);
+
+            if (jdbc != null) {
+                insertHistory(userId);
+                api.post(null, baseUrl + "/api/grades/" + userId + "/averages/rebuild", null, token)
+                        .require("Rebuilding grade averages");
+            }
+            List<Long> noteIds = createNotes(baseUrl, userId, token);
+
+            List<Long> todoIds = List.of();
+            List<Long> exerciseIds = List.of();
+            Long gymSessionId = null;
+            if (options.backendUrl() != null) {
+                todoIds = createKanbanCards(userId);
+                exerciseIds = exerciseIds(userId);
+                gymSessionId = startGymSession(userId);
+            }
+            users.add(new UserFixture(username, userId, token, noteIds, todoIds, exerciseIds, gymSessionId));
+        }
+        return users;
+    }
+
+    private long registerAndLogin(String baseUrl, String username) {
+        // Bei wiederholten Läufen gegen dieselbe DB existiert der User schon -> 400, dann nur Login
+        api.post(null, baseUrl + "/api/auth/register",
+                Map.of("username", username, "email", username + "@loadtest.invalid", "password", PASSWORD), null);
+        JsonNode login = api.post(null, baseUrl + "/api/auth/login",
+                Map.of("username", username, "password", PASSWORD), null).require("Login of " + username).json();
+        return login.get("userId").asLong();
+    }
+
+    // Gleiches Format wie JwtService: Subject = Username, HMAC mit dem App-Secret
+    private String token(String username) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new java.util.Date(now))
+                .expiration(new java.util.Date(now + Duration.ofDays(1).toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private void insertHistory(long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(options.years());
+
+        List<Object[]> todos = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> weights = new ArrayList<>();
+        List<Object[]> grades = new ArrayList<>();
+        double weight = 70 + random.nextDouble() * 20;
+
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            Timestamp created = Timestamp.valueOf(day.atTime(8, 0));
+
+            // 2-4 Todos pro Tag, ältere fast alle erledigt
+            int todoCount = 2 + random.nextInt(3);
+            for (int t = 0; t < todoCount; t++) {
+                boolean done = day.isBefore(today.minusDays(14)) ? random.nextInt(10) > 0 : random.nextInt(3) == 0;
+                todos.add(new Object[]{userId, "Aufgabe " + day + " #" + t, "Automatisch erzeugt",
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], pick("LOW", "MEDIUM", "HIGH", "URGENT"),
+                        done ? "DONE" : pick("TODO", "IN_PROGRESS"), done,
+                        Date.valueOf(day.plusDays(random.nextInt(10))),
+                        done ? Timestamp.valueOf(day.atTime(18, 0)) : null, created, created});
+            }
+
+            // 0-2 einzelne Termine pro Tag
+            int eventCount = random.nextInt(3);
+            for (int e = 0; e < eventCount; e++) {
+                LocalTime start = LocalTime.of(8 + random.nextInt(10), 0);
+                events.add(new Object[]{userId, "Termin " + day + " #" + e, Date.valueOf(day), Date.valueOf(day),
+                        java.sql.Time.valueOf(start), java.sql.Time.valueOf(start.plusHours(1)), false,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], false, null, null, "CONFIRMED", created, created});
+            }
+
+            weight += (random.nextDouble() - 0.5) * 0.4;
+            weights.add(new Object[]{userId, Math.round(weight * 10) / 10.0, Date.valueOf(day), created});
+
+            if (day.getDayOfWeek() == DayOfWeek.TUESDAY || day.getDayOfWeek() == DayOfWeek.THURSDAY) {
+                BigDecimal grade = BigDecimal.valueOf(1 + random.nextDouble() * 4).setScale(1, RoundingMode.HALF_UP);
+                grades.add(new Object[]{userId, SUBJECTS[random.nextInt(SUBJECTS.length)], "Leistung " + day,
+                        GRADE_TYPES[random.nextInt(GRADE_TYPES.length)], grade,
+                        random.nextInt(4) == 0 ? BigDecimal.valueOf(2) : BigDecimal.ONE, Date.valueOf(day), created, created});
+            }
+        }
+
+        // Wöchentliche Serien über den ganzen Zeitraum (werden bei Range-Abfragen expandiert)
+        String[] days = {"MO", "TU", "WE", "TH", "FR"};
+        for (int s = 0; s < 5; s++) {
+            Timestamp created = Timestamp.valueOf(from.atStartOfDay());
+            LocalTime start = LocalTime.of(9 + s, 30);
+            events.add(new Object[]{userId, "Serie " + days[s], Date.valueOf(from), Date.valueOf(from),
+                    java.sql.Time.valueOf(start), java.sql.Time.valueOf(start.plusMinutes(90)), false,
+                    CATEGORIES[s % CATEGORIES.length], true, "FREQ=WEEKLY;BYDAY=" + days[s], null, "CONFIRMED",
+                    created, created});
+        }
+
+        batch("INSERT INTO todos (user_id, title, description, category, priority, status, completed, due_date, " +
+                "completed_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", todos);
+        batch("INSERT INTO calendar_events (user_id, title, start_date, end_date, start_time, end_time, all_day, " +
+                "category, recurring, recurrence_rule, recurrence_end_date, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+        batch("INSERT INTO weight_logs (user_id, weight, date, created_at) VALUES (?, ?, ?, ?)", weights);
+        batch("INSERT INTO grades (user_id, subject, title, grade_type, grade, weight, received_date, created_at, " +
+                "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", grades);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(i, Math.min(rows.size(), i + BATCH_SIZE)));
+        }
+    }
+
+    private List<Long> createNotes(String baseUrl, long userId, String token) {
+        List<Long> ids = new ArrayList<>(NOTES_PER_USER);
+        for (int n = 0; n < NOTES_PER_USER; n++) {
+            JsonNode note = api.post(null, baseUrl + "/api/school/notes/" + userId,
+                    Map.of("title", "Notiz " + n, "content", noteContent(n, 0)), token).require("Creating note").json();
+            ids.add(note.get("id").asLong());
+        }
+        return ids;
+    }
+
+    // 2-6 KiB Markdown, wie eine mittellange Mitschrift
+    static String noteContent(int note, int revision) {
+        StringBuilder content = new StringBuilder("# Notiz ").append(note).append("\n\nRevision ").append(revision).append("\n\n");
+        int paragraphs = 8 + note % 5 * 6;
+        for (int p = 0; p < paragraphs; p++) {
+            content.append("## Abschnitt ").append(p).append("\n\n")
+                    .append("- Stichpunkt mit etwas Text zum Thema ").append(p).append('\n')
+                    .append("- Noch ein Stichpunkt, **fett** und `code`\n\n")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor.\n\n");
+        }
+        return content.toString();
+    }
+
+    private List<Long> createKanbanCards(long userId) {
+        List<Long> ids = new ArrayList<>(KANBAN_CARDS_PER_USER);
+        for (int c = 0; c < KANBAN_CARDS_PER_USER; c++) {
+            JsonNode todo = api.post(null, options.backendUrl() + "/api/todos",
+                    Map.of("userId", userId, "title", "Karte " + c, "status", pick("open", "in_progress", "done"),
+                            "category", "privat"), null).require("Creating kanban card").json();
+            ids.add(todo.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private List<Long> exerciseIds(long userId) {
+        List<Long> ids = new ArrayList<>();
+        api.get(null, options.backendUrl() + "/api/gym/exercises?userId=" + userId, null)
+                .require("Loading exercises").json()
+                .forEach(exercise -> ids.add(exercise.get("id").asLong()));
+        // Frische DB (z.B. der Stand-in) ohne vordefinierte Übungen: eigene für den User anlegen
+        if (ids.isEmpty()) {
+            for (String[] exercise : new String[][] {{"Bankdrücken", "CHEST"}, {"Kniebeuge", "LEGS"}, {"Rudern", "BACK"}}) {
+                ids.add(api.post(null, options.backendUrl() + "/api/gym/exercises",
+                        Map.of("name", exercise[0], "category", "STRENGTH", "muscleGroup", exercise[1],
+                                "equipment", "BARBELL", "userId", userId), null)
+                        .require("Creating exercise").json().get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private Long startGymSession(long userId) {
+        HttpApi.Response started = api.post(null, options.backendUrl() + "/api/gym/sessions/start",
+                Map.of("userId", userId, "workoutName", "Lasttest"), null);
+        if (started.status() == 409) {
+            started = api.get(null, options.backendUrl() + "/api/gym/sessions/active?userId=" + userId, null);
+        }
+        return started.require("Starting gym session").json().get("id").asLong();
+    }
+
+    private String pick(String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    record UserFixture(
+            String username,
+            long userId,
+            String token,
+            List<Long> noteIds,
+            List<Long> todoIds,
+            List<Long> exerciseIds,
+            Long gymSessionId
+    ) {}
+}
@@ -0,0 +1,84 @@
+package com.lifehub.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startprüfung für {@link PooledSequenceIdGenerator}: der nächste Block jeder Sequence muss oberhalb von MAX(id)
+ * der Tabelle liegen. Fehlt die Migration (V2_1, V2_8, Backend V2_2), legt ddl-auto die Sequence bei 1 an und
+ * die App würde bereits belegte IDs vergeben - sie startet dann nicht.
+ * INCREMENT BY prüft Hibernate selbst ({@code hibernate.id.sequence.increment_size_mismatch_strategy}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PooledSequenceCheck {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void verify() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database) && !"H2".equals(database)) {
+            log.info("Skipping pooled sequence check on {}", database);
+            return;
+        }
+
+        List<String> behind = new ArrayList<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof PooledSequenceIdGenerator generator
+                            && persister instanceof AbstractEntityPersister entity) {
+                        String sequence = generator.getDatabaseStructure().getPhysicalName().getObjectName().getText();
+                        int blockSize = generator.getDatabaseStructure().getIncrementSize();
+                        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + entity.getIdentifierColumnNames()[0]
+                                + ") FROM " + entity.getTableName(), Long.class);
+                        Long next = nextValue(database, sequence);
+                        // pooled: nextval() = n reserviert (n - blockSize, n]
+                        if (maxId != null && next != null && next - blockSize < maxId) {
+                            behind.add(sequence + " (nextval() " + next + ", MAX(id) " + maxId + ")");
+                        }
+                    }
+                });
+        if (!behind.isEmpty()) {
+            throw new IllegalStateException("ID-Sequences liegen hinter den vorhandenen IDs, Migrationen "
+                    + "V2_1/V2_8 einspielen (siehe PERFORMANCE_PROFILE.md): " + String.join(", ", behind));
+        }
+    }
+
+    // Wert, den das nächste nextval() liefert; null, wenn die Sequence nicht existiert
+    Long nextValue(String database, String sequence) {
+        String name = sequence.toLowerCase(Locale.ROOT);
+        if ("H2".equals(database)) {
+            return jdbcTemplate.queryForList("SELECT base_value FROM information_schema.sequences "
+                    + "WHERE LOWER(sequence_name) = ?", Long.class, name).stream().findFirst().orElse(null);
+        }
+        Long incrementBy = jdbcTemplate.queryForList("SELECT increment_by FROM pg_sequences "
+                + "WHERE schemaname = current_schema() AND sequencename = ?", Long.class, name)
+                .stream().findFirst().orElse(null);
+        if (incrementBy == null) {
+            return null;
+        }
+        // pg_sequences.last_value ist nach setval(..., false) NULL, daher last_value/is_called aus der Sequence selbst
+        return jdbcTemplate.queryForObject("SELECT last_value, is_called FROM " + name, (rs, rowNum) ->
+                nextValue(rs.getLong("last_value"), rs.getBoolean("is_called"), incrementBy));
+    }
+
+    // is_called = false (frisch per setval(..., false) gesetzt): nextval() liefert last_value unverändert
+    static long nextValue(long lastValue, boolean isCalled, long incrementBy) {
+        return isCalled ? lastValue + incrementBy : lastValue;
+    }
+}
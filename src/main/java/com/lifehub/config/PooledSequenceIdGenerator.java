@@ -0,0 +1,40 @@
+package com.lifehub.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Vergibt IDs blockweise aus einer Postgres-Sequence (pooled optimizer).
+ * Pro nextval() reserviert der Node einen Block von {@code lifehub.id.block-size} IDs
+ * und verteilt sie thread-safe aus dem Speicher - kein Tabellen-Scan, keine eigene Connection.
+ *
+ * Wichtig: INCREMENT BY der Sequence muss der Block-Größe entsprechen (siehe V2_1 Migration). Hibernate vergleicht
+ * beim Start beide Werte und bricht bei Abweichung ab ({@code hibernate.id.sequence.increment_size_mismatch_strategy}).
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String BLOCK_SIZE_SETTING = "lifehub.id.block-size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+
+        // put statt putIfAbsent: Hibernate trägt sonst schon die allocationSize (50) von @GeneratedValue ein
+        params.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(blockSize));
+        params.putIfAbsent(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
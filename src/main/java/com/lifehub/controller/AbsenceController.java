@@ -1,5 +1,6 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.AbsenceSummary;
 import com.lifehub.model.Absence;
 import com.lifehub.repository.AbsenceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,27 +24,31 @@ public class AbsenceController {
     
     // Get all absences for user
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Absence>> getAllAbsences(@PathVariable Long userId) {
-        List<Absence> absences = absenceRepository.findByUserIdOrderByAbsenceDateDesc(userId);
+    public ResponseEntity<List<?>> getAllAbsences(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> absences = absenceRepository.findByUserIdOrderByAbsenceDateDesc(userId, projection(full));
         return ResponseEntity.ok(absences);
     }
     
     // Get absences by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<Absence>> getAbsencesBySubject(
+    public ResponseEntity<List<?>> getAbsencesBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<Absence> absences = absenceRepository.findByUserIdAndSubjectOrderByAbsenceDateDesc(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> absences = absenceRepository.findByUserIdAndSubjectOrderByAbsenceDateDesc(userId, subject, projection(full));
         return ResponseEntity.ok(absences);
     }
     
     // Get absences in date range
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<Absence>> getAbsencesInRange(
+    public ResponseEntity<List<?>> getAbsencesInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Absence> absences = absenceRepository.findByUserIdAndAbsenceDateBetween(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> absences = absenceRepository.findByUserIdAndAbsenceDateBetweenOrderByAbsenceDateDesc(userId, startDate, endDate, projection(full));
         return ResponseEntity.ok(absences);
     }
     
@@ -156,4 +161,9 @@ public class AbsenceController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    // Listen ohne reason/notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? Absence.class : AbsenceSummary.class;
+    }
 }
@@ -0,0 +1,31 @@
+package com.lifehub.controller;
+
+import com.lifehub.service.AgendaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/agenda")
+@CrossOrigin(origins = "*")
+public class AgendaController {
+    
+    @Autowired
+    private AgendaService agendaService;
+    
+    /**
+     * Get the agenda for one day (default: today)
+     * - Lessons, events incl. training plan, exams, homework and todos of the day, ordered by time
+     * - Upcoming homework and exams from that day on, dashboard stats
+     * Replaces the separate timetable/events/homework/exams/dashboard calls with one parallel server-side call.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<AgendaService.Agenda> getAgenda(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(agendaService.load(userId, date != null ? date : LocalDate.now()));
+    }
+}
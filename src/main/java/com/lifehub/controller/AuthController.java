@@ -6,6 +6,7 @@ import com.lifehub.dto.RegisterRequest;
 import com.lifehub.model.User;
 import com.lifehub.repository.UserRepository;
 import com.lifehub.service.FileStorageService;
+import com.lifehub.service.UserDefaultsProvisioner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,7 @@ public class AuthController {
 
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final UserDefaultsProvisioner defaultsProvisioner;
 
 
 
@@ -44,6 +46,9 @@ public class AuthController {
                     .build();
 
             userRepository.save(user);
+
+            // Settings, Profil und Sidebar einmalig anlegen, damit der erste Load nichts mehr schreiben muss
+            defaultsProvisioner.ensureDefaults(user.getId());
             
             // Erstelle User-Ordner beim Registrieren (privat, arbeit, schule)
             try {
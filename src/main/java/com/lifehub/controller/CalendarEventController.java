@@ -1,11 +1,17 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.CalendarEventSummary;
+import com.lifehub.dto.CursorPage;
 import com.lifehub.model.CalendarEvent;
 import com.lifehub.repository.CalendarEventRepository;
+import com.lifehub.service.CalendarEventService;
+import com.lifehub.service.NdjsonStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,58 +24,100 @@ public class CalendarEventController {
     @Autowired
     private CalendarEventRepository eventRepository;
     
-    // Get all events for user
+    @Autowired
+    private CalendarEventService eventService;
+    
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+    
+    // Get all events for user (with limit/cursor: keyset page, latest start date first; description only with full=true)
     @GetMapping("/{userId}")
-    public ResponseEntity<List<CalendarEvent>> getAllEvents(@PathVariable Long userId) {
-        List<CalendarEvent> events = eventRepository.findByUserId(userId);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean full) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(eventRepository.findByUserId(userId, projection(full)));
+        }
+        
+        try {
+            if (full) {
+                return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                        page -> eventRepository.findFirstPage(userId, page),
+                        (position, page) -> eventRepository.findPageAfter(userId,
+                                position.key(LocalDate::parse), position.id(), page),
+                        e -> CursorPage.Cursor.of(e.getStartDate(), e.getId())));
+            }
+            return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                    page -> eventRepository.findSummaryFirstPage(userId, page),
+                    (position, page) -> eventRepository.findSummaryPageAfter(userId,
+                            position.key(LocalDate::parse), position.id(), page),
+                    e -> CursorPage.Cursor.of(e.startDate(), e.id())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Export all events as NDJSON stream
+    @GetMapping(value = "/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(() -> eventRepository.streamByUserId(userId)));
     }
     
     // Get events by category
     @GetMapping("/{userId}/category/{category}")
-    public ResponseEntity<List<CalendarEvent>> getEventsByCategory(
+    public ResponseEntity<List<?>> getEventsByCategory(
             @PathVariable Long userId,
-            @PathVariable String category) {
-        List<CalendarEvent> events = eventRepository.findByUserIdAndCategory(userId, category);
+            @PathVariable String category,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> events = eventRepository.findByUserIdAndCategory(userId, category, projection(full));
         return ResponseEntity.ok(events);
     }
     
-    // Get events in date range
+    // Get events in date range (recurring events expanded to their occurrences)
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<CalendarEvent>> getEventsInRange(
+    public ResponseEntity<List<?>> getEventsInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<CalendarEvent> events = eventRepository.findByUserIdAndDateRange(userId, startDate, endDate);
-        return ResponseEntity.ok(events);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<CalendarEvent> events = eventService.findInRange(userId, startDate, endDate, true);
+        return ResponseEntity.ok(summarize(events, full));
     }
     
     // Get upcoming events (next 7 days)
     @GetMapping("/{userId}/upcoming")
-    public ResponseEntity<List<CalendarEvent>> getUpcomingEvents(
+    public ResponseEntity<List<?>> getUpcomingEvents(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "7") Integer days) {
+            @RequestParam(defaultValue = "7") Integer days,
+            @RequestParam(defaultValue = "false") boolean full) {
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(days);
-        List<CalendarEvent> events = eventRepository.findUpcomingEvents(userId, today, endDate);
-        return ResponseEntity.ok(events);
+        List<CalendarEvent> events = eventService.findUpcoming(userId, today, endDate);
+        return ResponseEntity.ok(summarize(events, full));
     }
     
     // Get today's events
     @GetMapping("/{userId}/today")
-    public ResponseEntity<List<CalendarEvent>> getTodaysEvents(@PathVariable Long userId) {
-        List<CalendarEvent> events = eventRepository.findTodaysEvents(userId, LocalDate.now());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<?>> getTodaysEvents(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<CalendarEvent> events = eventService.findToday(userId, LocalDate.now());
+        return ResponseEntity.ok(summarize(events, full));
     }
     
     // Get events by related entity
     @GetMapping("/{userId}/related/{entityType}/{entityId}")
-    public ResponseEntity<List<CalendarEvent>> getEventsByRelatedEntity(
+    public ResponseEntity<List<?>> getEventsByRelatedEntity(
             @PathVariable Long userId,
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
-        List<CalendarEvent> events = eventRepository
-                .findByUserIdAndRelatedEntityTypeAndRelatedEntityId(userId, entityType, entityId);
+            @PathVariable Long entityId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> events = eventRepository
+                .findByUserIdAndRelatedEntityTypeAndRelatedEntityId(userId, entityType, entityId, projection(full));
         return ResponseEntity.ok(events);
     }
     
@@ -84,32 +132,62 @@ public class CalendarEventController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    // Create new event
+    // Create new event (recurring events: one row with RRULE)
     @PostMapping("/{userId}")
-    public ResponseEntity<CalendarEvent> createEvent(
+    public ResponseEntity<?> createEvent(
             @PathVariable Long userId,
             @RequestBody CalendarEvent event) {
-        event.setId(null);
-        event.setUserId(userId);
-        CalendarEvent saved = eventRepository.save(event);
-        return ResponseEntity.ok(saved);
+        try {
+            return ResponseEntity.ok(eventService.createEvent(userId, event));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     // Update event
     @PutMapping("/{userId}/{eventId}")
-    public ResponseEntity<CalendarEvent> updateEvent(
+    public ResponseEntity<?> updateEvent(
             @PathVariable Long userId,
             @PathVariable Long eventId,
             @RequestBody CalendarEvent event) {
-        return eventRepository.findById(eventId)
-                .filter(existing -> existing.getUserId().equals(userId))
-                .map(existing -> {
-                    event.setId(eventId);
-                    event.setUserId(userId);
-                    event.setCreatedAt(existing.getCreatedAt());
-                    return ResponseEntity.ok(eventRepository.save(event));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return eventService.updateEvent(userId, eventId, event)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Change a single occurrence of a recurring event
+    @PutMapping("/{userId}/{eventId}/occurrences/{date}")
+    public ResponseEntity<?> updateOccurrence(
+            @PathVariable Long userId,
+            @PathVariable Long eventId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody CalendarEvent event) {
+        try {
+            return eventService.overrideOccurrence(userId, eventId, date, event)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Cancel a single occurrence of a recurring event (EXDATE)
+    @PostMapping("/{userId}/{eventId}/occurrences/{date}/cancel")
+    public ResponseEntity<?> cancelOccurrence(
+            @PathVariable Long userId,
+            @PathVariable Long eventId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return eventService.cancelOccurrence(userId, eventId, date)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     // Cancel event
@@ -140,17 +218,24 @@ public class CalendarEventController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    // Delete event
+    // Delete event (recurring: whole series incl. changed occurrences)
     @DeleteMapping("/{userId}/{eventId}")
     public ResponseEntity<Void> deleteEvent(
             @PathVariable Long userId,
             @PathVariable Long eventId) {
-        return eventRepository.findById(eventId)
-                .filter(event -> event.getUserId().equals(userId))
-                .map(event -> {
-                    eventRepository.delete(event);
-                    return ResponseEntity.ok().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (eventService.deleteEvent(userId, eventId)) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+    
+    // Listen ohne description, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? CalendarEvent.class : CalendarEventSummary.class;
+    }
+    
+    // Expandierte Serien kommen aus dem Occurrence-Cache, die Projektion passiert hier im Speicher
+    private static List<?> summarize(List<CalendarEvent> events, boolean full) {
+        return full ? events : events.stream().map(CalendarEventSummary::of).toList();
     }
 }
@@ -1,5 +1,6 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.ExamSummary;
 import com.lifehub.model.Exam;
 import com.lifehub.repository.ExamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,48 +24,58 @@ public class ExamController {
     
     // Get all exams for user
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Exam>> getAllExams(@PathVariable Long userId) {
-        List<Exam> exams = examRepository.findByUserIdOrderByExamDateDesc(userId);
+    public ResponseEntity<List<?>> getAllExams(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdOrderByExamDateDesc(userId, projection(full));
         return ResponseEntity.ok(exams);
     }
     
     // Get exams by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<Exam>> getExamsBySubject(
+    public ResponseEntity<List<?>> getExamsBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<Exam> exams = examRepository.findByUserIdAndSubjectOrderByExamDateDesc(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdAndSubjectOrderByExamDateDesc(userId, subject, projection(full));
         return ResponseEntity.ok(exams);
     }
     
     // Get exams in date range
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<Exam>> getExamsInRange(
+    public ResponseEntity<List<?>> getExamsInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Exam> exams = examRepository.findByUserIdAndExamDateBetween(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdAndExamDateBetweenOrderByExamDateAscStartTimeAsc(userId, startDate, endDate, projection(full));
         return ResponseEntity.ok(exams);
     }
     
     // Get upcoming exams
     @GetMapping("/{userId}/upcoming")
-    public ResponseEntity<List<Exam>> getUpcomingExams(@PathVariable Long userId) {
-        List<Exam> exams = examRepository.findUpcomingExams(userId, LocalDate.now());
+    public ResponseEntity<List<?>> getUpcomingExams(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdAndExamDateGreaterThanEqualOrderByExamDateAscStartTimeAsc(userId, LocalDate.now(), projection(full));
         return ResponseEntity.ok(exams);
     }
     
     // Get past exams
     @GetMapping("/{userId}/past")
-    public ResponseEntity<List<Exam>> getPastExams(@PathVariable Long userId) {
-        List<Exam> exams = examRepository.findPastExams(userId, LocalDate.now());
+    public ResponseEntity<List<?>> getPastExams(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdAndExamDateBeforeOrderByExamDateDesc(userId, LocalDate.now(), projection(full));
         return ResponseEntity.ok(exams);
     }
     
     // Get graded exams
     @GetMapping("/{userId}/graded")
-    public ResponseEntity<List<Exam>> getGradedExams(@PathVariable Long userId) {
-        List<Exam> exams = examRepository.findGradedExams(userId);
+    public ResponseEntity<List<?>> getGradedExams(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> exams = examRepository.findByUserIdAndGradeIsNotNullOrderByExamDateDesc(userId, projection(full));
         return ResponseEntity.ok(exams);
     }
     
@@ -83,9 +94,10 @@ public class ExamController {
     // Get exam statistics
     @GetMapping("/{userId}/stats")
     public ResponseEntity<Map<String, Object>> getExamStats(@PathVariable Long userId) {
-        List<Exam> allExams = examRepository.findByUserIdOrderByExamDateDesc(userId);
-        List<Exam> upcoming = examRepository.findUpcomingExams(userId, LocalDate.now());
-        List<Exam> graded = examRepository.findGradedExams(userId);
+        List<ExamSummary> allExams = examRepository.findByUserIdOrderByExamDateDesc(userId, ExamSummary.class);
+        List<ExamSummary> upcoming = examRepository.findByUserIdAndExamDateGreaterThanEqualOrderByExamDateAscStartTimeAsc(
+                userId, LocalDate.now(), ExamSummary.class);
+        List<ExamSummary> graded = examRepository.findByUserIdAndGradeIsNotNullOrderByExamDateDesc(userId, ExamSummary.class);
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalCount", allExams.size());
@@ -96,8 +108,8 @@ public class ExamController {
         // Calculate average grade
         if (!graded.isEmpty()) {
             double avgGrade = graded.stream()
-                    .filter(e -> e.getGrade() != null)
-                    .mapToDouble(e -> e.getGrade().doubleValue())
+                    .filter(e -> e.grade() != null)
+                    .mapToDouble(e -> e.grade().doubleValue())
                     .average()
                     .orElse(0.0);
             stats.put("averageGrade", BigDecimal.valueOf(avgGrade));
@@ -197,4 +209,9 @@ public class ExamController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    // Listen ohne notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? Exam.class : ExamSummary.class;
+    }
 }
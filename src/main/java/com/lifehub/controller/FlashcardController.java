@@ -0,0 +1,60 @@
+package com.lifehub.controller;
+
+import com.lifehub.model.SchoolFlashcard;
+import com.lifehub.service.FlashcardScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/flashcards")
+@CrossOrigin(origins = "*")
+public class FlashcardController {
+
+    @Autowired
+    private FlashcardScheduler scheduler;
+
+    // Get the next due cards across all decks (or one deck), oldest due first
+    @GetMapping("/{userId}/due")
+    public ResponseEntity<List<SchoolFlashcard>> getDueCards(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long deckId,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return ResponseEntity.ok(scheduler.getReviewQueue(userId, deckId, limit));
+    }
+
+    // Get number of due cards
+    @GetMapping("/{userId}/due/count")
+    public ResponseEntity<Map<String, Long>> countDueCards(@PathVariable Long userId) {
+        Map<String, Long> response = new HashMap<>();
+        response.put("due", scheduler.countDue(userId));
+        return ResponseEntity.ok(response);
+    }
+
+    // Create card in deck (due immediately)
+    @PostMapping("/{userId}/decks/{deckId}/cards")
+    public ResponseEntity<SchoolFlashcard> createCard(
+            @PathVariable Long userId,
+            @PathVariable Long deckId,
+            @RequestBody SchoolFlashcard card) {
+        return scheduler.createCard(userId, deckId, card)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Submit reviews of a study session in one batch (quality 0-5 per card)
+    @PostMapping("/{userId}/reviews")
+    public ResponseEntity<?> submitReviews(
+            @PathVariable Long userId,
+            @RequestBody List<FlashcardScheduler.Review> reviews) {
+        try {
+            return ResponseEntity.ok(scheduler.submitReviews(userId, reviews));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
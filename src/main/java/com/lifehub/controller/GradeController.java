@@ -1,18 +1,24 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.CursorPage;
+import com.lifehub.dto.GradeSummary;
 import com.lifehub.model.Grade;
+import com.lifehub.model.GradeAggregate;
 import com.lifehub.repository.GradeRepository;
-import com.lifehub.repository.SchoolSubjectRepository;
+import com.lifehub.service.GradeService;
+import com.lifehub.service.NdjsonStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,61 +30,97 @@ public class GradeController {
     private GradeRepository gradeRepository;
     
     @Autowired
-    private SchoolSubjectRepository subjectRepository;
+    private GradeService gradeService;
     
-    // Get all grades for user
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+    
+    // Get all grades for user (with limit/cursor: keyset page, newest first; notes only with full=true)
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Grade>> getAllGrades(@PathVariable Long userId) {
-        List<Grade> grades = gradeRepository.findByUserIdOrderByReceivedDateDesc(userId);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<?> getAllGrades(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean full) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(gradeRepository.findByUserIdOrderByReceivedDateDesc(userId, projection(full)));
+        }
+        
+        try {
+            if (full) {
+                return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                        page -> gradeRepository.findFirstPage(userId, page),
+                        (position, page) -> gradeRepository.findPageAfter(userId,
+                                position.key(LocalDate::parse), position.id(), page),
+                        g -> CursorPage.Cursor.of(g.getReceivedDate(), g.getId())));
+            }
+            return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                    page -> gradeRepository.findSummaryFirstPage(userId, page),
+                    (position, page) -> gradeRepository.findSummaryPageAfter(userId,
+                            position.key(LocalDate::parse), position.id(), page),
+                    g -> CursorPage.Cursor.of(g.receivedDate(), g.id())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Export all grades as NDJSON stream
+    @GetMapping(value = "/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportGrades(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(() -> gradeRepository.streamByUserId(userId)));
     }
     
     // Get grades by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<Grade>> getGradesBySubject(
+    public ResponseEntity<List<?>> getGradesBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<Grade> grades = gradeRepository.findByUserIdAndSubjectOrderByReceivedDateDesc(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> grades = gradeRepository.findByUserIdAndSubjectOrderByReceivedDateDesc(userId, subject, projection(full));
         return ResponseEntity.ok(grades);
     }
     
     // Get grades by semester
     @GetMapping("/{userId}/semester/{semester}")
-    public ResponseEntity<List<Grade>> getGradesBySemester(
+    public ResponseEntity<List<?>> getGradesBySemester(
             @PathVariable Long userId,
-            @PathVariable String semester) {
-        List<Grade> grades = gradeRepository.findByUserIdAndSemesterOrderByReceivedDateDesc(userId, semester);
+            @PathVariable String semester,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> grades = gradeRepository.findByUserIdAndSemesterOrderByReceivedDateDesc(userId, semester, projection(full));
         return ResponseEntity.ok(grades);
     }
     
     // Get grades by school year
     @GetMapping("/{userId}/school-year/{schoolYear}")
-    public ResponseEntity<List<Grade>> getGradesBySchoolYear(
+    public ResponseEntity<List<?>> getGradesBySchoolYear(
             @PathVariable Long userId,
-            @PathVariable String schoolYear) {
-        List<Grade> grades = gradeRepository.findByUserIdAndSchoolYearOrderBySubjectAscReceivedDateDesc(userId, schoolYear);
+            @PathVariable String schoolYear,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> grades = gradeRepository.findByUserIdAndSchoolYearOrderBySubjectAscReceivedDateDesc(userId, schoolYear, projection(full));
         return ResponseEntity.ok(grades);
     }
     
     // Get grades in date range
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<Grade>> getGradesInRange(
+    public ResponseEntity<List<?>> getGradesInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Grade> grades = gradeRepository.findByUserIdAndReceivedDateBetween(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> grades = gradeRepository.findByUserIdAndReceivedDateBetweenOrderByReceivedDateDesc(userId, startDate, endDate, projection(full));
         return ResponseEntity.ok(grades);
     }
     
     // Get weighted average by subject
     @GetMapping("/{userId}/averages")
     public ResponseEntity<List<Map<String, Object>>> getWeightedAverages(@PathVariable Long userId) {
-        List<Object[]> results = gradeRepository.findWeightedAverageBySubject(userId);
-        List<Map<String, Object>> averages = results.stream()
-                .map(row -> {
+        List<Map<String, Object>> averages = gradeService.getAggregates(userId).stream()
+                .map(aggregate -> {
                     Map<String, Object> map = new HashMap<>();
-                    map.put("subject", row[0]);
-                    map.put("average", row[1]);
+                    map.put("subject", aggregate.getSubject());
+                    map.put("average", aggregate.getWeightedAverage());
                     return map;
                 })
                 .collect(Collectors.toList());
@@ -90,10 +132,11 @@ public class GradeController {
     public ResponseEntity<Map<String, Object>> getSubjectAverage(
             @PathVariable Long userId,
             @PathVariable String subject) {
-        BigDecimal average = gradeRepository.findWeightedAverageByUserIdAndSubject(userId, subject);
         Map<String, Object> response = new HashMap<>();
         response.put("subject", subject);
-        response.put("average", average);
+        response.put("average", gradeService.getAggregate(userId, subject)
+                .map(GradeAggregate::getWeightedAverage)
+                .orElse(null));
         return ResponseEntity.ok(response);
     }
     
@@ -102,60 +145,38 @@ public class GradeController {
     public ResponseEntity<Map<String, Object>> getSubjectStats(
             @PathVariable Long userId,
             @PathVariable String subject) {
-        List<Object[]> results = gradeRepository.findStatisticsBySubject(userId, subject);
+        Optional<GradeAggregate> aggregate = gradeService.getAggregate(userId, subject);
         Map<String, Object> stats = new HashMap<>();
-        
-        if (!results.isEmpty()) {
-            Object[] row = results.get(0);
-            stats.put("count", row[0]);
-            stats.put("average", row[1]);
-            stats.put("best", row[2]);
-            stats.put("worst", row[3]);
-        }
-        
-        // Update subject's current average
-        BigDecimal average = gradeRepository.findWeightedAverageByUserIdAndSubject(userId, subject);
-        subjectRepository.findByUserIdAndName(userId, subject).ifPresent(subj -> {
-            subj.setCurrentAverage(average);
-            subjectRepository.save(subj);
-        });
-        
+        stats.put("count", aggregate.map(GradeAggregate::getGradeCount).orElse(0L));
+        stats.put("average", aggregate.map(GradeAggregate::getAverage).orElse(null));
+        stats.put("best", aggregate.map(GradeAggregate::getMinGrade).orElse(null));
+        stats.put("worst", aggregate.map(GradeAggregate::getMaxGrade).orElse(null));
         return ResponseEntity.ok(stats);
     }
     
     // Get overall statistics
     @GetMapping("/{userId}/stats")
     public ResponseEntity<Map<String, Object>> getOverallStats(@PathVariable Long userId) {
-        List<Grade> allGrades = gradeRepository.findByUserIdOrderByReceivedDateDesc(userId);
+        GradeService.OverallStats overall = gradeService.getOverallStats(userId);
         
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalCount", allGrades.size());
+        stats.put("totalCount", overall.totalCount());
         
-        if (!allGrades.isEmpty()) {
-            // Calculate overall average
-            double sum = allGrades.stream()
-                    .mapToDouble(g -> g.getGrade().doubleValue() * g.getWeight().doubleValue())
-                    .sum();
-            double weightSum = allGrades.stream()
-                    .mapToDouble(g -> g.getWeight().doubleValue())
-                    .sum();
-            stats.put("overallAverage", BigDecimal.valueOf(sum / weightSum));
-            
-            // Best and worst grades
-            Grade best = allGrades.stream()
-                    .min((g1, g2) -> g1.getGrade().compareTo(g2.getGrade()))
-                    .orElse(null);
-            Grade worst = allGrades.stream()
-                    .max((g1, g2) -> g1.getGrade().compareTo(g2.getGrade()))
-                    .orElse(null);
-            
-            stats.put("bestGrade", best != null ? best.getGrade() : null);
-            stats.put("worstGrade", worst != null ? worst.getGrade() : null);
+        if (overall.totalCount() > 0) {
+            stats.put("overallAverage", overall.overallAverage());
+            stats.put("bestGrade", overall.bestGrade());
+            stats.put("worstGrade", overall.worstGrade());
         }
         
         return ResponseEntity.ok(stats);
     }
     
+    // Recompute aggregates from grades (consistency check)
+    @PostMapping("/{userId}/averages/rebuild")
+    public ResponseEntity<GradeService.RebuildResult> rebuildAverages(@PathVariable Long userId) {
+        return ResponseEntity.ok(gradeService.rebuildAggregates(userId));
+    }
+    
     // Get single grade
     @GetMapping("/{userId}/item/{gradeId}")
     public ResponseEntity<Grade> getGrade(
@@ -172,18 +193,7 @@ public class GradeController {
     public ResponseEntity<Grade> createGrade(
             @PathVariable Long userId,
             @RequestBody Grade grade) {
-        grade.setId(null);
-        grade.setUserId(userId);
-        Grade saved = gradeRepository.save(grade);
-        
-        // Update subject's current average
-        BigDecimal average = gradeRepository.findWeightedAverageByUserIdAndSubject(userId, grade.getSubject());
-        subjectRepository.findByUserIdAndName(userId, grade.getSubject()).ifPresent(subj -> {
-            subj.setCurrentAverage(average);
-            subjectRepository.save(subj);
-        });
-        
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(gradeService.createGrade(userId, grade));
     }
     
     // Update grade
@@ -192,23 +202,8 @@ public class GradeController {
             @PathVariable Long userId,
             @PathVariable Long gradeId,
             @RequestBody Grade grade) {
-        return gradeRepository.findById(gradeId)
-                .filter(existing -> existing.getUserId().equals(userId))
-                .map(existing -> {
-                    grade.setId(gradeId);
-                    grade.setUserId(userId);
-                    grade.setCreatedAt(existing.getCreatedAt());
-                    Grade saved = gradeRepository.save(grade);
-                    
-                    // Update subject's current average
-                    BigDecimal average = gradeRepository.findWeightedAverageByUserIdAndSubject(userId, grade.getSubject());
-                    subjectRepository.findByUserIdAndName(userId, grade.getSubject()).ifPresent(subj -> {
-                        subj.setCurrentAverage(average);
-                        subjectRepository.save(subj);
-                    });
-                    
-                    return ResponseEntity.ok(saved);
-                })
+        return gradeService.updateGrade(userId, gradeId, grade)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -217,21 +212,14 @@ public class GradeController {
     public ResponseEntity<Void> deleteGrade(
             @PathVariable Long userId,
             @PathVariable Long gradeId) {
-        return gradeRepository.findById(gradeId)
-                .filter(grade -> grade.getUserId().equals(userId))
-                .map(grade -> {
-                    String subject = grade.getSubject();
-                    gradeRepository.delete(grade);
-                    
-                    // Update subject's current average
-                    BigDecimal average = gradeRepository.findWeightedAverageByUserIdAndSubject(userId, subject);
-                    subjectRepository.findByUserIdAndName(userId, subject).ifPresent(subj -> {
-                        subj.setCurrentAverage(average);
-                        subjectRepository.save(subj);
-                    });
-                    
-                    return ResponseEntity.ok().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (!gradeService.deleteGrade(userId, gradeId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().build();
+    }
+    
+    // Listen ohne notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? Grade.class : GradeSummary.class;
     }
 }
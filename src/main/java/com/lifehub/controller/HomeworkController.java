@@ -1,5 +1,6 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.HomeworkSummary;
 import com.lifehub.model.Homework;
 import com.lifehub.repository.HomeworkRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,59 +23,69 @@ public class HomeworkController {
     
     // Get all homework for user
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Homework>> getAllHomework(@PathVariable Long userId) {
-        List<Homework> homework = homeworkRepository.findByUserIdOrderByDueDateAsc(userId);
+    public ResponseEntity<List<?>> getAllHomework(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdOrderByDueDateAsc(userId, projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get homework by completion status
     @GetMapping("/{userId}/completed/{completed}")
-    public ResponseEntity<List<Homework>> getHomeworkByStatus(
+    public ResponseEntity<List<?>> getHomeworkByStatus(
             @PathVariable Long userId,
-            @PathVariable Boolean completed) {
-        List<Homework> homework = homeworkRepository.findByUserIdAndCompletedOrderByDueDateAsc(userId, completed);
+            @PathVariable Boolean completed,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndCompletedOrderByDueDateAsc(userId, completed, projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get homework by status enum
     @GetMapping("/{userId}/status/{status}")
-    public ResponseEntity<List<Homework>> getHomeworkByStatusEnum(
+    public ResponseEntity<List<?>> getHomeworkByStatusEnum(
             @PathVariable Long userId,
-            @PathVariable Homework.HomeworkStatus status) {
-        List<Homework> homework = homeworkRepository.findByUserIdAndStatusOrderByDueDateAsc(userId, status);
+            @PathVariable Homework.HomeworkStatus status,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndStatusOrderByDueDateAsc(userId, status, projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get homework by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<Homework>> getHomeworkBySubject(
+    public ResponseEntity<List<?>> getHomeworkBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<Homework> homework = homeworkRepository.findByUserIdAndSubjectOrderByDueDateAsc(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndSubjectOrderByDueDateAsc(userId, subject, projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get homework due in date range
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<Homework>> getHomeworkInRange(
+    public ResponseEntity<List<?>> getHomeworkInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Homework> homework = homeworkRepository.findByUserIdAndDueDateBetween(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndDueDateBetweenOrderByDueDateAscPriorityDesc(userId, startDate, endDate, projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get overdue homework
     @GetMapping("/{userId}/overdue")
-    public ResponseEntity<List<Homework>> getOverdueHomework(@PathVariable Long userId) {
-        List<Homework> homework = homeworkRepository.findOverdueHomework(userId, LocalDate.now());
+    public ResponseEntity<List<?>> getOverdueHomework(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndCompletedFalseAndDueDateBeforeOrderByDueDateAsc(userId, LocalDate.now(), projection(full));
         return ResponseEntity.ok(homework);
     }
     
     // Get upcoming homework
     @GetMapping("/{userId}/upcoming")
-    public ResponseEntity<List<Homework>> getUpcomingHomework(@PathVariable Long userId) {
-        List<Homework> homework = homeworkRepository.findUpcomingHomework(userId, LocalDate.now());
+    public ResponseEntity<List<?>> getUpcomingHomework(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> homework = homeworkRepository.findByUserIdAndCompletedFalseAndDueDateGreaterThanEqualOrderByDueDateAscPriorityDesc(userId, LocalDate.now(), projection(full));
         return ResponseEntity.ok(homework);
     }
     
@@ -85,7 +96,7 @@ public class HomeworkController {
         stats.put("totalCount", homeworkRepository.count());
         stats.put("completedCount", homeworkRepository.countByUserIdAndCompleted(userId, true));
         stats.put("pendingCount", homeworkRepository.countByUserIdAndCompleted(userId, false));
-        stats.put("overdueCount", homeworkRepository.findOverdueHomework(userId, LocalDate.now()).size());
+        stats.put("overdueCount", homeworkRepository.countByUserIdAndCompletedFalseAndDueDateBefore(userId, LocalDate.now()));
         return ResponseEntity.ok(stats);
     }
     
@@ -172,4 +183,9 @@ public class HomeworkController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    // Listen ohne description, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? Homework.class : HomeworkSummary.class;
+    }
 }
@@ -1,7 +1,9 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.MealLogSummary;
 import com.lifehub.model.MealLog;
 import com.lifehub.repository.MealLogRepository;
+import com.lifehub.service.MealService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -16,20 +18,24 @@ import java.util.List;
 public class MealController {
 
     private final MealLogRepository mealLogRepository;
+    private final MealService mealService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<MealLog>> getMeals(
+    public ResponseEntity<List<?>> getMeals(
             @PathVariable Long userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "false") boolean full
     ) {
+        // description nur mit ?full=true
+        Class<?> type = full ? MealLog.class : MealLogSummary.class;
         if (date != null) {
-            return ResponseEntity.ok(mealLogRepository.findByUserIdAndDate(userId, date));
+            return ResponseEntity.ok(mealLogRepository.findByUserIdAndDate(userId, date, type));
         } else if (start != null && end != null) {
-            return ResponseEntity.ok(mealLogRepository.findByUserIdAndDateBetween(userId, start, end));
+            return ResponseEntity.ok(mealLogRepository.findByUserIdAndDateBetween(userId, start, end, type));
         }
-        return ResponseEntity.ok(mealLogRepository.findByUserId(userId));
+        return ResponseEntity.ok(mealLogRepository.findByUserId(userId, type));
     }
 
     @PostMapping("/{userId}")
@@ -37,8 +43,7 @@ public class MealController {
             @PathVariable Long userId,
             @RequestBody MealLog mealRequest) {
         
-        mealRequest.setUserId(userId);
-        return ResponseEntity.ok(mealLogRepository.save(mealRequest));
+        return ResponseEntity.ok(mealService.createMeal(userId, mealRequest));
     }
 
     @PutMapping("/{userId}/{id}")
@@ -47,19 +52,8 @@ public class MealController {
             @PathVariable Long id, 
             @RequestBody MealLog mealRequest) {
         
-        return mealLogRepository.findById(id)
-                .filter(meal -> meal.getUserId().equals(userId))
-                .map(meal -> {
-                    meal.setMealName(mealRequest.getMealName());
-                    meal.setDescription(mealRequest.getDescription());
-                    meal.setDate(mealRequest.getDate());
-                    meal.setMealType(mealRequest.getMealType());
-                    meal.setCalories(mealRequest.getCalories());
-                    meal.setProtein(mealRequest.getProtein());
-                    meal.setCarbs(mealRequest.getCarbs());
-                    meal.setFats(mealRequest.getFats());
-                    return ResponseEntity.ok(mealLogRepository.save(meal));
-                })
+        return mealService.updateMeal(userId, id, mealRequest)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -68,12 +62,8 @@ public class MealController {
             @PathVariable Long userId,
             @PathVariable Long id) {
         
-        return mealLogRepository.findById(id)
-                .filter(meal -> meal.getUserId().equals(userId))
-                .map(meal -> {
-                    mealLogRepository.delete(meal);
-                    return ResponseEntity.ok().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return mealService.deleteMeal(userId, id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
     }
 }
@@ -5,6 +5,7 @@ import com.lifehub.model.User;
 import com.lifehub.repository.UserRepository;
 import com.lifehub.security.JwtService;
 import com.lifehub.service.FileStorageService;
+import com.lifehub.service.UserDefaultsProvisioner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -26,6 +27,7 @@ public class OAuth2Controller {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final FileStorageService fileStorageService;
+    private final UserDefaultsProvisioner defaultsProvisioner;
     private final OAuth2AuthorizedClientService authorizedClientService;
 
     @GetMapping("/google/callback")
@@ -49,6 +51,7 @@ public class OAuth2Controller {
                             .enabled(true)
                             .build();
                     User savedUser = userRepository.save(newUser);
+                    defaultsProvisioner.ensureDefaults(savedUser.getId());
 
                     // Erstelle User-Ordner
                     try {
@@ -1,16 +1,23 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.SchoolNoteSummary;
 import com.lifehub.model.SchoolNote;
 import com.lifehub.model.SchoolNoteFolder;
 import com.lifehub.repository.SchoolNoteFolderRepository;
 import com.lifehub.repository.SchoolNoteRepository;
 import com.lifehub.repository.UserRepository;
 import com.lifehub.service.FileStorageService;
+import com.lifehub.service.NoteSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -23,6 +30,7 @@ public class SchoolNoteController {
     private final SchoolNoteFolderRepository folderRepository;
     private final FileStorageService fileStorageService;
     private final UserRepository userRepository;
+    private final NoteSearchService noteSearchService;
 
     // ============================================
     // FOLDER OPERATIONS
@@ -129,29 +137,35 @@ public class SchoolNoteController {
     // ============================================
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<SchoolNote>> getAllNotes(@PathVariable Long userId) {
-        List<SchoolNote> notes = noteRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+    public ResponseEntity<List<?>> getAllNotes(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> notes = noteRepository.findByUserIdOrderByUpdatedAtDesc(userId, projection(full));
         return ResponseEntity.ok(notes);
     }
 
     @GetMapping("/{userId}/folder/{folderId}")
-    public ResponseEntity<List<SchoolNote>> getNotesByFolder(
+    public ResponseEntity<List<?>> getNotesByFolder(
             @PathVariable Long userId,
-            @PathVariable Long folderId) {
-        List<SchoolNote> notes = noteRepository.findByUserIdAndFolderId(userId, folderId);
+            @PathVariable Long folderId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> notes = noteRepository.findByUserIdAndFolderId(userId, folderId, projection(full));
         return ResponseEntity.ok(notes);
     }
 
     @GetMapping("/{userId}/favorites")
-    public ResponseEntity<List<SchoolNote>> getFavoriteNotes(@PathVariable Long userId) {
-        List<SchoolNote> notes = noteRepository.findByUserIdAndIsFavorite(userId, true);
+    public ResponseEntity<List<?>> getFavoriteNotes(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> notes = noteRepository.findByUserIdAndIsFavorite(userId, true, projection(full));
         return ResponseEntity.ok(notes);
     }
 
     @GetMapping("/{userId}/note/{noteId}")
     public ResponseEntity<?> getNote(
             @PathVariable Long userId,
-            @PathVariable Long noteId) {
+            @PathVariable Long noteId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
             SchoolNote note = noteRepository.findByUserIdAndId(userId, noteId)
                 .orElseThrow(() -> new RuntimeException("Note not found"));
@@ -161,16 +175,55 @@ public class SchoolNoteController {
                 .orElseThrow(() -> new RuntimeException("User not found"))
                 .getUsername();
 
-            String content = fileStorageService.readSchoolNote(username, note.getPhysicalPath());
-            note.setContent(content);
+            FileStorageService.StoredNote stored = fileStorageService.readSchoolNoteWithEtag(username, note.getPhysicalPath());
 
-            return ResponseEntity.ok(note);
+            // ETag = Inhalts-Hash + Änderungszeitpunkt der Metadaten (Titel, Tags, Favorit)
+            String etag = noteEtag(stored.etag(), note);
+            if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            note.setContent(stored.content());
+
+            return ResponseEntity.ok().eTag(etag).body(note);
         } catch (Exception e) {
             log.error("Error reading note", e);
             return ResponseEntity.internalServerError().body("Failed to read note: " + e.getMessage());
         }
     }
 
+    // Roher Markdown-Inhalt, per FileChannel gestreamt (für große Notizen)
+    @GetMapping("/{userId}/note/{noteId}/content")
+    public ResponseEntity<StreamingResponseBody> getNoteContent(
+            @PathVariable Long userId,
+            @PathVariable Long noteId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        SchoolNote note = noteRepository.findByUserIdAndId(userId, noteId).orElse(null);
+        if (note == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String username = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"))
+            .getUsername();
+
+        FileStorageService.StoredNoteInfo info = fileStorageService.statSchoolNote(username, note.getPhysicalPath());
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (matchesIfNoneMatch(ifNoneMatch, info.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(info.etag()).build();
+        }
+
+        StreamingResponseBody body = out -> fileStorageService.streamSchoolNote(username, note.getPhysicalPath(), out);
+
+        return ResponseEntity.ok()
+            .eTag(info.etag())
+            .contentType(new MediaType("text", "markdown", StandardCharsets.UTF_8))
+            .contentLength(info.size())
+            .body(body);
+    }
+
     @PostMapping("/{userId}")
     public ResponseEntity<?> createNote(
             @PathVariable Long userId,
@@ -227,10 +280,11 @@ public class SchoolNoteController {
                 .orElseThrow(() -> new RuntimeException("User not found"))
                 .getUsername();
 
-            // Update Datei
+            // Update Datei (Notizen ohne Ordner liegen direkt im Notizen-Verzeichnis, Pfad ohne "/")
+            int folderEnd = note.getPhysicalPath().lastIndexOf("/");
             fileStorageService.saveSchoolNote(
                 username, 
-                note.getPhysicalPath().substring(0, note.getPhysicalPath().lastIndexOf("/")),
+                folderEnd >= 0 ? note.getPhysicalPath().substring(0, folderEnd) : null,
                 request.getTitle(),
                 request.getContent()
             );
@@ -300,11 +354,67 @@ public class SchoolNoteController {
     }
 
     @GetMapping("/{userId}/search")
-    public ResponseEntity<List<SchoolNote>> searchNotes(
+    public ResponseEntity<NoteSearchService.NoteSearchPage> searchNotes(
             @PathVariable Long userId,
-            @RequestParam String query) {
-        List<SchoolNote> notes = noteRepository.findByUserIdAndTitleContainingIgnoreCase(userId, query);
-        return ResponseEntity.ok(notes);
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(noteSearchService.search(userId, query, page, size));
+    }
+
+    @PostMapping("/{userId}/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(noteSearchService.rebuildIndex(userId));
+        } catch (Exception e) {
+            log.error("Error rebuilding search index", e);
+            return ResponseEntity.internalServerError().body("Failed to rebuild search index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Schwacher Vergleich nach RFC 9110: If-None-Match ist "*" oder eine Liste von Entity-Tags
+     * (ggf. mit W/-Präfix), verglichen wird exakt der Tag in Anführungszeichen. Ungültige Header zählen als kein Treffer.
+     */
+    private static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String own = etag.startsWith("W/") ? etag.substring(2) : etag;
+        int i = 0;
+        int n = ifNoneMatch.length();
+        while (i < n) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '*') {
+                return ifNoneMatch.trim().equals("*");
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            if (i >= n || ifNoneMatch.charAt(i) != '"') {
+                return false;
+            }
+            int end = ifNoneMatch.indexOf('"', i + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (ifNoneMatch.regionMatches(i, own, 0, own.length()) && end + 1 - i == own.length()) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    private static String noteEtag(String contentEtag, SchoolNote note) {
+        String hash = contentEtag.substring(1, contentEtag.length() - 1);
+        long modified = note.getUpdatedAt() != null ? note.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) * 1000
+            + note.getUpdatedAt().getNano() / 1_000_000 : 0;
+        return "\"" + hash + "-" + Long.toHexString(modified) + "\"";
     }
 
     // ============================================
@@ -339,4 +449,9 @@ public class SchoolNoteController {
         public Boolean getIsFavorite() { return isFavorite; }
         public void setIsFavorite(Boolean isFavorite) { this.isFavorite = isFavorite; }
     }
+    
+    // Listen ohne content, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? SchoolNote.class : SchoolNoteSummary.class;
+    }
 }
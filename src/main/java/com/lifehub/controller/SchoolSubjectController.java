@@ -1,7 +1,9 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.SchoolSubjectSummary;
 import com.lifehub.model.SchoolSubject;
 import com.lifehub.repository.SchoolSubjectRepository;
+import com.lifehub.service.UserResponseCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,26 +18,38 @@ public class SchoolSubjectController {
     @Autowired
     private SchoolSubjectRepository subjectRepository;
     
-    // Get all subjects for user
+    @Autowired
+    private UserResponseCache responseCache;
+    
+    // Get all subjects for user (cached without notes; full=true reads the entities)
     @GetMapping("/{userId}")
-    public ResponseEntity<List<SchoolSubject>> getAllSubjects(@PathVariable Long userId) {
-        List<SchoolSubject> subjects = subjectRepository.findByUserIdOrderByNameAsc(userId);
+    public ResponseEntity<List<?>> getAllSubjects(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        if (full) {
+            return ResponseEntity.ok(subjectRepository.findByUserIdOrderByNameAsc(userId, SchoolSubject.class));
+        }
+        List<SchoolSubjectSummary> subjects = responseCache.get(UserResponseCache.Region.SUBJECTS, userId,
+                () -> List.copyOf(subjectRepository.findByUserIdOrderByNameAsc(userId, SchoolSubjectSummary.class)));
         return ResponseEntity.ok(subjects);
     }
     
     // Get active subjects
     @GetMapping("/{userId}/active")
-    public ResponseEntity<List<SchoolSubject>> getActiveSubjects(@PathVariable Long userId) {
-        List<SchoolSubject> subjects = subjectRepository.findByUserIdAndActiveOrderByNameAsc(userId, true);
+    public ResponseEntity<List<?>> getActiveSubjects(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> subjects = subjectRepository.findByUserIdAndActiveOrderByNameAsc(userId, true, projection(full));
         return ResponseEntity.ok(subjects);
     }
     
     // Get subjects by semester
     @GetMapping("/{userId}/semester/{semester}")
-    public ResponseEntity<List<SchoolSubject>> getSubjectsBySemester(
+    public ResponseEntity<List<?>> getSubjectsBySemester(
             @PathVariable Long userId,
-            @PathVariable String semester) {
-        List<SchoolSubject> subjects = subjectRepository.findByUserIdAndSemesterOrderByNameAsc(userId, semester);
+            @PathVariable String semester,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> subjects = subjectRepository.findByUserIdAndSemesterOrderByNameAsc(userId, semester, projection(full));
         return ResponseEntity.ok(subjects);
     }
     
@@ -148,4 +162,9 @@ public class SchoolSubjectController {
         List<SchoolSubject> saved = subjectRepository.saveAll(subjects);
         return ResponseEntity.ok(saved);
     }
+    
+    // Listen ohne notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? SchoolSubject.class : SchoolSubjectSummary.class;
+    }
 }
@@ -3,6 +3,7 @@ package com.lifehub.controller;
 import com.lifehub.dto.SidebarConfigResponse;
 import com.lifehub.model.SidebarConfig;
 import com.lifehub.repository.SidebarConfigRepository;
+import com.lifehub.service.UserResponseCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,13 +16,16 @@ import java.util.Map;
 public class SidebarController {
 
     private final SidebarConfigRepository sidebarConfigRepository;
+    private final UserResponseCache responseCache;
 
     @GetMapping("/{userId}")
     public ResponseEntity<SidebarConfigResponse> getSidebarConfig(@PathVariable Long userId) {
-        SidebarConfig config = sidebarConfigRepository.findByUserId(userId)
-                .orElseGet(() -> createDefaultConfig(userId));
-
-        return ResponseEntity.ok(mapToResponse(config));
+        // Wird bei jedem Seitenaufbau geladen, ändert sich aber selten
+        return ResponseEntity.ok(responseCache.get(UserResponseCache.Region.SIDEBAR, userId, () -> {
+            SidebarConfig config = sidebarConfigRepository.findByUserId(userId)
+                    .orElseGet(() -> createDefaultConfig(userId));
+            return mapToResponse(config);
+        }));
     }
 
     @PostMapping("/{userId}")
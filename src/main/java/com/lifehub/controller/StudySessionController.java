@@ -1,11 +1,16 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.CursorPage;
+import com.lifehub.dto.StudySessionSummary;
 import com.lifehub.model.StudySession;
 import com.lifehub.repository.StudySessionRepository;
+import com.lifehub.service.NdjsonStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -21,36 +26,73 @@ public class StudySessionController {
     @Autowired
     private StudySessionRepository studySessionRepository;
     
-    // Get all study sessions for user
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+    
+    // Get all study sessions for user (with limit/cursor: keyset page, newest first; notes only with full=true)
     @GetMapping("/{userId}")
-    public ResponseEntity<List<StudySession>> getAllStudySessions(@PathVariable Long userId) {
-        List<StudySession> sessions = studySessionRepository.findByUserIdOrderByStartTimeDesc(userId);
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<?> getAllStudySessions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean full) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(studySessionRepository.findByUserIdOrderByStartTimeDesc(userId, projection(full)));
+        }
+        
+        try {
+            if (full) {
+                return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                        page -> studySessionRepository.findFirstPage(userId, page),
+                        (position, page) -> studySessionRepository.findPageAfter(userId,
+                                position.key(LocalDateTime::parse), position.id(), page),
+                        s -> CursorPage.Cursor.of(s.getStartTime(), s.getId())));
+            }
+            return ResponseEntity.ok(CursorPage.fetch(limit, cursor,
+                    page -> studySessionRepository.findSummaryFirstPage(userId, page),
+                    (position, page) -> studySessionRepository.findSummaryPageAfter(userId,
+                            position.key(LocalDateTime::parse), position.id(), page),
+                    s -> CursorPage.Cursor.of(s.startTime(), s.id())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Export all study sessions as NDJSON stream
+    @GetMapping(value = "/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudySessions(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(() -> studySessionRepository.streamByUserId(userId)));
     }
     
     // Get study sessions by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<StudySession>> getStudySessionsBySubject(
+    public ResponseEntity<List<?>> getStudySessionsBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<StudySession> sessions = studySessionRepository.findByUserIdAndSubjectOrderByStartTimeDesc(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> sessions = studySessionRepository.findByUserIdAndSubjectOrderByStartTimeDesc(userId, subject, projection(full));
         return ResponseEntity.ok(sessions);
     }
     
     // Get study sessions in time range
     @GetMapping("/{userId}/range")
-    public ResponseEntity<List<StudySession>> getStudySessionsInRange(
+    public ResponseEntity<List<?>> getStudySessionsInRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<StudySession> sessions = studySessionRepository.findByUserIdAndStartTimeBetween(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> sessions = studySessionRepository.findByUserIdAndStartTimeBetweenOrderByStartTimeDesc(userId, startDate, endDate, projection(full));
         return ResponseEntity.ok(sessions);
     }
     
     // Get active study sessions
     @GetMapping("/{userId}/active")
-    public ResponseEntity<List<StudySession>> getActiveStudySessions(@PathVariable Long userId) {
-        List<StudySession> sessions = studySessionRepository.findActiveStudySessions(userId);
+    public ResponseEntity<List<?>> getActiveStudySessions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> sessions = studySessionRepository.findByUserIdAndEndTimeIsNullOrderByStartTimeDesc(userId, projection(full));
         return ResponseEntity.ok(sessions);
     }
     
@@ -100,9 +142,10 @@ public class StudySessionController {
     // Get study session statistics
     @GetMapping("/{userId}/stats")
     public ResponseEntity<Map<String, Object>> getStudySessionStats(@PathVariable Long userId) {
-        List<StudySession> allSessions = studySessionRepository.findByUserIdOrderByStartTimeDesc(userId);
-        List<StudySession> completedSessions = allSessions.stream()
-                .filter(s -> s.getEndTime() != null)
+        List<StudySessionSummary> allSessions =
+                studySessionRepository.findByUserIdOrderByStartTimeDesc(userId, StudySessionSummary.class);
+        List<StudySessionSummary> completedSessions = allSessions.stream()
+                .filter(s -> s.endTime() != null)
                 .collect(Collectors.toList());
         
         Map<String, Object> stats = new HashMap<>();
@@ -112,7 +155,7 @@ public class StudySessionController {
         
         // Calculate total study time
         long totalMinutes = completedSessions.stream()
-                .mapToLong(s -> s.getDurationMinutes() != null ? s.getDurationMinutes() : 0)
+                .mapToLong(s -> s.durationMinutes() != null ? s.durationMinutes() : 0)
                 .sum();
         stats.put("totalMinutes", totalMinutes);
         stats.put("totalHours", totalMinutes / 60.0);
@@ -120,8 +163,8 @@ public class StudySessionController {
         // Average session length
         if (!completedSessions.isEmpty()) {
             double avgMinutes = completedSessions.stream()
-                    .filter(s -> s.getDurationMinutes() != null)
-                    .mapToInt(StudySession::getDurationMinutes)
+                    .filter(s -> s.durationMinutes() != null)
+                    .mapToInt(StudySessionSummary::durationMinutes)
                     .average()
                     .orElse(0.0);
             stats.put("averageSessionMinutes", avgMinutes);
@@ -226,4 +269,9 @@ public class StudySessionController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    // Listen ohne notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? StudySession.class : StudySessionSummary.class;
+    }
 }
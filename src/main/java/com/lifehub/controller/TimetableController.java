@@ -1,7 +1,9 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.TimetableEntrySummary;
 import com.lifehub.model.TimetableEntry;
 import com.lifehub.repository.TimetableRepository;
+import com.lifehub.service.UserResponseCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -19,37 +21,51 @@ public class TimetableController {
     @Autowired
     private TimetableRepository timetableRepository;
     
-    // Get all timetable entries for user
+    @Autowired
+    private UserResponseCache responseCache;
+    
+    // Get all timetable entries for user (cached without notes; full=true reads the entities)
     @GetMapping("/{userId}")
-    public ResponseEntity<List<TimetableEntry>> getAllEntries(@PathVariable Long userId) {
-        List<TimetableEntry> entries = timetableRepository.findByUserIdOrderByDayOfWeekAscStartTimeAsc(userId);
+    public ResponseEntity<List<?>> getAllEntries(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        if (full) {
+            return ResponseEntity.ok(timetableRepository.findByUserIdOrderByDayOfWeekAscStartTimeAsc(userId, TimetableEntry.class));
+        }
+        List<TimetableEntrySummary> entries = responseCache.get(UserResponseCache.Region.TIMETABLE, userId,
+                () -> List.copyOf(timetableRepository.findByUserIdOrderByDayOfWeekAscStartTimeAsc(userId, TimetableEntrySummary.class)));
         return ResponseEntity.ok(entries);
     }
     
     // Get entries for specific day
     @GetMapping("/{userId}/day/{dayOfWeek}")
-    public ResponseEntity<List<TimetableEntry>> getEntriesByDay(
+    public ResponseEntity<List<?>> getEntriesByDay(
             @PathVariable Long userId,
-            @PathVariable DayOfWeek dayOfWeek) {
-        List<TimetableEntry> entries = timetableRepository.findByUserIdAndDayOfWeekOrderByStartTimeAsc(userId, dayOfWeek);
+            @PathVariable DayOfWeek dayOfWeek,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> entries = timetableRepository.findByUserIdAndDayOfWeekOrderByStartTimeAsc(userId, dayOfWeek, projection(full));
         return ResponseEntity.ok(entries);
     }
     
     // Get valid entries for a specific date (respects validFrom/validUntil)
     @GetMapping("/{userId}/date/{date}")
-    public ResponseEntity<List<TimetableEntry>> getEntriesByDate(
+    public ResponseEntity<List<?>> getEntriesByDate(
             @PathVariable Long userId,
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<TimetableEntry> entries = timetableRepository.findValidEntriesForUserAndDate(userId, date);
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> entries = full
+                ? timetableRepository.findValidEntriesForUserAndDate(userId, date)
+                : timetableRepository.findValidSummariesForUserAndDate(userId, date);
         return ResponseEntity.ok(entries);
     }
     
     // Get entries by subject
     @GetMapping("/{userId}/subject/{subject}")
-    public ResponseEntity<List<TimetableEntry>> getEntriesBySubject(
+    public ResponseEntity<List<?>> getEntriesBySubject(
             @PathVariable Long userId,
-            @PathVariable String subject) {
-        List<TimetableEntry> entries = timetableRepository.findByUserIdAndSubject(userId, subject);
+            @PathVariable String subject,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> entries = timetableRepository.findByUserIdAndSubject(userId, subject, projection(full));
         return ResponseEntity.ok(entries);
     }
     
@@ -118,4 +134,9 @@ public class TimetableController {
         List<TimetableEntry> saved = timetableRepository.saveAll(entries);
         return ResponseEntity.ok(saved);
     }
+    
+    // Listen ohne notes, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? TimetableEntry.class : TimetableEntrySummary.class;
+    }
 }
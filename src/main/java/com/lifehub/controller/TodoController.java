@@ -1,5 +1,6 @@
 package com.lifehub.controller;
 
+import com.lifehub.dto.TodoSummary;
 import com.lifehub.model.Todo;
 import com.lifehub.repository.TodoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,47 +20,57 @@ public class TodoController {
     
     // Get all todos for user
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Todo>> getAllTodos(@PathVariable Long userId) {
-        List<Todo> todos = todoRepository.findByUserId(userId);
+    public ResponseEntity<List<?>> getAllTodos(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserId(userId, projection(full));
         return ResponseEntity.ok(todos);
     }
     
     // Get todos by category
     @GetMapping("/{userId}/category/{category}")
-    public ResponseEntity<List<Todo>> getTodosByCategory(
+    public ResponseEntity<List<?>> getTodosByCategory(
             @PathVariable Long userId,
-            @PathVariable String category) {
-        List<Todo> todos = todoRepository.findByUserIdAndCategory(userId, category);
+            @PathVariable String category,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserIdAndCategory(userId, category, projection(full));
         return ResponseEntity.ok(todos);
     }
     
     // Get todos by status
     @GetMapping("/{userId}/status/{status}")
-    public ResponseEntity<List<Todo>> getTodosByStatus(
+    public ResponseEntity<List<?>> getTodosByStatus(
             @PathVariable Long userId,
-            @PathVariable Todo.Status status) {
-        List<Todo> todos = todoRepository.findByUserIdAndStatus(userId, status);
+            @PathVariable Todo.Status status,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserIdAndStatus(userId, status, projection(full));
         return ResponseEntity.ok(todos);
     }
     
     // Get open todos
     @GetMapping("/{userId}/open")
-    public ResponseEntity<List<Todo>> getOpenTodos(@PathVariable Long userId) {
-        List<Todo> todos = todoRepository.findOpenTodosByUserId(userId);
+    public ResponseEntity<List<?>> getOpenTodos(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserIdAndCompletedFalseOrderByDueDateAscPriorityDesc(userId, projection(full));
         return ResponseEntity.ok(todos);
     }
     
     // Get completed todos
     @GetMapping("/{userId}/completed")
-    public ResponseEntity<List<Todo>> getCompletedTodos(@PathVariable Long userId) {
-        List<Todo> todos = todoRepository.findByUserIdAndCompleted(userId, true);
+    public ResponseEntity<List<?>> getCompletedTodos(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserIdAndCompleted(userId, true, projection(full));
         return ResponseEntity.ok(todos);
     }
     
     // Get overdue todos
     @GetMapping("/{userId}/overdue")
-    public ResponseEntity<List<Todo>> getOverdueTodos(@PathVariable Long userId) {
-        List<Todo> todos = todoRepository.findOverdueTodos(userId, LocalDate.now());
+    public ResponseEntity<List<?>> getOverdueTodos(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean full) {
+        List<?> todos = todoRepository.findByUserIdAndCompletedFalseAndDueDateBeforeOrderByDueDateAsc(userId, LocalDate.now(), projection(full));
         return ResponseEntity.ok(todos);
     }
     
@@ -146,4 +157,9 @@ public class TodoController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    // Listen ohne description, volle Entity nur mit ?full=true
+    private static Class<?> projection(boolean full) {
+        return full ? Todo.class : TodoSummary.class;
+    }
 }
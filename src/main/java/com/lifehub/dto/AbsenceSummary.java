@@ -0,0 +1,22 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.Absence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht einer Fehlzeit ohne reason und notes (TEXT)
+ */
+public record AbsenceSummary(
+        Long id,
+        Long userId,
+        LocalDate absenceDate,
+        String subject,
+        Absence.AbsenceType absenceType,
+        Integer periods,
+        Boolean allDay,
+        Boolean excused,
+        Boolean excuseNoteSubmitted,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,29 @@
+package com.lifehub.dto;
+
+import java.time.LocalTime;
+import java.util.Comparator;
+
+/**
+ * Ein Eintrag der Tages-Agenda, egal aus welchem Modul. Ohne Uhrzeit (ganztägig, Hausaufgaben, Todos)
+ * stehen Einträge vor den zeitgebundenen; Details lädt das Frontend über den jeweiligen /item-Endpoint.
+ */
+public record AgendaItem(
+        Type type,
+        Long id,
+        String title,
+        String subject,
+        String location,
+        LocalTime startTime,
+        LocalTime endTime,
+        String color
+) {
+
+    public static final Comparator<AgendaItem> BY_TIME = Comparator
+            .comparing(AgendaItem::startTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgendaItem::endTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgendaItem::type);
+
+    public enum Type {
+        LESSON, EVENT, TRAINING, EXAM, HOMEWORK, TODO
+    }
+}
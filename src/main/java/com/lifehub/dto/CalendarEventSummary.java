@@ -0,0 +1,68 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.CalendarEvent;
+import org.springframework.data.annotation.PersistenceCreator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Listenansicht eines Termins ohne description (TEXT).
+ * Aus der DB direkt per Query befüllt; expandierte Serien-Vorkommen (id null, mit seriesId und occurrenceDate)
+ * über {@link #of}.
+ */
+public record CalendarEventSummary(
+        Long id,
+        Long userId,
+        String title,
+        String location,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        Boolean allDay,
+        String category,
+        String eventType,
+        String color,
+        Boolean recurring,
+        String recurrenceRule,
+        LocalDate recurrenceEndDate,
+        String recurrenceExceptions,
+        Long recurrenceParentId,
+        LocalDate recurrenceDate,
+        Long seriesId,
+        LocalDate occurrenceDate,
+        Integer reminderMinutes,
+        CalendarEvent.EventStatus status,
+        String relatedEntityType,
+        Long relatedEntityId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    // Für Query-Projektionen: seriesId und occurrenceDate sind keine Spalten
+    @PersistenceCreator
+    public CalendarEventSummary(Long id, Long userId, String title, String location, LocalDate startDate,
+                                LocalDate endDate, LocalTime startTime, LocalTime endTime, Boolean allDay,
+                                String category, String eventType, String color, Boolean recurring,
+                                String recurrenceRule, LocalDate recurrenceEndDate, String recurrenceExceptions,
+                                Long recurrenceParentId, LocalDate recurrenceDate, Integer reminderMinutes,
+                                CalendarEvent.EventStatus status, String relatedEntityType, Long relatedEntityId,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, userId, title, location, startDate, endDate, startTime, endTime, allDay, category, eventType,
+                color, recurring, recurrenceRule, recurrenceEndDate, recurrenceExceptions, recurrenceParentId,
+                recurrenceDate, null, null, reminderMinutes, status, relatedEntityType, relatedEntityId, createdAt,
+                updatedAt);
+    }
+
+    public static CalendarEventSummary of(CalendarEvent event) {
+        return new CalendarEventSummary(event.getId(), event.getUserId(), event.getTitle(), event.getLocation(),
+                event.getStartDate(), event.getEndDate(), event.getStartTime(), event.getEndTime(),
+                event.getAllDay(), event.getCategory(), event.getEventType(), event.getColor(), event.getRecurring(),
+                event.getRecurrenceRule(), event.getRecurrenceEndDate(), event.getRecurrenceExceptions(),
+                event.getRecurrenceParentId(), event.getRecurrenceDate(), event.getSeriesId(), event.getOccurrenceDate(),
+                event.getReminderMinutes(), event.getStatus(), event.getRelatedEntityType(),
+                event.getRelatedEntityId(), event.getCreatedAt(), event.getUpdatedAt());
+    }
+}
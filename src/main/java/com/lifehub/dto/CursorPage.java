@@ -0,0 +1,92 @@
+package com.lifehub.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Eine Seite einer Keyset-Pagination. nextCursor ist opak für den Client
+ * (Base64 aus Sortier-Key + ID des letzten Elements) und null auf der letzten Seite.
+ *
+ * Liegt identisch in src/ und backend/src/ (zwei getrennte Anwendungen ohne gemeinsames Modul).
+ * Änderungen in beiden Kopien nachziehen - SharedSourcesTest schlägt fehl, sobald sie auseinanderlaufen.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Baut die Seite aus einer Query, die mit limit + 1 abgefragt wurde
+     * (das zusätzliche Element zeigt nur an, dass es weitergeht).
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Cursor> cursorOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Lädt eine Seite mit limit + 1 Zeilen: ohne cursor über firstPage, sonst ab der Cursor-Position.
+     * Wirft IllegalArgumentException bei ungültigem Cursor.
+     */
+    public static <T> CursorPage<T> fetch(Integer limit, String cursor,
+                                          Function<Pageable, List<T>> firstPage,
+                                          BiFunction<Cursor, Pageable, List<T>> pageAfter,
+                                          Function<T, Cursor> cursorOf) {
+        int pageSize = clampLimit(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<T> fetched = cursor == null ? firstPage.apply(fetch) : pageAfter.apply(Cursor.decode(cursor), fetch);
+        return of(fetched, pageSize, cursorOf);
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Position hinter dem letzten gelieferten Element: Sortier-Key (ISO-String) + ID als Tie-Breaker
+     */
+    public record Cursor(String key, Long id) {
+
+        public static Cursor of(Object key, Long id) {
+            return new Cursor(String.valueOf(key), id);
+        }
+
+        public String encode() {
+            String raw = key + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        public <K> K key(Function<String, K> parser) {
+            try {
+                return parser.apply(key);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
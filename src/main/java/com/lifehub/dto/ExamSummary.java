@@ -0,0 +1,30 @@
+package com.lifehub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Listenansicht einer Prüfung ohne notes (TEXT)
+ */
+public record ExamSummary(
+        Long id,
+        Long userId,
+        String subject,
+        String title,
+        String examType,
+        LocalDate examDate,
+        LocalTime startTime,
+        Integer durationMinutes,
+        String room,
+        List<String> topics,
+        BigDecimal grade,
+        Integer points,
+        Integer maxPoints,
+        Integer studyTimeMinutes,
+        Integer confidenceLevel,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
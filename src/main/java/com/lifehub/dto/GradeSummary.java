@@ -0,0 +1,28 @@
+package com.lifehub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht einer Note ohne notes (TEXT). Wird direkt aus der Query befüllt,
+ * die volle Entity liefern die Endpoints mit ?full=true bzw. /item/{id}.
+ */
+public record GradeSummary(
+        Long id,
+        Long userId,
+        String subject,
+        String title,
+        String gradeType,
+        BigDecimal grade,
+        Integer points,
+        Integer maxPoints,
+        BigDecimal percentage,
+        BigDecimal weight,
+        LocalDate receivedDate,
+        String teacher,
+        String semester,
+        String schoolYear,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,27 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.Homework;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listenansicht einer Hausaufgabe ohne description (TEXT)
+ */
+public record HomeworkSummary(
+        Long id,
+        Long userId,
+        String subject,
+        String title,
+        LocalDate assignedDate,
+        LocalDate dueDate,
+        Homework.HomeworkStatus status,
+        Homework.Priority priority,
+        Boolean completed,
+        LocalDateTime completedAt,
+        List<Map<String, String>> attachments,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,22 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.MealLog;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht einer Mahlzeit ohne description (TEXT)
+ */
+public record MealLogSummary(
+        Long id,
+        Long userId,
+        String mealName,
+        LocalDate date,
+        MealLog.MealType mealType,
+        Integer calories,
+        Double protein,
+        Double carbs,
+        Double fats,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,18 @@
+package com.lifehub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht einer Notiz ohne content (TEXT); der Inhalt kommt über /note/{id} bzw. /note/{id}/content
+ */
+public record SchoolNoteSummary(
+        Long id,
+        Long userId,
+        Long folderId,
+        String title,
+        String physicalPath,
+        String tags,
+        Boolean isFavorite,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
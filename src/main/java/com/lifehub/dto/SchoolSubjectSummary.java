@@ -0,0 +1,26 @@
+package com.lifehub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht eines Fachs ohne notes (TEXT)
+ */
+public record SchoolSubjectSummary(
+        Long id,
+        Long userId,
+        String name,
+        String shortName,
+        String teacher,
+        String room,
+        String color,
+        String icon,
+        BigDecimal hoursPerWeek,
+        Integer creditPoints,
+        Boolean active,
+        String semester,
+        BigDecimal targetGrade,
+        BigDecimal currentAverage,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,22 @@
+package com.lifehub.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Listenansicht einer Lerneinheit ohne notes (TEXT)
+ */
+public record StudySessionSummary(
+        Long id,
+        Long userId,
+        String subject,
+        String topic,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Integer durationMinutes,
+        List<String> methods,
+        Integer effectivenessRating,
+        Integer focusLevel,
+        Boolean goalAchieved,
+        LocalDateTime createdAt
+) {}
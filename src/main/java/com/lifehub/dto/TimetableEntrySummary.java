@@ -0,0 +1,25 @@
+package com.lifehub.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Listenansicht eines Stundenplan-Eintrags ohne notes (TEXT)
+ */
+public record TimetableEntrySummary(
+        Long id,
+        Long userId,
+        String subject,
+        String teacher,
+        String room,
+        DayOfWeek dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String color,
+        LocalDate validFrom,
+        LocalDate validUntil,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,25 @@
+package com.lifehub.dto;
+
+import com.lifehub.model.Todo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Listenansicht eines Todos ohne description (TEXT)
+ */
+public record TodoSummary(
+        Long id,
+        Long userId,
+        String title,
+        String category,
+        Todo.Priority priority,
+        Todo.Status status,
+        Boolean completed,
+        LocalDate dueDate,
+        LocalDateTime completedAt,
+        String[] tags,
+        String color,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
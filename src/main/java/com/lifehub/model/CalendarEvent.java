@@ -1,6 +1,7 @@
 package com.lifehub.model;
 
 import jakarta.persistence.*;
+import com.lifehub.service.CalendarOccurrenceCacheEvictionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,9 +14,10 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "calendar_events")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(CalendarOccurrenceCacheEvictionListener.class)
 public class CalendarEvent {
 
     @Id
@@ -63,7 +65,29 @@ public class CalendarEvent {
     private Boolean recurring = false;
 
     @Column(name = "recurrence_rule")
-    private String recurrenceRule;
+    private String recurrenceRule; // iCal RRULE, z.B. FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10
+
+    // Letztes Vorkommen der Serie (aus UNTIL/COUNT berechnet), null = unendlich
+    @Column(name = "recurrence_end_date")
+    private LocalDate recurrenceEndDate;
+
+    // Ausgelassene Vorkommen (EXDATE), ISO-Daten kommagetrennt
+    @Column(name = "recurrence_exceptions", columnDefinition = "TEXT")
+    private String recurrenceExceptions;
+
+    // Gesetzt bei Einzeländerungen: ersetzt das Vorkommen recurrenceDate der Serie recurrenceParentId
+    @Column(name = "recurrence_parent_id")
+    private Long recurrenceParentId;
+
+    @Column(name = "recurrence_date")
+    private LocalDate recurrenceDate;
+
+    // Nur bei expandierten Vorkommen gesetzt: (seriesId, occurrenceDate) identifiziert das Vorkommen, id ist null
+    @Transient
+    private Long seriesId;
+
+    @Transient
+    private LocalDate occurrenceDate;
 
     @Column(name = "reminder_minutes")
     private Integer reminderMinutes;
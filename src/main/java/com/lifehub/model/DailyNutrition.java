@@ -0,0 +1,64 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Tagessumme der Ernährung (gleiche Tabelle wie das Nutrition-Modul im backend).
+ * Mahlzeiten werden per MealNutritionRollup automatisch aufaddiert.
+ */
+@Entity
+@Table(name = "daily_nutrition", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "date"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyNutrition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer calories;
+
+    private Integer protein;
+
+    private Integer carbs;
+
+    private Integer fat;
+
+    @Column(length = 1000)
+    private String notes;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
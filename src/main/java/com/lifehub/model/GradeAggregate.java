@@ -0,0 +1,84 @@
+package com.lifehub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+
+/**
+ * Laufende Notensummen pro (User, Fach). Wird bei jeder Noten-Änderung inkrementell
+ * im selben Transaktionskontext gepflegt (siehe GradeService).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "grade_aggregates", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "subject"})
+})
+public class GradeAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String subject;
+
+    // Σ grade * weight
+    @Column(name = "weighted_sum", nullable = false, precision = 14, scale = 4)
+    @Builder.Default
+    private BigDecimal weightedSum = BigDecimal.ZERO;
+
+    // Σ weight
+    @Column(name = "weight_total", nullable = false, precision = 14, scale = 4)
+    @Builder.Default
+    private BigDecimal weightTotal = BigDecimal.ZERO;
+
+    // Σ grade (für den ungewichteten Durchschnitt)
+    @Column(name = "grade_sum", nullable = false, precision = 14, scale = 4)
+    @Builder.Default
+    private BigDecimal gradeSum = BigDecimal.ZERO;
+
+    @Column(name = "grade_count", nullable = false)
+    @Builder.Default
+    private Long gradeCount = 0L;
+
+    @Column(name = "min_grade", precision = 3, scale = 2)
+    private BigDecimal minGrade;
+
+    @Column(name = "max_grade", precision = 3, scale = 2)
+    private BigDecimal maxGrade;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public BigDecimal getWeightedAverage() {
+        if (weightTotal == null || weightTotal.signum() == 0) {
+            return null;
+        }
+        return weightedSum.divide(weightTotal, MathContext.DECIMAL64);
+    }
+
+    public BigDecimal getAverage() {
+        if (gradeCount == null || gradeCount == 0) {
+            return null;
+        }
+        return gradeSum.divide(BigDecimal.valueOf(gradeCount), MathContext.DECIMAL64);
+    }
+}
@@ -26,6 +26,10 @@ public class SchoolFlashcard {
     @Column(name = "deck_id", nullable = false)
     private Long deckId;
 
+    // Denormalisiert vom Deck, damit die Review-Queue über alle Decks per Index (user_id, due_at) läuft
+    @Column(name = "user_id")
+    private Long userId;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String front; // Frage
 
@@ -54,7 +58,38 @@ public class SchoolFlashcard {
     @Column(name = "order_index")
     private Integer orderIndex = 0;
 
+    // SM-2 Scheduling (siehe FlashcardScheduler)
+    @Builder.Default
+    @Column(name = "ease_factor", nullable = false)
+    private Double easeFactor = 2.5;
+
+    @Builder.Default
+    @Column(name = "interval_days", nullable = false)
+    private Integer intervalDays = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer repetitions = 0; // Erfolgreiche Wiederholungen in Folge
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer lapses = 0;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt; // Neue Karten sind sofort fällig
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean suspended = false;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (dueAt == null) {
+            dueAt = LocalDateTime.now();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.lifehub.model;
 
+import com.lifehub.service.UserResponseCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "sidebar_config")
+@EntityListeners(UserResponseCacheEvictionListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,10 +1,15 @@
 package com.lifehub.model;
 
+import com.lifehub.config.PooledSequenceIdGenerator;
+import com.lifehub.service.UserResponseCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -17,10 +22,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "timetable_entries")
+@EntityListeners(UserResponseCacheEvictionListener.class)
 public class TimetableEntry {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence statt IDENTITY, damit Bulk-Inserts per JDBC-Batch laufen (IDENTITY schaltet Batching ab)
+    @GeneratedValue(generator = "timetable-entries-id-pooled")
+    @GenericGenerator(name = "timetable-entries-id-pooled", type = PooledSequenceIdGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "timetable_entries_id_seq")
+    })
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -1,12 +1,16 @@
 package com.lifehub.model;
 
-import com.lifehub.config.LowestAvailableIdGenerator;
+import com.lifehub.config.PooledSequenceIdGenerator;
+import com.lifehub.security.UserDetailsCacheEvictionListener;
+import com.lifehub.service.UserResponseCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,12 +23,14 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserDetailsCacheEvictionListener.class, UserResponseCacheEvictionListener.class})
 public class User {
 
     @Id
-    @GeneratedValue(generator = "lowest-available-id")
-    @GenericGenerator(name = "lowest-available-id", strategy = "com.lifehub.config.LowestAvailableIdGenerator")
+    @GeneratedValue(generator = "users-id-pooled")
+    @GenericGenerator(name = "users-id-pooled", type = PooledSequenceIdGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "users_id_seq")
+    })
     private Long id;
 
     @Column(unique = true, nullable = false)
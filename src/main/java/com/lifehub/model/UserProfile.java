@@ -1,5 +1,6 @@
 package com.lifehub.model;
 
+import com.lifehub.service.UserResponseCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserResponseCacheEvictionListener.class})
 public class UserProfile {
 
     @Id
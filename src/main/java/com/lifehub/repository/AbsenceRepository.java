@@ -11,14 +11,12 @@ import java.util.List;
 @Repository
 public interface AbsenceRepository extends JpaRepository<Absence, Long> {
     
-    List<Absence> findByUserIdOrderByAbsenceDateDesc(Long userId);
+    // Listen-Queries mit Projektion: AbsenceSummary (ohne reason/notes) oder Absence.class für die volle Entity
+    <T> List<T> findByUserIdOrderByAbsenceDateDesc(Long userId, Class<T> type);
     
-    List<Absence> findByUserIdAndSubjectOrderByAbsenceDateDesc(Long userId, String subject);
+    <T> List<T> findByUserIdAndSubjectOrderByAbsenceDateDesc(Long userId, String subject, Class<T> type);
     
-    @Query("SELECT a FROM Absence a WHERE a.userId = :userId " +
-           "AND a.absenceDate BETWEEN :startDate AND :endDate " +
-           "ORDER BY a.absenceDate DESC")
-    List<Absence> findByUserIdAndAbsenceDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    <T> List<T> findByUserIdAndAbsenceDateBetweenOrderByAbsenceDateDesc(Long userId, LocalDate startDate, LocalDate endDate, Class<T> type);
     
     @Query("SELECT SUM(a.periods) FROM Absence a " +
            "WHERE a.userId = :userId AND a.absenceType = :type")
@@ -1,25 +1,78 @@
 package com.lifehub.repository;
 
+import com.lifehub.dto.CalendarEventSummary;
 import com.lifehub.model.CalendarEvent;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
     
-    // Basic queries
-    List<CalendarEvent> findByUserId(Long userId);
-    List<CalendarEvent> findByUserIdAndCategory(Long userId, String category);
+    String SUMMARY = "new com.lifehub.dto.CalendarEventSummary(e.id, e.userId, e.title, e.location, e.startDate, " +
+            "e.endDate, e.startTime, e.endTime, e.allDay, e.category, e.eventType, e.color, e.recurring, " +
+            "e.recurrenceRule, e.recurrenceEndDate, e.recurrenceExceptions, e.recurrenceParentId, e.recurrenceDate, " +
+            "e.reminderMinutes, e.status, e.relatedEntityType, e.relatedEntityId, e.createdAt, e.updatedAt)";
+    
+    // Basic queries (Listen mit Projektion: CalendarEventSummary ohne description oder CalendarEvent.class)
+    <T> List<T> findByUserId(Long userId, Class<T> type);
+    <T> List<T> findByUserIdAndCategory(Long userId, String category, Class<T> type);
     List<CalendarEvent> findByUserIdAndStatus(Long userId, CalendarEvent.EventStatus status);
     
+    // Keyset-Pagination: (startDate, id) absteigend
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId ORDER BY e.startDate DESC, e.id DESC")
+    List<CalendarEvent> findFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId " +
+           "AND (e.startDate < :startDate OR (e.startDate = :startDate AND e.id < :id)) " +
+           "ORDER BY e.startDate DESC, e.id DESC")
+    List<CalendarEvent> findPageAfter(Long userId, LocalDate startDate, Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId ORDER BY e.startDate DESC, e.id DESC")
+    Stream<CalendarEvent> streamByUserId(Long userId);
+    
+    @Query("SELECT " + SUMMARY + " FROM CalendarEvent e WHERE e.userId = :userId ORDER BY e.startDate DESC, e.id DESC")
+    List<CalendarEventSummary> findSummaryFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM CalendarEvent e WHERE e.userId = :userId " +
+           "AND (e.startDate < :startDate OR (e.startDate = :startDate AND e.id < :id)) " +
+           "ORDER BY e.startDate DESC, e.id DESC")
+    List<CalendarEventSummary> findSummaryPageAfter(Long userId, LocalDate startDate, Long id, Pageable pageable);
+    
     // Events in date range
     @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.startDate BETWEEN :startDate AND :endDate ORDER BY e.startDate, e.startTime")
     List<CalendarEvent> findByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
     
+    // Einzeltermine (inkl. geänderter Serien-Vorkommen) im Zeitraum, ohne Serien-Master
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND (e.recurring = false OR e.recurring IS NULL) " +
+           "AND e.startDate BETWEEN :startDate AND :endDate ORDER BY e.startDate, e.startTime")
+    List<CalendarEvent> findSingleEventsInRange(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    // Serien, die im Zeitraum Vorkommen haben können (Start vor Fensterende, Ende offen oder nach Fensterbeginn)
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.recurring = true " +
+           "AND e.startDate <= :endDate AND (e.recurrenceEndDate IS NULL OR e.recurrenceEndDate >= :startDate)")
+    List<CalendarEvent> findRecurringCandidates(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    // Durch Einzeländerungen ersetzte Vorkommen: parentId, recurrenceDate
+    @Query("SELECT e.recurrenceParentId, e.recurrenceDate FROM CalendarEvent e WHERE e.recurrenceParentId IN :parentIds")
+    List<Object[]> findOverriddenOccurrences(Collection<Long> parentIds);
+    
+    Optional<CalendarEvent> findByRecurrenceParentIdAndRecurrenceDate(Long parentId, LocalDate recurrenceDate);
+    
+    List<CalendarEvent> findByRecurrenceParentId(Long parentId);
+    
     // Upcoming events (next 7 days)
     @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.startDate BETWEEN :today AND :endDate AND e.status <> 'CANCELLED' ORDER BY e.startDate, e.startTime")
     List<CalendarEvent> findUpcomingEvents(Long userId, LocalDate today, LocalDate endDate);
@@ -29,7 +82,7 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     List<CalendarEvent> findTodaysEvents(Long userId, LocalDate today);
     
     // Events by related entity
-    List<CalendarEvent> findByUserIdAndRelatedEntityTypeAndRelatedEntityId(Long userId, String entityType, Long entityId);
+    <T> List<T> findByUserIdAndRelatedEntityTypeAndRelatedEntityId(Long userId, String entityType, Long entityId, Class<T> type);
     
     // Count upcoming
     @Query("SELECT COUNT(e) FROM CalendarEvent e WHERE e.userId = :userId AND e.startDate >= :today AND e.status <> 'CANCELLED'")
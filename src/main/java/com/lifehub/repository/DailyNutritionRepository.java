@@ -0,0 +1,31 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.DailyNutrition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailyNutritionRepository extends JpaRepository<DailyNutrition, Long> {
+
+    // Zeilensperre, damit parallel gespeicherte Mahlzeiten desselben Tages sich nicht überschreiben
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DailyNutrition d WHERE d.userId = :userId AND d.date = :date")
+    Optional<DailyNutrition> findForUpdate(Long userId, LocalDate date);
+
+    // Legt den leeren Tag an, falls er fehlt. Bei zwei parallelen ersten Mahlzeiten wartet der zweite Insert am
+    // Unique-Constraint (user_id, date) und wird dann übersprungen, statt die Transaktion abzubrechen.
+    // Ohne Conflict-Target, das versteht auch H2 im PostgreSQL-Modus (Stand-in, Benchmarks).
+    @Modifying
+    @Query(value = "INSERT INTO daily_nutrition (user_id, date, calories, protein, carbs, fat, created_at, updated_at) " +
+                   "VALUES (:userId, :date, 0, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(Long userId, LocalDate date);
+}
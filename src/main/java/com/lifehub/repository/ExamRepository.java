@@ -12,29 +12,20 @@ import java.util.List;
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
     
-    List<Exam> findByUserIdOrderByExamDateDesc(Long userId);
+    // Listen-Queries mit Projektion: ExamSummary (ohne notes) oder Exam.class für die volle Entity
+    <T> List<T> findByUserIdOrderByExamDateDesc(Long userId, Class<T> type);
     
-    List<Exam> findByUserIdAndSubjectOrderByExamDateDesc(Long userId, String subject);
+    <T> List<T> findByUserIdAndSubjectOrderByExamDateDesc(Long userId, String subject, Class<T> type);
     
-    @Query("SELECT e FROM Exam e WHERE e.userId = :userId " +
-           "AND e.examDate BETWEEN :startDate AND :endDate " +
-           "ORDER BY e.examDate, e.startTime")
-    List<Exam> findByUserIdAndExamDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    <T> List<T> findByUserIdAndExamDateBetweenOrderByExamDateAscStartTimeAsc(Long userId, LocalDate startDate, LocalDate endDate, Class<T> type);
     
-    @Query("SELECT e FROM Exam e WHERE e.userId = :userId " +
-           "AND e.examDate >= :today " +
-           "ORDER BY e.examDate, e.startTime")
-    List<Exam> findUpcomingExams(Long userId, LocalDate today);
+    // Anstehende Prüfungen (ab heute)
+    <T> List<T> findByUserIdAndExamDateGreaterThanEqualOrderByExamDateAscStartTimeAsc(Long userId, LocalDate today, Class<T> type);
     
-    @Query("SELECT e FROM Exam e WHERE e.userId = :userId " +
-           "AND e.examDate < :today " +
-           "ORDER BY e.examDate DESC")
-    List<Exam> findPastExams(Long userId, LocalDate today);
+    // Vergangene Prüfungen
+    <T> List<T> findByUserIdAndExamDateBeforeOrderByExamDateDesc(Long userId, LocalDate today, Class<T> type);
     
-    @Query("SELECT e FROM Exam e WHERE e.userId = :userId " +
-           "AND e.grade IS NOT NULL " +
-           "ORDER BY e.examDate DESC")
-    List<Exam> findGradedExams(Long userId);
+    <T> List<T> findByUserIdAndGradeIsNotNullOrderByExamDateDesc(Long userId, Class<T> type);
     
     @Query("SELECT AVG(e.grade) FROM Exam e WHERE e.userId = :userId " +
            "AND e.subject = :subject AND e.grade IS NOT NULL")
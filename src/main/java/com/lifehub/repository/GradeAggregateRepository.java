@@ -0,0 +1,43 @@
+package com.lifehub.repository;
+
+import com.lifehub.model.GradeAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GradeAggregateRepository extends JpaRepository<GradeAggregate, Long> {
+
+    List<GradeAggregate> findByUserIdOrderBySubjectAsc(Long userId);
+
+    Optional<GradeAggregate> findByUserIdAndSubject(Long userId, String subject);
+
+    // Zeilensperre, damit parallele Noten-Änderungen im selben Fach sich nicht überschreiben
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM GradeAggregate a WHERE a.userId = :userId AND a.subject = :subject")
+    Optional<GradeAggregate> findForUpdate(Long userId, String subject);
+
+    // Legt die leere Aggregat-Zeile an, falls sie fehlt. Bei zwei parallelen ersten Noten wartet der zweite Insert
+    // am Unique-Constraint (user_id, subject) und wird dann übersprungen, statt die Transaktion abzubrechen.
+    // Ohne Conflict-Target, das versteht auch H2 im PostgreSQL-Modus (Stand-in, Benchmarks).
+    @Modifying
+    @Query(value = "INSERT INTO grade_aggregates (user_id, subject, weighted_sum, weight_total, grade_sum, grade_count, updated_at) " +
+                   "VALUES (:userId, :subject, 0, 0, 0, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(Long userId, String subject);
+
+    // Gesamtstatistik über alle Fächer: Σ weighted, Σ weight, Σ count, min, max
+    @Query("SELECT SUM(a.weightedSum), SUM(a.weightTotal), SUM(a.gradeCount), MIN(a.minGrade), MAX(a.maxGrade) " +
+           "FROM GradeAggregate a WHERE a.userId = :userId")
+    List<Object[]> sumOverallByUserId(Long userId);
+
+    @Query("SELECT DISTINCT a.userId FROM GradeAggregate a")
+    List<Long> findDistinctUserIds();
+}
@@ -1,29 +1,59 @@
 package com.lifehub.repository;
 
+import com.lifehub.dto.GradeSummary;
 import com.lifehub.model.Grade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
     
-    List<Grade> findByUserIdOrderByReceivedDateDesc(Long userId);
+    String SUMMARY = "new com.lifehub.dto.GradeSummary(g.id, g.userId, g.subject, g.title, g.gradeType, g.grade, " +
+            "g.points, g.maxPoints, g.percentage, g.weight, g.receivedDate, g.teacher, g.semester, g.schoolYear, " +
+            "g.createdAt, g.updatedAt)";
+    
+    // Listen-Queries mit Projektion: GradeSummary (ohne notes) oder Grade.class für die volle Entity
+    <T> List<T> findByUserIdOrderByReceivedDateDesc(Long userId, Class<T> type);
+    
+    <T> List<T> findByUserIdAndSubjectOrderByReceivedDateDesc(Long userId, String subject, Class<T> type);
     
-    List<Grade> findByUserIdAndSubjectOrderByReceivedDateDesc(Long userId, String subject);
+    <T> List<T> findByUserIdAndSemesterOrderByReceivedDateDesc(Long userId, String semester, Class<T> type);
     
-    List<Grade> findByUserIdAndSemesterOrderByReceivedDateDesc(Long userId, String semester);
+    <T> List<T> findByUserIdAndSchoolYearOrderBySubjectAscReceivedDateDesc(Long userId, String schoolYear, Class<T> type);
     
-    List<Grade> findByUserIdAndSchoolYearOrderBySubjectAscReceivedDateDesc(Long userId, String schoolYear);
+    <T> List<T> findByUserIdAndReceivedDateBetweenOrderByReceivedDateDesc(Long userId, LocalDate startDate, LocalDate endDate, Class<T> type);
+    
+    // Keyset-Pagination: (receivedDate, id) absteigend, Seite über Pageable-Limit
+    @Query("SELECT g FROM Grade g WHERE g.userId = :userId ORDER BY g.receivedDate DESC, g.id DESC")
+    List<Grade> findFirstPage(Long userId, Pageable pageable);
     
     @Query("SELECT g FROM Grade g WHERE g.userId = :userId " +
-           "AND g.receivedDate BETWEEN :startDate AND :endDate " +
-           "ORDER BY g.receivedDate DESC")
-    List<Grade> findByUserIdAndReceivedDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+           "AND (g.receivedDate < :receivedDate OR (g.receivedDate = :receivedDate AND g.id < :id)) " +
+           "ORDER BY g.receivedDate DESC, g.id DESC")
+    List<Grade> findPageAfter(Long userId, LocalDate receivedDate, Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT g FROM Grade g WHERE g.userId = :userId ORDER BY g.receivedDate DESC, g.id DESC")
+    Stream<Grade> streamByUserId(Long userId);
+    
+    @Query("SELECT " + SUMMARY + " FROM Grade g WHERE g.userId = :userId ORDER BY g.receivedDate DESC, g.id DESC")
+    List<GradeSummary> findSummaryFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Grade g WHERE g.userId = :userId " +
+           "AND (g.receivedDate < :receivedDate OR (g.receivedDate = :receivedDate AND g.id < :id)) " +
+           "ORDER BY g.receivedDate DESC, g.id DESC")
+    List<GradeSummary> findSummaryPageAfter(Long userId, LocalDate receivedDate, Long id, Pageable pageable);
     
     @Query("SELECT g.subject, AVG(g.grade * g.weight) / AVG(g.weight) as weightedAverage " +
            "FROM Grade g WHERE g.userId = :userId " +
@@ -45,5 +75,18 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
            "FROM Grade g WHERE g.userId = :userId AND g.subject = :subject")
     List<Object[]> findStatisticsBySubject(Long userId, String subject);
     
+    // Quelle für GradeAggregate (Rebuild): subject, Σ grade*weight, Σ weight, Σ grade, count, min, max
+    @Query("SELECT g.subject, SUM(g.grade * COALESCE(g.weight, 1)), SUM(COALESCE(g.weight, 1)), SUM(g.grade), " +
+           "COUNT(g), MIN(g.grade), MAX(g.grade) " +
+           "FROM Grade g WHERE g.userId = :userId " +
+           "GROUP BY g.subject")
+    List<Object[]> computeAggregatesBySubject(Long userId);
+    
+    @Query("SELECT MIN(g.grade), MAX(g.grade) FROM Grade g WHERE g.userId = :userId AND g.subject = :subject")
+    List<Object[]> findMinMaxBySubject(Long userId, String subject);
+    
+    @Query("SELECT DISTINCT g.userId FROM Grade g")
+    List<Long> findDistinctUserIds();
+    
     void deleteByUserIdAndId(Long userId, Long id);
 }
@@ -2,7 +2,6 @@ package com.lifehub.repository;
 
 import com.lifehub.model.Homework;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,30 +10,26 @@ import java.util.List;
 @Repository
 public interface HomeworkRepository extends JpaRepository<Homework, Long> {
     
-    List<Homework> findByUserIdOrderByDueDateAsc(Long userId);
+    // Listen-Queries mit Projektion: HomeworkSummary (ohne description) oder Homework.class für die volle Entity
+    <T> List<T> findByUserIdOrderByDueDateAsc(Long userId, Class<T> type);
     
-    List<Homework> findByUserIdAndCompletedOrderByDueDateAsc(Long userId, Boolean completed);
+    <T> List<T> findByUserIdAndCompletedOrderByDueDateAsc(Long userId, Boolean completed, Class<T> type);
     
-    List<Homework> findByUserIdAndStatusOrderByDueDateAsc(Long userId, Homework.HomeworkStatus status);
+    <T> List<T> findByUserIdAndStatusOrderByDueDateAsc(Long userId, Homework.HomeworkStatus status, Class<T> type);
     
-    List<Homework> findByUserIdAndSubjectOrderByDueDateAsc(Long userId, String subject);
+    <T> List<T> findByUserIdAndSubjectOrderByDueDateAsc(Long userId, String subject, Class<T> type);
     
-    @Query("SELECT h FROM Homework h WHERE h.userId = :userId " +
-           "AND h.dueDate BETWEEN :startDate AND :endDate " +
-           "ORDER BY h.dueDate, h.priority DESC")
-    List<Homework> findByUserIdAndDueDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    <T> List<T> findByUserIdAndDueDateBetweenOrderByDueDateAscPriorityDesc(Long userId, LocalDate startDate, LocalDate endDate, Class<T> type);
     
-    @Query("SELECT h FROM Homework h WHERE h.userId = :userId " +
-           "AND h.completed = false AND h.dueDate < :today " +
-           "ORDER BY h.dueDate")
-    List<Homework> findOverdueHomework(Long userId, LocalDate today);
+    // Überfällig: offen und Fälligkeit vor heute
+    <T> List<T> findByUserIdAndCompletedFalseAndDueDateBeforeOrderByDueDateAsc(Long userId, LocalDate today, Class<T> type);
     
-    @Query("SELECT h FROM Homework h WHERE h.userId = :userId " +
-           "AND h.completed = false AND h.dueDate >= :today " +
-           "ORDER BY h.dueDate, h.priority DESC")
-    List<Homework> findUpcomingHomework(Long userId, LocalDate today);
+    // Anstehend: offen und ab heute fällig
+    <T> List<T> findByUserIdAndCompletedFalseAndDueDateGreaterThanEqualOrderByDueDateAscPriorityDesc(Long userId, LocalDate today, Class<T> type);
     
     Long countByUserIdAndCompleted(Long userId, Boolean completed);
     
+    Long countByUserIdAndCompletedFalseAndDueDateBefore(Long userId, LocalDate today);
+    
     void deleteByUserIdAndId(Long userId, Long id);
 }
@@ -2,6 +2,7 @@ package com.lifehub.repository;
 
 import com.lifehub.model.MealLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -9,8 +10,14 @@ import java.util.List;
 
 @Repository
 public interface MealLogRepository extends JpaRepository<MealLog, Long> {
-    List<MealLog> findByUserId(Long userId);
-    List<MealLog> findByUserIdAndDate(Long userId, LocalDate date);
-    List<MealLog> findByUserIdAndDateBetween(Long userId, LocalDate start, LocalDate end);
+    // Listen mit Projektion: MealLogSummary (ohne description) oder MealLog.class
+    <T> List<T> findByUserId(Long userId, Class<T> type);
+    <T> List<T> findByUserIdAndDate(Long userId, LocalDate date, Class<T> type);
+    <T> List<T> findByUserIdAndDateBetween(Long userId, LocalDate start, LocalDate end, Class<T> type);
     List<MealLog> findByUserIdOrderByDateDesc(Long userId);
+
+    // Exakte (ungerundete) Summe eines Tages: calories, protein, carbs, fats
+    @Query("SELECT COALESCE(SUM(m.calories), 0), COALESCE(SUM(m.protein), 0), COALESCE(SUM(m.carbs), 0), " +
+           "COALESCE(SUM(m.fats), 0) FROM MealLog m WHERE m.userId = :userId AND m.date = :date")
+    List<Object[]> sumByUserIdAndDate(Long userId, LocalDate date);
 }
@@ -1,9 +1,12 @@
 package com.lifehub.repository;
 
 import com.lifehub.model.SchoolFlashcard;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,4 +19,16 @@ public interface SchoolFlashcardRepository extends JpaRepository<SchoolFlashcard
     List<SchoolFlashcard> findByDeckIdAndDifficulty(Long deckId, String difficulty);
     
     long countByDeckId(Long deckId);
+    
+    // Review-Queue über alle Decks: Range-Scan auf idx_flashcards_user_due, Kosten unabhängig von der Deck-Größe
+    @Query("SELECT c FROM SchoolFlashcard c WHERE c.userId = :userId AND c.suspended = false AND c.dueAt <= :now " +
+           "ORDER BY c.dueAt, c.id")
+    List<SchoolFlashcard> findDueCards(Long userId, LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT c FROM SchoolFlashcard c WHERE c.userId = :userId AND c.deckId = :deckId AND c.suspended = false " +
+           "AND c.dueAt <= :now ORDER BY c.dueAt, c.id")
+    List<SchoolFlashcard> findDueCardsInDeck(Long userId, Long deckId, LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT COUNT(c) FROM SchoolFlashcard c WHERE c.userId = :userId AND c.suspended = false AND c.dueAt <= :now")
+    long countDueCards(Long userId, LocalDateTime now);
 }
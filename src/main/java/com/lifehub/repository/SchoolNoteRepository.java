@@ -2,6 +2,7 @@ package com.lifehub.repository;
 
 import com.lifehub.model.SchoolNote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,15 +13,37 @@ public interface SchoolNoteRepository extends JpaRepository<SchoolNote, Long> {
     
     List<SchoolNote> findByUserId(Long userId);
     
-    List<SchoolNote> findByUserIdAndFolderId(Long userId, Long folderId);
+    // Listen mit Projektion: SchoolNoteSummary (ohne content) oder SchoolNote.class
+    <T> List<T> findByUserIdAndFolderId(Long userId, Long folderId, Class<T> type);
     
     List<SchoolNote> findByUserIdAndFolderIdIsNull(Long userId); // Notes without folder
     
-    List<SchoolNote> findByUserIdAndIsFavorite(Long userId, Boolean isFavorite);
+    <T> List<T> findByUserIdAndIsFavorite(Long userId, Boolean isFavorite, Class<T> type);
     
-    List<SchoolNote> findByUserIdOrderByUpdatedAtDesc(Long userId);
+    <T> List<T> findByUserIdOrderByUpdatedAtDesc(Long userId, Class<T> type);
     
     Optional<SchoolNote> findByUserIdAndId(Long userId, Long id);
     
     List<SchoolNote> findByUserIdAndTitleContainingIgnoreCase(Long userId, String title);
+
+    // Volltextsuche über search_vector (GIN, siehe V2_2). Snippets nur für die Treffer der aktuellen Seite.
+    // Spalten: id, folder_id, title, tags, is_favorite, updated_at, rank, snippet
+    @Query(value = "SELECT n.id, n.folder_id, n.title, n.tags, n.is_favorite, n.updated_at, hit.rank, " +
+                   "ts_headline('german', COALESCE(n.content, ''), hit.q, " +
+                   "'MaxFragments=2, MaxWords=20, MinWords=5, StartSel=<mark>, StopSel=</mark>') " +
+                   "FROM (SELECT s.id, ts_rank_cd(s.search_vector, t.q) AS rank, t.q " +
+                   "      FROM school_notes s, " +
+                   "           (SELECT websearch_to_tsquery('german', :query) || websearch_to_tsquery('simple', :query) AS q) t " +
+                   "      WHERE s.user_id = :userId AND s.search_vector @@ t.q " +
+                   "      ORDER BY rank DESC, s.id DESC LIMIT :limit OFFSET :offset) hit " +
+                   "JOIN school_notes n ON n.id = hit.id " +
+                   "ORDER BY hit.rank DESC, n.id DESC",
+           nativeQuery = true)
+    List<Object[]> searchFullText(Long userId, String query, int limit, long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM school_notes s " +
+                   "WHERE s.user_id = :userId " +
+                   "AND s.search_vector @@ (websearch_to_tsquery('german', :query) || websearch_to_tsquery('simple', :query))",
+           nativeQuery = true)
+    long countFullText(Long userId, String query);
 }
@@ -10,11 +10,12 @@ import java.util.Optional;
 @Repository
 public interface SchoolSubjectRepository extends JpaRepository<SchoolSubject, Long> {
     
-    List<SchoolSubject> findByUserIdOrderByNameAsc(Long userId);
+    // Listen-Queries mit Projektion: SchoolSubjectSummary (ohne notes) oder SchoolSubject.class
+    <T> List<T> findByUserIdOrderByNameAsc(Long userId, Class<T> type);
     
-    List<SchoolSubject> findByUserIdAndActiveOrderByNameAsc(Long userId, Boolean active);
+    <T> List<T> findByUserIdAndActiveOrderByNameAsc(Long userId, Boolean active, Class<T> type);
     
-    List<SchoolSubject> findByUserIdAndSemesterOrderByNameAsc(Long userId, String semester);
+    <T> List<T> findByUserIdAndSemesterOrderByNameAsc(Long userId, String semester, Class<T> type);
     
     Optional<SchoolSubject> findByUserIdAndName(Long userId, String name);
     
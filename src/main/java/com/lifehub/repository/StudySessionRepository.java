@@ -1,29 +1,56 @@
 package com.lifehub.repository;
 
+import com.lifehub.dto.StudySessionSummary;
 import com.lifehub.model.StudySession;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudySessionRepository extends JpaRepository<StudySession, Long> {
     
-    List<StudySession> findByUserIdOrderByStartTimeDesc(Long userId);
+    String SUMMARY = "new com.lifehub.dto.StudySessionSummary(s.id, s.userId, s.subject, s.topic, s.startTime, " +
+            "s.endTime, s.durationMinutes, s.methods, s.effectivenessRating, s.focusLevel, s.goalAchieved, s.createdAt)";
     
-    List<StudySession> findByUserIdAndSubjectOrderByStartTimeDesc(Long userId, String subject);
+    // Listen-Queries mit Projektion: StudySessionSummary (ohne notes) oder StudySession.class für die volle Entity
+    <T> List<T> findByUserIdOrderByStartTimeDesc(Long userId, Class<T> type);
     
-    @Query("SELECT s FROM StudySession s WHERE s.userId = :userId " +
-           "AND s.startTime BETWEEN :startDate AND :endDate " +
-           "ORDER BY s.startTime DESC")
-    List<StudySession> findByUserIdAndStartTimeBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
+    <T> List<T> findByUserIdAndSubjectOrderByStartTimeDesc(Long userId, String subject, Class<T> type);
+    
+    <T> List<T> findByUserIdAndStartTimeBetweenOrderByStartTimeDesc(Long userId, LocalDateTime startDate, LocalDateTime endDate, Class<T> type);
+    
+    // Laufende Sessions (noch kein Ende)
+    <T> List<T> findByUserIdAndEndTimeIsNullOrderByStartTimeDesc(Long userId, Class<T> type);
+    
+    // Keyset-Pagination: (startTime, id) absteigend
+    @Query("SELECT s FROM StudySession s WHERE s.userId = :userId ORDER BY s.startTime DESC, s.id DESC")
+    List<StudySession> findFirstPage(Long userId, Pageable pageable);
     
     @Query("SELECT s FROM StudySession s WHERE s.userId = :userId " +
-           "AND s.endTime IS NULL " +
-           "ORDER BY s.startTime DESC")
-    List<StudySession> findActiveStudySessions(Long userId);
+           "AND (s.startTime < :startTime OR (s.startTime = :startTime AND s.id < :id)) " +
+           "ORDER BY s.startTime DESC, s.id DESC")
+    List<StudySession> findPageAfter(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT s FROM StudySession s WHERE s.userId = :userId ORDER BY s.startTime DESC, s.id DESC")
+    Stream<StudySession> streamByUserId(Long userId);
+    
+    @Query("SELECT " + SUMMARY + " FROM StudySession s WHERE s.userId = :userId ORDER BY s.startTime DESC, s.id DESC")
+    List<StudySessionSummary> findSummaryFirstPage(Long userId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM StudySession s WHERE s.userId = :userId " +
+           "AND (s.startTime < :startTime OR (s.startTime = :startTime AND s.id < :id)) " +
+           "ORDER BY s.startTime DESC, s.id DESC")
+    List<StudySessionSummary> findSummaryPageAfter(Long userId, LocalDateTime startTime, Long id, Pageable pageable);
     
     @Query("SELECT SUM(s.durationMinutes) FROM StudySession s " +
            "WHERE s.userId = :userId AND s.subject = :subject")
@@ -1,5 +1,6 @@
 package com.lifehub.repository;
 
+import com.lifehub.dto.TimetableEntrySummary;
 import com.lifehub.model.TimetableEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,9 +13,10 @@ import java.util.List;
 @Repository
 public interface TimetableRepository extends JpaRepository<TimetableEntry, Long> {
     
-    List<TimetableEntry> findByUserIdOrderByDayOfWeekAscStartTimeAsc(Long userId);
+    // Listen-Queries mit Projektion: TimetableEntrySummary (ohne notes) oder TimetableEntry.class
+    <T> List<T> findByUserIdOrderByDayOfWeekAscStartTimeAsc(Long userId, Class<T> type);
     
-    List<TimetableEntry> findByUserIdAndDayOfWeekOrderByStartTimeAsc(Long userId, DayOfWeek dayOfWeek);
+    <T> List<T> findByUserIdAndDayOfWeekOrderByStartTimeAsc(Long userId, DayOfWeek dayOfWeek, Class<T> type);
     
     @Query("SELECT t FROM TimetableEntry t WHERE t.userId = :userId " +
            "AND (t.validFrom IS NULL OR t.validFrom <= :date) " +
@@ -22,7 +24,15 @@ public interface TimetableRepository extends JpaRepository<TimetableEntry, Long>
            "ORDER BY t.startTime")
     List<TimetableEntry> findValidEntriesForUserAndDate(Long userId, LocalDate date);
     
-    List<TimetableEntry> findByUserIdAndSubject(Long userId, String subject);
+    @Query("SELECT new com.lifehub.dto.TimetableEntrySummary(t.id, t.userId, t.subject, t.teacher, t.room, " +
+           "t.dayOfWeek, t.startTime, t.endTime, t.color, t.validFrom, t.validUntil, t.createdAt, t.updatedAt) " +
+           "FROM TimetableEntry t WHERE t.userId = :userId " +
+           "AND (t.validFrom IS NULL OR t.validFrom <= :date) " +
+           "AND (t.validUntil IS NULL OR t.validUntil >= :date) " +
+           "ORDER BY t.startTime")
+    List<TimetableEntrySummary> findValidSummariesForUserAndDate(Long userId, LocalDate date);
+    
+    <T> List<T> findByUserIdAndSubject(Long userId, String subject, Class<T> type);
     
     void deleteByUserIdAndId(Long userId, Long id);
 }
@@ -11,23 +11,24 @@ import java.util.List;
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
     
-    // Basic queries
-    List<Todo> findByUserId(Long userId);
-    List<Todo> findByUserIdAndCategory(Long userId, String category);
-    List<Todo> findByUserIdAndStatus(Long userId, Todo.Status status);
-    List<Todo> findByUserIdAndCompleted(Long userId, Boolean completed);
+    // Basic queries (Projektion: TodoSummary ohne description oder Todo.class)
+    <T> List<T> findByUserId(Long userId, Class<T> type);
+    <T> List<T> findByUserIdAndCategory(Long userId, String category, Class<T> type);
+    <T> List<T> findByUserIdAndStatus(Long userId, Todo.Status status, Class<T> type);
+    <T> List<T> findByUserIdAndCompleted(Long userId, Boolean completed, Class<T> type);
     
     // Open todos (not completed)
-    @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.completed = false ORDER BY t.dueDate ASC, t.priority DESC")
-    List<Todo> findOpenTodosByUserId(Long userId);
+    <T> List<T> findByUserIdAndCompletedFalseOrderByDueDateAscPriorityDesc(Long userId, Class<T> type);
     
     // Open todos with due date
     @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.completed = false AND t.dueDate IS NOT NULL ORDER BY t.dueDate ASC")
     List<Todo> findOpenTodosWithDueDateByUserId(Long userId);
     
+    // Open todos due on one day (Agenda)
+    <T> List<T> findByUserIdAndCompletedFalseAndDueDateOrderByPriorityDesc(Long userId, LocalDate dueDate, Class<T> type);
+    
     // Overdue todos
-    @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.completed = false AND t.dueDate < :today ORDER BY t.dueDate ASC")
-    List<Todo> findOverdueTodos(Long userId, LocalDate today);
+    <T> List<T> findByUserIdAndCompletedFalseAndDueDateBeforeOrderByDueDateAsc(Long userId, LocalDate today, Class<T> type);
     
     // Due soon (next 7 days)
     @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.completed = false AND t.dueDate BETWEEN :startDate AND :endDate ORDER BY t.dueDate ASC")
@@ -36,4 +37,11 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     // Count by status
     Long countByUserIdAndCompleted(Long userId, Boolean completed);
     Long countByUserIdAndStatus(Long userId, Todo.Status status);
+    
+    // Dashboard stats in one pass: open, completed, overdue
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.completed = false THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate < :today THEN 1 ELSE 0 END), 0) " +
+           "FROM Todo t WHERE t.userId = :userId")
+    List<Object[]> countDashboardStats(Long userId, LocalDate today);
 }
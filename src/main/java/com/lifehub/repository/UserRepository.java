@@ -2,8 +2,10 @@ package com.lifehub.repository;
 
 import com.lifehub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Start-Daten nach dem Login in einem Statement: [User, UserSettings, UserProfile, SidebarConfig], fehlende Zeilen null
+    @Query("SELECT u, s, p, c FROM User u " +
+           "LEFT JOIN UserSettings s ON s.userId = u.id " +
+           "LEFT JOIN UserProfile p ON p.userId = u.id " +
+           "LEFT JOIN SidebarConfig c ON c.userId = u.id " +
+           "WHERE u.id = :userId")
+    List<Object[]> findBootstrapData(Long userId);
 }
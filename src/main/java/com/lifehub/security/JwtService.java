@@ -1,9 +1,11 @@
 package com.lifehub.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,22 @@ public class JwtService {
     @Value("${spring.security.jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${spring.security.jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+
+    // Key und Parser werden einmalig gebaut statt bei jedem Parse
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+    private VerifiedClaimsCache claimsCache;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+        this.claimsCache = new VerifiedClaimsCache(claimsCacheSize);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -69,16 +87,20 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Wirft bei ungültiger Signatur oder abgelaufenem Token -> nur verifizierte Claims landen im Cache
+        Claims claims = jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
+        claimsCache.put(token, claims);
+        return claims;
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signInKey;
     }
 }
@@ -3,6 +3,7 @@ package com.lifehub.security;
 import com.lifehub.model.User;
 import com.lifehub.repository.UserRepository;
 import com.lifehub.service.FileStorageService;
+import com.lifehub.service.UserDefaultsProvisioner;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -22,6 +23,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final UserDefaultsProvisioner defaultsProvisioner;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
@@ -43,6 +45,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                             .enabled(true)
                             .build();
                     User savedUser = userRepository.save(newUser);
+                    defaultsProvisioner.ensureDefaults(savedUser.getId());
                     
                     // Erstelle User-Ordner
                     try {
@@ -0,0 +1,52 @@
+package com.lifehub.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Kurzlebiger Cache für UserDetails im JWT-Filter, spart den DB-Lookup pro Request.
+ * Wird bei jeder Änderung an einem User geleert (siehe {@link UserDetailsCacheEvictionListener}).
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final long ttlMillis;
+    private final Map<String, CachedUserDetails> entries = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(@Value("${spring.security.jwt.user-cache-ttl:60000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedUserDetails cached = entries.get(username);
+        if (cached != null && now < cached.expiresAtMillis()) {
+            return cached.userDetails();
+        }
+
+        UserDetails userDetails = loader.apply(username);
+        if (ttlMillis > 0) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.values().removeIf(entry -> now >= entry.expiresAtMillis());
+                if (entries.size() >= MAX_ENTRIES) {
+                    entries.clear();
+                }
+            }
+            entries.put(username, new CachedUserDetails(userDetails, now + ttlMillis));
+        }
+        return userDetails;
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private record CachedUserDetails(UserDetails userDetails, long expiresAtMillis) {}
+}
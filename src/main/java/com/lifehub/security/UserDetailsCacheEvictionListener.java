@@ -0,0 +1,38 @@
+package com.lifehub.security;
+
+import com.lifehub.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA-Listener auf {@link User}: leert den UserDetails-Cache, sobald ein User geändert
+ * (z.B. deaktiviert) oder gelöscht wird.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheEvictionListener {
+
+    private final UserDetailsCache userDetailsCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        // Bei Umbenennung kennen wir den alten Username nicht mehr -> kompletter Reset (User-Updates sind selten)
+        userDetailsCache.evictAll();
+
+        // Der Flush passiert vor dem Commit: ein paralleler Request kann bis dahin noch die alten UserDetails
+        // cachen (z.B. einen gerade deaktivierten User), deshalb nach Transaktionsende ein zweites Mal leeren
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDetailsCache.evictAll();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.lifehub.service;
+
+import com.lifehub.dto.AgendaItem;
+import com.lifehub.dto.ExamSummary;
+import com.lifehub.dto.HomeworkSummary;
+import com.lifehub.dto.TimetableEntrySummary;
+import com.lifehub.dto.TodoSummary;
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.repository.ExamRepository;
+import com.lifehub.repository.HomeworkRepository;
+import com.lifehub.repository.TimetableRepository;
+import com.lifehub.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgendaService {
+
+    // Termine, die das Backend aus dem aktiven Trainingsplan anlegt
+    // (TrainingPlanCalendarSync.CATEGORY und RELATED_ENTITY_TYPE, dort der Schlüssel beim Abgleich)
+    private static final String TRAINING_CATEGORY = "trainingsplan";
+    private static final String TRAINING_ENTITY_TYPE = "TRAINING";
+
+    private final TimetableRepository timetableRepository;
+    private final CalendarEventService calendarEventService;
+    private final HomeworkRepository homeworkRepository;
+    private final ExamRepository examRepository;
+    private final TodoRepository todoRepository;
+    private final DashboardService dashboardService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${lifehub.agenda.deadline-millis:2000}")
+    private long deadlineMillis;
+
+    // Gleichzeitige Queries pro Agenda-Request, Default: alle sechs Teile auf einmal. Jeder Teil hält dabei eine
+    // Hikari-Connection, die Pool-Größe muss das einplanen (PERFORMANCE_PROFILE.md, Hikari-Sizing)
+    @Value("${lifehub.agenda.max-parallel:6}")
+    private int maxParallel;
+
+    /**
+     * Lädt die Agenda eines Tages: Stundenplan, Termine (inkl. Trainingsplan), Hausaufgaben, Prüfungen, Todos
+     * und Dashboard-Zahlen laufen je auf einem eigenen virtuellen Thread mit eigener Connection, davon höchstens
+     * {@code lifehub.agenda.max-parallel} (Default alle sechs) gleichzeitig. Schlägt ein Teil fehl, wird der Rest
+     * abgebrochen. Was bis zur Deadline nicht fertig ist, fehlt in der Antwort und steht in
+     * {@link Agenda#incomplete()}.
+     */
+    public Agenda load(Long userId, LocalDate date) {
+        try (FanOut fanOut = new FanOut(Duration.ofMillis(deadlineMillis), maxParallel, transactionManager)) {
+            Future<List<TimetableEntrySummary>> lessons = fanOut.fork("timetable",
+                    () -> timetableRepository.findValidSummariesForUserAndDate(userId, date));
+            Future<List<CalendarEvent>> events = fanOut.fork("events",
+                    () -> calendarEventService.findToday(userId, date));
+            Future<List<HomeworkSummary>> homework = fanOut.fork("homework",
+                    () -> homeworkRepository
+                            .findByUserIdAndCompletedFalseAndDueDateGreaterThanEqualOrderByDueDateAscPriorityDesc(
+                                    userId, date, HomeworkSummary.class));
+            Future<List<ExamSummary>> exams = fanOut.fork("exams",
+                    () -> examRepository.findByUserIdAndExamDateGreaterThanEqualOrderByExamDateAscStartTimeAsc(
+                            userId, date, ExamSummary.class));
+            Future<List<TodoSummary>> todos = fanOut.fork("todos",
+                    () -> todoRepository.findByUserIdAndCompletedFalseAndDueDateOrderByPriorityDesc(
+                            userId, date, TodoSummary.class));
+            Future<DashboardService.DashboardStats> stats = fanOut.fork("stats",
+                    () -> dashboardService.loadStats(userId, date));
+            fanOut.join();
+
+            List<HomeworkSummary> upcomingHomework = fanOut.result(homework, List.of());
+            List<ExamSummary> upcomingExams = fanOut.result(exams, List.of());
+
+            // Hausaufgaben und Prüfungen des Tages sind Teilmengen der anstehenden, keine eigene Query
+            List<AgendaItem> items = new ArrayList<>();
+            for (TimetableEntrySummary lesson : fanOut.result(lessons, List.of())) {
+                if (lesson.dayOfWeek() == date.getDayOfWeek()) {
+                    items.add(new AgendaItem(AgendaItem.Type.LESSON, lesson.id(), lesson.subject(), lesson.subject(),
+                            lesson.room(), lesson.startTime(), lesson.endTime(), lesson.color()));
+                }
+            }
+            for (CalendarEvent event : fanOut.result(events, List.of())) {
+                boolean allDay = Boolean.TRUE.equals(event.getAllDay());
+                AgendaItem.Type type = TRAINING_CATEGORY.equals(event.getCategory())
+                        && TRAINING_ENTITY_TYPE.equals(event.getRelatedEntityType())
+                        ? AgendaItem.Type.TRAINING : AgendaItem.Type.EVENT;
+                // Vorkommen einer Serie haben keine id; an einem Tag gibt es pro Serie höchstens eins
+                Long id = event.getId() != null ? event.getId() : event.getSeriesId();
+                items.add(new AgendaItem(type, id, event.getTitle(), null, event.getLocation(),
+                        allDay ? null : event.getStartTime(), allDay ? null : event.getEndTime(), event.getColor()));
+            }
+            for (HomeworkSummary hw : upcomingHomework) {
+                if (date.equals(hw.dueDate())) {
+                    items.add(new AgendaItem(AgendaItem.Type.HOMEWORK, hw.id(), hw.title(), hw.subject(),
+                            null, null, null, null));
+                }
+            }
+            for (ExamSummary exam : upcomingExams) {
+                if (date.equals(exam.examDate())) {
+                    items.add(new AgendaItem(AgendaItem.Type.EXAM, exam.id(),
+                            exam.title() != null ? exam.title() : exam.subject(), exam.subject(), exam.room(),
+                            exam.startTime(), examEnd(exam), null));
+                }
+            }
+            for (TodoSummary todo : fanOut.result(todos, List.of())) {
+                items.add(new AgendaItem(AgendaItem.Type.TODO, todo.id(), todo.title(), null,
+                        null, null, null, todo.color()));
+            }
+            items.sort(AgendaItem.BY_TIME);
+
+            if (!fanOut.incomplete().isEmpty()) {
+                log.warn("Agenda for user {} on {} missed the {} ms deadline: {}",
+                        userId, date, deadlineMillis, fanOut.incomplete());
+            }
+            return new Agenda(date, items, upcomingHomework, upcomingExams,
+                    fanOut.result(stats, null), fanOut.incomplete());
+        }
+    }
+
+    private static LocalTime examEnd(ExamSummary exam) {
+        if (exam.startTime() == null || exam.durationMinutes() == null) {
+            return null;
+        }
+        return exam.startTime().plusMinutes(exam.durationMinutes());
+    }
+
+    /**
+     * Fan-out nach dem Muster von StructuredTaskScope.ShutdownOnFailure mit joinUntil (in Java 21 noch Preview):
+     * jede Teilaufgabe auf einem eigenen virtuellen Thread, ein Semaphor begrenzt, wie viele gleichzeitig laufen.
+     * Jede Teilaufgabe läuft in einer eigenen Read-only-Transaktion, deren Timeout die Restzeit bis zur Deadline
+     * ist; Spring gibt ihn als Query-Timeout an JPA und JDBC weiter. Am Ende des try-Blocks wird alles Offene
+     * abgebrochen und begrenzt auf die abgebrochenen Teilaufgaben gewartet.
+     */
+    private static final class FanOut implements AutoCloseable {
+
+        // Der Query-Timeout wird auf ganze Sekunden aufgerundet, spätestens so lange nach der Deadline
+        // ist jede Query abgebrochen
+        private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(2);
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+        private final Map<Future<?>, String> names = new LinkedHashMap<>();
+        private final List<String> incomplete = new ArrayList<>();
+        private final long deadlineNanos;
+        private final Semaphore permits;
+        private final PlatformTransactionManager transactionManager;
+
+        FanOut(Duration timeout, int maxParallel, PlatformTransactionManager transactionManager) {
+            this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+            this.permits = new Semaphore(Math.max(maxParallel, 1));
+            this.transactionManager = transactionManager;
+        }
+
+        <T> Future<T> fork(String name, Supplier<T> task) {
+            // Wartende Teilaufgaben blockieren im Semaphor ohne Connection; ein Abbruch unterbricht auch das Warten
+            Callable<T> limited = () -> {
+                permits.acquire();
+                try {
+                    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                    transaction.setReadOnly(true);
+                    transaction.setTimeout(remainingSeconds());
+                    return transaction.execute(status -> task.get());
+                } finally {
+                    permits.release();
+                }
+            };
+            FutureTask<T> future = new FutureTask<>(limited) {
+                @Override
+                protected void done() {
+                    completed.add(this);
+                }
+            };
+            names.put(future, name);
+            executor.execute(future);
+            return future;
+        }
+
+        /**
+         * Wartet in Fertigstellungs-Reihenfolge bis zur Deadline. Der erste Fehler bricht alle anderen
+         * Teilaufgaben ab und wird weitergeworfen; danach noch offene Teilaufgaben werden abgebrochen.
+         */
+        void join() {
+            try {
+                for (int pending = names.size(); pending > 0; pending--) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    Future<?> done = completed.poll(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        break;
+                    }
+                    try {
+                        done.get();
+                    } catch (ExecutionException e) {
+                        executor.shutdownNow();
+                        if (e.getCause() instanceof RuntimeException cause) {
+                            throw cause;
+                        }
+                        throw new IllegalStateException("Agenda section " + names.get(done) + " failed", e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading agenda", e);
+            }
+
+            names.forEach((future, name) -> {
+                if (!future.isDone() && future.cancel(true)) {
+                    incomplete.add(name);
+                }
+            });
+        }
+
+        private int remainingSeconds() {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            return (int) Math.max(1, (remainingMillis + 999) / 1000);
+        }
+
+        <T> T result(Future<T> future, T fallback) {
+            return future.state() == Future.State.SUCCESS ? future.resultNow() : fallback;
+        }
+
+        List<String> incomplete() {
+            return List.copyOf(incomplete);
+        }
+
+        @Override
+        public void close() {
+            // Abbrechen und kurz warten: eine laufende JDBC-Query reagiert nicht auf den Interrupt, sondern erst
+            // auf ihren Query-Timeout. Länger wird nicht gewartet, der Request soll nicht an einer Query hängen.
+            executor.shutdownNow();
+            try {
+                if (!executor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Agenda sections still running {} ms after cancellation", CLOSE_TIMEOUT.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * DTO für die Tages-Agenda: Einträge des Tages nach Uhrzeit, dazu alles Anstehende ab dem Tag
+     */
+    public record Agenda(
+            LocalDate date,
+            List<AgendaItem> items,
+            List<HomeworkSummary> upcomingHomework,
+            List<ExamSummary> upcomingExams,
+            DashboardService.DashboardStats stats,
+            List<String> incomplete
+    ) {}
+}
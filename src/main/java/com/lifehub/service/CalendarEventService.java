@@ -0,0 +1,269 @@
+package com.lifehub.service;
+
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.repository.CalendarEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Kalender mit wiederkehrenden Terminen: Serien werden als eine Zeile mit RRULE gespeichert und erst
+ * beim Lesen für das angefragte Fenster expandiert. Ausnahmen (EXDATE) und Einzeländerungen
+ * (eigene Zeile mit recurrenceParentId) werden dabei eingemischt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarEventService {
+
+    private static final Comparator<CalendarEvent> BY_START = Comparator
+            .comparing(CalendarEvent::getStartDate)
+            .thenComparing(CalendarEvent::getStartTime, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(CalendarEvent::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+            .thenComparing(CalendarEvent::getSeriesId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+
+    private final CalendarEventRepository eventRepository;
+    private final CalendarOccurrenceCache occurrenceCache;
+
+    /**
+     * Alle Termine mit Start im Zeitraum [from, to], Serien als einzelne Vorkommen, sortiert nach Start.
+     * Vorkommen haben keine eigene id, sondern seriesId und occurrenceDate. Die Liste gehört dem Aufrufer
+     * (Kopien, nicht die gecachten Instanzen).
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEvent> findInRange(Long userId, LocalDate from, LocalDate to, boolean includeCancelled) {
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+        return occurrenceCache.get(userId, from, to, includeCancelled,
+                () -> expand(userId, from, to, includeCancelled));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CalendarEvent> findUpcoming(Long userId, LocalDate today, LocalDate endDate) {
+        return findInRange(userId, today, endDate, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CalendarEvent> findToday(Long userId, LocalDate today) {
+        return findInRange(userId, today, today, false);
+    }
+
+    @Transactional
+    public CalendarEvent createEvent(Long userId, CalendarEvent event) {
+        event.setId(null);
+        event.setUserId(userId);
+        applyRecurrence(event);
+        return eventRepository.save(event);
+    }
+
+    @Transactional
+    public Optional<CalendarEvent> updateEvent(Long userId, Long eventId, CalendarEvent event) {
+        return eventRepository.findById(eventId)
+                .filter(existing -> existing.getUserId().equals(userId))
+                .map(existing -> {
+                    event.setId(eventId);
+                    event.setUserId(userId);
+                    event.setCreatedAt(existing.getCreatedAt());
+                    // Ausnahmen und Serien-Zuordnung sind nicht Teil des Formulars und bleiben erhalten
+                    if (event.getRecurrenceExceptions() == null) {
+                        event.setRecurrenceExceptions(existing.getRecurrenceExceptions());
+                    }
+                    event.setRecurrenceParentId(existing.getRecurrenceParentId());
+                    event.setRecurrenceDate(existing.getRecurrenceDate());
+                    applyRecurrence(event);
+                    return eventRepository.save(event);
+                });
+    }
+
+    /**
+     * Löscht einen Termin; bei Serien auch alle Einzeländerungen.
+     */
+    @Transactional
+    public boolean deleteEvent(Long userId, Long eventId) {
+        return eventRepository.findById(eventId)
+                .filter(event -> event.getUserId().equals(userId))
+                .map(event -> {
+                    eventRepository.deleteAll(eventRepository.findByRecurrenceParentId(eventId));
+                    eventRepository.delete(event);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Lässt ein einzelnes Vorkommen einer Serie aus (EXDATE). Eine vorhandene Einzeländerung für
+     * dieses Datum wird entfernt.
+     */
+    @Transactional
+    public Optional<CalendarEvent> cancelOccurrence(Long userId, Long seriesId, LocalDate date) {
+        return findSeries(userId, seriesId)
+                .map(series -> {
+                    requireOccurrence(series, date);
+                    eventRepository.findByRecurrenceParentIdAndRecurrenceDate(seriesId, date)
+                            .ifPresent(eventRepository::delete);
+
+                    Set<LocalDate> exceptions = new TreeSet<>(parseExceptions(series.getRecurrenceExceptions()));
+                    exceptions.add(date);
+                    series.setRecurrenceExceptions(exceptions.stream()
+                            .map(LocalDate::toString)
+                            .collect(Collectors.joining(",")));
+                    return eventRepository.save(series);
+                });
+    }
+
+    /**
+     * Ändert ein einzelnes Vorkommen einer Serie: legt eine Einzelzeile an (oder aktualisiert sie),
+     * die das Vorkommen am Datum date ersetzt. Die Serie selbst bleibt unverändert.
+     */
+    @Transactional
+    public Optional<CalendarEvent> overrideOccurrence(Long userId, Long seriesId, LocalDate date, CalendarEvent changes) {
+        return findSeries(userId, seriesId)
+                .map(series -> {
+                    requireOccurrence(series, date);
+                    Optional<CalendarEvent> existing = eventRepository.findByRecurrenceParentIdAndRecurrenceDate(seriesId, date);
+
+                    changes.setId(existing.map(CalendarEvent::getId).orElse(null));
+                    changes.setCreatedAt(existing.map(CalendarEvent::getCreatedAt).orElse(null));
+                    changes.setUserId(userId);
+                    changes.setRecurring(false);
+                    changes.setRecurrenceRule(null);
+                    changes.setRecurrenceEndDate(null);
+                    changes.setRecurrenceExceptions(null);
+                    changes.setRecurrenceParentId(seriesId);
+                    changes.setRecurrenceDate(date);
+                    if (changes.getStartDate() == null) {
+                        changes.setStartDate(date);
+                    }
+                    return eventRepository.save(changes);
+                });
+    }
+
+    // ============================================
+    // Expansion
+    // ============================================
+
+    private List<CalendarEvent> expand(Long userId, LocalDate from, LocalDate to, boolean includeCancelled) {
+        // Einzeltermine enthalten auch die Einzeländerungen von Serien (eigene Zeilen)
+        List<CalendarEvent> result = new ArrayList<>(eventRepository.findSingleEventsInRange(userId, from, to));
+
+        List<CalendarEvent> series = eventRepository.findRecurringCandidates(userId, from, to);
+        if (!series.isEmpty()) {
+            Map<Long, Set<LocalDate>> overridden = new HashMap<>();
+            for (Object[] row : eventRepository.findOverriddenOccurrences(series.stream().map(CalendarEvent::getId).toList())) {
+                overridden.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+            }
+
+            for (CalendarEvent master : series) {
+                expandSeries(master, from, to, overridden.getOrDefault(master.getId(), Set.of()), result);
+            }
+        }
+
+        if (!includeCancelled) {
+            result.removeIf(event -> event.getStatus() == CalendarEvent.EventStatus.CANCELLED);
+        }
+        result.sort(BY_START);
+        return result;
+    }
+
+    private void expandSeries(CalendarEvent master, LocalDate from, LocalDate to,
+                              Set<LocalDate> overridden, List<CalendarEvent> result) {
+        RecurrenceRule rule = parseRule(master);
+        if (rule == null) {
+            // Altdaten ohne gültige RRULE verhalten sich wie ein Einzeltermin
+            if (!master.getStartDate().isBefore(from) && !master.getStartDate().isAfter(to)) {
+                result.add(master);
+            }
+            return;
+        }
+
+        Set<LocalDate> exceptions = parseExceptions(master.getRecurrenceExceptions());
+        long durationDays = master.getEndDate() != null
+                ? ChronoUnit.DAYS.between(master.getStartDate(), master.getEndDate())
+                : 0;
+
+        for (LocalDate date : rule.occurrences(master.getStartDate(), from, to)) {
+            if (exceptions.contains(date) || overridden.contains(date)) {
+                continue;
+            }
+            result.add(master.toBuilder()
+                    .id(null)
+                    .seriesId(master.getId())
+                    .startDate(date)
+                    .endDate(master.getEndDate() != null ? date.plusDays(durationDays) : null)
+                    .occurrenceDate(date)
+                    .build());
+        }
+    }
+
+    private RecurrenceRule parseRule(CalendarEvent master) {
+        if (master.getRecurrenceRule() == null || master.getRecurrenceRule().isBlank()) {
+            return null;
+        }
+        try {
+            return RecurrenceRule.parse(master.getRecurrenceRule());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid recurrence rule of event {}: {}", master.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Validiert die RRULE und berechnet das Serienende für die Fenster-Query.
+     */
+    private void applyRecurrence(CalendarEvent event) {
+        if (!Boolean.TRUE.equals(event.getRecurring())) {
+            event.setRecurrenceEndDate(null);
+            return;
+        }
+        if (event.getRecurrenceRule() == null || event.getRecurrenceRule().isBlank()) {
+            throw new IllegalArgumentException("Recurring event requires a recurrence rule");
+        }
+        if (event.getStartDate() == null) {
+            throw new IllegalArgumentException("Recurring event requires a start date");
+        }
+        event.setRecurrenceEndDate(RecurrenceRule.parse(event.getRecurrenceRule()).lastOccurrence(event.getStartDate()));
+    }
+
+    private Optional<CalendarEvent> findSeries(Long userId, Long seriesId) {
+        return eventRepository.findById(seriesId)
+                .filter(event -> event.getUserId().equals(userId))
+                .filter(event -> Boolean.TRUE.equals(event.getRecurring()));
+    }
+
+    private static void requireOccurrence(CalendarEvent series, LocalDate date) {
+        boolean occurs = !RecurrenceRule.parse(series.getRecurrenceRule())
+                .occurrences(series.getStartDate(), date, date)
+                .isEmpty();
+        if (!occurs) {
+            throw new IllegalArgumentException("Event " + series.getId() + " has no occurrence on " + date);
+        }
+    }
+
+    private static Set<LocalDate> parseExceptions(String exceptions) {
+        if (exceptions == null || exceptions.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(exceptions.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(LocalDate::parse)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,123 @@
+package com.lifehub.service;
+
+import com.lifehub.model.CalendarEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache für expandierte Kalender-Fenster pro User (LRU, wenige Fenster pro User).
+ * Jede Änderung an einem Termin des Users verwirft alle seine Fenster
+ * (siehe {@link CalendarOccurrenceCacheEvictionListener}).
+ *
+ * Die gecachten Events verlassen den Cache nie: jeder Aufruf bekommt eigene Kopien, die er ändern darf,
+ * ohne andere (auch parallele) Requests zu beeinflussen.
+ */
+@Component
+public class CalendarOccurrenceCache {
+
+    private static final int MAX_USERS = 10_000;
+    private static final int MAX_WINDOWS_PER_USER = 16;
+
+    private final Map<Long, UserWindows> users = new ConcurrentHashMap<>();
+
+    public List<CalendarEvent> get(Long userId, LocalDate from, LocalDate to, boolean includeCancelled,
+                                   Supplier<List<CalendarEvent>> loader) {
+        Window window = new Window(from, to, includeCancelled);
+        UserWindows windows = users.get(userId);
+        if (windows == null) {
+            if (users.size() >= MAX_USERS) {
+                users.clear();
+            }
+            windows = users.computeIfAbsent(userId, id -> new UserWindows());
+        }
+
+        // Version vor dem Laden merken: wurde währenddessen invalidiert, wird das Ergebnis nicht gecacht
+        long version = windows.version();
+        List<CalendarEvent> cached = windows.get(window);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        List<CalendarEvent> loaded = copyOf(loader.get());
+        windows.putIfCurrent(window, List.copyOf(loaded), version);
+        return copyOf(loaded);
+    }
+
+    public void invalidate(Long userId) {
+        UserWindows windows = users.get(userId);
+        if (windows != null) {
+            windows.clear();
+        }
+    }
+
+    // Alle Felder sind immutable (Strings, java.time, Enums) -> toBuilder() reicht als tiefe Kopie
+    private static List<CalendarEvent> copyOf(List<CalendarEvent> events) {
+        List<CalendarEvent> copies = new ArrayList<>(events.size());
+        for (CalendarEvent event : events) {
+            copies.add(event.toBuilder().build());
+        }
+        return copies;
+    }
+
+    private record Window(LocalDate from, LocalDate to, boolean includeCancelled) {}
+
+    private static final class UserWindows {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Window, List<CalendarEvent>> windows =
+                new LinkedHashMap<>(MAX_WINDOWS_PER_USER, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Window, List<CalendarEvent>> eldest) {
+                        return size() > MAX_WINDOWS_PER_USER;
+                    }
+                };
+        private long version;
+
+        long version() {
+            lock.lock();
+            try {
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<CalendarEvent> get(Window window) {
+            lock.lock();
+            try {
+                return windows.get(window);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putIfCurrent(Window window, List<CalendarEvent> events, long expectedVersion) {
+            lock.lock();
+            try {
+                if (version == expectedVersion) {
+                    windows.put(window, events);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                version++;
+                windows.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lifehub.service;
+
+import com.lifehub.model.CalendarEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA-Listener auf {@link CalendarEvent}: verwirft die expandierten Kalender-Fenster des Users
+ * bei jedem Insert/Update/Delete eines Termins.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarOccurrenceCacheEvictionListener {
+
+    private final CalendarOccurrenceCache occurrenceCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEventChanged(CalendarEvent event) {
+        Long userId = event.getUserId();
+        occurrenceCache.invalidate(userId);
+
+        // Der Flush passiert vor dem Commit: ein paralleler Read kann bis dahin noch den alten Stand cachen,
+        // deshalb nach Transaktionsende ein zweites Mal invalidieren
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    occurrenceCache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
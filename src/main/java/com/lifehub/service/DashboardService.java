@@ -0,0 +1,127 @@
+package com.lifehub.service;
+
+import com.lifehub.dto.CalendarEventSummary;
+import com.lifehub.dto.TodoSummary;
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final int UPCOMING_DAYS = 7;
+
+    private final TodoRepository todoRepository;
+    private final CalendarEventService calendarEventService;
+
+    /**
+     * Lädt das komplette Dashboard: offene Todos (eine Query) + Events der nächsten 7 Tage inkl. Serien (gecacht).
+     * Heutige Events, überfällige und bald fällige Todos sind Teilmengen davon und werden im Speicher gefiltert.
+     * Todos und Events ohne description (TEXT); die Details lädt das Frontend per /item/{id}.
+     */
+    @Transactional(readOnly = true)
+    public DashboardData loadDashboard(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusDays(UPCOMING_DAYS);
+
+        List<TodoSummary> openTodos =
+                todoRepository.findByUserIdAndCompletedFalseOrderByDueDateAscPriorityDesc(userId, TodoSummary.class);
+        List<CalendarEventSummary> upcomingEvents = calendarEventService.findUpcoming(userId, today, endDate).stream()
+                .map(CalendarEventSummary::of)
+                .toList();
+
+        List<TodoSummary> overdueTodos = new ArrayList<>();
+        List<TodoSummary> todosDueSoon = new ArrayList<>();
+        for (TodoSummary todo : openTodos) {
+            LocalDate dueDate = todo.dueDate();
+            if (dueDate == null) {
+                continue;
+            }
+            if (dueDate.isBefore(today)) {
+                overdueTodos.add(todo);
+            } else if (!dueDate.isAfter(endDate)) {
+                todosDueSoon.add(todo);
+            }
+        }
+
+        // Events sind nach startDate, startTime sortiert -> heutige Events bleiben nach startTime sortiert
+        List<CalendarEventSummary> todaysEvents = upcomingEvents.stream()
+                .filter(event -> today.equals(event.startDate()))
+                .toList();
+
+        return new DashboardData(
+                openTodos,
+                openTodos.size(),
+                upcomingEvents,
+                upcomingEvents.size(),
+                todaysEvents,
+                overdueTodos,
+                overdueTodos.size(),
+                todosDueSoon
+        );
+    }
+
+    /**
+     * Zählt Todos per SQL-Aggregat, ohne Entities zu laden. Events zählen als expandierte Vorkommen der
+     * 7 Tage ab {@code today} (wie upcomingEvents im Dashboard, gecacht) - eine Serie zählt so oft, wie sie stattfindet.
+     */
+    @Transactional(readOnly = true)
+    public DashboardStats loadStats(Long userId, LocalDate today) {
+        Object[] todoCounts = firstRow(todoRepository.countDashboardStats(userId, today));
+        List<CalendarEvent> upcomingEvents = calendarEventService.findUpcoming(userId, today, today.plusDays(UPCOMING_DAYS));
+        long todaysEvents = upcomingEvents.stream()
+                .filter(event -> today.equals(event.getStartDate()))
+                .count();
+
+        return new DashboardStats(
+                toLong(todoCounts, 0),
+                toLong(todoCounts, 1),
+                toLong(todoCounts, 2),
+                (long) upcomingEvents.size(),
+                todaysEvents
+        );
+    }
+
+    private static Object[] firstRow(List<Object[]> rows) {
+        return rows.isEmpty() ? new Object[0] : rows.get(0);
+    }
+
+    private static Long toLong(Object[] row, int index) {
+        if (row.length <= index || row[index] == null) {
+            return 0L;
+        }
+        return ((Number) row[index]).longValue();
+    }
+
+    /**
+     * DTO für die Dashboard-Übersicht (Feldnamen = JSON-Keys)
+     */
+    public record DashboardData(
+            List<TodoSummary> openTodos,
+            int openTodosCount,
+            List<CalendarEventSummary> upcomingEvents,
+            int upcomingEventsCount,
+            List<CalendarEventSummary> todaysEvents,
+            List<TodoSummary> overdueTodos,
+            int overdueTodosCount,
+            List<TodoSummary> todosDueSoon
+    ) {}
+
+    /**
+     * DTO für die Dashboard-Statistiken
+     */
+    public record DashboardStats(
+            Long openTodosCount,
+            Long completedTodosCount,
+            Long overdueTodosCount,
+            Long upcomingEventsCount,
+            Long todaysEventsCount
+    ) {}
+}
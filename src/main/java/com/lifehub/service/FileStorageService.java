@@ -1,22 +1,68 @@
 package com.lifehub.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class FileStorageService {
 
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    // ETags großer Notizen (nicht im Inhalts-Cache), gültig solange mtime + Größe gleich bleiben
+    private static final int MAX_LARGE_ETAGS = 256;
+
     @Value("${notes.storage.path:/app/data}")
     private String storageBasePath;
 
+    @Value("${notes.cache.max-bytes:33554432}")
+    private long cacheMaxBytes;
+
+    @Value("${notes.cache.max-file-size:1048576}")
+    private long cacheMaxFileSize;
+
+    private NoteContentCache contentCache;
+
+    private final ReentrantLock largeEtagLock = new ReentrantLock();
+    private final LinkedHashMap<Path, NoteContentCache.Entry> largeEtags = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, NoteContentCache.Entry> eldest) {
+            return size() > MAX_LARGE_ETAGS;
+        }
+    };
+
+    @PostConstruct
+    void initContentCache() {
+        this.contentCache = new NoteContentCache(cacheMaxBytes);
+    }
+
     /**
      * Erstellt beim User-Registrieren die Ordnerstruktur: username/privat, username/arbeit, username/schule
      */
@@ -53,7 +99,7 @@ public class FileStorageService {
             }
 
             Path filePath = categoryPath.resolve(filename);
-            Files.writeString(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(filePath, content);
             
             log.info("Saved note file: {}", filePath);
             return filePath.toString();
@@ -68,12 +114,12 @@ public class FileStorageService {
      */
     public String readNoteFile(String filePath) {
         try {
-            Path path = Paths.get(filePath);
-            if (!Files.exists(path)) {
+            NoteContentCache.Entry entry = readCached(Paths.get(filePath));
+            if (entry == null) {
                 log.warn("Note file not found: {}", filePath);
                 return "";
             }
-            return Files.readString(path);
+            return entry.content();
         } catch (IOException e) {
             log.error("Failed to read note file {}: {}", filePath, e.getMessage());
             throw new RuntimeException("Could not read note file", e);
@@ -86,8 +132,8 @@ public class FileStorageService {
     public void deleteNoteFile(String filePath) {
         try {
             Path path = Paths.get(filePath);
-            if (Files.exists(path)) {
-                Files.delete(path);
+            contentCache.invalidate(cacheKey(path));
+            if (Files.deleteIfExists(path)) {
                 log.info("Deleted note file: {}", filePath);
             }
         } catch (IOException e) {
@@ -101,8 +147,7 @@ public class FileStorageService {
      */
     public void updateNoteFile(String filePath, String content) {
         try {
-            Path path = Paths.get(filePath);
-            Files.writeString(path, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(Paths.get(filePath), content);
             log.info("Updated note file: {}", filePath);
         } catch (IOException e) {
             log.error("Failed to update note file {}: {}", filePath, e.getMessage());
@@ -173,7 +218,7 @@ public class FileStorageService {
                 Files.createDirectories(path.getParent());
             }
             
-            Files.writeString(path, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(path, content);
             
             log.info("Saved school note: {}", fullPath);
             
@@ -189,29 +234,130 @@ public class FileStorageService {
      * Lese Schul-Notiz
      */
     public String readSchoolNote(String username, String relativePath) {
+        return readSchoolNoteWithEtag(username, relativePath).content();
+    }
+
+    /**
+     * Lese Schul-Notiz inkl. ETag (Hash über den Inhalt). Heiße Notizen kommen aus dem LRU-Cache,
+     * dann kostet ein Aufruf nur einen stat() statt exists() + komplettem Lesen.
+     */
+    public StoredNote readSchoolNoteWithEtag(String username, String relativePath) {
         try {
-            String fullPath = storageBasePath + "/" + username + "/Schule/Notizen/" + relativePath;
-            Path path = Paths.get(fullPath);
-            
-            if (!Files.exists(path)) {
-                log.warn("School note not found: {}", fullPath);
-                return "";
+            Path path = resolveSchoolNotePath(username, relativePath);
+            NoteContentCache.Entry entry = readCached(path);
+
+            if (entry == null) {
+                log.warn("School note not found: {}", path);
+                return new StoredNote("", etagOf(new byte[0]), 0);
             }
-            
-            return Files.readString(path);
+
+            return new StoredNote(entry.content(), entry.etag(), entry.size());
         } catch (IOException e) {
             log.error("Failed to read school note", e);
             throw new RuntimeException("Could not read school note", e);
         }
     }
 
+    /**
+     * ETag und Größe einer Schul-Notiz, ohne große Dateien in den Heap zu laden
+     * (Hash blockweise über die Datei, danach gemerkt bis sich mtime oder Größe ändern).
+     * Liefert null, wenn die Datei fehlt.
+     */
+    public StoredNoteInfo statSchoolNote(String username, String relativePath) {
+        try {
+            Path path = resolveSchoolNotePath(username, relativePath);
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+
+            if (attrs.size() <= cacheMaxFileSize) {
+                NoteContentCache.Entry entry = readCached(path);
+                return entry != null ? new StoredNoteInfo(entry.etag(), entry.size()) : null;
+            }
+
+            Path key = cacheKey(path);
+            NoteContentCache.Entry known = largeEtag(key, attrs);
+            if (known != null) {
+                return new StoredNoteInfo(known.etag(), known.size());
+            }
+
+            // Kein mmap: Page-Faults auf dem NAS blockieren bei virtuellen Threads den Carrier, ohne dass die JVM
+            // einen Ersatz startet. FileChannel.read ist ein normaler blockierender Aufruf und wird kompensiert.
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+                MessageDigest digest = sha256();
+                long size = 0;
+                int read;
+                while ((read = channel.read(buffer)) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                    size += read;
+                }
+                String etag = formatEtag(digest.digest());
+                // Gemerkt mit mtime von vor dem Hashen: eine Änderung währenddessen macht den Eintrag ungültig
+                if (size == attrs.size()) {
+                    largeEtagLock.lock();
+                    try {
+                        largeEtags.put(key, new NoteContentCache.Entry(null, etag, attrs.lastModifiedTime(), size));
+                    } finally {
+                        largeEtagLock.unlock();
+                    }
+                }
+                return new StoredNoteInfo(etag, size);
+            }
+        } catch (IOException e) {
+            log.error("Failed to stat school note", e);
+            throw new RuntimeException("Could not read school note", e);
+        }
+    }
+
+    /**
+     * Streamt eine Schul-Notiz per FileChannel.transferTo direkt in den Response (kein String-Decode)
+     */
+    public void streamSchoolNote(String username, String relativePath, OutputStream out) throws IOException {
+        Path path = resolveSchoolNotePath(username, relativePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Listet alle .md-Dateien unter Schule/Notizen eines Users (relative Pfade, wie in physical_path)
+     */
+    public List<String> listSchoolNoteFiles(String username) {
+        Path basePath = Paths.get(storageBasePath, username, "Schule", "Notizen");
+        if (!Files.isDirectory(basePath)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(basePath)) {
+            return files
+                .filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".md"))
+                .map(p -> basePath.relativize(p).toString().replace('\\', '/'))
+                .toList();
+        } catch (IOException e) {
+            log.error("Failed to list school notes for user: {}", username, e);
+            throw new RuntimeException("Could not list school notes", e);
+        }
+    }
+
     /**
      * Lösche Schul-Notiz
      */
     public void deleteSchoolNote(String username, String relativePath) {
         try {
             String fullPath = storageBasePath + "/" + username + "/Schule/Notizen/" + relativePath;
-            Files.deleteIfExists(Paths.get(fullPath));
+            Path path = Paths.get(fullPath);
+            contentCache.invalidate(cacheKey(path));
+            Files.deleteIfExists(path);
             log.info("Deleted school note: {}", fullPath);
         } catch (IOException e) {
             log.error("Failed to delete school note", e);
@@ -226,6 +372,7 @@ public class FileStorageService {
         try {
             String fullPath = storageBasePath + "/" + username + "/Schule/Notizen/" + relativePath;
             Path path = Paths.get(fullPath);
+            contentCache.invalidateTree(cacheKey(path));
             
             if (Files.exists(path)) {
                 Files.walk(path)
@@ -249,6 +396,115 @@ public class FileStorageService {
     // Helper Methods
     // ============================================
 
+    private Path resolveSchoolNotePath(String username, String relativePath) {
+        return Paths.get(storageBasePath, username, "Schule", "Notizen", relativePath);
+    }
+
+    /**
+     * Schreibt erst in eine Temp-Datei im Zielordner und benennt sie dann atomar um:
+     * Leser sehen immer entweder die alte oder die neue Version, nie eine halb geschriebene Datei.
+     */
+    private void writeAtomically(Path target, String content) throws IOException {
+        Path key = cacheKey(target);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        // Kein Files.createTempFile: das legt 0600 an, wir wollen die normalen umask-Rechte der Notizen
+        Path tempFile = key.resolveSibling("." + key.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        BasicFileAttributes attrs;
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            // Vor dem Move von der eigenen Temp-Datei (rename behält mtime und Größe): nach dem Move könnte schon
+            // ein paralleler Writer die Datei ersetzt haben, dann passten seine Attribute zu unserem Inhalt
+            attrs = Files.readAttributes(tempFile, BasicFileAttributes.class);
+            try {
+                Files.move(tempFile, key, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, key, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        // Write-through: der gerade geschriebene Inhalt ist der wahrscheinlichste nächste Read
+        contentCache.invalidate(key);
+        if (bytes.length <= cacheMaxFileSize) {
+            contentCache.put(key, new NoteContentCache.Entry(content, etagOf(bytes), attrs.lastModifiedTime(), attrs.size()));
+        }
+    }
+
+    /**
+     * Liest eine Datei über den Cache. Ein Treffer wird per stat() (mtime + Größe) validiert.
+     * Liefert null, wenn die Datei nicht existiert.
+     */
+    private NoteContentCache.Entry readCached(Path path) throws IOException {
+        Path key = cacheKey(path);
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            contentCache.invalidate(key);
+            return null;
+        }
+
+        NoteContentCache.Entry cached = contentCache.get(key, attrs.lastModifiedTime(), attrs.size());
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] bytes = Files.readAllBytes(key);
+        NoteContentCache.Entry entry = new NoteContentCache.Entry(
+            new String(bytes, StandardCharsets.UTF_8), etagOf(bytes), attrs.lastModifiedTime(), bytes.length);
+
+        // Nur cachen, wenn die Datei zwischen stat() und Lesen nicht verändert wurde
+        if (bytes.length == attrs.size() && bytes.length <= cacheMaxFileSize) {
+            contentCache.put(key, entry);
+        }
+        return entry;
+    }
+
+    private NoteContentCache.Entry largeEtag(Path key, BasicFileAttributes attrs) {
+        largeEtagLock.lock();
+        try {
+            NoteContentCache.Entry entry = largeEtags.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.size() != attrs.size() || !entry.lastModified().equals(attrs.lastModifiedTime())) {
+                largeEtags.remove(key);
+                return null;
+            }
+            return entry;
+        } finally {
+            largeEtagLock.unlock();
+        }
+    }
+
+    private static Path cacheKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static String etagOf(byte[] bytes) {
+        return formatEtag(sha256().digest(bytes));
+    }
+
+    private static String formatEtag(byte[] hash) {
+        // 128 Bit des SHA-256 reichen zur Erkennung von Änderungen
+        return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private void createDirectoryIfNotExists(String path) throws IOException {
         Path dirPath = Paths.get(path);
         if (!Files.exists(dirPath)) {
@@ -267,4 +523,11 @@ public class FileStorageService {
                    .replaceAll("\\s+", "_")
                    .trim();
     }
+
+    /**
+     * Inhalt einer Notiz-Datei mit ETag (Hash über den Inhalt)
+     */
+    public record StoredNote(String content, String etag, long size) {}
+
+    public record StoredNoteInfo(String etag, long size) {}
 }
@@ -0,0 +1,151 @@
+package com.lifehub.service;
+
+import com.lifehub.model.SchoolFlashcard;
+import com.lifehub.repository.SchoolFlashcardDeckRepository;
+import com.lifehub.repository.SchoolFlashcardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Spaced Repetition nach SM-2: pro Karte werden Ease-Faktor, Intervall und Fälligkeit gespeichert.
+ * Bewertung (quality) 0-5: unter 3 gilt die Karte als vergessen und startet wieder mit 1 Tag.
+ */
+@Service
+@RequiredArgsConstructor
+public class FlashcardScheduler {
+
+    public static final int MAX_QUEUE_SIZE = 200;
+
+    private static final double MIN_EASE = 1.3;
+    private static final int PASSING_QUALITY = 3;
+
+    private final SchoolFlashcardRepository cardRepository;
+    private final SchoolFlashcardDeckRepository deckRepository;
+
+    /**
+     * Die nächsten limit fälligen Karten (über alle Decks oder nur eines), älteste Fälligkeit zuerst.
+     */
+    @Transactional(readOnly = true)
+    public List<SchoolFlashcard> getReviewQueue(Long userId, Long deckId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_QUEUE_SIZE)));
+        LocalDateTime now = LocalDateTime.now();
+        return deckId == null
+                ? cardRepository.findDueCards(userId, now, page)
+                : cardRepository.findDueCardsInDeck(userId, deckId, now, page);
+    }
+
+    @Transactional(readOnly = true)
+    public long countDue(Long userId) {
+        return cardRepository.countDueCards(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Legt eine Karte in einem Deck des Users an (sofort fällig) und zählt card_count hoch.
+     */
+    @Transactional
+    public Optional<SchoolFlashcard> createCard(Long userId, Long deckId, SchoolFlashcard card) {
+        return deckRepository.findById(deckId)
+                .filter(deck -> deck.getUserId().equals(userId))
+                .map(deck -> {
+                    card.setId(null);
+                    card.setDeckId(deckId);
+                    card.setUserId(userId);
+                    SchoolFlashcard saved = cardRepository.save(card);
+
+                    deck.setCardCount((deck.getCardCount() != null ? deck.getCardCount() : 0) + 1);
+                    deckRepository.save(deck);
+                    return saved;
+                });
+    }
+
+    /**
+     * Verbucht viele Reviews in einer Transaktion: ein SELECT für alle Karten, Updates per JDBC-Batch.
+     * Karten, die nicht existieren oder einem anderen User gehören, werden übersprungen.
+     */
+    @Transactional
+    public ReviewBatchResult submitReviews(Long userId, List<Review> reviews) {
+        for (Review review : reviews) {
+            if (review.cardId() == null || review.quality() == null || review.quality() < 0 || review.quality() > 5) {
+                throw new IllegalArgumentException("Each review needs a cardId and a quality between 0 and 5");
+            }
+        }
+
+        Map<Long, SchoolFlashcard> cards = new HashMap<>();
+        for (SchoolFlashcard card : cardRepository.findAllById(reviews.stream().map(Review::cardId).distinct().toList())) {
+            if (userId.equals(card.getUserId())) {
+                cards.put(card.getId(), card);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, SchoolFlashcard> reviewed = new LinkedHashMap<>();
+        List<Long> skipped = new ArrayList<>();
+        // Reihenfolge der Reviews einhalten: dieselbe Karte kann in einer Session mehrfach vorkommen
+        for (Review review : reviews) {
+            SchoolFlashcard card = cards.get(review.cardId());
+            if (card == null) {
+                skipped.add(review.cardId());
+                continue;
+            }
+            apply(card, review.quality(), review.reviewedAt() != null ? review.reviewedAt() : now);
+            reviewed.put(card.getId(), card);
+        }
+
+        cardRepository.saveAll(reviewed.values());
+        return new ReviewBatchResult(List.copyOf(reviewed.values()), skipped);
+    }
+
+    /**
+     * SM-2: neues Intervall aus Wiederholungszahl und Ease, Ease passt sich der Bewertung an.
+     */
+    private static void apply(SchoolFlashcard card, int quality, LocalDateTime reviewedAt) {
+        int repetitions = card.getRepetitions() != null ? card.getRepetitions() : 0;
+        int interval = card.getIntervalDays() != null ? card.getIntervalDays() : 0;
+        double ease = card.getEaseFactor() != null ? card.getEaseFactor() : 2.5;
+
+        if (quality < PASSING_QUALITY) {
+            repetitions = 0;
+            interval = 1;
+            card.setLapses((card.getLapses() != null ? card.getLapses() : 0) + 1);
+        } else {
+            interval = switch (repetitions) {
+                case 0 -> 1;
+                case 1 -> 6;
+                default -> (int) Math.round(interval * ease);
+            };
+            repetitions++;
+            card.setSuccessCount((card.getSuccessCount() != null ? card.getSuccessCount() : 0) + 1);
+        }
+
+        int penalty = 5 - quality;
+        ease = Math.max(MIN_EASE, ease + 0.1 - penalty * (0.08 + penalty * 0.02));
+
+        card.setRepetitions(repetitions);
+        card.setIntervalDays(interval);
+        card.setEaseFactor(Math.round(ease * 100) / 100.0);
+        card.setDueAt(reviewedAt.plusDays(interval));
+        card.setLastReviewed(reviewedAt);
+        card.setReviewCount((card.getReviewCount() != null ? card.getReviewCount() : 0) + 1);
+    }
+
+    public record Review(
+            Long cardId,
+            Integer quality,
+            LocalDateTime reviewedAt
+    ) {}
+
+    public record ReviewBatchResult(
+            List<SchoolFlashcard> cards,
+            List<Long> skippedCardIds
+    ) {}
+}
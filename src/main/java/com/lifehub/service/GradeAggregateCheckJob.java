@@ -0,0 +1,35 @@
+package com.lifehub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Nächtlicher Konsistenz-Check der Noten-Aggregate: rechnet pro User aus den Noten nach
+ * und repariert Abweichungen (eine Transaktion pro User).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GradeAggregateCheckJob {
+
+    private final GradeService gradeService;
+
+    @Scheduled(cron = "${lifehub.grades.aggregate-check-cron:0 30 3 * * *}")
+    public void checkAllAggregates() {
+        Set<Long> userIds = gradeService.findUserIdsWithGrades();
+
+        int repaired = 0;
+        for (Long userId : userIds) {
+            try {
+                repaired += gradeService.rebuildAggregates(userId).repairedSubjects();
+            } catch (Exception e) {
+                log.error("Grade aggregate check failed for user {}", userId, e);
+            }
+        }
+        log.info("Grade aggregate check: {} users, {} subjects repaired", userIds.size(), repaired);
+    }
+}
@@ -0,0 +1,285 @@
+package com.lifehub.service;
+
+import com.lifehub.model.Grade;
+import com.lifehub.model.GradeAggregate;
+import com.lifehub.repository.GradeAggregateRepository;
+import com.lifehub.repository.GradeRepository;
+import com.lifehub.repository.SchoolSubjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeService {
+
+    private final GradeRepository gradeRepository;
+    private final GradeAggregateRepository aggregateRepository;
+    private final SchoolSubjectRepository subjectRepository;
+
+    /**
+     * Speichert eine neue Note und addiert sie in O(1) auf das Fach-Aggregat.
+     */
+    @Transactional
+    public Grade createGrade(Long userId, Grade grade) {
+        grade.setId(null);
+        grade.setUserId(userId);
+        Grade saved = gradeRepository.save(grade);
+
+        addToAggregate(GradeValues.of(saved));
+        return saved;
+    }
+
+    /**
+     * Aktualisiert eine Note: alte Werte werden vom Aggregat abgezogen, neue addiert
+     * (auch wenn sich das Fach geändert hat).
+     */
+    @Transactional
+    public Optional<Grade> updateGrade(Long userId, Long gradeId, Grade grade) {
+        return gradeRepository.findById(gradeId)
+                .filter(existing -> existing.getUserId().equals(userId))
+                .map(existing -> {
+                    // Snapshot vor dem Merge, danach ist existing bereits überschrieben
+                    GradeValues before = GradeValues.of(existing);
+
+                    grade.setId(gradeId);
+                    grade.setUserId(userId);
+                    grade.setCreatedAt(existing.getCreatedAt());
+                    Grade saved = gradeRepository.save(grade);
+
+                    removeFromAggregate(before);
+                    addToAggregate(GradeValues.of(saved));
+                    return saved;
+                });
+    }
+
+    @Transactional
+    public boolean deleteGrade(Long userId, Long gradeId) {
+        return gradeRepository.findById(gradeId)
+                .filter(grade -> grade.getUserId().equals(userId))
+                .map(grade -> {
+                    GradeValues before = GradeValues.of(grade);
+                    gradeRepository.delete(grade);
+                    removeFromAggregate(before);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeAggregate> getAggregates(Long userId) {
+        return aggregateRepository.findByUserIdOrderBySubjectAsc(userId).stream()
+                .filter(aggregate -> aggregate.getGradeCount() > 0)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<GradeAggregate> getAggregate(Long userId, String subject) {
+        return aggregateRepository.findByUserIdAndSubject(userId, subject)
+                .filter(aggregate -> aggregate.getGradeCount() > 0);
+    }
+
+    /**
+     * Gesamtstatistik aus den Fach-Aggregaten (eine Query, keine Noten-Entities).
+     */
+    @Transactional(readOnly = true)
+    public OverallStats getOverallStats(Long userId) {
+        List<Object[]> rows = aggregateRepository.sumOverallByUserId(userId);
+        Object[] row = rows.isEmpty() ? new Object[5] : rows.get(0);
+
+        long count = row[2] != null ? ((Number) row[2]).longValue() : 0;
+        if (count == 0) {
+            return new OverallStats(0, null, null, null);
+        }
+
+        BigDecimal weightedSum = (BigDecimal) row[0];
+        BigDecimal weightTotal = (BigDecimal) row[1];
+        BigDecimal average = weightTotal.signum() != 0
+                ? weightedSum.divide(weightTotal, MathContext.DECIMAL64)
+                : null;
+
+        return new OverallStats(count, average, (BigDecimal) row[3], (BigDecimal) row[4]);
+    }
+
+    /**
+     * Konsistenz-Check: berechnet die Aggregate eines Users aus den Noten neu und korrigiert Abweichungen.
+     * Liefert die Anzahl korrigierter Fächer.
+     */
+    @Transactional
+    public RebuildResult rebuildAggregates(Long userId) {
+        Map<String, GradeAggregate> existing = new HashMap<>();
+        for (GradeAggregate aggregate : aggregateRepository.findByUserIdOrderBySubjectAsc(userId)) {
+            existing.put(aggregate.getSubject(), aggregate);
+        }
+
+        int checked = 0;
+        int repaired = 0;
+        for (Object[] row : gradeRepository.computeAggregatesBySubject(userId)) {
+            String subject = (String) row[0];
+            GradeAggregate expected = GradeAggregate.builder()
+                    .userId(userId)
+                    .subject(subject)
+                    .weightedSum(toBigDecimal(row[1]))
+                    .weightTotal(toBigDecimal(row[2]))
+                    .gradeSum(toBigDecimal(row[3]))
+                    .gradeCount(((Number) row[4]).longValue())
+                    .minGrade((BigDecimal) row[5])
+                    .maxGrade((BigDecimal) row[6])
+                    .build();
+
+            GradeAggregate actual = existing.remove(subject);
+            checked++;
+            if (actual == null || !matches(actual, expected)) {
+                if (actual != null) {
+                    expected.setId(actual.getId());
+                }
+                aggregateRepository.save(expected);
+                syncSubjectAverage(userId, subject, expected.getWeightedAverage());
+                repaired++;
+            }
+        }
+
+        // Aggregate ohne Noten (z.B. alle Noten gelöscht) entfernen
+        for (GradeAggregate orphan : existing.values()) {
+            aggregateRepository.delete(orphan);
+            if (orphan.getGradeCount() != 0) {
+                repaired++;
+            }
+        }
+
+        if (repaired > 0) {
+            log.warn("Grade aggregates for user {} were inconsistent: {} of {} subjects repaired", userId, repaired, checked);
+        }
+        return new RebuildResult(checked, repaired);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> findUserIdsWithGrades() {
+        Set<Long> userIds = new LinkedHashSet<>(gradeRepository.findDistinctUserIds());
+        userIds.addAll(aggregateRepository.findDistinctUserIds());
+        return userIds;
+    }
+
+    // ============================================
+    // Incremental maintenance
+    // ============================================
+
+    private void addToAggregate(GradeValues values) {
+        GradeAggregate aggregate = lockAggregate(values.userId(), values.subject());
+
+        aggregate.setWeightedSum(aggregate.getWeightedSum().add(values.grade().multiply(values.weight())));
+        aggregate.setWeightTotal(aggregate.getWeightTotal().add(values.weight()));
+        aggregate.setGradeSum(aggregate.getGradeSum().add(values.grade()));
+        aggregate.setGradeCount(aggregate.getGradeCount() + 1);
+        aggregate.setMinGrade(aggregate.getMinGrade() == null ? values.grade() : aggregate.getMinGrade().min(values.grade()));
+        aggregate.setMaxGrade(aggregate.getMaxGrade() == null ? values.grade() : aggregate.getMaxGrade().max(values.grade()));
+
+        aggregateRepository.save(aggregate);
+        syncSubjectAverage(values.userId(), values.subject(), aggregate.getWeightedAverage());
+    }
+
+    private void removeFromAggregate(GradeValues values) {
+        GradeAggregate aggregate = lockAggregate(values.userId(), values.subject());
+
+        long count = aggregate.getGradeCount() - 1;
+        if (count <= 0) {
+            // Leere Zeile bleibt stehen (wird vom Rebuild aufgeräumt), Reads filtern count = 0
+            aggregate.setWeightedSum(BigDecimal.ZERO);
+            aggregate.setWeightTotal(BigDecimal.ZERO);
+            aggregate.setGradeSum(BigDecimal.ZERO);
+            aggregate.setGradeCount(0L);
+            aggregate.setMinGrade(null);
+            aggregate.setMaxGrade(null);
+        } else {
+            aggregate.setWeightedSum(aggregate.getWeightedSum().subtract(values.grade().multiply(values.weight())));
+            aggregate.setWeightTotal(aggregate.getWeightTotal().subtract(values.weight()));
+            aggregate.setGradeSum(aggregate.getGradeSum().subtract(values.grade()));
+            aggregate.setGradeCount(count);
+
+            // Min/Max lassen sich nicht subtrahieren: nur wenn der Extremwert wegfällt, per Index-Query neu bestimmen
+            if (values.grade().compareTo(aggregate.getMinGrade()) == 0
+                    || values.grade().compareTo(aggregate.getMaxGrade()) == 0) {
+                Object[] minMax = gradeRepository.findMinMaxBySubject(values.userId(), values.subject()).get(0);
+                aggregate.setMinGrade((BigDecimal) minMax[0]);
+                aggregate.setMaxGrade((BigDecimal) minMax[1]);
+            }
+        }
+
+        aggregateRepository.save(aggregate);
+        syncSubjectAverage(values.userId(), values.subject(), aggregate.getWeightedAverage());
+    }
+
+    private GradeAggregate lockAggregate(Long userId, String subject) {
+        aggregateRepository.insertIfAbsent(userId, subject);
+        return aggregateRepository.findForUpdate(userId, subject)
+                .orElseThrow(() -> new IllegalStateException("Grade aggregate missing for " + subject));
+    }
+
+    private void syncSubjectAverage(Long userId, String subject, BigDecimal average) {
+        BigDecimal rounded = average != null ? average.setScale(2, RoundingMode.HALF_UP) : null;
+        subjectRepository.findByUserIdAndName(userId, subject).ifPresent(subj -> {
+            if (!Objects.equals(subj.getCurrentAverage(), rounded)) {
+                subj.setCurrentAverage(rounded);
+                subjectRepository.save(subj);
+            }
+        });
+    }
+
+    private static boolean matches(GradeAggregate actual, GradeAggregate expected) {
+        return Objects.equals(actual.getGradeCount(), expected.getGradeCount())
+                && compare(actual.getWeightedSum(), expected.getWeightedSum())
+                && compare(actual.getWeightTotal(), expected.getWeightTotal())
+                && compare(actual.getGradeSum(), expected.getGradeSum())
+                && compare(actual.getMinGrade(), expected.getMinGrade())
+                && compare(actual.getMaxGrade(), expected.getMaxGrade());
+    }
+
+    private static boolean compare(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Die für das Aggregat relevanten Werte einer Note (fehlendes Gewicht zählt als 1)
+     */
+    private record GradeValues(Long userId, String subject, BigDecimal grade, BigDecimal weight) {
+        static GradeValues of(Grade grade) {
+            return new GradeValues(
+                    grade.getUserId(),
+                    grade.getSubject(),
+                    grade.getGrade(),
+                    grade.getWeight() != null ? grade.getWeight() : BigDecimal.ONE);
+        }
+    }
+
+    public record OverallStats(
+            long totalCount,
+            BigDecimal overallAverage,
+            BigDecimal bestGrade,
+            BigDecimal worstGrade
+    ) {}
+
+    public record RebuildResult(
+            int checkedSubjects,
+            int repairedSubjects
+    ) {}
+}
@@ -0,0 +1,109 @@
+package com.lifehub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-Memory-Store pro Instanz: ein Eintrag pro (Region, User) mit TTL als Sicherheitsnetz,
+ * falls eine Änderung am Listener vorbei geschrieben wird (native SQL).
+ */
+@Component
+public class LocalUserCacheStore implements UserCacheStore {
+
+    private static final int MAX_ENTRIES_PER_REGION = 10_000;
+
+    private final long ttlMillis;
+    private final Map<String, Map<Long, Slot>> regions = new ConcurrentHashMap<>();
+
+    public LocalUserCacheStore(@Value("${lifehub.cache.user-response.ttl-millis:600000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Object get(String region, Long userId) {
+        Slot slot = slots(region).get(userId);
+        if (slot == null) {
+            return null;
+        }
+        slot.lock.lock();
+        try {
+            if (slot.value != null && System.currentTimeMillis() >= slot.expiresAtMillis) {
+                slot.value = null;
+            }
+            return slot.value;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public long version(String region, Long userId) {
+        Slot slot = slot(region, userId);
+        slot.lock.lock();
+        try {
+            return slot.version;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean putIfVersion(String region, Long userId, Object value, long version) {
+        Slot slot = slot(region, userId);
+        slot.lock.lock();
+        try {
+            if (slot.version != version) {
+                return false;
+            }
+            slot.value = value;
+            slot.expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+            return true;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(String region, Long userId) {
+        Slot slot = slot(region, userId);
+        slot.lock.lock();
+        try {
+            slot.value = null;
+            slot.version++;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    @Override
+    public long size(String region) {
+        return slots(region).values().stream().filter(slot -> slot.value != null).count();
+    }
+
+    private Slot slot(String region, Long userId) {
+        Map<Long, Slot> slots = slots(region);
+        if (slots.size() >= MAX_ENTRIES_PER_REGION && !slots.containsKey(userId)) {
+            // Leere Slots (nur noch Versionen) zuerst verwerfen, erst dann die Region komplett
+            slots.values().removeIf(slot -> slot.value == null);
+            if (slots.size() >= MAX_ENTRIES_PER_REGION) {
+                slots.clear();
+            }
+        }
+        return slots.computeIfAbsent(userId, id -> new Slot());
+    }
+
+    private Map<Long, Slot> slots(String region) {
+        return regions.computeIfAbsent(region, name -> new ConcurrentHashMap<>());
+    }
+
+    private static final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Object value;
+        private long version;
+        private long expiresAtMillis;
+    }
+}
@@ -0,0 +1,132 @@
+package com.lifehub.service;
+
+import com.lifehub.model.DailyNutrition;
+import com.lifehub.model.MealLog;
+import com.lifehub.repository.DailyNutritionRepository;
+import com.lifehub.repository.MealLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rechnet Mahlzeiten in die Tagessumme (daily_nutrition) ein: Anlegen addiert, Löschen zieht ab,
+ * Ändern macht beides (auch wenn die Mahlzeit auf einen anderen Tag verschoben wird).
+ * Das Nutrition-Modul erkennt den geänderten Tag an updated_at und zieht seine 7-/30-Tage-Summen nach.
+ *
+ * daily_nutrition kann auch von Hand gepflegte Werte enthalten, deshalb wird nicht neu berechnet, sondern
+ * korrigiert: um die Differenz der gerundeten exakten Mahlzeiten-Summe des Tages nach und vor der Änderung.
+ * So summieren sich Rundungsfehler nicht über viele Änderungen auf, und es wird nichts abgeschnitten.
+ * Läuft in der Transaktion, die auch die Mahlzeit speichert (siehe MealService).
+ */
+@Service
+@RequiredArgsConstructor
+public class MealNutritionRollup {
+
+    private static final int SUM_SCALE = 3;
+
+    private final DailyNutritionRepository dailyNutritionRepository;
+    private final MealLogRepository mealLogRepository;
+
+    @Transactional
+    public void added(MealLog meal) {
+        adjust(null, MealValues.of(meal));
+    }
+
+    @Transactional
+    public void removed(MealLog meal) {
+        adjust(MealValues.of(meal), null);
+    }
+
+    @Transactional
+    public void changed(MealValues before, MealLog after) {
+        adjust(before, MealValues.of(after));
+    }
+
+    private void adjust(MealValues before, MealValues after) {
+        if (before != null && before.date() != null) {
+            adjustDay(before.userId(), before.date(), before, after);
+        }
+        if (after != null && after.date() != null && (before == null || !after.date().equals(before.date()))) {
+            adjustDay(after.userId(), after.date(), before, after);
+        }
+    }
+
+    private void adjustDay(Long userId, LocalDate date, MealValues before, MealValues after) {
+        dailyNutritionRepository.insertIfAbsent(userId, date);
+        DailyNutrition day = dailyNutritionRepository.findForUpdate(userId, date)
+                .orElseThrow(() -> new IllegalStateException("Daily nutrition missing for " + date));
+
+        // Die Query flusht vorher: die gespeicherte bzw. gelöschte Mahlzeit ist in der Summe schon berücksichtigt
+        MealValues now = MealValues.sum(userId, date, mealLogRepository.sumByUserIdAndDate(userId, date));
+        MealValues previous = now.minus(after).plus(before);
+
+        day.setCalories(value(day.getCalories()) + now.calories() - previous.calories());
+        day.setProtein(value(day.getProtein()) + grams(now.protein()) - grams(previous.protein()));
+        day.setCarbs(value(day.getCarbs()) + grams(now.carbs()) - grams(previous.carbs()));
+        day.setFat(value(day.getFat()) + grams(now.fat()) - grams(previous.fat()));
+        dailyNutritionRepository.save(day);
+    }
+
+    private static int value(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static int grams(BigDecimal value) {
+        return value.setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    /**
+     * Stand einer Mahlzeit vor einer Änderung (oder Summe eines Tages), Makros ungerundet
+     */
+    public record MealValues(Long userId, LocalDate date, int calories, BigDecimal protein, BigDecimal carbs, BigDecimal fat) {
+
+        public static MealValues of(MealLog meal) {
+            return new MealValues(
+                    meal.getUserId(),
+                    meal.getDate(),
+                    meal.getCalories() != null ? meal.getCalories() : 0,
+                    exact(meal.getProtein()),
+                    exact(meal.getCarbs()),
+                    exact(meal.getFats()));
+        }
+
+        static MealValues sum(Long userId, LocalDate date, List<Object[]> rows) {
+            Object[] row = rows.get(0);
+            return new MealValues(userId, date, ((Number) row[0]).intValue(),
+                    exact((Number) row[1]), exact((Number) row[2]), exact((Number) row[3]));
+        }
+
+        MealValues plus(MealValues meal) {
+            return add(meal, 1);
+        }
+
+        MealValues minus(MealValues meal) {
+            return add(meal, -1);
+        }
+
+        // Nur Mahlzeiten desselben Tages zählen in dessen Summe
+        private MealValues add(MealValues meal, int sign) {
+            if (meal == null || !date.equals(meal.date())) {
+                return this;
+            }
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            return new MealValues(userId, date,
+                    calories + sign * meal.calories(),
+                    protein.add(meal.protein().multiply(factor)),
+                    carbs.add(meal.carbs().multiply(factor)),
+                    fat.add(meal.fat().multiply(factor)));
+        }
+
+        // Auf 3 Nachkommastellen, damit Gleitkomma-Reste (z.B. 12.4999999) nicht anders runden als die Eingabe
+        private static BigDecimal exact(Number value) {
+            return value != null
+                    ? BigDecimal.valueOf(value.doubleValue()).setScale(SUM_SCALE, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(SUM_SCALE);
+        }
+    }
+}
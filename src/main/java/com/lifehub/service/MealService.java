@@ -0,0 +1,62 @@
+package com.lifehub.service;
+
+import com.lifehub.model.MealLog;
+import com.lifehub.repository.MealLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Mahlzeiten anlegen, ändern, löschen - jeweils zusammen mit der Tagessumme in einer Transaktion,
+ * damit daily_nutrition nie ohne die passende Mahlzeit (oder umgekehrt) gespeichert wird.
+ */
+@Service
+@RequiredArgsConstructor
+public class MealService {
+
+    private final MealLogRepository mealLogRepository;
+    private final MealNutritionRollup nutritionRollup;
+
+    @Transactional
+    public MealLog createMeal(Long userId, MealLog meal) {
+        meal.setUserId(userId);
+        MealLog saved = mealLogRepository.save(meal);
+        nutritionRollup.added(saved);
+        return saved;
+    }
+
+    @Transactional
+    public Optional<MealLog> updateMeal(Long userId, Long mealId, MealLog changes) {
+        return mealLogRepository.findById(mealId)
+                .filter(meal -> meal.getUserId().equals(userId))
+                .map(meal -> {
+                    // Snapshot vor dem Merge, danach ist meal bereits überschrieben
+                    MealNutritionRollup.MealValues before = MealNutritionRollup.MealValues.of(meal);
+                    meal.setMealName(changes.getMealName());
+                    meal.setDescription(changes.getDescription());
+                    meal.setDate(changes.getDate());
+                    meal.setMealType(changes.getMealType());
+                    meal.setCalories(changes.getCalories());
+                    meal.setProtein(changes.getProtein());
+                    meal.setCarbs(changes.getCarbs());
+                    meal.setFats(changes.getFats());
+                    MealLog saved = mealLogRepository.save(meal);
+                    nutritionRollup.changed(before, saved);
+                    return saved;
+                });
+    }
+
+    @Transactional
+    public boolean deleteMeal(Long userId, Long mealId) {
+        return mealLogRepository.findById(mealId)
+                .filter(meal -> meal.getUserId().equals(userId))
+                .map(meal -> {
+                    mealLogRepository.delete(meal);
+                    nutritionRollup.removed(meal);
+                    return true;
+                })
+                .orElse(false);
+    }
+}
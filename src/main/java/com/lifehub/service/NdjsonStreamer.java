@@ -0,0 +1,57 @@
+package com.lifehub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Schreibt das Ergebnis einer Stream-Query als NDJSON (ein JSON-Objekt pro Zeile) in den Response.
+ * Entities werden nach dem Schreiben detached, damit der Persistence Context nicht mitwächst -
+ * der Heap-Bedarf bleibt unabhängig von der Länge der Historie.
+ *
+ * Liegt identisch in src/ und backend/src/ (zwei getrennte Anwendungen ohne gemeinsames Modul).
+ * Änderungen in beiden Kopien nachziehen - SharedSourcesTest schlägt fehl, sobald sie auseinanderlaufen.
+ */
+@Service
+@RequiredArgsConstructor
+public class NdjsonStreamer {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    public <T> StreamingResponseBody stream(Supplier<Stream<T>> query) {
+        return out -> {
+            // Stream-Queries brauchen eine offene Transaktion (Cursor bleibt bis zum Ende offen)
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    int written = 0;
+                    for (T row : (Iterable<T>) rows::iterator) {
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                        entityManager.detach(row);
+                        if (++written % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.lifehub.service;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LRU-Cache für Notiz-Inhalte, begrenzt über die Gesamtgröße in Bytes.
+ * Ein Eintrag gilt nur, solange lastModified und Größe der Datei unverändert sind
+ * (externe Änderungen am Volume werden so trotzdem erkannt).
+ */
+class NoteContentCache {
+
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    NoteContentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    Entry get(Path path, FileTime lastModified, long size) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(path);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.size() != size || !entry.lastModified().equals(lastModified)) {
+                removeLocked(path);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(Path path, Entry entry) {
+        if (entry.size() > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            removeLocked(path);
+            entries.put(path, entry);
+            currentBytes += entry.size();
+
+            // Älteste (least recently used) Einträge verwerfen, bis das Byte-Budget wieder passt
+            Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && it.hasNext()) {
+                currentBytes -= it.next().getValue().size();
+                it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(Path path) {
+        lock.lock();
+        try {
+            removeLocked(path);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge unterhalb eines Ordners (z.B. beim rekursiven Löschen)
+     */
+    void invalidateTree(Path directory) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, Entry> e = it.next();
+                if (e.getKey().startsWith(directory)) {
+                    currentBytes -= e.getValue().size();
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeLocked(Path path) {
+        Entry removed = entries.remove(path);
+        if (removed != null) {
+            currentBytes -= removed.size();
+        }
+    }
+
+    record Entry(String content, String etag, FileTime lastModified, long size) {}
+}
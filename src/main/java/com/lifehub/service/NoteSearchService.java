@@ -0,0 +1,136 @@
+package com.lifehub.service;
+
+import com.lifehub.model.SchoolNote;
+import com.lifehub.repository.SchoolNoteRepository;
+import com.lifehub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoteSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SchoolNoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+
+    /**
+     * Volltextsuche über Titel, Tags und Inhalt, nach Relevanz sortiert und seitenweise.
+     * Der Index (search_vector) wird von Postgres bei jedem Speichern der Notiz mitgepflegt.
+     */
+    @Transactional(readOnly = true)
+    public NoteSearchPage search(Long userId, String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        if (query == null || query.isBlank()) {
+            return new NoteSearchPage(List.of(), pageNumber, pageSize, 0);
+        }
+
+        long total = noteRepository.countFullText(userId, query);
+        if (total == 0) {
+            return new NoteSearchPage(List.of(), pageNumber, pageSize, 0);
+        }
+
+        List<NoteSearchHit> hits = noteRepository
+                .searchFullText(userId, query, pageSize, (long) pageNumber * pageSize)
+                .stream()
+                .map(NoteSearchService::toHit)
+                .toList();
+
+        return new NoteSearchPage(hits, pageNumber, pageSize, total);
+    }
+
+    /**
+     * Baut den Suchindex eines Users neu auf: liest alle Notiz-Dateien aus dem Storage
+     * und übernimmt geänderte Inhalte nach school_notes.content (daraus berechnet sich search_vector).
+     */
+    @Transactional
+    public RebuildResult rebuildIndex(Long userId) {
+        String username = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getUsername();
+
+        Set<String> filesOnDisk = new HashSet<>(fileStorageService.listSchoolNoteFiles(username));
+        List<SchoolNote> notes = noteRepository.findByUserId(userId);
+        List<SchoolNote> changed = new ArrayList<>();
+        int missingFiles = 0;
+
+        for (SchoolNote note : notes) {
+            if (!filesOnDisk.remove(note.getPhysicalPath())) {
+                missingFiles++;
+                continue;
+            }
+            String content = fileStorageService.readSchoolNote(username, note.getPhysicalPath());
+            if (!Objects.equals(content, note.getContent())) {
+                note.setContent(content);
+                changed.add(note);
+            }
+        }
+
+        noteRepository.saveAll(changed);
+
+        // Übrig gebliebene Dateien haben keinen DB-Eintrag (z.B. manuell abgelegt) und werden nicht indexiert
+        if (!filesOnDisk.isEmpty()) {
+            log.warn("Search rebuild for user {}: {} note files without database entry", userId, filesOnDisk.size());
+        }
+        log.info("Search rebuild for user {}: {} notes, {} updated, {} files missing",
+                userId, notes.size(), changed.size(), missingFiles);
+
+        return new RebuildResult(notes.size(), changed.size(), missingFiles, filesOnDisk.size());
+    }
+
+    private static NoteSearchHit toHit(Object[] row) {
+        return new NoteSearchHit(
+                ((Number) row[0]).longValue(),
+                row[1] != null ? ((Number) row[1]).longValue() : null,
+                (String) row[2],
+                (String) row[3],
+                (Boolean) row[4],
+                row[5] instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) row[5],
+                row[6] != null ? ((Number) row[6]).doubleValue() : 0.0,
+                (String) row[7]
+        );
+    }
+
+    /**
+     * Ein Suchtreffer (ohne vollen Inhalt, nur Snippet mit <mark>-Hervorhebung)
+     */
+    public record NoteSearchHit(
+            Long id,
+            Long folderId,
+            String title,
+            String tags,
+            Boolean isFavorite,
+            LocalDateTime updatedAt,
+            double rank,
+            String snippet
+    ) {}
+
+    public record NoteSearchPage(
+            List<NoteSearchHit> results,
+            int page,
+            int size,
+            long totalResults
+    ) {}
+
+    public record RebuildResult(
+            int notes,
+            int updated,
+            int missingFiles,
+            int unindexedFiles
+    ) {}
+}
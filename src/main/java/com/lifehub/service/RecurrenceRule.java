@@ -0,0 +1,459 @@
+package com.lifehub.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Parser und Expander für iCal-RRULEs (RFC 5545), auf Tagesebene.
+ * Unterstützt: FREQ=DAILY|WEEKLY|MONTHLY|YEARLY, INTERVAL, COUNT, UNTIL, WKST,
+ * BYDAY (inkl. Ordinal wie 2TU / -1FR bei MONTHLY/YEARLY), BYMONTHDAY, BYMONTH.
+ * DTSTART ist immer das erste Vorkommen und zählt bei COUNT mit, auch wenn es nicht zur Regel passt.
+ * YEARLY mit BYDAY/BYMONTHDAY ohne BYMONTH gilt für das ganze Jahr (Ordinal wie 20MO bezogen aufs Jahr).
+ *
+ * Die Expansion ist lazy: ohne COUNT wird direkt zur ersten Periode im angefragten
+ * Fenster gesprungen, es werden nur Vorkommen im Fenster erzeugt.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    // Der gregorianische Kalender wiederholt sich nach 400 Jahren (146097 Tage = 20871 Wochen): liefert eine Regel
+    // 400 * INTERVAL Jahre lang kein Vorkommen, liefert sie nie wieder eins (z.B. BYMONTHDAY=31;BYMONTH=2)
+    private static final int CALENDAR_CYCLE_YEARS = 400;
+
+    // Obergrenzen, damit lastOccurrence() nicht bis LocalDate.MAX läuft und 400 * INTERVAL Jahre berechenbar bleiben
+    static final int MAX_COUNT = 10_000;
+    static final int MAX_INTERVAL = 1_000;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDate until;
+    private final List<WeekdayNum> byDay;
+    private final List<Integer> byMonthDay;
+    private final Set<Integer> byMonth;
+    private final DayOfWeek weekStart;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDate until,
+                           List<WeekdayNum> byDay, List<Integer> byMonthDay, Set<Integer> byMonth,
+                           DayOfWeek weekStart) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.byMonth = byMonth;
+        this.weekStart = weekStart;
+    }
+
+    /**
+     * Parst eine RRULE, mit oder ohne "RRULE:"-Präfix. Wirft IllegalArgumentException bei ungültiger Regel.
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Empty recurrence rule");
+        }
+        String value = rule.trim();
+        if (value.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            value = value.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDate until = null;
+        List<WeekdayNum> byDay = new ArrayList<>();
+        List<Integer> byMonthDay = new ArrayList<>();
+        Set<Integer> byMonth = new TreeSet<>();
+        DayOfWeek weekStart = DayOfWeek.MONDAY;
+
+        try {
+            for (String part : value.split(";")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                int eq = part.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+                }
+                String key = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+                String val = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+
+                switch (key) {
+                    case "FREQ" -> {
+                        try {
+                            frequency = Frequency.valueOf(val);
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException("Unsupported recurrence frequency: " + val);
+                        }
+                    }
+                    case "INTERVAL" -> interval = Integer.parseInt(val);
+                    case "COUNT" -> count = Integer.parseInt(val);
+                    case "UNTIL" -> until = parseUntil(val);
+                    case "BYDAY" -> {
+                        for (String day : val.split(",")) {
+                            byDay.add(WeekdayNum.parse(day.trim()));
+                        }
+                    }
+                    case "BYMONTHDAY" -> {
+                        for (String day : val.split(",")) {
+                            int d = Integer.parseInt(day.trim());
+                            if (d == 0 || d < -31 || d > 31) {
+                                throw new IllegalArgumentException("Invalid BYMONTHDAY: " + d);
+                            }
+                            byMonthDay.add(d);
+                        }
+                    }
+                    case "BYMONTH" -> {
+                        for (String month : val.split(",")) {
+                            int m = Integer.parseInt(month.trim());
+                            if (m < 1 || m > 12) {
+                                throw new IllegalArgumentException("Invalid BYMONTH: " + m);
+                            }
+                            byMonth.add(m);
+                        }
+                    }
+                    case "WKST" -> {
+                        WeekdayNum day = WeekdayNum.parse(val);
+                        if (day.ordinal() != 0) {
+                            throw new IllegalArgumentException("Invalid WKST: " + val);
+                        }
+                        weekStart = day.day();
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + key);
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid recurrence rule: " + rule, e);
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule without FREQ: " + rule);
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("INTERVAL must be between 1 and " + MAX_INTERVAL);
+        }
+        if (count != null && (count < 1 || count > MAX_COUNT)) {
+            throw new IllegalArgumentException("COUNT must be between 1 and " + MAX_COUNT);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL must not be combined");
+        }
+        for (WeekdayNum day : byDay) {
+            if (day.ordinal() != 0 && frequency != Frequency.MONTHLY && frequency != Frequency.YEARLY) {
+                throw new IllegalArgumentException("Ordinal BYDAY is only allowed for MONTHLY/YEARLY");
+            }
+            // Ordinal über 5 nur, wenn es sich aufs ganze Jahr bezieht
+            boolean withinYear = frequency == Frequency.YEARLY && byMonth.isEmpty();
+            if (Math.abs(day.ordinal()) > 5 && !withinYear) {
+                throw new IllegalArgumentException("Invalid BYDAY ordinal: " + day.ordinal());
+            }
+        }
+        if (!byMonthDay.isEmpty() && frequency == Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYMONTHDAY is not allowed for WEEKLY");
+        }
+
+        return new RecurrenceRule(frequency, interval, count, until, List.copyOf(byDay), List.copyOf(byMonthDay),
+                Set.copyOf(byMonth), weekStart);
+    }
+
+    /**
+     * Letztes mögliches Vorkommen ab dtStart, oder null wenn die Serie unendlich ist.
+     */
+    public LocalDate lastOccurrence(LocalDate dtStart) {
+        if (until != null) {
+            return until.isBefore(dtStart) ? dtStart : until;
+        }
+        if (count != null) {
+            LocalDate[] last = {dtStart};
+            expand(dtStart, dtStart, LocalDate.MAX, date -> last[0] = date);
+            return last[0];
+        }
+        return null;
+    }
+
+    /**
+     * Alle Vorkommen im Fenster [from, to] (inklusive), aufsteigend sortiert.
+     */
+    public List<LocalDate> occurrences(LocalDate dtStart, LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        expand(dtStart, from, to, result::add);
+        return result;
+    }
+
+    private void expand(LocalDate dtStart, LocalDate from, LocalDate to, Consumer<LocalDate> sink) {
+        if (dtStart.isAfter(to)) {
+            return;
+        }
+        if (!dtStart.isBefore(from)) {
+            sink.accept(dtStart);
+        }
+
+        LocalDate end = until != null && until.isBefore(to) ? until : to;
+        if (!end.isAfter(dtStart) || end.isBefore(from) || (count != null && count == 1)) {
+            return;
+        }
+
+        // Mit COUNT muss ab dtStart gezählt werden, sonst direkt ins Fenster springen
+        long period = count == null ? firstPeriodIndex(dtStart, from) : 0;
+        int emitted = 1;
+        LocalDate lastCandidate = period == 0 ? dtStart : periodStart(dtStart, period);
+
+        while (true) {
+            LocalDate periodStart = periodStart(dtStart, period);
+            if (periodStart.isAfter(end)) {
+                return;
+            }
+
+            // Seltene Regeln (29.02., Freitag der 13.) laufen bis zum Fensterende weiter, nur unmögliche brechen ab
+            if (periodStart.isAfter(lastCandidate.plusYears((long) CALENDAR_CYCLE_YEARS * interval))) {
+                return;
+            }
+
+            List<LocalDate> candidates = candidatesInPeriod(dtStart, periodStart);
+            for (LocalDate date : candidates) {
+                if (!date.isAfter(dtStart)) {
+                    continue;
+                }
+                if (date.isAfter(end)) {
+                    return;
+                }
+                lastCandidate = date;
+                emitted++;
+                if (!date.isBefore(from)) {
+                    sink.accept(date);
+                }
+                if (count != null && emitted >= count) {
+                    return;
+                }
+            }
+            period++;
+        }
+    }
+
+    private long firstPeriodIndex(LocalDate dtStart, LocalDate from) {
+        if (!from.isAfter(dtStart)) {
+            return 0;
+        }
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(dtStart, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(startOfWeek(dtStart), startOfWeek(from));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(dtStart), YearMonth.from(from));
+            case YEARLY -> from.getYear() - dtStart.getYear();
+        };
+        return units / interval;
+    }
+
+    private LocalDate periodStart(LocalDate dtStart, long period) {
+        long step = period * interval;
+        return switch (frequency) {
+            case DAILY -> dtStart.plusDays(step);
+            case WEEKLY -> startOfWeek(dtStart).plusWeeks(step);
+            case MONTHLY -> dtStart.withDayOfMonth(1).plusMonths(step);
+            case YEARLY -> dtStart.withDayOfYear(1).plusYears(step);
+        };
+    }
+
+    private List<LocalDate> candidatesInPeriod(LocalDate dtStart, LocalDate periodStart) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        switch (frequency) {
+            case DAILY -> {
+                if (matchesFilters(periodStart)) {
+                    dates.add(periodStart);
+                }
+            }
+            case WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    dates.add(periodStart.with(TemporalAdjusters.nextOrSame(dtStart.getDayOfWeek())));
+                } else {
+                    for (WeekdayNum day : byDay) {
+                        dates.add(periodStart.with(TemporalAdjusters.nextOrSame(day.day())));
+                    }
+                }
+                dates.removeIf(date -> !byMonth.isEmpty() && !byMonth.contains(date.getMonthValue()));
+            }
+            case MONTHLY -> {
+                if (byMonth.isEmpty() || byMonth.contains(periodStart.getMonthValue())) {
+                    addMonthDates(YearMonth.from(periodStart), dtStart, dates);
+                }
+            }
+            case YEARLY -> {
+                if (byMonth.isEmpty() && (!byDay.isEmpty() || !byMonthDay.isEmpty())) {
+                    addYearDates(periodStart.getYear(), dates);
+                } else {
+                    Set<Integer> months = byMonth.isEmpty() ? Set.of(dtStart.getMonthValue()) : byMonth;
+                    for (int month : months) {
+                        addMonthDates(YearMonth.of(periodStart.getYear(), month), dtStart, dates);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(dates);
+    }
+
+    private void addMonthDates(YearMonth month, LocalDate dtStart, Set<LocalDate> dates) {
+        int length = month.lengthOfMonth();
+        if (byDay.isEmpty() && byMonthDay.isEmpty()) {
+            // Monate ohne diesen Tag (z.B. 31.) werden laut RFC übersprungen
+            if (dtStart.getDayOfMonth() <= length) {
+                dates.add(month.atDay(dtStart.getDayOfMonth()));
+            }
+            return;
+        }
+
+        for (int monthDay : byMonthDay) {
+            int day = monthDay > 0 ? monthDay : length + monthDay + 1;
+            if (day >= 1 && day <= length) {
+                dates.add(month.atDay(day));
+            }
+        }
+
+        for (WeekdayNum weekday : byDay) {
+            if (weekday.ordinal() == 0) {
+                LocalDate date = month.atDay(1).with(TemporalAdjusters.nextOrSame(weekday.day()));
+                while (date.getMonthValue() == month.getMonthValue()) {
+                    dates.add(date);
+                    date = date.plusWeeks(1);
+                }
+            } else if (weekday.ordinal() > 0) {
+                LocalDate date = month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(weekday.ordinal(), weekday.day()));
+                if (date.getMonthValue() == month.getMonthValue()) {
+                    dates.add(date);
+                }
+            } else {
+                LocalDate date = month.atEndOfMonth().with(TemporalAdjusters.previousOrSame(weekday.day()))
+                        .minusWeeks(-weekday.ordinal() - 1L);
+                if (date.getMonthValue() == month.getMonthValue()) {
+                    dates.add(date);
+                }
+            }
+        }
+
+        // BYMONTHDAY + BYDAY zusammen: nur Tage, die beide Bedingungen erfüllen
+        if (!byMonthDay.isEmpty() && !byDay.isEmpty()) {
+            dates.removeIf(date -> !matchesByDay(date) || !matchesByMonthDay(date));
+        }
+    }
+
+    /**
+     * YEARLY ohne BYMONTH: BYMONTHDAY gilt in jedem Monat (BYDAY filtert dann nur noch den Wochentag),
+     * BYDAY allein expandiert über das ganze Jahr, ein Ordinal zählt ab Jahresanfang bzw. -ende.
+     */
+    private void addYearDates(int year, Set<LocalDate> dates) {
+        if (!byMonthDay.isEmpty()) {
+            for (int month = 1; month <= 12; month++) {
+                YearMonth yearMonth = YearMonth.of(year, month);
+                int length = yearMonth.lengthOfMonth();
+                for (int monthDay : byMonthDay) {
+                    int day = monthDay > 0 ? monthDay : length + monthDay + 1;
+                    if (day >= 1 && day <= length) {
+                        LocalDate date = yearMonth.atDay(day);
+                        if (byDay.isEmpty() || matchesByDay(date)) {
+                            dates.add(date);
+                        }
+                    }
+                }
+            }
+            return;
+        }
+
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        LocalDate lastDay = LocalDate.of(year, 12, 31);
+        for (WeekdayNum weekday : byDay) {
+            LocalDate first = firstDay.with(TemporalAdjusters.nextOrSame(weekday.day()));
+            if (weekday.ordinal() == 0) {
+                for (LocalDate date = first; date.getYear() == year; date = date.plusWeeks(1)) {
+                    dates.add(date);
+                }
+            } else {
+                LocalDate date = weekday.ordinal() > 0
+                        ? first.plusWeeks(weekday.ordinal() - 1L)
+                        : lastDay.with(TemporalAdjusters.previousOrSame(weekday.day())).minusWeeks(-weekday.ordinal() - 1L);
+                if (date.getYear() == year) {
+                    dates.add(date);
+                }
+            }
+        }
+    }
+
+    private boolean matchesFilters(LocalDate date) {
+        return (byMonth.isEmpty() || byMonth.contains(date.getMonthValue()))
+                && (byDay.isEmpty() || matchesByDay(date))
+                && (byMonthDay.isEmpty() || matchesByMonthDay(date));
+    }
+
+    private boolean matchesByDay(LocalDate date) {
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (WeekdayNum day : byDay) {
+            days.add(day.day());
+        }
+        return days.contains(date.getDayOfWeek());
+    }
+
+    private boolean matchesByMonthDay(LocalDate date) {
+        int length = date.lengthOfMonth();
+        for (int monthDay : byMonthDay) {
+            int day = monthDay > 0 ? monthDay : length + monthDay + 1;
+            if (date.getDayOfMonth() == day) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LocalDate startOfWeek(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(weekStart));
+    }
+
+    private static LocalDate parseUntil(String value) {
+        // UNTIL=20251231 oder UNTIL=20251231T235959Z
+        if (value.length() >= 15 && value.charAt(8) == 'T') {
+            String dateTime = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+            return LocalDateTime.parse(dateTime, DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss")).toLocalDate();
+        }
+        return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    /**
+     * BYDAY-Eintrag, z.B. "MO" (ordinal 0), "2TU" oder "-1FR"
+     */
+    private record WeekdayNum(int ordinal, DayOfWeek day) {
+
+        static WeekdayNum parse(String value) {
+            if (value.length() < 2) {
+                throw new IllegalArgumentException("Invalid BYDAY: " + value);
+            }
+            String code = value.substring(value.length() - 2);
+            String prefix = value.substring(0, value.length() - 2);
+            int ordinal = prefix.isEmpty() ? 0 : Integer.parseInt(prefix.startsWith("+") ? prefix.substring(1) : prefix);
+            if (ordinal < -53 || ordinal > 53) {
+                throw new IllegalArgumentException("Invalid BYDAY ordinal: " + value);
+            }
+            DayOfWeek day = switch (code) {
+                case "MO" -> DayOfWeek.MONDAY;
+                case "TU" -> DayOfWeek.TUESDAY;
+                case "WE" -> DayOfWeek.WEDNESDAY;
+                case "TH" -> DayOfWeek.THURSDAY;
+                case "FR" -> DayOfWeek.FRIDAY;
+                case "SA" -> DayOfWeek.SATURDAY;
+                case "SU" -> DayOfWeek.SUNDAY;
+                default -> throw new IllegalArgumentException("Invalid BYDAY: " + value);
+            };
+            return new WeekdayNum(ordinal, day);
+        }
+    }
+}
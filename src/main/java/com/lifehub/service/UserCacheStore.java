@@ -0,0 +1,24 @@
+package com.lifehub.service;
+
+/**
+ * Speicher hinter dem {@link UserResponseCache}. Lokal {@link LocalUserCacheStore}; für mehrere Instanzen
+ * kann ein gemeinsamer Store (z.B. Redis) als eigene Bean mit @Primary eingehängt werden.
+ *
+ * Jeder (Region, User) hat eine Version, die bei jeder Invalidierung steigt: ein Wert wird nur geschrieben,
+ * wenn die Version seit Beginn des Ladens gleich geblieben ist.
+ */
+public interface UserCacheStore {
+
+    Object get(String region, Long userId);
+
+    long version(String region, Long userId);
+
+    /**
+     * Schreibt den Wert nur, wenn seit {@link #version} nicht invalidiert wurde. Liefert false sonst.
+     */
+    boolean putIfVersion(String region, Long userId, Object value, long version);
+
+    void evict(String region, Long userId);
+
+    long size(String region);
+}
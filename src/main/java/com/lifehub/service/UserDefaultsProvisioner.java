@@ -0,0 +1,87 @@
+package com.lifehub.service;
+
+import com.lifehub.model.SidebarConfig;
+import com.lifehub.model.UserProfile;
+import com.lifehub.model.UserSettings;
+import com.lifehub.repository.SidebarConfigRepository;
+import com.lifehub.repository.UserProfileRepository;
+import com.lifehub.repository.UserSettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Legt Settings, Profil und Sidebar-Config eines Users mit Defaults an - einmal bei der Registrierung.
+ * Idempotent: vorhandene Zeilen bleiben unverändert, mehrfaches Aufrufen legt nichts doppelt an
+ * (user_id ist in allen drei Tabellen unique).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDefaultsProvisioner {
+
+    private final UserSettingsRepository userSettingsRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final SidebarConfigRepository sidebarConfigRepository;
+
+    @Transactional
+    public void ensureDefaults(Long userId) {
+        if (!userSettingsRepository.existsByUserId(userId)) {
+            createDefaultUserSettings(userId);
+        }
+        if (!userProfileRepository.existsByUserId(userId)) {
+            createDefaultUserProfile(userId);
+        }
+        if (!sidebarConfigRepository.existsByUserId(userId)) {
+            createDefaultSidebarConfig(userId);
+        }
+    }
+
+    /**
+     * Erstellt Default User Settings
+     */
+    private void createDefaultUserSettings(Long userId) {
+        log.info("🔧 Creating default settings for userId: {}", userId);
+        
+        UserSettings settings = UserSettings.builder()
+                .userId(userId)
+                .theme("system")
+                .language("de")
+                .emailNotifications(true)
+                .pushNotifications(false)
+                .notificationSound(true)
+                .profileVisible(true)
+                .showOnlineStatus(true)
+                .timezone("Europe/Berlin")
+                .dateFormat("DD.MM.YYYY")
+                .timeFormat("24h")
+                .firstDayOfWeek(1)
+                .build();
+        
+        userSettingsRepository.save(settings);
+    }
+
+    /**
+     * Erstellt leeres User Profile
+     */
+    private void createDefaultUserProfile(Long userId) {
+        log.info("🔧 Creating default profile for userId: {}", userId);
+        
+        userProfileRepository.save(UserProfile.builder()
+                .userId(userId)
+                .build());
+    }
+
+    /**
+     * Erstellt Default Sidebar Config
+     */
+    private void createDefaultSidebarConfig(Long userId) {
+        log.info("🔧 Creating default sidebar config for userId: {}", userId);
+        
+        sidebarConfigRepository.save(SidebarConfig.builder()
+                .userId(userId)
+                // Defaults sind bereits im Entity mit @Builder.Default definiert
+                .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.lifehub.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache für selten geänderte, oft gelesene Antworten pro User (Sidebar, User-Daten, Fächer, Stundenplan).
+ * Invalidiert wird über JPA-Listener auf den betroffenen Entities ({@link UserResponseCacheEvictionListener}).
+ *
+ * Treffer/Fehlschläge landen als cache.gets{cache=..., result=hit|miss} in Actuator (/actuator/metrics).
+ * Gecachte Werte werden zwischen Requests geteilt und dürfen nicht verändert werden.
+ */
+@Component
+public class UserResponseCache {
+
+    public enum Region {
+        SIDEBAR, USER_DATA, SUBJECTS, TIMETABLE;
+
+        String cacheName() {
+            return "user." + name().toLowerCase();
+        }
+    }
+
+    private final UserCacheStore store;
+    private final Map<Region, Stats> stats = new EnumMap<>(Region.class);
+
+    public UserResponseCache(UserCacheStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        for (Region region : Region.values()) {
+            Stats regionStats = new Stats();
+            stats.put(region, regionStats);
+
+            String name = region.cacheName();
+            FunctionCounter.builder("cache.gets", regionStats.hits, LongAdder::doubleValue)
+                    .tags("cache", name, "result", "hit")
+                    .description("Lookups in the per-user response cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", regionStats.misses, LongAdder::doubleValue)
+                    .tags("cache", name, "result", "miss")
+                    .description("Lookups in the per-user response cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.evictions", regionStats.evictions, LongAdder::doubleValue)
+                    .tags("cache", name)
+                    .register(meterRegistry);
+            Gauge.builder("cache.size", store, s -> s.size(name))
+                    .tags("cache", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, Long userId, Supplier<T> loader) {
+        String name = region.cacheName();
+        Object cached = store.get(name, userId);
+        if (cached != null) {
+            stats.get(region).hits.increment();
+            return (T) cached;
+        }
+        stats.get(region).misses.increment();
+
+        // Version vor dem Laden merken: wurde währenddessen invalidiert, wird das Ergebnis nicht gecacht
+        long version = store.version(name, userId);
+        T loaded = loader.get();
+        if (loaded != null) {
+            store.putIfVersion(name, userId, loaded, version);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Region region, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        store.evict(region.cacheName(), userId);
+        stats.get(region).evictions.increment();
+    }
+
+    private static final class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+    }
+}
@@ -0,0 +1,83 @@
+package com.lifehub.service;
+
+import com.lifehub.model.SchoolSubject;
+import com.lifehub.model.SidebarConfig;
+import com.lifehub.model.TimetableEntry;
+import com.lifehub.model.User;
+import com.lifehub.model.UserProfile;
+import com.lifehub.model.UserSettings;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static com.lifehub.service.UserResponseCache.Region;
+
+/**
+ * JPA-Listener auf den Entities hinter dem {@link UserResponseCache}: verwirft bei Insert/Update/Delete
+ * die betroffenen Regionen des Users.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserResponseCacheEvictionListener {
+
+    private final UserResponseCache cache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEntityChanged(Object entity) {
+        Long userId = userIdOf(entity);
+        List<Region> regions = regionsOf(entity);
+        if (userId == null || regions.isEmpty()) {
+            return;
+        }
+        regions.forEach(region -> cache.invalidate(region, userId));
+
+        // Der Flush passiert vor dem Commit: ein paralleler Read kann bis dahin noch den alten Stand cachen,
+        // deshalb nach Transaktionsende ein zweites Mal invalidieren
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    regions.forEach(region -> cache.invalidate(region, userId));
+                }
+            });
+        }
+    }
+
+    private static Long userIdOf(Object entity) {
+        if (entity instanceof User user) {
+            return user.getId();
+        } else if (entity instanceof UserSettings settings) {
+            return settings.getUserId();
+        } else if (entity instanceof UserProfile profile) {
+            return profile.getUserId();
+        } else if (entity instanceof SidebarConfig config) {
+            return config.getUserId();
+        } else if (entity instanceof SchoolSubject subject) {
+            return subject.getUserId();
+        } else if (entity instanceof TimetableEntry entry) {
+            return entry.getUserId();
+        }
+        return null;
+    }
+
+    private static List<Region> regionsOf(Object entity) {
+        if (entity instanceof SidebarConfig) {
+            return List.of(Region.SIDEBAR, Region.USER_DATA);
+        } else if (entity instanceof User || entity instanceof UserSettings || entity instanceof UserProfile) {
+            return List.of(Region.USER_DATA);
+        } else if (entity instanceof SchoolSubject) {
+            return List.of(Region.SUBJECTS);
+        } else if (entity instanceof TimetableEntry) {
+            return List.of(Region.TIMETABLE);
+        }
+        return List.of();
+    }
+}
@@ -7,13 +7,14 @@ import com.lifehub.model.SidebarConfig;
 import com.lifehub.repository.UserRepository;
 import com.lifehub.repository.UserProfileRepository;
 import com.lifehub.repository.UserSettingsRepository;
-import com.lifehub.repository.SidebarConfigRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -24,8 +25,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserProfileRepository userProfileRepository;
     private final UserSettingsRepository userSettingsRepository;
-    private final SidebarConfigRepository sidebarConfigRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserResponseCache responseCache;
+    private final UserDefaultsProvisioner defaultsProvisioner;
 
     /**
      * Registriert einen neuen User mit Default-Einstellungen
@@ -55,14 +57,8 @@ public class UserService {
         user = userRepository.save(user);
         log.info("✅ User created with ID: {}", user.getId());
         
-        // 3. Erstelle Default Settings
-        createDefaultUserSettings(user.getId());
-        
-        // 4. Erstelle leeres Profile
-        createDefaultUserProfile(user.getId());
-        
-        // 5. Erstelle Default Sidebar Config
-        createDefaultSidebarConfig(user.getId());
+        // 3. Default Settings, leeres Profile und Default Sidebar Config
+        defaultsProvisioner.ensureDefaults(user.getId());
         
         log.info("✅ User registration complete for: {}", username);
         return user;
@@ -104,76 +100,36 @@ public class UserService {
     }
 
     /**
-     * Lädt alle User-Daten auf einmal (Settings, Profile, Sidebar)
+     * Lädt alle User-Daten auf einmal (Settings, Profile, Sidebar) mit einer Query.
+     * Gecacht bis zur nächsten Änderung an User, Settings, Profil oder Sidebar.
      */
-    @Transactional(readOnly = true)
     public UserDataDTO loadUserData(Long userId) {
-        log.info("🔵 Loading user data for userId: {}", userId);
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        UserSettings settings = userSettingsRepository.findByUserId(userId)
-                .orElseGet(() -> createDefaultUserSettings(userId));
-        
-        UserProfile profile = userProfileRepository.findByUserId(userId)
-                .orElseGet(() -> createDefaultUserProfile(userId));
-        
-        SidebarConfig sidebar = sidebarConfigRepository.findByUserId(userId)
-                .orElseGet(() -> createDefaultSidebarConfig(userId));
-        
-        return new UserDataDTO(user, settings, profile, sidebar);
+        return responseCache.get(UserResponseCache.Region.USER_DATA, userId, () -> readUserData(userId));
     }
 
-    /**
-     * Erstellt Default User Settings
-     */
-    private UserSettings createDefaultUserSettings(Long userId) {
-        log.info("🔧 Creating default settings for userId: {}", userId);
-        
-        UserSettings settings = UserSettings.builder()
-                .userId(userId)
-                .theme("system")
-                .language("de")
-                .emailNotifications(true)
-                .pushNotifications(false)
-                .notificationSound(true)
-                .profileVisible(true)
-                .showOnlineStatus(true)
-                .timezone("Europe/Berlin")
-                .dateFormat("DD.MM.YYYY")
-                .timeFormat("24h")
-                .firstDayOfWeek(1)
-                .build();
-        
-        return userSettingsRepository.save(settings);
-    }
-
-    /**
-     * Erstellt leeres User Profile
-     */
-    private UserProfile createDefaultUserProfile(Long userId) {
-        log.info("🔧 Creating default profile for userId: {}", userId);
-        
-        UserProfile profile = UserProfile.builder()
-                .userId(userId)
-                .build();
+    private UserDataDTO readUserData(Long userId) {
+        log.info("🔵 Loading user data for userId: {}", userId);
         
-        return userProfileRepository.save(profile);
+        UserDataDTO data = findUserData(userId);
+        if (data.settings() == null || data.profile() == null || data.sidebar() == null) {
+            // Nur für Alt-User ohne Default-Zeilen; neue User bekommen sie bei der Registrierung
+            try {
+                defaultsProvisioner.ensureDefaults(userId);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Defaults for userId {} were provisioned concurrently", userId);
+            }
+            data = findUserData(userId);
+        }
+        return data;
     }
 
-    /**
-     * Erstellt Default Sidebar Config
-     */
-    private SidebarConfig createDefaultSidebarConfig(Long userId) {
-        log.info("🔧 Creating default sidebar config for userId: {}", userId);
-        
-        SidebarConfig config = SidebarConfig.builder()
-                .userId(userId)
-                // Defaults sind bereits im Entity mit @Builder.Default definiert
-                .build();
-        
-        return sidebarConfigRepository.save(config);
+    private UserDataDTO findUserData(Long userId) {
+        List<Object[]> rows = userRepository.findBootstrapData(userId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
+        Object[] row = rows.get(0);
+        return new UserDataDTO((User) row[0], (UserSettings) row[1], (UserProfile) row[2], (SidebarConfig) row[3]);
     }
 
     /**
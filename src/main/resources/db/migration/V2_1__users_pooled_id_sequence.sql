@@ -0,0 +1,15 @@
+-- V2_1: User-IDs blockweise aus Sequence statt "niedrigste freie ID"-Suche
+-- Bestehende IDs bleiben unverändert, neue IDs starten oberhalb der aktuellen MAX(id).
+-- INCREMENT BY muss lifehub.id.block-size (application.yml) entsprechen, sonst bricht der Start ab.
+
+CREATE SEQUENCE IF NOT EXISTS users_id_seq;
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50 OWNED BY users.id;
+
+-- Pooled optimizer: nextval() liefert das obere Ende eines Blocks (hi), vergeben wird [hi - 49, hi].
+-- Daher muss der erste Block-Anfang > MAX(id) liegen.
+SELECT setval('users_id_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
+
+COMMENT ON SEQUENCE users_id_seq IS 'User-IDs, blockweise (50) vom PooledSequenceIdGenerator reserviert';
@@ -0,0 +1,16 @@
+-- V2_2: Volltextsuche über Schul-Notizen (Titel, Tags, Inhalt)
+-- Der tsvector ist eine GENERATED-Spalte: Postgres hält ihn bei jedem INSERT/UPDATE selbst aktuell,
+-- beim DELETE verschwindet der Indexeintrag mit der Zeile. Der Inhalt kommt aus school_notes.content,
+-- das beim Speichern synchron zur .md-Datei geschrieben wird (Rebuild: POST /api/school/notes/{userId}/search/rebuild).
+
+ALTER TABLE school_notes
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('german', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('simple', COALESCE(replace(tags, ',', ' '), '')), 'B') ||
+        setweight(to_tsvector('german', COALESCE(content, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_notes_search_vector ON school_notes USING GIN (search_vector);
+
+COMMENT ON COLUMN school_notes.search_vector IS 'Volltext-Index: Titel (A), Tags (B), Markdown-Inhalt (C)';
@@ -0,0 +1,34 @@
+-- V2_3: Materialisierte Notensummen pro (User, Fach)
+-- Wird bei jeder Noten-Änderung inkrementell gepflegt (GradeService), nächtlicher Konsistenz-Check repariert Drift.
+-- Durchschnitt = weighted_sum / weight_total, kein Neuberechnen über alle Noten mehr.
+
+CREATE TABLE IF NOT EXISTS grade_aggregates (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    subject VARCHAR(100) NOT NULL,
+    weighted_sum DECIMAL(14,4) NOT NULL DEFAULT 0, -- Σ grade * weight
+    weight_total DECIMAL(14,4) NOT NULL DEFAULT 0, -- Σ weight
+    grade_sum DECIMAL(14,4) NOT NULL DEFAULT 0,    -- Σ grade (ungewichteter Schnitt)
+    grade_count BIGINT NOT NULL DEFAULT 0,
+    min_grade DECIMAL(3,2),
+    max_grade DECIMAL(3,2),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_grade_aggregates_user_subject UNIQUE (user_id, subject)
+);
+
+-- Min/Max-Neuberechnung beim Löschen des Extremwerts läuft über diesen Index
+CREATE INDEX IF NOT EXISTS idx_grades_user_subject_grade ON grades(user_id, subject, grade);
+
+-- Backfill aus den bestehenden Noten
+INSERT INTO grade_aggregates (user_id, subject, weighted_sum, weight_total, grade_sum, grade_count, min_grade, max_grade)
+SELECT user_id,
+       subject,
+       SUM(grade * COALESCE(weight, 1)),
+       SUM(COALESCE(weight, 1)),
+       SUM(grade),
+       COUNT(*),
+       MIN(grade),
+       MAX(grade)
+FROM grades
+GROUP BY user_id, subject
+ON CONFLICT (user_id, subject) DO NOTHING;
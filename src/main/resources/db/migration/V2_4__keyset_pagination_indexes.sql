@@ -0,0 +1,6 @@
+-- V2_4: Indizes für Keyset-Pagination (Sortier-Key + ID als Tie-Breaker, absteigend)
+-- Jede Seite ist ein Index-Range-Scan ab dem Cursor statt OFFSET über die ganze Historie.
+
+CREATE INDEX IF NOT EXISTS idx_grades_user_received_id ON grades(user_id, received_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_study_sessions_user_start_id ON study_sessions(user_id, start_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_events_user_start_id ON calendar_events(user_id, start_date DESC, id DESC);
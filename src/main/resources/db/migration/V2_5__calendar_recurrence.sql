@@ -0,0 +1,10 @@
+-- V2_5: Wiederkehrende Termine werden beim Lesen aus der RRULE expandiert statt als Einzelzeilen gespeichert.
+-- recurrence_end_date erlaubt, Serien außerhalb des angefragten Fensters per Index auszuschließen.
+
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_end_date DATE;
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_exceptions TEXT; -- EXDATE-Liste, unbegrenzt lang
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_parent_id BIGINT REFERENCES calendar_events(id) ON DELETE CASCADE;
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_date DATE;
+
+CREATE INDEX IF NOT EXISTS idx_events_user_recurring ON calendar_events(user_id, start_date, recurrence_end_date);
+CREATE INDEX IF NOT EXISTS idx_events_recurrence_parent ON calendar_events(recurrence_parent_id, recurrence_date);
@@ -0,0 +1,25 @@
+-- V2_6: Spaced Repetition (SM-2) für Karteikarten
+-- Die Review-Queue ("nächste N fälligen Karten über alle Decks") ist ein Index-Range-Scan auf (user_id, due_at).
+
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS user_id BIGINT;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS order_index INT DEFAULT 0;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS ease_factor DOUBLE PRECISION NOT NULL DEFAULT 2.5;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS interval_days INT NOT NULL DEFAULT 0;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS repetitions INT NOT NULL DEFAULT 0;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS lapses INT NOT NULL DEFAULT 0;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS due_at TIMESTAMP;
+ALTER TABLE school_flashcards ADD COLUMN IF NOT EXISTS suspended BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- user_id vom Deck übernehmen
+UPDATE school_flashcards c
+SET user_id = d.user_id
+FROM school_flashcard_decks d
+WHERE c.deck_id = d.id AND c.user_id IS NULL;
+
+-- Bestehende Karten sind sofort fällig (bereits gelernte zuerst nach letztem Review)
+UPDATE school_flashcards
+SET due_at = COALESCE(last_reviewed, created_at, CURRENT_TIMESTAMP)
+WHERE due_at IS NULL;
+
+-- Nur aktive Karten landen in der Queue
+CREATE INDEX IF NOT EXISTS idx_flashcards_user_due ON school_flashcards(user_id, due_at, id) WHERE suspended = FALSE;
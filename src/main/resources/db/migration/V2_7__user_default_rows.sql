@@ -0,0 +1,14 @@
+-- V2_7: Default-Zeilen (Settings, Profil, Sidebar) für bestehende User nachziehen
+-- Neue User bekommen sie bei der Registrierung; loadUserData liest danach nur noch (eine Query).
+
+INSERT INTO user_settings (user_id)
+SELECT u.id FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM user_settings s WHERE s.user_id = u.id);
+
+INSERT INTO user_profile (user_id)
+SELECT u.id FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM user_profile p WHERE p.user_id = u.id);
+
+INSERT INTO sidebar_config (user_id)
+SELECT u.id FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM sidebar_config c WHERE c.user_id = u.id);
@@ -0,0 +1,16 @@
+-- V2_8: Fächer und Stundenplan-Einträge bekommen IDs blockweise aus der Sequence (wie users in V2_1)
+-- Mit IDENTITY kann Hibernate Inserts nicht batchen; die Bulk-Endpoints schreiben sonst Zeile für Zeile.
+-- INCREMENT BY muss lifehub.id.block-size (application.yml) entsprechen, sonst bricht der Start ab.
+
+CREATE SEQUENCE IF NOT EXISTS school_subjects_id_seq;
+ALTER SEQUENCE school_subjects_id_seq INCREMENT BY 50 OWNED BY school_subjects.id;
+SELECT setval('school_subjects_id_seq', COALESCE((SELECT MAX(id) FROM school_subjects), 0) + 50, false);
+ALTER TABLE school_subjects ALTER COLUMN id SET DEFAULT nextval('school_subjects_id_seq');
+
+CREATE SEQUENCE IF NOT EXISTS timetable_entries_id_seq;
+ALTER SEQUENCE timetable_entries_id_seq INCREMENT BY 50 OWNED BY timetable_entries.id;
+SELECT setval('timetable_entries_id_seq', COALESCE((SELECT MAX(id) FROM timetable_entries), 0) + 50, false);
+ALTER TABLE timetable_entries ALTER COLUMN id SET DEFAULT nextval('timetable_entries_id_seq');
+
+COMMENT ON SEQUENCE school_subjects_id_seq IS 'Fach-IDs, blockweise (50) vom PooledSequenceIdGenerator reserviert';
+COMMENT ON SEQUENCE timetable_entries_id_seq IS 'Stundenplan-IDs, blockweise (50) vom PooledSequenceIdGenerator reserviert';
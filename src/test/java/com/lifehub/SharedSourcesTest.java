@@ -0,0 +1,31 @@
+package com.lifehub;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Klassen, die als Kopie in src/ und backend/src/ liegen, müssen identisch bleiben
+ */
+class SharedSourcesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "com/lifehub/dto/CursorPage.java",
+        "com/lifehub/service/NdjsonStreamer.java"
+    })
+    void backendCopyMatches(String source) throws IOException {
+        Path app = Path.of("src/main/java", source);
+        Path backend = Path.of("backend/src/main/java", source);
+
+        assertThat(backend).exists();
+        assertThat(Files.readString(backend))
+            .as("%s und %s sind auseinandergelaufen", app, backend)
+            .isEqualTo(Files.readString(app));
+    }
+}
@@ -0,0 +1,54 @@
+package com.lifehub.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Postgres-Zweig von {@link PooledSequenceCheck#nextValue(String, String)} gegen H2 im PostgreSQL-Modus:
+ * pg_sequences und die Sequence-Relation (last_value, is_called) werden als Tabellen nachgebildet
+ */
+class PooledSequenceCheckTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PooledSequenceCheck check;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:pooled-sequence-check;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE pg_sequences (schemaname VARCHAR, sequencename VARCHAR, "
+            + "last_value BIGINT, increment_by BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE users_id_seq (last_value BIGINT, is_called BOOLEAN)");
+        check = new PooledSequenceCheck(null, jdbcTemplate);
+    }
+
+    @Test
+    void freshlyMigratedSequenceStartsAtSetvalTarget() {
+        // V2_1: setval('users_id_seq', MAX(id) + 50, false) bei MAX(id) = 120
+        jdbcTemplate.update("INSERT INTO pg_sequences VALUES (current_schema(), 'users_id_seq', NULL, 50)");
+        jdbcTemplate.update("INSERT INTO users_id_seq VALUES (170, FALSE)");
+
+        Long next = check.nextValue("PostgreSQL", "users_id_seq");
+
+        assertThat(next).isEqualTo(170L);
+        assertThat(next - 50).isGreaterThanOrEqualTo(120L);
+    }
+
+    @Test
+    void calledSequenceContinuesAfterLastBlock() {
+        jdbcTemplate.update("INSERT INTO pg_sequences VALUES (current_schema(), 'users_id_seq', 220, 50)");
+        jdbcTemplate.update("INSERT INTO users_id_seq VALUES (220, TRUE)");
+
+        assertThat(check.nextValue("PostgreSQL", "users_id_seq")).isEqualTo(270L);
+    }
+
+    @Test
+    void missingSequenceIsSkipped() {
+        assertThat(check.nextValue("PostgreSQL", "users_id_seq")).isNull();
+    }
+}
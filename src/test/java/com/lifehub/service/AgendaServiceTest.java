@@ -0,0 +1,134 @@
+package com.lifehub.service;
+
+import com.lifehub.dto.AgendaItem;
+import com.lifehub.dto.TimetableEntrySummary;
+import com.lifehub.dto.TodoSummary;
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.repository.ExamRepository;
+import com.lifehub.repository.HomeworkRepository;
+import com.lifehub.repository.TimetableRepository;
+import com.lifehub.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgendaServiceTest {
+
+    private static final Long USER_ID = 1L;
+    // Ein Donnerstag
+    private static final LocalDate DATE = LocalDate.parse("2025-01-16");
+
+    private TimetableRepository timetableRepository;
+    private CalendarEventService calendarEventService;
+    private TodoRepository todoRepository;
+    private DashboardService dashboardService;
+    private AgendaService service;
+
+    @BeforeEach
+    void setUp() {
+        timetableRepository = mock(TimetableRepository.class);
+        calendarEventService = mock(CalendarEventService.class);
+        todoRepository = mock(TodoRepository.class);
+        dashboardService = mock(DashboardService.class);
+        service = new AgendaService(timetableRepository, calendarEventService, mock(HomeworkRepository.class),
+                mock(ExamRepository.class), todoRepository, dashboardService, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "deadlineMillis", 2000L);
+        ReflectionTestUtils.setField(service, "maxParallel", 6);
+    }
+
+    @Test
+    void failingSectionCancelsTheOthers() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+        when(calendarEventService.findToday(USER_ID, DATE)).thenAnswer(invocation -> {
+            slowStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                slowInterrupted.countDown();
+            }
+            return List.of();
+        });
+        when(timetableRepository.findValidSummariesForUserAndDate(USER_ID, DATE)).thenAnswer(invocation -> {
+            slowStarted.await();
+            throw new IllegalStateException("timetable down");
+        });
+
+        assertThatThrownBy(() -> service.load(USER_ID, DATE)).hasMessage("timetable down");
+        assertThat(slowInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void slowSectionIsReportedAndTheRestReturned() {
+        ReflectionTestUtils.setField(service, "deadlineMillis", 200L);
+        when(dashboardService.loadStats(USER_ID, DATE)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        });
+        when(todoRepository.findByUserIdAndCompletedFalseAndDueDateOrderByPriorityDesc(
+                USER_ID, DATE, TodoSummary.class)).thenReturn(List.of(todo(5L, "Einkaufen")));
+
+        long start = System.nanoTime();
+        AgendaService.Agenda agenda = service.load(USER_ID, DATE);
+
+        assertThat(agenda.incomplete()).containsExactly("stats");
+        assertThat(agenda.stats()).isNull();
+        assertThat(agenda.items()).extracting(AgendaItem::title).containsExactly("Einkaufen");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+    }
+
+    @Test
+    void itemsAreOrderedByTimeAndTrainingNeedsTheSyncKey() {
+        when(timetableRepository.findValidSummariesForUserAndDate(USER_ID, DATE)).thenReturn(List.of(
+                lesson(1L, "Mathe", "10:00", "10:45"),
+                lesson(2L, "Deutsch", "08:00", "08:45")));
+        when(calendarEventService.findToday(eq(USER_ID), any())).thenReturn(List.of(
+                event(10L, "Beintraining", "18:00", "trainingsplan", "TRAINING"),
+                event(11L, "Lauftreff", "07:00", "trainingsplan", null)));
+        when(todoRepository.findByUserIdAndCompletedFalseAndDueDateOrderByPriorityDesc(
+                USER_ID, DATE, TodoSummary.class)).thenReturn(List.of(todo(20L, "Einkaufen")));
+
+        AgendaService.Agenda agenda = service.load(USER_ID, DATE);
+
+        assertThat(agenda.incomplete()).isEmpty();
+        assertThat(agenda.items()).extracting(AgendaItem::title)
+                .containsExactly("Einkaufen", "Lauftreff", "Deutsch", "Mathe", "Beintraining");
+        assertThat(agenda.items()).extracting(AgendaItem::type).containsExactly(AgendaItem.Type.TODO,
+                AgendaItem.Type.EVENT, AgendaItem.Type.LESSON, AgendaItem.Type.LESSON, AgendaItem.Type.TRAINING);
+    }
+
+    private static TimetableEntrySummary lesson(Long id, String subject, String start, String end) {
+        return new TimetableEntrySummary(id, USER_ID, subject, null, null, DATE.getDayOfWeek(),
+                LocalTime.parse(start), LocalTime.parse(end), null, null, null, null, null);
+    }
+
+    private static CalendarEvent event(Long id, String title, String start, String category, String relatedType) {
+        return CalendarEvent.builder()
+            .id(id)
+            .userId(USER_ID)
+            .title(title)
+            .startDate(DATE)
+            .startTime(LocalTime.parse(start))
+            .category(category)
+            .relatedEntityType(relatedType)
+            .build();
+    }
+
+    private static TodoSummary todo(Long id, String title) {
+        return new TodoSummary(id, USER_ID, title, null, null, null, false, DATE, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.lifehub.service;
+
+import com.lifehub.model.CalendarEvent;
+import com.lifehub.repository.CalendarEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CalendarEventServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate FROM = LocalDate.parse("2025-01-01");
+    private static final LocalDate TO = LocalDate.parse("2025-01-31");
+
+    private CalendarEventRepository repository;
+    private CalendarEventService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CalendarEventRepository.class);
+        service = new CalendarEventService(repository, new CalendarOccurrenceCache());
+    }
+
+    @Test
+    void expandsSeriesWithoutExdatesAndOverriddenOccurrences() {
+        CalendarEvent series = CalendarEvent.builder()
+            .id(10L)
+            .userId(USER_ID)
+            .title("Training")
+            .startDate(LocalDate.parse("2025-01-01"))
+            .recurring(true)
+            .recurrenceRule("RRULE:FREQ=WEEKLY")
+            .recurrenceExceptions("2025-01-08, 2025-01-29")
+            .build();
+        CalendarEvent moved = CalendarEvent.builder()
+            .id(11L)
+            .userId(USER_ID)
+            .title("Training (verschoben)")
+            .startDate(LocalDate.parse("2025-01-16"))
+            .recurrenceParentId(10L)
+            .recurrenceDate(LocalDate.parse("2025-01-15"))
+            .build();
+
+        when(repository.findSingleEventsInRange(USER_ID, FROM, TO)).thenReturn(List.of(moved));
+        when(repository.findRecurringCandidates(USER_ID, FROM, TO)).thenReturn(List.of(series));
+        when(repository.findOverriddenOccurrences(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {10L, LocalDate.parse("2025-01-15")}));
+
+        List<CalendarEvent> events = service.findInRange(USER_ID, FROM, TO, false);
+
+        assertThat(events).extracting(CalendarEvent::getStartDate).containsExactly(
+            LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-16"), LocalDate.parse("2025-01-22"));
+        assertThat(events).extracting(CalendarEvent::getId).containsExactly(null, 11L, null);
+        assertThat(events).extracting(CalendarEvent::getSeriesId).containsExactly(10L, null, 10L);
+        assertThat(events).extracting(CalendarEvent::getOccurrenceDate).containsExactly(
+            LocalDate.parse("2025-01-01"), null, LocalDate.parse("2025-01-22"));
+    }
+
+    @Test
+    void callersGetCopiesOfCachedOccurrences() {
+        CalendarEvent series = CalendarEvent.builder()
+            .id(10L)
+            .userId(USER_ID)
+            .title("Training")
+            .startDate(LocalDate.parse("2025-01-01"))
+            .recurring(true)
+            .recurrenceRule("FREQ=MONTHLY")
+            .build();
+
+        when(repository.findSingleEventsInRange(USER_ID, FROM, TO)).thenReturn(List.of());
+        when(repository.findRecurringCandidates(USER_ID, FROM, TO)).thenReturn(List.of(series));
+        when(repository.findOverriddenOccurrences(any())).thenReturn(List.of());
+
+        List<CalendarEvent> first = service.findInRange(USER_ID, FROM, TO, false);
+        first.get(0).setTitle("geändert");
+        first.clear();
+
+        List<CalendarEvent> second = service.findInRange(USER_ID, FROM, TO, false);
+        assertThat(second).extracting(CalendarEvent::getTitle).containsExactly("Training");
+        assertThat(series.getTitle()).isEqualTo("Training");
+        verify(repository, times(1)).findRecurringCandidates(USER_ID, FROM, TO);
+    }
+
+    @Test
+    void invalidRuleBehavesLikeSingleEvent() {
+        CalendarEvent broken = CalendarEvent.builder()
+            .id(20L)
+            .userId(USER_ID)
+            .title("Altdaten")
+            .startDate(LocalDate.parse("2025-01-05"))
+            .recurring(true)
+            .recurrenceRule("FREQ=HOURLY")
+            .build();
+
+        when(repository.findSingleEventsInRange(USER_ID, FROM, TO)).thenReturn(List.of());
+        when(repository.findRecurringCandidates(USER_ID, FROM, TO)).thenReturn(List.of(broken));
+        when(repository.findOverriddenOccurrences(any())).thenReturn(List.of());
+
+        assertThat(service.findInRange(USER_ID, FROM, TO, false)).containsExactly(broken);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lifehub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    private static List<LocalDate> occurrences(String rule, String dtStart, String from, String to) {
+        return RecurrenceRule.parse(rule).occurrences(LocalDate.parse(dtStart), LocalDate.parse(from), LocalDate.parse(to));
+    }
+
+    private static List<LocalDate> dates(String... values) {
+        return Arrays.stream(values).map(LocalDate::parse).toList();
+    }
+
+    @Test
+    void dtStartIsFirstOccurrenceEvenIfRuleDoesNotMatchIt() {
+        // 01.01.2025 ist ein Mittwoch
+        assertThat(occurrences("RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3", "2025-01-01", "2024-12-01", "2025-02-28"))
+            .isEqualTo(dates("2025-01-01", "2025-01-06", "2025-01-13"));
+    }
+
+    @Test
+    void countIsCountedFromDtStartNotFromWindow() {
+        assertThat(occurrences("FREQ=DAILY;COUNT=5", "2025-03-01", "2025-03-04", "2025-03-31"))
+            .isEqualTo(dates("2025-03-04", "2025-03-05"));
+    }
+
+    @Test
+    void untilIsInclusiveForDateAndDateTime() {
+        List<LocalDate> expected = dates("2025-01-01", "2025-01-08", "2025-01-15");
+        assertThat(occurrences("FREQ=WEEKLY;UNTIL=20250115", "2025-01-01", "2025-01-01", "2025-12-31"))
+            .isEqualTo(expected);
+        assertThat(occurrences("FREQ=WEEKLY;UNTIL=20250115T235959Z", "2025-01-01", "2025-01-01", "2025-12-31"))
+            .isEqualTo(expected);
+    }
+
+    @Test
+    void lastOccurrenceWithCount() {
+        // Letzter Freitag im Monat
+        assertThat(RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=-1FR;COUNT=3").lastOccurrence(LocalDate.parse("2025-01-31")))
+            .isEqualTo(LocalDate.parse("2025-03-28"));
+        assertThat(RecurrenceRule.parse("FREQ=MONTHLY").lastOccurrence(LocalDate.parse("2025-01-31"))).isNull();
+    }
+
+    @Test
+    void windowAfterDtStartSkipsToFirstMatchingPeriod() {
+        assertThat(occurrences("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH", "2025-01-07", "2025-03-01", "2025-03-15"))
+            .isEqualTo(dates("2025-03-04", "2025-03-06"));
+    }
+
+    @Test
+    void weekStartChangesBiweeklyPeriods() {
+        // Beispiel aus RFC 5545, 3.8.5.3
+        assertThat(occurrences("FREQ=WEEKLY;INTERVAL=2;COUNT=4;BYDAY=TU,SU;WKST=MO", "1997-08-05", "1997-08-01", "1997-12-31"))
+            .isEqualTo(dates("1997-08-05", "1997-08-10", "1997-08-19", "1997-08-24"));
+        assertThat(occurrences("FREQ=WEEKLY;INTERVAL=2;COUNT=4;BYDAY=TU,SU;WKST=SU", "1997-08-05", "1997-08-01", "1997-12-31"))
+            .isEqualTo(dates("1997-08-05", "1997-08-17", "1997-08-19", "1997-08-31"));
+    }
+
+    @Test
+    void yearlyByDayWithoutByMonthCountsWithinYear() {
+        assertThat(occurrences("FREQ=YEARLY;BYDAY=20MO", "2025-05-19", "2025-01-01", "2026-12-31"))
+            .isEqualTo(dates("2025-05-19", "2026-05-18"));
+    }
+
+    @Test
+    void yearlyByDayWithByMonthCountsWithinMonth() {
+        assertThat(occurrences("FREQ=YEARLY;BYMONTH=11;BYDAY=4TH", "2025-11-27", "2025-01-01", "2026-12-31"))
+            .isEqualTo(dates("2025-11-27", "2026-11-26"));
+    }
+
+    @Test
+    void yearlyByMonthDayWithoutByMonthAppliesToEveryMonth() {
+        assertThat(occurrences("FREQ=YEARLY;BYMONTHDAY=1", "2025-01-01", "2025-01-01", "2025-04-30"))
+            .isEqualTo(dates("2025-01-01", "2025-02-01", "2025-03-01", "2025-04-01"));
+    }
+
+    @Test
+    void yearlyByMonthDayAndByDayMustMatchBoth() {
+        // Freitag, der 13.
+        assertThat(occurrences("FREQ=YEARLY;BYMONTHDAY=13;BYDAY=FR", "2026-02-13", "2026-01-01", "2026-12-31"))
+            .isEqualTo(dates("2026-02-13", "2026-03-13", "2026-11-13"));
+    }
+
+    @Test
+    void yearlyOnLeapDaySkipsOtherYears() {
+        assertThat(occurrences("FREQ=YEARLY", "2024-02-29", "2024-01-01", "2028-12-31"))
+            .isEqualTo(dates("2024-02-29", "2028-02-29"));
+    }
+
+    @Test
+    void sparseRulesAreNotCutOffEarly() {
+        // Nur am 29.02.: Lücken von vier bis acht Jahren (2100 ist kein Schaltjahr, 2096 -> 2104)
+        assertThat(occurrences("FREQ=DAILY;BYMONTH=2;BYMONTHDAY=29", "2024-02-29", "2024-01-01", "2032-12-31"))
+            .isEqualTo(dates("2024-02-29", "2028-02-29", "2032-02-29"));
+        assertThat(RecurrenceRule.parse("FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=29;COUNT=4").lastOccurrence(LocalDate.parse("2092-02-29")))
+            .isEqualTo(LocalDate.parse("2108-02-29"));
+    }
+
+    @Test
+    void impossibleRuleEndsAfterDtStart() {
+        assertThat(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTH=2;BYMONTHDAY=30;COUNT=3").lastOccurrence(LocalDate.parse("2025-01-15")))
+            .isEqualTo(LocalDate.parse("2025-01-15"));
+        assertThat(occurrences("FREQ=DAILY;BYMONTH=2;BYMONTHDAY=31", "2025-01-01", "2025-01-01", "2030-12-31"))
+            .isEqualTo(dates("2025-01-01"));
+    }
+
+    @Test
+    void rejectsInvalidCombinations() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYMONTHDAY=1"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20250101"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=2MO"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=6MO"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnboundedCountAndInterval() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2000000000"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2000000000"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=99999999999"))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(RecurrenceRule.parse("FREQ=DAILY;COUNT=10000").lastOccurrence(LocalDate.parse("2025-01-01")))
+            .isEqualTo(LocalDate.parse("2025-01-01").plusDays(9_999));
+        assertThat(occurrences("FREQ=YEARLY;INTERVAL=1000", "2025-01-01", "2025-01-01", "4000-12-31"))
+            .isEqualTo(dates("2025-01-01", "3025-01-01"));
+    }
+}